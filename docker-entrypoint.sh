@@ -2,4 +2,14 @@
 # Ensure /apps/logs is writable by appuser when a volume is mounted (Phase 2 sidecar).
 # Runs as root; drops to appuser for the JVM.
 chown -R appuser:appuser /apps/logs 2>/dev/null || true
-exec su -s /bin/sh -c "exec java -jar /app/app.jar" appuser
+chown -R appuser:appuser /apps/config 2>/dev/null || true
+
+# Fast boot (docs/backend/FAST-BOOT.md): AppCDS archive from the image build, Spring AOT if built with it
+JAVA_OPTS="${JAVA_OPTS:-}"
+if [ -f /app/app.jsa ]; then
+  JAVA_OPTS="$JAVA_OPTS -XX:SharedArchiveFile=/app/app.jsa"
+fi
+if [ "$SPRING_AOT_ENABLED" = "true" ]; then
+  JAVA_OPTS="$JAVA_OPTS -Dspring.aot.enabled=true"
+fi
+exec su -s /bin/sh -c "exec java $JAVA_OPTS -jar /app/app.jar" appuser
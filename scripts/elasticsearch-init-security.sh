@@ -2,6 +2,8 @@
 # Phase 4–5: Create security primitives for the logging pipeline in Elasticsearch.
 # - Phase 4: logstash_writer role/user for Logstash output.
 # - Phase 5: kibana_system password, kibana_readonly role, kibana_user for Kibana UI.
+# - Retention: ILM policies, component templates and the *-logs-* / *-events-* data stream templates.
+# Every call is a PUT/POST of the full definition, so re-running the script is safe.
 # Requires ELASTIC_PASSWORD, LOGSTASH_WRITER_PASSWORD, KIBANA_SYSTEM_PASSWORD, KIBANA_USER_PASSWORD in environment.
 # Run after Elasticsearch is up (e.g. from a one-off container on same network).
 set -e
@@ -9,17 +11,205 @@ set -e
 ES_URL="${ES_URL:-https://elasticsearch:9200}"
 CA_CERT="${CA_CERT:-/scripts/ca.crt}"
 
+# ILM knobs (see docs/logging/ELASTICSEARCH-INDEX-LIFECYCLE.md)
+LOG_ROLLOVER_MAX_SIZE="${LOG_ROLLOVER_MAX_SIZE:-10gb}"
+LOG_ROLLOVER_MAX_AGE="${LOG_ROLLOVER_MAX_AGE:-1d}"
+LOG_WARM_AFTER="${LOG_WARM_AFTER:-2d}"
+LOG_DELETE_AFTER="${LOG_DELETE_AFTER:-30d}"
+EVENTS_DELETE_AFTER="${EVENTS_DELETE_AFTER:-365d}"
+
 echo "Waiting for Elasticsearch at $ES_URL..."
 until curl -sf --cacert "$CA_CERT" -u "elastic:${ELASTIC_PASSWORD}" "${ES_URL}/_cluster/health" | grep -qE '"status":"(green|yellow)"'; do
   sleep 5
 done
 echo "Elasticsearch is up."
 
+echo "Creating ILM policy suljhaoo-logs-policy..."
+curl -sf --cacert "$CA_CERT" -X PUT -u "elastic:${ELASTIC_PASSWORD}" "${ES_URL}/_ilm/policy/suljhaoo-logs-policy" \
+  -H "Content-Type: application/json" -d "{
+  \"policy\": {
+    \"_meta\": { \"managed_by\": \"scripts/elasticsearch-init-security.sh\" },
+    \"phases\": {
+      \"hot\": {
+        \"actions\": {
+          \"rollover\": { \"max_primary_shard_size\": \"${LOG_ROLLOVER_MAX_SIZE}\", \"max_age\": \"${LOG_ROLLOVER_MAX_AGE}\" },
+          \"set_priority\": { \"priority\": 100 }
+        }
+      },
+      \"warm\": {
+        \"min_age\": \"${LOG_WARM_AFTER}\",
+        \"actions\": {
+          \"forcemerge\": { \"max_num_segments\": 1 },
+          \"readonly\": {},
+          \"set_priority\": { \"priority\": 50 }
+        }
+      },
+      \"delete\": {
+        \"min_age\": \"${LOG_DELETE_AFTER}\",
+        \"actions\": { \"delete\": {} }
+      }
+    }
+  }
+}"
+echo ""
+
+echo "Creating component template suljhaoo-logs-settings..."
+curl -sf --cacert "$CA_CERT" -X PUT -u "elastic:${ELASTIC_PASSWORD}" "${ES_URL}/_component_template/suljhaoo-logs-settings" \
+  -H "Content-Type: application/json" -d '{
+  "template": {
+    "settings": {
+      "index.lifecycle.name": "suljhaoo-logs-policy",
+      "index.codec": "best_compression",
+      "index.number_of_shards": 1,
+      "index.auto_expand_replicas": "0-1",
+      "index.refresh_interval": "5s"
+    }
+  }
+}'
+echo ""
+
+echo "Creating component template suljhaoo-logs-mappings..."
+curl -sf --cacert "$CA_CERT" -X PUT -u "elastic:${ELASTIC_PASSWORD}" "${ES_URL}/_component_template/suljhaoo-logs-mappings" \
+  -H "Content-Type: application/json" -d '{
+  "template": {
+    "mappings": {
+      "dynamic_templates": [
+        { "strings_as_keyword": { "match_mapping_type": "string", "mapping": { "type": "keyword", "ignore_above": 1024 } } }
+      ],
+      "properties": {
+        "@timestamp": { "type": "date" },
+        "message": { "type": "match_only_text" },
+        "env": { "type": "keyword" },
+        "ecs": { "properties": { "version": { "type": "keyword" } } },
+        "service": { "properties": { "name": { "type": "keyword" }, "environment": { "type": "keyword" } } },
+        "event": {
+          "properties": {
+            "dataset": { "type": "keyword" },
+            "original": { "type": "keyword", "index": false, "doc_values": false }
+          }
+        },
+        "log": {
+          "properties": {
+            "level": { "type": "keyword" },
+            "logger": { "type": "keyword" },
+            "offset": { "type": "long" },
+            "file": { "properties": { "path": { "type": "keyword" } } },
+            "origin": {
+              "properties": {
+                "file": { "properties": { "name": { "type": "keyword" }, "line": { "type": "integer" } } },
+                "function": { "type": "keyword" }
+              }
+            }
+          }
+        },
+        "trace": { "properties": { "id": { "type": "keyword" } } },
+        "transaction": { "properties": { "id": { "type": "keyword" } } },
+        "span": { "properties": { "id": { "type": "keyword" } } },
+        "process": { "properties": { "thread": { "properties": { "name": { "type": "keyword" } } } } },
+        "host": { "properties": { "name": { "type": "keyword" } } },
+        "error": {
+          "properties": {
+            "type": { "type": "keyword" },
+            "message": { "type": "match_only_text" },
+            "stack_trace": { "type": "text", "index": false }
+          }
+        }
+      }
+    }
+  }
+}'
+echo ""
+
+echo "Creating index template suljhaoo-logs (data stream for *-logs-*)..."
+curl -sf --cacert "$CA_CERT" -X PUT -u "elastic:${ELASTIC_PASSWORD}" "${ES_URL}/_index_template/suljhaoo-logs" \
+  -H "Content-Type: application/json" -d '{
+  "index_patterns": ["*-logs-*"],
+  "data_stream": {},
+  "composed_of": ["suljhaoo-logs-settings", "suljhaoo-logs-mappings"],
+  "priority": 200,
+  "_meta": { "managed_by": "scripts/elasticsearch-init-security.sh" }
+}'
+echo ""
+
+echo "Creating ILM policy suljhaoo-events-policy..."
+curl -sf --cacert "$CA_CERT" -X PUT -u "elastic:${ELASTIC_PASSWORD}" "${ES_URL}/_ilm/policy/suljhaoo-events-policy" \
+  -H "Content-Type: application/json" -d "{
+  \"policy\": {
+    \"_meta\": { \"managed_by\": \"scripts/elasticsearch-init-security.sh\" },
+    \"phases\": {
+      \"hot\": {
+        \"actions\": {
+          \"rollover\": { \"max_primary_shard_size\": \"${LOG_ROLLOVER_MAX_SIZE}\", \"max_age\": \"30d\" },
+          \"set_priority\": { \"priority\": 100 }
+        }
+      },
+      \"warm\": {
+        \"min_age\": \"${LOG_WARM_AFTER}\",
+        \"actions\": {
+          \"forcemerge\": { \"max_num_segments\": 1 },
+          \"readonly\": {},
+          \"set_priority\": { \"priority\": 50 }
+        }
+      },
+      \"delete\": {
+        \"min_age\": \"${EVENTS_DELETE_AFTER}\",
+        \"actions\": { \"delete\": {} }
+      }
+    }
+  }
+}"
+echo ""
+
+echo "Creating component template suljhaoo-events-mappings..."
+curl -sf --cacert "$CA_CERT" -X PUT -u "elastic:${ELASTIC_PASSWORD}" "${ES_URL}/_component_template/suljhaoo-events-mappings" \
+  -H "Content-Type: application/json" -d '{
+  "template": {
+    "settings": {
+      "index.lifecycle.name": "suljhaoo-events-policy"
+    },
+    "mappings": {
+      "dynamic": "false",
+      "properties": {
+        "@timestamp": { "type": "date" },
+        "schema_version": { "type": "short" },
+        "event": { "properties": { "action": { "type": "keyword" } } },
+        "service": { "properties": { "name": { "type": "keyword" } } },
+        "trace": { "properties": { "id": { "type": "keyword" } } },
+        "user": { "properties": { "id": { "type": "keyword" } } },
+        "store": { "properties": { "id": { "type": "keyword" } } },
+        "supplier": { "properties": { "id": { "type": "keyword" } } },
+        "entity": { "properties": { "id": { "type": "keyword" } } },
+        "amount": { "type": "scaled_float", "scaling_factor": 100 },
+        "quantity": { "type": "scaled_float", "scaling_factor": 100 },
+        "item_count": { "type": "integer" },
+        "created_count": { "type": "integer" },
+        "updated_count": { "type": "integer" },
+        "error_count": { "type": "integer" },
+        "payment_method": { "type": "keyword" },
+        "category": { "type": "keyword" },
+        "status": { "type": "keyword" }
+      }
+    }
+  }
+}'
+echo ""
+
+echo "Creating index template suljhaoo-events (data stream for *-events-*)..."
+curl -sf --cacert "$CA_CERT" -X PUT -u "elastic:${ELASTIC_PASSWORD}" "${ES_URL}/_index_template/suljhaoo-events" \
+  -H "Content-Type: application/json" -d '{
+  "index_patterns": ["*-events-*"],
+  "data_stream": {},
+  "composed_of": ["suljhaoo-logs-settings", "suljhaoo-events-mappings"],
+  "priority": 200,
+  "_meta": { "managed_by": "scripts/elasticsearch-init-security.sh" }
+}'
+echo ""
+
 echo "Creating role logstash_writer..."
 curl -sf --cacert "$CA_CERT" -X PUT -u "elastic:${ELASTIC_PASSWORD}" "${ES_URL}/_security/role/logstash_writer" \
   -H "Content-Type: application/json" -d '{
-  "cluster": ["monitor", "manage_index_templates"],
-  "indices": [ { "names": ["*-logs-*"], "privileges": ["write", "create_index"] } ]
+  "cluster": ["monitor"],
+  "indices": [ { "names": ["*-logs-*", "*-events-*"], "privileges": ["create_doc", "auto_configure"] } ]
 }'
 echo ""
 
@@ -37,7 +227,7 @@ echo "Creating role kibana_readonly..."
 curl -sf --cacert "$CA_CERT" -X PUT -u "elastic:${ELASTIC_PASSWORD}" "${ES_URL}/_security/role/kibana_readonly" \
   -H "Content-Type: application/json" -d '{
   "cluster": [],
-  "indices": [ { "names": ["*-logs-*"], "privileges": ["read", "view_index_metadata"] } ]
+  "indices": [ { "names": ["*-logs-*", "*-events-*"], "privileges": ["read", "view_index_metadata"] } ]
 }'
 echo ""
 
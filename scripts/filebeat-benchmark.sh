@@ -0,0 +1,93 @@
+#!/bin/bash
+
+# Filebeat ingest benchmark: baseline (log input, memory queue, output defaults) vs filebeat/filebeat.yml.
+# Usage: ./scripts/filebeat-benchmark.sh [line-count]
+# Needs Docker and the certificates from tls/gen-certs.sh. Does not touch the compose stack:
+# it uses its own network, a Logstash stand-in that discards events, and a generated log file.
+
+set -e
+
+LINE_COUNT=${1:-500000}
+FILEBEAT_IMAGE=${FILEBEAT_IMAGE:-docker.elastic.co/beats/filebeat:8.15.0}
+LOGSTASH_IMAGE=${LOGSTASH_IMAGE:-docker.elastic.co/logstash/logstash:8.15.0}
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+NETWORK=suljhaoo-filebeat-bench
+STANDIN=suljhaoo-filebeat-bench-logstash
+MONITOR_PORT=${MONITOR_PORT:-15066}
+WORK_DIR=$(mktemp -d)
+
+cleanup() {
+  docker rm -f "$STANDIN" suljhaoo-filebeat-bench-baseline suljhaoo-filebeat-bench-tuned >/dev/null 2>&1 || true
+  docker network rm "$NETWORK" >/dev/null 2>&1 || true
+  rm -rf "$WORK_DIR"
+}
+trap cleanup EXIT
+
+echo "Generating $LINE_COUNT ECS log lines..."
+mkdir -p "$WORK_DIR/logs"
+awk -v n="$LINE_COUNT" 'BEGIN {
+  for (i = 0; i < n; i++) {
+    printf "{\"@timestamp\":\"2025-01-01T00:00:00.000Z\",\"log.level\":\"INFO\",\"message\":\"Sale created: %08d by user: 01HQ8Z5Y1T2V3W4X5Y6Z7A8B9C\",\"ecs.version\":\"1.2.0\",\"service.name\":\"benchmark\",\"event.dataset\":\"benchmark\",\"process.thread.name\":\"http-nio-8080-exec-1\",\"log.logger\":\"com.suljhaoo.backend.service.sales.impl.SaleServiceImpl\",\"trace.id\":\"5f1d9a2e-0c47-4b8f-9f3a-%012d\",\"env\":\"benchmark\"}\n", i, i
+  }
+}' > "$WORK_DIR/logs/application.log"
+
+docker network create "$NETWORK" >/dev/null
+docker run -d --name "$STANDIN" --network "$NETWORK" --network-alias logstash \
+  -v "$ROOT_DIR/filebeat/bench/logstash-standin.conf:/usr/share/logstash/pipeline/logstash.conf:ro" \
+  -v "$ROOT_DIR/tls:/usr/share/logstash/certs:ro" \
+  -e "LS_JAVA_OPTS=-Xms1g -Xmx1g" \
+  "$LOGSTASH_IMAGE" >/dev/null
+
+echo "Waiting for the Logstash stand-in on 5044..."
+until docker logs "$STANDIN" 2>&1 | grep -q "Starting server on port: 5044"; do
+  sleep 2
+done
+
+stat_value() {
+  # stat_value <json> <dotted.path>: pulls a numeric leaf from the Filebeat /stats document
+  python3 -c 'import json,sys; d=json.loads(sys.argv[1])
+for k in sys.argv[2].split("."): d=d[k]
+print(d)' "$1" "$2"
+}
+
+run_profile() {
+  local name=$1
+  local config=$2
+  local container="suljhaoo-filebeat-bench-$name"
+
+  docker run -d --name "$container" --network "$NETWORK" --user root \
+    -p "127.0.0.1:$MONITOR_PORT:5066" \
+    -v "$WORK_DIR/logs:/apps/logs:ro" \
+    -v "$ROOT_DIR/$config:/usr/share/filebeat/filebeat.yml:ro" \
+    -v "$ROOT_DIR/tls:/usr/share/filebeat/certs:ro" \
+    -v /usr/share/filebeat/data \
+    "$FILEBEAT_IMAGE" filebeat -e -strict.perms=false -E http.enabled=true -E http.host=0.0.0.0 >/dev/null
+
+  local stats=""
+  until stats=$(curl -sf "http://127.0.0.1:$MONITOR_PORT/stats"); do
+    sleep 1
+  done
+  local start_time start_ticks
+  start_time=$(date +%s.%N)
+  start_ticks=$(stat_value "$stats" beat.cpu.total.ticks)
+
+  local acked=0
+  while [ "$acked" -lt "$LINE_COUNT" ]; do
+    sleep 1
+    stats=$(curl -sf "http://127.0.0.1:$MONITOR_PORT/stats")
+    acked=$(stat_value "$stats" libbeat.output.events.acked)
+  done
+  local end_time end_ticks
+  end_time=$(date +%s.%N)
+  end_ticks=$(stat_value "$stats" beat.cpu.total.ticks)
+
+  docker rm -f "$container" >/dev/null
+
+  # cpu ticks are milliseconds of CPU time; cpu% is relative to one core
+  awk -v n="$name" -v c="$acked" -v s="$start_time" -v e="$end_time" -v t0="$start_ticks" -v t1="$end_ticks" \
+    'BEGIN { d = e - s; printf "%-9s %9d events in %6.1fs = %8.0f events/s, cpu %5.1f%% (%.2f ms CPU per 1k events)\n", n, c, d, c / d, (t1 - t0) / (d * 10), (t1 - t0) * 1000 / c }'
+}
+
+echo "Filebeat benchmark: $LINE_COUNT events per profile"
+run_profile baseline filebeat/bench/filebeat-baseline.yml
+run_profile tuned filebeat/filebeat.yml
@@ -0,0 +1,54 @@
+#!/bin/bash
+
+# HTTP load test for the backend: throughput and latency percentiles at several concurrency levels.
+# Usage: ./scripts/http-load-test.sh <label> [concurrency...]
+#   e.g. ./scripts/http-load-test.sh platform        (defaults to 200 1000 5000)
+#        ./scripts/http-load-test.sh virtual 200 1000 5000
+# Requires wrk (https://github.com/wg/wrk). Run once per server mode and compare the result files.
+#
+# Environment:
+#   BASE_URL   default http://localhost:8080/api
+#   TARGET     path to hit, default /sales/user/$USER_ID/$STORE_ID?limit=20 (blocking JDBC path)
+#   TOKEN      JWT for the user (required unless TARGET is public, e.g. /health)
+#   USER_ID, STORE_ID   used by the default TARGET
+#   DURATION   per level, default 60s
+#   THREADS    wrk threads, default number of CPUs
+
+set -e
+
+LABEL=${1:?Usage: $0 <label> [concurrency...]}
+shift
+LEVELS=${*:-200 1000 5000}
+BASE_URL=${BASE_URL:-http://localhost:8080/api}
+TARGET=${TARGET:-/sales/user/${USER_ID}/${STORE_ID}?limit=20}
+DURATION=${DURATION:-60s}
+THREADS=${THREADS:-$(nproc 2>/dev/null || sysctl -n hw.ncpu)}
+RESULTS=${RESULTS:-/tmp/http-load-test-$LABEL.txt}
+
+command -v wrk >/dev/null || { echo "wrk is required"; exit 1; }
+
+# wrk opens one socket per connection; 5000 clients need a raised descriptor limit.
+ulimit -n 65536 2>/dev/null || echo "warning: could not raise open-file limit (ulimit -n $(ulimit -n))"
+
+HEADER_ARGS=()
+if [ -n "$TOKEN" ]; then
+  HEADER_ARGS=(-H "Authorization: Bearer $TOKEN")
+fi
+
+echo "label=$LABEL url=$BASE_URL$TARGET duration=$DURATION" | tee "$RESULTS"
+printf "%-8s %12s %10s %10s %10s %10s\n" clients req/s p50 p90 p99 errors | tee -a "$RESULTS"
+
+for clients in $LEVELS; do
+  threads=$THREADS
+  [ "$threads" -gt "$clients" ] && threads=$clients
+  out=$(wrk -t"$threads" -c"$clients" -d"$DURATION" --timeout 30s --latency "${HEADER_ARGS[@]}" "$BASE_URL$TARGET")
+  rps=$(echo "$out" | awk '/Requests\/sec/ {print $2}')
+  p50=$(echo "$out" | awk '$1 == "50%" {print $2}')
+  p90=$(echo "$out" | awk '$1 == "90%" {print $2}')
+  p99=$(echo "$out" | awk '$1 == "99%" {print $2}')
+  # socket errors + non-2xx/3xx responses
+  errors=$(echo "$out" | awk '/Socket errors/ {gsub(",", ""); s = $4 + $6 + $8 + $10} /Non-2xx/ {n = $4} END {print s + n}')
+  printf "%-8s %12s %10s %10s %10s %10s\n" "$clients" "$rps" "$p50" "$p90" "$p99" "$errors" | tee -a "$RESULTS"
+done
+
+echo "Results written to $RESULTS"
@@ -0,0 +1,84 @@
+#!/bin/bash
+
+# Logstash throughput comparison: baseline (memory queue, batch 125, 256m heap, stdout output)
+# vs the production profile in logstash/logstash.yml.
+# Usage: ./scripts/logstash-load-test.sh [event-count]
+# Requires the compose stack (elasticsearch + es-setup) to be up and .env to be loaded.
+# Each run starts a throwaway Logstash container on the compose network with the generator
+# pipeline from logstash/bench/generator.conf, polls the monitoring API and prints events/s.
+
+set -e
+
+EVENT_COUNT=${1:-200000}
+IMAGE=${LOGSTASH_IMAGE:-docker.elastic.co/logstash/logstash:8.15.0}
+ROOT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+
+if [ -f "$ROOT_DIR/.env" ]; then
+  set -a
+  # shellcheck disable=SC1091
+  . "$ROOT_DIR/.env"
+  set +a
+fi
+: "${LOGSTASH_WRITER_PASSWORD:?Set LOGSTASH_WRITER_PASSWORD (or create .env)}"
+
+NETWORK=$(docker inspect -f '{{range $k, $v := .NetworkSettings.Networks}}{{$k}}{{end}}' suljhaoo-elasticsearch)
+
+run_profile() {
+  local name=$1
+  local settings=$2
+  local heap=$3
+  local extra_pipeline=$4
+  local container="suljhaoo-logstash-loadtest-$name"
+
+  docker rm -f "$container" >/dev/null 2>&1 || true
+
+  local mounts=(
+    -v "$ROOT_DIR/logstash/bench/generator.conf:/usr/share/logstash/pipeline/logstash.conf:ro"
+    -v "$ROOT_DIR/$settings:/usr/share/logstash/config/logstash.yml:ro"
+    -v "$ROOT_DIR/tls:/usr/share/logstash/certs:ro"
+  )
+  if [ -n "$extra_pipeline" ]; then
+    mounts+=(-v "$ROOT_DIR/$extra_pipeline:/usr/share/logstash/pipeline/zz-extra.conf:ro")
+  fi
+
+  docker run -d --name "$container" --network "$NETWORK" \
+    "${mounts[@]}" \
+    -e "LS_JAVA_OPTS=-Xms$heap -Xmx$heap" \
+    -e "LOADTEST_EVENT_COUNT=$EVENT_COUNT" \
+    -e "ELASTICSEARCH_HOST=${ELASTICSEARCH_HOST:-elasticsearch}" \
+    -e "LOGSTASH_WRITER_PASSWORD=$LOGSTASH_WRITER_PASSWORD" \
+    "$IMAGE" >/dev/null
+
+  local start=""
+  local out=0
+  while [ "$out" -lt "$EVENT_COUNT" ]; do
+    if ! docker ps -q -f "name=$container" | grep -q .; then
+      break
+    fi
+    local sample
+    sample=$(docker exec "$container" curl -s localhost:9600/_node/stats/pipelines/main 2>/dev/null \
+      | grep -o '"out":[0-9]*' | head -1 | cut -d: -f2)
+    out=${sample:-$out}
+    if [ -z "$start" ] && [ "$out" -gt 0 ]; then
+      start=$(date +%s.%N)
+    fi
+    sleep 1
+  done
+  local end
+  end=$(date +%s.%N)
+
+  docker logs "$container" > "/tmp/logstash-loadtest-$name.log" 2>&1 || true
+  docker rm -f "$container" >/dev/null 2>&1 || true
+
+  if [ -z "$start" ]; then
+    echo "$name: no events observed; see /tmp/logstash-loadtest-$name.log"
+    return 1
+  fi
+  awk -v n="$name" -v c="$out" -v s="$start" -v e="$end" \
+    'BEGIN { d = e - s; printf "%-10s %9d events in %7.1fs = %9.0f events/s\n", n, c, d, c / d }'
+}
+
+echo "Logstash load test: $EVENT_COUNT events per profile, network $NETWORK"
+run_profile baseline logstash/bench/baseline.yml 256m logstash/debug-stdout.conf
+run_profile prod logstash/logstash.yml 1g ""
+echo "Test documents were written to the loadtest-logs-default data stream; remove with DELETE /_data_stream/loadtest-logs-default as elastic."
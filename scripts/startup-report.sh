@@ -0,0 +1,44 @@
+#!/bin/bash
+
+# Startup report for the backend: every recorded startup step from /actuator/startup, slowest first.
+# Usage: ./scripts/startup-report.sh <label>
+#   e.g. ./scripts/startup-report.sh 1.4.0
+#        diff <(cut -f2 /tmp/startup-report-1.3.0.txt) <(cut -f2 /tmp/startup-report-1.4.0.txt)
+# Requires curl and jq. Run once per release (or per boot mode) right after startup and compare
+# the result files. Step durations are in milliseconds and include child steps.
+#
+# Environment:
+#   BASE_URL   default http://localhost:8080/api
+#   TOKEN      JWT for an ADMIN user (/actuator/** is ADMIN only)
+#   TOP        number of steps to print, default all
+
+set -e
+
+LABEL=${1:?Usage: $0 <label>}
+BASE_URL=${BASE_URL:-http://localhost:8080/api}
+RESULTS=${RESULTS:-/tmp/startup-report-$LABEL.txt}
+
+command -v jq >/dev/null || { echo "jq is required"; exit 1; }
+
+# GET leaves the buffered timeline in place, so the report can be taken more than once.
+curl -sf -H "Authorization: Bearer ${TOKEN:?TOKEN is required}" "$BASE_URL/actuator/startup" |
+  jq -r '
+    def ms: sub("^PT"; "") | sub("S$"; "") | tonumber * 1000 | floor;
+    .timeline.events
+    | map({
+        ms: (.duration | ms),
+        step: (.startupStep.name
+               + ((.startupStep.tags | map(select(.key == "beanName" or .key == "repository"))
+                   | first | .value // null) as $name
+                  | if $name then "[" + $name + "]" else "" end))
+      })
+    | sort_by(-.ms)
+    | .[]
+    | "\(.ms)\t\(.step)"' > "$RESULTS"
+
+if [ -n "$TOP" ]; then
+  head -n "$TOP" "$RESULTS" > "$RESULTS.tmp" && mv "$RESULTS.tmp" "$RESULTS"
+fi
+
+echo "Startup report: $(wc -l < "$RESULTS") steps -> $RESULTS"
+head -20 "$RESULTS"
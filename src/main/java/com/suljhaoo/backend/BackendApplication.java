@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.scheduling.annotation.EnableAsync;
 
 @Slf4j
@@ -11,7 +12,12 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @SpringBootApplication(exclude = {UserDetailsServiceAutoConfiguration.class})
 public class BackendApplication {
 
+  /** Startup steps kept for /actuator/startup; about 750 are recorded on a normal boot. */
+  private static final int STARTUP_STEPS = Integer.getInteger("app.startup.steps", 10000);
+
   public static void main(String[] args) {
-    SpringApplication.run(BackendApplication.class, args);
+    SpringApplication application = new SpringApplication(BackendApplication.class);
+    application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+    application.run(args);
   }
 }
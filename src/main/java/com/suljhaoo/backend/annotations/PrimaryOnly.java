@@ -0,0 +1,15 @@
+package com.suljhaoo.backend.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps every connection a service method opens on the primary, even inside a read-only transaction
+ * that replica routing would otherwise send to the replica. For reads that must see every committed
+ * row, such as the delta sync feed.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PrimaryOnly {}
@@ -0,0 +1,17 @@
+package com.suljhaoo.backend.annotations;
+
+import com.suljhaoo.backend.config.querybudget.QueryBudgetCategory;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller method in a query budget category other than the default (GET and HEAD are
+ * LIST, everything else WRITE). Limits per category come from app.query-budget.{category}.*.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+  QueryBudgetCategory value();
+}
@@ -0,0 +1,29 @@
+package com.suljhaoo.backend.aspect;
+
+import com.suljhaoo.backend.config.datasource.PrimaryOnlyScope;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs @PrimaryOnly methods inside PrimaryOnlyScope. Ordered before the transaction interceptor, so
+ * the scope is already set when the transaction's first statement picks a connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PrimaryOnlyAspect {
+
+  @Around("@annotation(com.suljhaoo.backend.annotations.PrimaryOnly)")
+  public Object runOnPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+    boolean outer = PrimaryOnlyScope.enter();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      PrimaryOnlyScope.exit(outer);
+    }
+  }
+}
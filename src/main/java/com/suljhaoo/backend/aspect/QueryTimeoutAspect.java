@@ -0,0 +1,38 @@
+package com.suljhaoo.backend.aspect;
+
+import com.suljhaoo.backend.config.querybudget.QueryBudgetTracker;
+import java.sql.SQLTimeoutException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * Counts repository calls that failed on a statement timeout or an expired transaction deadline, so
+ * runaway queries show up in db.query.budget.breaches{kind="timeout"} even when the caller catches
+ * the exception (as the batch mutation endpoint does per operation).
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class QueryTimeoutAspect {
+
+  private final QueryBudgetTracker queryBudgetTracker;
+
+  @AfterThrowing(
+      pointcut = "execution(* com.suljhaoo.backend.repository..*.*(..))",
+      throwing = "ex")
+  public void countTimeout(Throwable ex) {
+    for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+      if (cause instanceof QueryTimeoutException
+          || cause instanceof jakarta.persistence.QueryTimeoutException
+          || cause instanceof SQLTimeoutException
+          || cause instanceof TransactionTimedOutException) {
+        queryBudgetTracker.timedOut();
+        return;
+      }
+    }
+  }
+}
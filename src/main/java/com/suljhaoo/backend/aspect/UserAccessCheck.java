@@ -0,0 +1,46 @@
+package com.suljhaoo.backend.aspect;
+
+import com.suljhaoo.backend.util.SecurityUtil;
+import java.lang.reflect.Method;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The comparison shared by UserAccessValidationAspect and UserAccessInterceptor: the userId taken
+ * from the request must be the authenticated user's.
+ */
+@Slf4j
+final class UserAccessCheck {
+
+  private UserAccessCheck() {}
+
+  /** Throws RuntimeException("Unauthorized access") unless userIdFromRequest is the caller's. */
+  static void verify(String userIdFromRequest, Method method) {
+    String currentUserId;
+    try {
+      currentUserId = SecurityUtil.getCurrentUserId();
+    } catch (Exception e) {
+      log.error("Failed to get current user ID: {}", e.getMessage());
+      throw new RuntimeException("Unauthorized access: User not authenticated", e);
+    }
+
+    if (!userIdFromRequest.equals(currentUserId)) {
+      log.warn(
+          "Unauthorized access attempt: currentUserId={}, paramUserId={}, method={}.{}",
+          currentUserId,
+          userIdFromRequest,
+          method.getDeclaringClass().getSimpleName(),
+          method.getName());
+      throw new RuntimeException("Unauthorized access");
+    }
+  }
+
+  /** Logged once per method, when its userId source is first resolved. */
+  static void warnUnvalidated(Method method, String name, String reason) {
+    log.warn(
+        "Parameter '{}' {} in method {}.{} - skipping user access validation",
+        name,
+        reason,
+        method.getDeclaringClass().getSimpleName(),
+        method.getName());
+  }
+}
@@ -0,0 +1,60 @@
+package com.suljhaoo.backend.aspect;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Validates @ValidateUserAccess from the URI template variables, before arguments are bound (no
+ * request body is read for a request that will be refused) and without an AOP proxy around the
+ * controller. Used with app.security.user-access.mode=interceptor.
+ *
+ * <p>The annotation value names a path variable here. A method whose value is not a path variable
+ * of its mapping is logged once and not validated, as the aspect does for a missing parameter.
+ */
+public class UserAccessInterceptor implements HandlerInterceptor {
+
+  /** Cached for handlers without @ValidateUserAccess. */
+  private static final String NOT_VALIDATED = "";
+
+  private final Map<Method, String> userIdVariable = new ConcurrentHashMap<>();
+  private final Map<Method, Boolean> warned = new ConcurrentHashMap<>();
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    Method method = handlerMethod.getMethod();
+    String variable = userIdVariable.computeIfAbsent(method, UserAccessInterceptor::variableName);
+    if (variable.isEmpty()) {
+      return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, String> uriVariables =
+        (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    String userId = uriVariables == null ? null : uriVariables.get(variable);
+    if (userId == null) {
+      if (warned.putIfAbsent(method, Boolean.TRUE) == null) {
+        UserAccessCheck.warnUnvalidated(method, variable, "is not a path variable");
+      }
+      return true;
+    }
+    UserAccessCheck.verify(userId, method);
+    return true;
+  }
+
+  private static String variableName(Method method) {
+    ValidateUserAccess annotation =
+        AnnotatedElementUtils.findMergedAnnotation(method, ValidateUserAccess.class);
+    return annotation == null ? NOT_VALIDATED : annotation.value();
+  }
+}
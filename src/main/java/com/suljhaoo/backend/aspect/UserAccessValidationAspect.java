@@ -1,14 +1,16 @@
 package com.suljhaoo.backend.aspect;
 
-import com.suljhaoo.backend.util.SecurityUtil;
 import java.lang.reflect.Method;
-import lombok.extern.slf4j.Slf4j;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -18,95 +20,69 @@ import org.springframework.stereotype.Component;
  *
  * <p>This aspect intercepts methods annotated with {@link ValidateUserAccess} and automatically
  * validates that the current authenticated user matches the userId from the method parameter.
+ *
+ * <p>The position of that parameter is resolved once per method (parameter name discovery reads
+ * class files or reflection metadata) and cached, so a call costs an index lookup and one string
+ * compare. The pointcut does not bind the annotation: binding it makes Spring AOP match the
+ * pointcut again on every call, which cost more than the validation itself. With
+ * app.security.user-access.mode=interceptor, UserAccessInterceptor validates from the URI template
+ * variables instead and this aspect is not registered.
  */
 @Aspect
 @Component
-@Slf4j
 @Order(1) // Execute before other aspects
+@ConditionalOnProperty(
+    name = "app.security.user-access.mode",
+    havingValue = "aspect",
+    matchIfMissing = true)
 public class UserAccessValidationAspect {
 
+  /** Cached for methods without the parameter: nothing to validate. */
+  private static final int NOT_FOUND = -1;
+
   private final ParameterNameDiscoverer parameterNameDiscoverer =
       new DefaultParameterNameDiscoverer();
 
+  private final Map<Method, Integer> userIdArgumentIndex = new ConcurrentHashMap<>();
+
   /**
    * Intercepts methods annotated with @ValidateUserAccess and validates user access.
    *
    * @param joinPoint the join point representing the intercepted method
-   * @param validateUserAccess the annotation instance
    * @return the result of the method execution
    * @throws Throwable if validation fails or method execution fails
    */
-  @Around("@annotation(validateUserAccess)")
-  public Object validateUserAccess(
-      ProceedingJoinPoint joinPoint, ValidateUserAccess validateUserAccess) throws Throwable {
-
-    // Get the method signature
-    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-    Method method = signature.getMethod();
-
-    // Get the parameter name from annotation (defaults to "userId")
-    String paramName = validateUserAccess.value();
-
-    // Get method parameters and arguments
-    String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
-    Object[] args = joinPoint.getArgs();
-
-    if (parameterNames == null) {
-      log.warn(
-          "Could not discover parameter names for method {}.{} - skipping user access validation",
-          method.getDeclaringClass().getSimpleName(),
-          method.getName());
+  @Around("@annotation(com.suljhaoo.backend.aspect.ValidateUserAccess)")
+  public Object validateUserAccess(ProceedingJoinPoint joinPoint) throws Throwable {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    int index = userIdArgumentIndex.computeIfAbsent(method, this::argumentIndex);
+    if (index == NOT_FOUND) {
       return joinPoint.proceed();
     }
 
-    // Find the userId parameter value
-    String userIdFromParam = null;
-    for (int i = 0; i < parameterNames.length; i++) {
-      if (parameterNames[i].equals(paramName)) {
-        if (args[i] != null) {
-          userIdFromParam = args[i].toString();
-        }
-        break;
-      }
-    }
-
-    // If parameter not found, log warning and proceed (fail-safe)
+    Object userIdFromParam = joinPoint.getArgs()[index];
     if (userIdFromParam == null) {
-      log.warn(
-          "Parameter '{}' not found in method {}.{} - skipping user access validation",
-          paramName,
-          method.getDeclaringClass().getSimpleName(),
-          method.getName());
+      // Fail-safe, as for a missing parameter
       return joinPoint.proceed();
     }
+    UserAccessCheck.verify(userIdFromParam.toString(), method);
+    return joinPoint.proceed();
+  }
 
-    // Get current authenticated user ID
-    String currentUserId;
-    try {
-      currentUserId = SecurityUtil.getCurrentUserId();
-    } catch (Exception e) {
-      log.error("Failed to get current user ID: {}", e.getMessage());
-      throw new RuntimeException("Unauthorized access: User not authenticated", e);
+  private int argumentIndex(Method method) {
+    String paramName =
+        AnnotatedElementUtils.findMergedAnnotation(method, ValidateUserAccess.class).value();
+    String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+    if (parameterNames == null) {
+      UserAccessCheck.warnUnvalidated(method, paramName, "has no discoverable name");
+      return NOT_FOUND;
     }
-
-    // Validate that current user matches the userId parameter
-    if (currentUserId == null || !currentUserId.equals(userIdFromParam)) {
-      log.warn(
-          "Unauthorized access attempt: currentUserId={}, paramUserId={}, method={}.{}",
-          currentUserId,
-          userIdFromParam,
-          method.getDeclaringClass().getSimpleName(),
-          method.getName());
-      throw new RuntimeException("Unauthorized access");
+    for (int i = 0; i < parameterNames.length; i++) {
+      if (parameterNames[i].equals(paramName)) {
+        return i;
+      }
     }
-
-    log.debug(
-        "User access validated: userId={}, method={}.{}",
-        currentUserId,
-        method.getDeclaringClass().getSimpleName(),
-        method.getName());
-
-    // Proceed with method execution
-    return joinPoint.proceed();
+    UserAccessCheck.warnUnvalidated(method, paramName, "not found");
+    return NOT_FOUND;
   }
 }
@@ -0,0 +1,85 @@
+package com.suljhaoo.backend.config;
+
+import com.suljhaoo.backend.config.datasource.AdaptivePoolSizeController;
+import com.suljhaoo.backend.config.datasource.PoolMetricsTrackerFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Connection pool instrumentation and, when app.datasource.pool.adaptive.enabled=true, runtime
+ * sizing. Every HikariDataSource (the auto-configured pool, or primary and replica with
+ * ReadReplicaConfig) gets PoolMetricsTrackerFactory before it starts, so Spring Boot's own Hikari
+ * binder leaves it alone and the hikaricp.* meters come from our tracker instead.
+ */
+@Slf4j
+@Configuration
+public class ConnectionPoolConfig {
+
+  @Bean
+  static PoolMetricsTrackerFactory poolMetricsTrackerFactory(
+      ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+    Duration slowAcquireThreshold =
+        environment.getProperty(
+            "app.datasource.pool.slow-acquire-threshold", Duration.class, Duration.ofMillis(100));
+    return new PoolMetricsTrackerFactory(meterRegistry, slowAcquireThreshold);
+  }
+
+  @Bean
+  static BeanPostProcessor poolMetricsTrackerInstaller(
+      ObjectProvider<PoolMetricsTrackerFactory> trackerFactory) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource
+            && dataSource.getMetricRegistry() == null
+            && dataSource.getMetricsTrackerFactory() == null) {
+          dataSource.setMetricsTrackerFactory(trackerFactory.getObject());
+        }
+        return bean;
+      }
+    };
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.datasource.pool.adaptive.enabled", havingValue = "true")
+  AdaptivePoolSizeController adaptivePoolSizeController(
+      ObjectProvider<HikariDataSource> pools,
+      PoolMetricsTrackerFactory trackerFactory,
+      ObjectProvider<MeterRegistry> meterRegistry,
+      Environment environment,
+      @Value("${app.datasource.pool.adaptive.min-size:10}") int minSize,
+      @Value("${app.datasource.pool.adaptive.max-size:40}") int maxSize,
+      @Value("${app.datasource.pool.adaptive.grow-step:2}") int growStep,
+      @Value("${app.datasource.pool.adaptive.wait-to-latency-ratio:0.5}")
+          double waitToLatencyRatio) {
+    if (Threading.VIRTUAL.isActive(environment)) {
+      // VirtualThreadConfig caps the pool at startup; growing past it would undo that guard.
+      int virtualThreadCap =
+          environment.getProperty("app.virtual-threads.hikari.max-pool-size", Integer.class, 20);
+      if (maxSize > virtualThreadCap) {
+        log.warn(
+            "Virtual threads enabled: adaptive pool max-size {} -> {}", maxSize, virtualThreadCap);
+        maxSize = virtualThreadCap;
+        minSize = Math.min(minSize, maxSize);
+      }
+    }
+    return new AdaptivePoolSizeController(
+        pools.orderedStream().toList(),
+        trackerFactory,
+        minSize,
+        maxSize,
+        growStep,
+        waitToLatencyRatio,
+        meterRegistry.getIfAvailable());
+  }
+}
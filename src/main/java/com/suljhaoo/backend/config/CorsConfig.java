@@ -41,7 +41,7 @@ public class CorsConfig {
     configuration.setAllowCredentials(true);
 
     // Expose headers that the client might need
-    configuration.setExposedHeaders(List.of("Authorization", "Content-Type"));
+    configuration.setExposedHeaders(List.of("Authorization", "Content-Type", "ETag"));
 
     // Cache preflight requests for 1 hour
     configuration.setMaxAge(3600L);
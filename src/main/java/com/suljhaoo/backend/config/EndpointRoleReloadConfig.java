@@ -0,0 +1,67 @@
+package com.suljhaoo.backend.config;
+
+import com.suljhaoo.backend.security.config.CompiledAuthorizationManager;
+import com.suljhaoo.backend.security.config.EndpointRoleConfig;
+import com.suljhaoo.backend.security.config.EndpointRoleReloader;
+import com.suljhaoo.backend.security.config.EndpointRoleSource;
+import com.suljhaoo.backend.security.config.EndpointValidationService;
+import com.suljhaoo.backend.security.config.FileEndpointRoleSource;
+import com.suljhaoo.backend.security.config.ParameterStoreEndpointRoleSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.StringUtils;
+
+/**
+ * Live reload of endpoint-roles.json (see EndpointRoleReloader), from
+ * app.security.endpoint-roles.reload.file or, if that is not set, from the Parameter Store
+ * parameter app.security.endpoint-roles.reload.parameter. Needs the compiled authorization manager:
+ * the per-endpoint matcher chain is fixed once the filter chain is built.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "app.security.endpoint-roles.reload.enabled", havingValue = "true")
+public class EndpointRoleReloadConfig {
+
+  @Bean
+  EndpointRoleSource endpointRoleSource(Environment environment) {
+    if (!environment.getProperty(
+        "app.security.compiled-authorization.enabled", Boolean.class, true)) {
+      throw new IllegalStateException(
+          "app.security.endpoint-roles.reload.enabled requires "
+              + "app.security.compiled-authorization.enabled=true");
+    }
+    String file = environment.getProperty("app.security.endpoint-roles.reload.file");
+    if (StringUtils.hasText(file)) {
+      log.info("Reloading endpoint roles from file {}", file);
+      return new FileEndpointRoleSource(Path.of(file));
+    }
+    String parameter = environment.getProperty("app.security.endpoint-roles.reload.parameter");
+    if (StringUtils.hasText(parameter)) {
+      log.info("Reloading endpoint roles from Parameter Store parameter {}", parameter);
+      return new ParameterStoreEndpointRoleSource(
+          parameter, environment.getProperty("spring.cloud.aws.region.static", "ap-south-1"));
+    }
+    throw new IllegalStateException(
+        "Set app.security.endpoint-roles.reload.file or .parameter to reload endpoint roles");
+  }
+
+  @Bean
+  EndpointRoleReloader endpointRoleReloader(
+      EndpointRoleSource endpointRoleSource,
+      EndpointRoleConfig endpointRoleConfig,
+      CompiledAuthorizationManager compiledAuthorizationManager,
+      EndpointValidationService endpointValidationService,
+      MeterRegistry meterRegistry) {
+    return new EndpointRoleReloader(
+        endpointRoleSource,
+        endpointRoleConfig,
+        compiledAuthorizationManager,
+        endpointValidationService,
+        meterRegistry);
+  }
+}
@@ -0,0 +1,40 @@
+package com.suljhaoo.backend.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.suljhaoo.backend.config.jackson.IsoLocalDateTimeSerializer;
+import java.time.LocalDateTime;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JSON serialization fast path for list responses of up to 1000 rows. Spring Boot registers every
+ * Module bean with the shared ObjectMapper, after the java.time module, so these take precedence:
+ *
+ * <ul>
+ *   <li>IsoLocalDateTimeSerializer writes LocalDateTime without DateTimeFormatter;
+ *   <li>Blackbird replaces reflective getter calls on the response DTOs with generated lambdas.
+ * </ul>
+ *
+ * <p>The JSON is byte-for-byte the same. Off with app.jackson.fast-path.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(
+    name = "app.jackson.fast-path.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class JacksonConfig {
+
+  @Bean
+  Module blackbirdModule() {
+    return new BlackbirdModule();
+  }
+
+  @Bean
+  Module isoDateTimeModule() {
+    return new SimpleModule("iso-date-time")
+        .addSerializer(LocalDateTime.class, new IsoLocalDateTimeSerializer());
+  }
+}
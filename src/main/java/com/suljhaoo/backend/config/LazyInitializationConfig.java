@@ -0,0 +1,72 @@
+package com.suljhaoo.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suljhaoo.backend.security.config.CompiledAuthorizationManager;
+import com.suljhaoo.backend.security.config.EndpointRoleConfig;
+import com.suljhaoo.backend.security.config.EndpointValidationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.Filter;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.servlet.HandlerAdapter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * The "lazy" profile turns on spring.main.lazy-initialization, so beans are only created when first
+ * used. Beans every request needs are still created at startup, so the first request is not slower.
+ * These are the JPA stack and repositories, servlet filters (security and tracing), MVC handler
+ * mappings and adapters, Jackson, the password encoder, authorization rules and metrics. Beans with
+ * an @Scheduled method are also created at startup, because a lazy bean's schedule would never be
+ * registered. EndpointValidationService is kept eager so that strict validation still runs before
+ * the application is ready.
+ */
+@Configuration
+@Profile("lazy")
+public class LazyInitializationConfig {
+
+  private static final List<Class<?>> HOT_PATH_TYPES =
+      List.of(
+          DataSource.class,
+          EntityManagerFactory.class,
+          AbstractEntityManagerFactoryBean.class,
+          Repository.class,
+          RepositoryFactoryBeanSupport.class,
+          Filter.class,
+          HandlerMapping.class,
+          HandlerAdapter.class,
+          ObjectMapper.class,
+          PasswordEncoder.class,
+          EndpointRoleConfig.class,
+          CompiledAuthorizationManager.class,
+          EndpointValidationService.class,
+          MeterRegistry.class);
+
+  @Bean
+  static LazyInitializationExcludeFilter hotPathBeans() {
+    return (beanName, beanDefinition, beanType) ->
+        beanType != null
+            && (HOT_PATH_TYPES.stream().anyMatch(type -> type.isAssignableFrom(beanType))
+                || hasScheduledMethod(beanType));
+  }
+
+  private static boolean hasScheduledMethod(Class<?> beanType) {
+    boolean[] found = {false};
+    ReflectionUtils.doWithMethods(
+        beanType,
+        method -> found[0] = true,
+        method -> AnnotatedElementUtils.hasAnnotation(method, Scheduled.class));
+    return found[0];
+  }
+}
@@ -0,0 +1,51 @@
+package com.suljhaoo.backend.config;
+
+import com.suljhaoo.backend.security.login.LoginRateLimiter;
+import com.suljhaoo.backend.security.login.PasswordHashingLane;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Login execution lane: the pre-auth limiter (per phone number and per source IP) and the bounded
+ * password-hashing pool. app.auth.login.hashing.threads=0 means half the available cores.
+ */
+@Slf4j
+@Configuration
+public class LoginThrottleConfig {
+
+  @Bean
+  LoginRateLimiter loginRateLimiter(
+      MeterRegistry meterRegistry,
+      @Value("${app.auth.login.rate-limit.phone.capacity:5}") int phoneCapacity,
+      @Value("${app.auth.login.rate-limit.phone.refill:PT12S}") Duration phoneRefill,
+      @Value("${app.auth.login.rate-limit.ip.capacity:30}") int ipCapacity,
+      @Value("${app.auth.login.rate-limit.ip.refill:PT2S}") Duration ipRefill,
+      @Value("${app.auth.login.rate-limit.max-keys:100000}") int maxKeys) {
+    return new LoginRateLimiter(
+        phoneCapacity, phoneRefill, ipCapacity, ipRefill, maxKeys, meterRegistry);
+  }
+
+  @Bean
+  PasswordHashingLane passwordHashingLane(
+      PasswordEncoder passwordEncoder,
+      MeterRegistry meterRegistry,
+      @Value("${app.auth.login.hashing.threads:0}") int threads,
+      @Value("${app.auth.login.hashing.queue-capacity:8}") int queueCapacity,
+      @Value("${app.auth.login.hashing.wait-timeout:PT3S}") Duration waitTimeout) {
+    if (threads <= 0) {
+      threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+    log.info(
+        "Password hashing lane: {} threads, queue {}, wait timeout {}",
+        threads,
+        queueCapacity,
+        waitTimeout);
+    return new PasswordHashingLane(
+        passwordEncoder, threads, queueCapacity, waitTimeout, meterRegistry);
+  }
+}
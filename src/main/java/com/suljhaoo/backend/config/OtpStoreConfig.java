@@ -0,0 +1,46 @@
+package com.suljhaoo.backend.config;
+
+import com.suljhaoo.backend.repository.auth.OtpRepository;
+import com.suljhaoo.backend.service.auth.OtpStore;
+import com.suljhaoo.backend.service.auth.impl.InMemoryOtpStore;
+import com.suljhaoo.backend.service.auth.impl.JpaOtpStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Signup OTP storage, selected by app.otp.store: "memory" (default) keeps pending OTPs in
+ * InMemoryOtpStore, "jpa" in the otp table. Both expire OTPs after otp.expiry.minutes.
+ */
+@Configuration
+public class OtpStoreConfig {
+
+  @Bean
+  @ConditionalOnProperty(name = "app.otp.store", havingValue = "memory", matchIfMissing = true)
+  InMemoryOtpStore inMemoryOtpStore(
+      MeterRegistry meterRegistry,
+      @Value("${otp.expiry.minutes:1}") int expiryMinutes,
+      @Value("${app.otp.store.memory.shards:16}") int shards,
+      @Value("${app.otp.store.memory.tick:PT1S}") Duration tick,
+      @Value("${app.otp.store.memory.max-attempts:5}") int maxAttempts) {
+    InMemoryOtpStore store =
+        new InMemoryOtpStore(
+            shards, Duration.ofMinutes(expiryMinutes), tick, maxAttempts, Clock.systemUTC());
+    meterRegistry.gauge("otp.store.pending", store, InMemoryOtpStore::size);
+    return store;
+  }
+
+  @Bean
+  @ConditionalOnProperty(name = "app.otp.store", havingValue = "jpa")
+  OtpStore jpaOtpStore(
+      OtpRepository otpRepository,
+      PlatformTransactionManager transactionManager,
+      @Value("${otp.expiry.minutes:1}") int expiryMinutes) {
+    return new JpaOtpStore(otpRepository, transactionManager, Duration.ofMinutes(expiryMinutes));
+  }
+}
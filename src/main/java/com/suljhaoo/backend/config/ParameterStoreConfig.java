@@ -1,20 +1,29 @@
 package com.suljhaoo.backend.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.boot.env.EnvironmentPostProcessor;
 import org.springframework.core.env.ConfigurableEnvironment;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.SsmClientBuilder;
 import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
 import software.amazon.awssdk.services.ssm.model.ParameterNotFoundException;
-import software.amazon.awssdk.services.ssm.model.SsmException;
 
 /**
  * EnvironmentPostProcessor that loads JSON configuration from AWS Parameter Store.
@@ -36,26 +45,46 @@ import software.amazon.awssdk.services.ssm.model.SsmException;
  *   <li>EC2: IAM instance role
  *   <li>ECS: Task role
  * </ul>
+ *
+ * <p>With aws.parameterstore.snapshot.key set (a base64 AES key), the last JSON that loaded is kept
+ * in an encrypted local snapshot (aws.parameterstore.snapshot.path). When a snapshot exists the
+ * application boots from it without waiting for SSM; the fetch runs in the background and
+ * ParameterStoreRefresher applies it once the application is ready. Every SSM call is bounded by
+ * aws.parameterstore.timeout (default 5s); aws.parameterstore.endpoint points the client at a local
+ * SSM stub.
  */
 @Slf4j
 public class ParameterStoreConfig implements EnvironmentPostProcessor {
 
   private static final String PARAMETER_PATH_PREFIX = "/config/suljhaoo-backend-service";
   private static final String PARAMETER_NAME = "application.json";
-  private static final String PROPERTY_SOURCE_NAME = "parameterStoreJsonConfig";
+  static final String PROPERTY_SOURCE_NAME = "parameterStoreJsonConfig";
   private static final String ENV_PROPERTY = "aws.parameterstore.environment";
   private static final String REGION_PROPERTY = "spring.cloud.aws.region.static";
   private static final String DEFAULT_REGION = "ap-south-1";
   private static final String DEFAULT_ENV = "dev";
+  private static final String ENDPOINT_PROPERTY = "aws.parameterstore.endpoint";
+  private static final String TIMEOUT_PROPERTY = "aws.parameterstore.timeout";
+  private static final String DEFAULT_TIMEOUT = "5s";
+  private static final String SNAPSHOT_KEY_PROPERTY = "aws.parameterstore.snapshot.key";
+  private static final String SNAPSHOT_PATH_PROPERTY = "aws.parameterstore.snapshot.path";
 
   @Override
   public void postProcessEnvironment(
       ConfigurableEnvironment environment, SpringApplication application) {
 
-    // Skip Parameter Store if "local" or "test" profile is active
+    // Skip Parameter Store during AOT processing at build time
+    if (Boolean.getBoolean("spring.aot.processing")) {
+      log.info("Skipping Parameter Store during AOT processing");
+      return;
+    }
+
+    // Skip Parameter Store if "local", "test" or "cds" (image build training run) profile is active
     String[] activeProfiles = environment.getActiveProfiles();
     for (String profile : activeProfiles) {
-      if ("local".equalsIgnoreCase(profile) || "test".equalsIgnoreCase(profile)) {
+      if ("local".equalsIgnoreCase(profile)
+          || "test".equalsIgnoreCase(profile)
+          || "cds".equalsIgnoreCase(profile)) {
         String skipMessage =
             "⏭️ Skipping Parameter Store (local profile detected). Using local configuration only.";
         log.info(skipMessage);
@@ -67,6 +96,10 @@ public class ParameterStoreConfig implements EnvironmentPostProcessor {
     String env = determineEnvironment(environment);
     String region = environment.getProperty(REGION_PROPERTY, DEFAULT_REGION);
     String parameterPath = String.format("%s/%s/%s", PARAMETER_PATH_PREFIX, env, PARAMETER_NAME);
+    String endpoint = environment.getProperty(ENDPOINT_PROPERTY);
+    Duration timeout =
+        DurationStyle.detectAndParse(environment.getProperty(TIMEOUT_PROPERTY, DEFAULT_TIMEOUT));
+    ParameterStoreSnapshot snapshot = createSnapshot(environment, env);
 
     // Log which environment is being used
     String envInfo =
@@ -75,8 +108,19 @@ public class ParameterStoreConfig implements EnvironmentPostProcessor {
     log.info(envInfo);
     System.out.println("[ParameterStoreConfig] " + envInfo);
 
+    Optional<String> snapshotJson = snapshot == null ? Optional.empty() : snapshot.read();
+    if (snapshotJson.isPresent() && bootFromSnapshot(environment, snapshot, snapshotJson.get())) {
+      CompletableFuture<Optional<String>> fetch =
+          fetchInBackground(parameterPath, region, endpoint, timeout);
+      ParameterStoreRefresher refresher =
+          new ParameterStoreRefresher(fetch, snapshotJson.get(), snapshot, parameterPath);
+      application.addInitializers(context -> context.addApplicationListener(refresher));
+      return;
+    }
+
     try {
-      Map<String, Object> properties = loadJsonFromParameterStore(parameterPath, region);
+      Optional<String> json = fetchJson(parameterPath, region, endpoint, timeout);
+      Map<String, Object> properties = json.isPresent() ? parseJson(json.get()) : Map.of();
 
       if (!properties.isEmpty()) {
         PropertySource<?> propertySource = new MapPropertySource(PROPERTY_SOURCE_NAME, properties);
@@ -88,6 +132,7 @@ public class ParameterStoreConfig implements EnvironmentPostProcessor {
                 properties.size(), parameterPath);
         log.info(logMessage);
         System.out.println("[ParameterStoreConfig] " + logMessage);
+        writeSnapshot(snapshot, json.get());
       } else {
         String warnMessage =
             String.format("⚠️ No properties loaded from Parameter Store: %s", parameterPath);
@@ -106,6 +151,80 @@ public class ParameterStoreConfig implements EnvironmentPostProcessor {
     }
   }
 
+  /**
+   * The snapshot is used only when an encryption key is configured: the JSON holds credentials and
+   * is never written in plain text.
+   */
+  private ParameterStoreSnapshot createSnapshot(ConfigurableEnvironment environment, String env) {
+    String key = environment.getProperty(SNAPSHOT_KEY_PROPERTY);
+    if (key == null || key.isBlank()) {
+      return null;
+    }
+    String path =
+        environment.getProperty(
+            SNAPSHOT_PATH_PROPERTY,
+            Path.of(
+                    System.getProperty("java.io.tmpdir"),
+                    "suljhaoo",
+                    "parameter-store-{env}.snapshot")
+                .toString());
+    try {
+      return new ParameterStoreSnapshot(Path.of(path.replace("{env}", env)), key);
+    } catch (IllegalArgumentException e) {
+      log.warn("Parameter Store snapshot disabled: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  private boolean bootFromSnapshot(
+      ConfigurableEnvironment environment, ParameterStoreSnapshot snapshot, String json) {
+    try {
+      Map<String, Object> properties = parseJson(json);
+      environment
+          .getPropertySources()
+          .addFirst(new MapPropertySource(PROPERTY_SOURCE_NAME, properties));
+      String logMessage =
+          String.format(
+              "✅ Loaded %d properties from Parameter Store snapshot %s; refreshing in the background",
+              properties.size(), snapshot.path());
+      log.info(logMessage);
+      System.out.println("[ParameterStoreConfig] " + logMessage);
+      return true;
+    } catch (IOException e) {
+      log.warn("Ignoring Parameter Store snapshot {}: {}", snapshot.path(), e.getMessage());
+      return false;
+    }
+  }
+
+  private void writeSnapshot(ParameterStoreSnapshot snapshot, String json) {
+    if (snapshot == null) {
+      return;
+    }
+    try {
+      snapshot.write(json);
+    } catch (IOException e) {
+      log.warn("Failed to write Parameter Store snapshot {}: {}", snapshot.path(), e.getMessage());
+    }
+  }
+
+  private CompletableFuture<Optional<String>> fetchInBackground(
+      String parameterPath, String region, String endpoint, Duration timeout) {
+    CompletableFuture<Optional<String>> fetch = new CompletableFuture<>();
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                fetch.complete(fetchJson(parameterPath, region, endpoint, timeout));
+              } catch (Throwable e) {
+                fetch.completeExceptionally(e);
+              }
+            },
+            "parameter-store-refresh");
+    thread.setDaemon(true);
+    thread.start();
+    return fetch.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
   private String determineEnvironment(ConfigurableEnvironment environment) {
     // Check explicit property first (can be set via environment variable
     // AWS_PARAMETERSTORE_ENVIRONMENT
@@ -138,44 +257,52 @@ public class ParameterStoreConfig implements EnvironmentPostProcessor {
     return DEFAULT_ENV;
   }
 
-  private Map<String, Object> loadJsonFromParameterStore(String parameterPath, String region) {
-    Map<String, Object> properties = new HashMap<>();
-
-    try (SsmClient ssmClient =
+  /**
+   * Reads the raw parameter value; empty if the parameter does not exist. The whole call, retries
+   * included, is bounded by the timeout.
+   */
+  private Optional<String> fetchJson(
+      String parameterPath, String region, String endpoint, Duration timeout) {
+    SsmClientBuilder builder =
         SsmClient.builder()
             .region(Region.of(region))
             .credentialsProvider(DefaultCredentialsProvider.builder().build())
-            .build()) {
+            .overrideConfiguration(c -> c.apiCallTimeout(timeout));
+    if (endpoint != null && !endpoint.isBlank()) {
+      builder.endpointOverride(URI.create(endpoint));
+    }
 
+    try (SsmClient ssmClient = builder.build()) {
       GetParameterRequest request =
           GetParameterRequest.builder().name(parameterPath).withDecryption(true).build();
 
       String jsonValue = ssmClient.getParameter(request).parameter().value();
-
-      if (jsonValue != null && !jsonValue.trim().isEmpty()) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        @SuppressWarnings("unchecked")
-        Map<String, Object> jsonMap = objectMapper.readValue(jsonValue, Map.class);
-
-        flattenMap("", jsonMap, properties);
-        log.debug("Parsed {} properties from JSON", properties.size());
-      }
+      return jsonValue == null || jsonValue.trim().isEmpty()
+          ? Optional.empty()
+          : Optional.of(jsonValue);
 
     } catch (ParameterNotFoundException e) {
       log.debug("Parameter not found: {}", parameterPath);
-    } catch (SsmException e) {
+      return Optional.empty();
+    } catch (SdkException e) {
       log.debug("AWS SSM error loading parameter {}: {}", parameterPath, e.getMessage());
       throw new RuntimeException("Failed to load parameter from Parameter Store", e);
-    } catch (Exception e) {
-      log.debug("Error parsing JSON from parameter {}: {}", parameterPath, e.getMessage());
-      throw new RuntimeException("Failed to parse JSON from Parameter Store", e);
     }
+  }
 
+  /** Flattens the parameter JSON into dotted property names. */
+  static Map<String, Object> parseJson(String json) throws IOException {
+    @SuppressWarnings("unchecked")
+    Map<String, Object> jsonMap = new ObjectMapper().readValue(json, Map.class);
+    Map<String, Object> properties = new HashMap<>();
+    flattenMap("", jsonMap, properties);
+    log.debug("Parsed {} properties from JSON", properties.size());
     return properties;
   }
 
   @SuppressWarnings("unchecked")
-  private void flattenMap(String prefix, Map<String, Object> source, Map<String, Object> target) {
+  private static void flattenMap(
+      String prefix, Map<String, Object> source, Map<String, Object> target) {
     for (Map.Entry<String, Object> entry : source.entrySet()) {
       String key = prefix.isEmpty() ? entry.getKey() : prefix + "." + entry.getKey();
       Object value = entry.getValue();
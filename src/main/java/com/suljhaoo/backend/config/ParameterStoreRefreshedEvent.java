@@ -0,0 +1,25 @@
+package com.suljhaoo.backend.config;
+
+import java.util.Set;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published once after startup when the background Parameter Store refresh found values that differ
+ * from the snapshot the application booted with. The environment already holds the new values;
+ * beans that copied a property at startup (@Value, @ConfigurationProperties, the data source) keep
+ * the old one until they react to this event or the next restart.
+ */
+public class ParameterStoreRefreshedEvent extends ApplicationEvent {
+
+  private final Set<String> changedKeys;
+
+  public ParameterStoreRefreshedEvent(Object source, Set<String> changedKeys) {
+    super(source);
+    this.changedKeys = Set.copyOf(changedKeys);
+  }
+
+  /** Keys that were added, removed or changed. */
+  public Set<String> getChangedKeys() {
+    return changedKeys;
+  }
+}
@@ -0,0 +1,131 @@
+package com.suljhaoo.backend.config;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+
+/**
+ * Finishes a boot from the Parameter Store snapshot. ParameterStoreConfig starts the SSM fetch in
+ * the background while the context refreshes; once the application is ready this applies the
+ * result: if the JSON differs from the snapshot, the property source is replaced, the snapshot is
+ * rewritten and a ParameterStoreRefreshedEvent is published. No bean reacts to the event, so the
+ * changed keys are logged at WARN as needing a restart. A failed or timed-out fetch keeps the
+ * snapshot values. Registered on the context by ParameterStoreConfig, not as a bean.
+ */
+@Slf4j
+class ParameterStoreRefresher implements ApplicationListener<ApplicationReadyEvent> {
+
+  private final CompletableFuture<Optional<String>> fetch;
+  private final String snapshotJson;
+  private final ParameterStoreSnapshot snapshot;
+  private final String parameterPath;
+  private final AtomicBoolean applied = new AtomicBoolean();
+
+  ParameterStoreRefresher(
+      CompletableFuture<Optional<String>> fetch,
+      String snapshotJson,
+      ParameterStoreSnapshot snapshot,
+      String parameterPath) {
+    this.fetch = fetch;
+    this.snapshotJson = snapshotJson;
+    this.snapshot = snapshot;
+    this.parameterPath = parameterPath;
+  }
+
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    if (!applied.compareAndSet(false, true)) {
+      return;
+    }
+    fetch.whenComplete(
+        (json, error) -> {
+          if (error != null) {
+            log.warn(
+                "Background Parameter Store refresh of {} failed: {}. Keeping snapshot values.",
+                parameterPath,
+                error.toString());
+          } else if (json.isEmpty()) {
+            log.warn(
+                "Parameter {} not found during background refresh. Keeping snapshot values.",
+                parameterPath);
+          } else if (json.get().equals(snapshotJson)) {
+            log.info("Parameter Store {} unchanged since snapshot", parameterPath);
+          } else {
+            apply(event, json.get());
+          }
+        });
+  }
+
+  private void apply(ApplicationReadyEvent event, String json) {
+    Map<String, Object> properties;
+    try {
+      properties = ParameterStoreConfig.parseJson(json);
+    } catch (IOException e) {
+      log.warn(
+          "Parameter {} holds invalid JSON: {}. Keeping snapshot values.",
+          parameterPath,
+          e.toString());
+      return;
+    }
+    Set<String> changedKeys =
+        changedKeys(event.getApplicationContext().getEnvironment(), properties);
+    MutablePropertySources propertySources =
+        event.getApplicationContext().getEnvironment().getPropertySources();
+    MapPropertySource propertySource =
+        new MapPropertySource(ParameterStoreConfig.PROPERTY_SOURCE_NAME, properties);
+    if (propertySources.contains(ParameterStoreConfig.PROPERTY_SOURCE_NAME)) {
+      propertySources.replace(ParameterStoreConfig.PROPERTY_SOURCE_NAME, propertySource);
+    } else {
+      propertySources.addFirst(propertySource);
+    }
+    try {
+      snapshot.write(json);
+    } catch (IOException e) {
+      log.warn("Failed to update Parameter Store snapshot {}: {}", snapshot.path(), e.toString());
+    }
+    // Nothing rebinds on the event: the data source, JWT and SMS keys and every @Value keep the
+    // snapshot value, so a rotated credential only takes effect after a restart
+    log.atWarn()
+        .addKeyValue("parameterstore.changed_keys", changedKeys.size())
+        .log(
+            "Parameter Store {} changed since snapshot; keys {} are in the environment but need a"
+                + " restart to reach beans bound at startup",
+            parameterPath,
+            new TreeSet<>(changedKeys));
+    event.getApplicationContext().publishEvent(new ParameterStoreRefreshedEvent(this, changedKeys));
+  }
+
+  private static Set<String> changedKeys(
+      ConfigurableEnvironment environment, Map<String, Object> properties) {
+    Map<String, Object> previous = new HashMap<>();
+    if (environment.getPropertySources().get(ParameterStoreConfig.PROPERTY_SOURCE_NAME)
+        instanceof MapPropertySource current) {
+      previous.putAll(current.getSource());
+    }
+    Set<String> changed = new HashSet<>();
+    for (String key : properties.keySet()) {
+      if (!Objects.equals(previous.get(key), properties.get(key))) {
+        changed.add(key);
+      }
+    }
+    for (String key : previous.keySet()) {
+      if (!properties.containsKey(key)) {
+        changed.add(key);
+      }
+    }
+    return changed;
+  }
+}
@@ -0,0 +1,107 @@
+package com.suljhaoo.backend.config;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Optional;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Last Parameter Store JSON that loaded successfully, kept in a local file encrypted with AES-GCM
+ * (the parameter holds database and API credentials). File layout: 12-byte IV followed by the
+ * ciphertext and tag. A file that cannot be decrypted (wrong key, truncated, tampered) is ignored.
+ */
+@Slf4j
+final class ParameterStoreSnapshot {
+
+  private static final String CIPHER = "AES/GCM/NoPadding";
+  private static final int IV_BYTES = 12;
+  private static final int TAG_BITS = 128;
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final Path path;
+  private final SecretKey key;
+
+  ParameterStoreSnapshot(Path path, String base64Key) {
+    byte[] keyBytes = Base64.getDecoder().decode(base64Key.trim());
+    if (keyBytes.length != 16 && keyBytes.length != 24 && keyBytes.length != 32) {
+      throw new IllegalArgumentException(
+          "Snapshot key must be a base64-encoded 128, 192 or 256-bit AES key");
+    }
+    this.path = path;
+    this.key = new SecretKeySpec(keyBytes, "AES");
+  }
+
+  Path path() {
+    return path;
+  }
+
+  Optional<String> read() {
+    if (!Files.isRegularFile(path)) {
+      return Optional.empty();
+    }
+    try {
+      ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(path));
+      byte[] iv = new byte[IV_BYTES];
+      data.get(iv);
+      byte[] encrypted = new byte[data.remaining()];
+      data.get(encrypted);
+      Cipher cipher = Cipher.getInstance(CIPHER);
+      cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+      return Optional.of(new String(cipher.doFinal(encrypted), StandardCharsets.UTF_8));
+    } catch (IOException | GeneralSecurityException | RuntimeException e) {
+      log.warn("Ignoring unreadable Parameter Store snapshot {}: {}", path, e.toString());
+      return Optional.empty();
+    }
+  }
+
+  /** Writes atomically (temp file, then rename) so a crash never leaves a half-written file. */
+  void write(String json) throws IOException {
+    try {
+      byte[] iv = new byte[IV_BYTES];
+      RANDOM.nextBytes(iv);
+      Cipher cipher = Cipher.getInstance(CIPHER);
+      cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+      byte[] encrypted = cipher.doFinal(json.getBytes(StandardCharsets.UTF_8));
+
+      Path directory = path.toAbsolutePath().getParent();
+      Files.createDirectories(directory);
+      Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+      try {
+        restrictToOwner(temp);
+        Files.write(
+            temp, ByteBuffer.allocate(iv.length + encrypted.length).put(iv).put(encrypted).array());
+        try {
+          Files.move(
+              temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+    } catch (GeneralSecurityException e) {
+      throw new IOException("Failed to encrypt Parameter Store snapshot", e);
+    }
+  }
+
+  private static void restrictToOwner(Path file) throws IOException {
+    try {
+      Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+    } catch (UnsupportedOperationException e) {
+      // Not a POSIX file system; the directory permissions apply.
+    }
+  }
+}
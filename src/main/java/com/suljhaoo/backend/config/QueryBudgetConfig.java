@@ -0,0 +1,105 @@
+package com.suljhaoo.backend.config;
+
+import com.suljhaoo.backend.config.querybudget.QueryBudgetCategory;
+import com.suljhaoo.backend.config.querybudget.QueryBudgetInterceptor;
+import com.suljhaoo.backend.config.querybudget.QueryBudgetLimits;
+import com.suljhaoo.backend.config.querybudget.QueryBudgetTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Statement timeouts and per-request query budgets by endpoint category (list, report, write,
+ * bulk); see QueryBudgetTracker. Limits come from app.query-budget.{category}.statement-timeout,
+ * .max-statements, .max-rows and .on-exceeded (log or fail).
+ *
+ * <p>The deadline only bounds queries the transaction creates, not flushes, lock waits or commit,
+ * so it says nothing about when a write commits. Delta sync relies on app.sync.oldest-write-query
+ * instead (SyncServiceImpl).
+ */
+@Configuration
+public class QueryBudgetConfig implements WebMvcConfigurer {
+
+  private final ObjectProvider<QueryBudgetTracker> queryBudgetTracker;
+
+  public QueryBudgetConfig(ObjectProvider<QueryBudgetTracker> queryBudgetTracker) {
+    this.queryBudgetTracker = queryBudgetTracker;
+  }
+
+  @Bean
+  QueryBudgetTracker queryBudgetTracker(
+      Environment environment,
+      ObjectProvider<EntityManagerFactory> entityManagerFactory,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    Map<QueryBudgetCategory, QueryBudgetLimits> limits = new EnumMap<>(QueryBudgetCategory.class);
+    limits.put(
+        QueryBudgetCategory.LIST, limits(environment, QueryBudgetCategory.LIST, 3, 50, 2000));
+    limits.put(
+        QueryBudgetCategory.REPORT,
+        limits(environment, QueryBudgetCategory.REPORT, 15, 500, 20000));
+    limits.put(
+        QueryBudgetCategory.WRITE, limits(environment, QueryBudgetCategory.WRITE, 5, 3000, 10000));
+    limits.put(
+        QueryBudgetCategory.BULK, limits(environment, QueryBudgetCategory.BULK, 120, 20000, 50000));
+
+    return new QueryBudgetTracker(limits, entityManagerFactory, meterRegistry);
+  }
+
+  @Bean
+  HibernatePropertiesCustomizer queryBudgetStatementInspector() {
+    StatementInspector inspector =
+        sql -> {
+          queryBudgetTracker.getObject().statementPrepared();
+          return sql;
+        };
+    return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+  }
+
+  @Bean
+  SmartInitializingSingleton queryBudgetRowListener(
+      EntityManagerFactory entityManagerFactory, QueryBudgetTracker tracker) {
+    PostLoadEventListener listener = event -> tracker.rowLoaded();
+    return () ->
+        entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class)
+            .appendListeners(EventType.POST_LOAD, listener);
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new QueryBudgetInterceptor(queryBudgetTracker.getObject()));
+  }
+
+  private static QueryBudgetLimits limits(
+      Environment environment,
+      QueryBudgetCategory category,
+      long timeoutSeconds,
+      int maxStatements,
+      int maxRows) {
+    String prefix = "app.query-budget." + category.key() + ".";
+    return new QueryBudgetLimits(
+        environment.getProperty(
+            prefix + "statement-timeout", Duration.class, Duration.ofSeconds(timeoutSeconds)),
+        environment.getProperty(prefix + "max-statements", Integer.class, maxStatements),
+        environment.getProperty(prefix + "max-rows", Integer.class, maxRows),
+        "fail".equalsIgnoreCase(environment.getProperty(prefix + "on-exceeded", "log")));
+  }
+}
@@ -0,0 +1,111 @@
+package com.suljhaoo.backend.config;
+
+import com.suljhaoo.backend.config.datasource.ReadYourWritesTracker;
+import com.suljhaoo.backend.config.datasource.ReplicaLagMonitor;
+import com.suljhaoo.backend.config.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read replica routing, off unless app.datasource.replica.enabled=true. Replaces the
+ * auto-configured pool with two Hikari pools, "primary" (spring.datasource.*) and "replica"
+ * (app.datasource.replica.hikari.*), behind one routing DataSource; see ReplicaRoutingDataSource
+ * for which connections go where. Both pools get the hikaricp.* meters (PoolMetricsTrackerFactory),
+ * tagged pool=primary / pool=replica.
+ *
+ * <p>Refuses to start when app.sync.settle-window does not cover the replica's worst-case staleness
+ * (max-lag plus one lag-check-interval, since lag is only measured that often). Delta sync reads
+ * the primary, but the settle window must stay safe for any cursor read served by the replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  @ConfigurationProperties("app.datasource.replica.hikari")
+  HikariDataSource replicaDataSource() {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setPoolName("replica");
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  ReadYourWritesTracker readYourWritesTracker(
+      @Value("${app.datasource.replica.read-your-writes-window:PT5S}") Duration window) {
+    return new ReadYourWritesTracker(window);
+  }
+
+  @Bean
+  ReplicaLagMonitor replicaLagMonitor(
+      @Qualifier("replicaDataSource") DataSource replicaDataSource,
+      @Value("${app.datasource.replica.lag-query}") String lagQuery,
+      @Value("${app.datasource.replica.max-lag:PT2S}") Duration maxLag,
+      @Value("${app.datasource.replica.lag-check-interval:PT5S}") Duration lagCheckInterval,
+      @Value("${app.sync.settle-window:PT8S}") Duration settleWindow,
+      ReadYourWritesTracker readYourWritesTracker) {
+    Duration worstCaseLag = maxLag.plus(lagCheckInterval);
+    if (settleWindow.compareTo(worstCaseLag) <= 0) {
+      throw new IllegalStateException(
+          "app.sync.settle-window ("
+              + settleWindow
+              + ") must be longer than app.datasource.replica.max-lag plus lag-check-interval ("
+              + worstCaseLag
+              + ")");
+    }
+    return new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLag, readYourWritesTracker);
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primaryDataSource,
+      @Qualifier("replicaDataSource") DataSource replicaDataSource,
+      ReplicaLagMonitor replicaLagMonitor,
+      ReadYourWritesTracker readYourWritesTracker,
+      MeterRegistry meterRegistry) {
+    return new LazyConnectionDataSourceProxy(
+        new ReplicaRoutingDataSource(
+            primaryDataSource,
+            replicaDataSource,
+            replicaLagMonitor,
+            readYourWritesTracker,
+            meterRegistry));
+  }
+
+  @Bean
+  MeterBinder replicaLagMetrics(ReplicaLagMonitor replicaLagMonitor) {
+    return registry -> {
+      Gauge.builder("db.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagSeconds)
+          .baseUnit("seconds")
+          .description("Replay lag of the read replica at the last probe")
+          .register(registry);
+      Gauge.builder(
+              "db.replica.available", replicaLagMonitor, monitor -> monitor.isAvailable() ? 1 : 0)
+          .description("1 if the last replica probe or connection succeeded")
+          .register(registry);
+    };
+  }
+}
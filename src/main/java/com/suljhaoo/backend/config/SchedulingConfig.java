@@ -0,0 +1,9 @@
+package com.suljhaoo.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables @Scheduled housekeeping jobs (sync tombstone purge). */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
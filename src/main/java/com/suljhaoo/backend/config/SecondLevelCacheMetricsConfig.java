@@ -0,0 +1,44 @@
+package com.suljhaoo.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hit ratio per Hibernate second-level cache region (store, supplier, user). hibernate-micrometer
+ * already publishes the raw hibernate_second_level_cache_requests{region,result} counters; this
+ * gauge is the lifetime ratio for dashboards and alerts that should not need a PromQL division.
+ * Both need Hibernate statistics, so the gauge is only registered when they are enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.hibernate.statistics.enabled", havingValue = "true")
+public class SecondLevelCacheMetricsConfig {
+
+  @Bean
+  MeterBinder secondLevelCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    return registry -> {
+      for (String region : statistics.getSecondLevelCacheRegionNames()) {
+        Gauge.builder(
+                "hibernate.second.level.cache.hit.ratio",
+                statistics,
+                stats -> hitRatio(stats.getDomainDataRegionStatistics(region)))
+            .tag("region", region)
+            .description("Second-level cache hits / (hits + misses) since startup")
+            .register(registry);
+      }
+    };
+  }
+
+  private static double hitRatio(CacheRegionStatistics region) {
+    long hits = region.getHitCount();
+    long lookups = hits + region.getMissCount();
+    return lookups == 0 ? Double.NaN : (double) hits / lookups;
+  }
+}
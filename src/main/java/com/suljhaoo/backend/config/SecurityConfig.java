@@ -1,10 +1,17 @@
 package com.suljhaoo.backend.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suljhaoo.backend.ratelimit.OwnedStores;
+import com.suljhaoo.backend.ratelimit.TenantRateLimiter;
 import com.suljhaoo.backend.security.JwtAccessDeniedHandler;
 import com.suljhaoo.backend.security.JwtAuthenticationEntryPoint;
 import com.suljhaoo.backend.security.JwtAuthenticationFilter;
+import com.suljhaoo.backend.security.TenantRateLimitFilter;
 import com.suljhaoo.backend.security.config.AuthorizationConfigBuilder;
+import com.suljhaoo.backend.security.config.CompiledAuthorizationManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -32,6 +39,13 @@ public class SecurityConfig {
   private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
   private final CorsConfigurationSource corsConfigurationSource;
   private final AuthorizationConfigBuilder authorizationConfigBuilder;
+  private final CompiledAuthorizationManager compiledAuthorizationManager;
+  private final ObjectProvider<TenantRateLimiter> tenantRateLimiter;
+  private final ObjectProvider<OwnedStores> ownedStores;
+  private final ObjectMapper objectMapper;
+
+  @Value("${app.security.compiled-authorization.enabled:true}")
+  private boolean compiledAuthorization;
 
   @Bean
   public PasswordEncoder passwordEncoder() {
@@ -53,6 +67,11 @@ public class SecurityConfig {
         .logout(AbstractHttpConfigurer::disable)
         .authorizeHttpRequests(
             auth -> {
+              if (compiledAuthorization) {
+                // One trie lookup per request; permits OPTIONS and falls back to authenticated
+                auth.anyRequest().access(compiledAuthorizationManager);
+                return;
+              }
               // Allow OPTIONS requests for CORS preflight
               auth.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll();
               // Configure authorization from JSON file using builder pattern
@@ -69,6 +88,14 @@ public class SecurityConfig {
                     .accessDeniedHandler(jwtAccessDeniedHandler))
         .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
+    // Per-tenant limits need the authenticated user, so they run right after JWT validation
+    TenantRateLimiter rateLimiter = tenantRateLimiter.getIfAvailable();
+    if (rateLimiter != null) {
+      http.addFilterAfter(
+          new TenantRateLimitFilter(rateLimiter, ownedStores.getObject(), objectMapper),
+          JwtAuthenticationFilter.class);
+    }
+
     return http.build();
   }
 }
@@ -0,0 +1,80 @@
+package com.suljhaoo.backend.config;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs one startup summary when the application is ready: time to ready and the slowest startup
+ * steps by self time (their own duration minus that of their children), read from the
+ * BufferingApplicationStartup installed by BackendApplication. The full timeline is served at
+ * /actuator/startup; scripts/startup-report.sh turns it into a list that can be diffed across
+ * releases.
+ */
+@Slf4j
+@Component
+public class StartupReportLogger {
+
+  private static final int SLOWEST_STEPS = 10;
+
+  @EventListener
+  public void onReady(ApplicationReadyEvent event) {
+    if (!(event.getApplicationContext().getApplicationStartup()
+        instanceof BufferingApplicationStartup startup)) {
+      return;
+    }
+    List<StartupTimeline.TimelineEvent> events = startup.getBufferedTimeline().getEvents();
+    Map<Long, Duration> childTime = new HashMap<>();
+    for (StartupTimeline.TimelineEvent step : events) {
+      Long parentId = step.getStartupStep().getParentId();
+      if (parentId != null) {
+        childTime.merge(parentId, step.getDuration(), Duration::plus);
+      }
+    }
+    List<String> slowest =
+        events.stream()
+            .sorted(
+                Comparator.comparing(
+                        (StartupTimeline.TimelineEvent step) -> selfTime(step, childTime))
+                    .reversed())
+            .limit(SLOWEST_STEPS)
+            .map(step -> describe(step) + " " + selfTime(step, childTime).toMillis() + "ms")
+            .toList();
+    long readyMillis = event.getTimeTaken() == null ? -1 : event.getTimeTaken().toMillis();
+    log.atInfo()
+        .addKeyValue("startup.ready_ms", readyMillis)
+        .addKeyValue("startup.steps", events.size())
+        .addKeyValue("startup.slowest", slowest.toString())
+        .log(
+            "Ready in {} ms ({} startup steps); slowest by self time: {}",
+            readyMillis,
+            events.size(),
+            slowest);
+  }
+
+  private static Duration selfTime(
+      StartupTimeline.TimelineEvent step, Map<Long, Duration> childTime) {
+    Duration self =
+        step.getDuration()
+            .minus(childTime.getOrDefault(step.getStartupStep().getId(), Duration.ZERO));
+    return self.isNegative() ? Duration.ZERO : self;
+  }
+
+  private static String describe(StartupTimeline.TimelineEvent step) {
+    for (StartupStep.Tag tag : step.getStartupStep().getTags()) {
+      if ("beanName".equals(tag.getKey()) || "repository".equals(tag.getKey())) {
+        return step.getStartupStep().getName() + "[" + tag.getValue() + "]";
+      }
+    }
+    return step.getStartupStep().getName();
+  }
+}
@@ -0,0 +1,103 @@
+package com.suljhaoo.backend.config;
+
+import com.suljhaoo.backend.ratelimit.OwnedStores;
+import com.suljhaoo.backend.ratelimit.RouteClass;
+import com.suljhaoo.backend.ratelimit.TenantRateLimiter;
+import com.suljhaoo.backend.ratelimit.TenantRateLimiter.Limit;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntSupplier;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-tenant rate limits (TenantRateLimitFilter, added to the security chain by SecurityConfig).
+ * Each route class reads app.rate-limit.tenant.{class}.capacity and .refill. Shedding watches the
+ * busiest Hikari pool (primary or replica): the most threads waiting for a connection. Buckets are
+ * only keyed on stores the user owns (OwnedStores, refreshed every owned-stores-ttl).
+ */
+@Configuration
+@ConditionalOnProperty(
+    name = "app.rate-limit.tenant.enabled",
+    havingValue = "true",
+    matchIfMissing = true)
+public class TenantRateLimitConfig {
+
+  private static final Map<RouteClass, Limit> DEFAULTS =
+      Map.of(
+          RouteClass.READ, new Limit(100, Duration.ofMillis(100)),
+          RouteClass.WRITE, new Limit(50, Duration.ofMillis(200)),
+          RouteClass.BULK, new Limit(3, Duration.ofSeconds(20)),
+          RouteClass.REPORT, new Limit(10, Duration.ofSeconds(2)));
+
+  @Bean
+  TenantRateLimiter tenantRateLimiter(
+      Environment environment,
+      ObjectProvider<HikariDataSource> pools,
+      MeterRegistry meterRegistry,
+      @Value("${app.rate-limit.tenant.max-keys:100000}") int maxKeys,
+      @Value("${app.rate-limit.tenant.shed.pending-threshold:10}") int pendingThreshold,
+      @Value("${app.rate-limit.tenant.shed.retry-after:PT2S}") Duration shedRetryAfter) {
+    Map<RouteClass, Limit> limits = new EnumMap<>(RouteClass.class);
+    for (RouteClass routeClass : RouteClass.values()) {
+      String prefix = "app.rate-limit.tenant." + routeClass.key();
+      Limit defaults = DEFAULTS.get(routeClass);
+      limits.put(
+          routeClass,
+          new Limit(
+              environment.getProperty(prefix + ".capacity", Integer.class, defaults.capacity()),
+              environment.getProperty(prefix + ".refill", Duration.class, defaults.refill())));
+    }
+    return new TenantRateLimiter(
+        limits,
+        maxKeys,
+        pendingConnections(pools),
+        pendingThreshold,
+        shedRetryAfter,
+        meterRegistry);
+  }
+
+  @Bean
+  OwnedStores ownedStores(
+      StoreRepository storeRepository,
+      @Value("${app.rate-limit.tenant.owned-stores-ttl:PT1M}") Duration ttl,
+      @Value("${app.rate-limit.tenant.max-keys:100000}") int maxKeys) {
+    return new OwnedStores(
+        userId -> Set.copyOf(storeRepository.findIdsByUserId(userId)), ttl, maxKeys);
+  }
+
+  /** Threads waiting on the busiest pool; pools are resolved on first use, after they exist. */
+  private static IntSupplier pendingConnections(ObjectProvider<HikariDataSource> pools) {
+    return new IntSupplier() {
+      private volatile List<HikariDataSource> resolved;
+
+      @Override
+      public int getAsInt() {
+        List<HikariDataSource> dataSources = resolved;
+        if (dataSources == null) {
+          dataSources = pools.orderedStream().toList();
+          resolved = dataSources;
+        }
+        int pending = 0;
+        for (HikariDataSource dataSource : dataSources) {
+          HikariPoolMXBean poolBean = dataSource.getHikariPoolMXBean();
+          if (poolBean != null) {
+            pending = Math.max(pending, poolBean.getThreadsAwaitingConnection());
+          }
+        }
+        return pending;
+      }
+    };
+  }
+}
@@ -24,7 +24,7 @@ public class TraceIdFilter extends OncePerRequestFilter {
 
   private static final String TRACE_ID_HEADER = "X-Trace-Id";
   private static final String REQUEST_ID_HEADER = "X-Request-Id";
-  private static final String MDC_TRACE_ID = "traceId";
+  public static final String MDC_TRACE_ID = "traceId";
 
   @Override
   protected void doFilterInternal(
@@ -0,0 +1,23 @@
+package com.suljhaoo.backend.config;
+
+import com.suljhaoo.backend.aspect.UserAccessInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * app.security.user-access.mode=interceptor: @ValidateUserAccess is checked by
+ * UserAccessInterceptor from the path variables, ahead of the other interceptors, instead of by
+ * UserAccessValidationAspect around the controller call.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.security.user-access.mode", havingValue = "interceptor")
+public class UserAccessInterceptorConfig implements WebMvcConfigurer {
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new UserAccessInterceptor()).order(Ordered.HIGHEST_PRECEDENCE);
+  }
+}
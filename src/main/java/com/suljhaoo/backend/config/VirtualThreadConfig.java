@@ -0,0 +1,57 @@
+package com.suljhaoo.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Guards the connection pool when spring.threads.virtual.enabled=true (Java 21 runtime only; the
+ * condition is false on 17). Spring Boot then runs Tomcat requests and the @Async executor on
+ * virtual threads, so request concurrency is no longer bounded by Tomcat's 200 platform threads.
+ * The pool must stay the bound: every excess virtual thread parks in Hikari's wait queue instead of
+ * opening another Postgres backend.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+  @Bean
+  static BeanPostProcessor virtualThreadHikariGuard(Environment environment) {
+    int maxPoolSize =
+        environment.getProperty("app.virtual-threads.hikari.max-pool-size", Integer.class, 20);
+    long maxConnectionTimeout =
+        environment.getProperty(
+            "app.virtual-threads.hikari.max-connection-timeout-ms", Long.class, 5_000L);
+
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+          if (dataSource.getMaximumPoolSize() > maxPoolSize) {
+            log.warn(
+                "Virtual threads enabled: capping Hikari maximumPoolSize {} -> {}",
+                dataSource.getMaximumPoolSize(),
+                maxPoolSize);
+            dataSource.setMaximumPoolSize(maxPoolSize);
+          }
+          // Thousands of parked virtual threads should fail fast, not hold sockets for 30s.
+          if (dataSource.getConnectionTimeout() > maxConnectionTimeout) {
+            dataSource.setConnectionTimeout(maxConnectionTimeout);
+          }
+          log.info(
+              "Virtual threads enabled: Hikari pool {} bounded at {} connections, {} ms wait",
+              dataSource.getPoolName(),
+              dataSource.getMaximumPoolSize(),
+              dataSource.getConnectionTimeout());
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,140 @@
+package com.suljhaoo.backend.config.datasource;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Resizes each Hikari pool between minSize and maxSize from what the last window saw.
+ *
+ * <p>The pool grows by growStep when checkouts timed out, or when the mean wait for a connection
+ * exceeds waitToLatencyRatio times the mean time a connection is held (the pool, not the database,
+ * is what requests are queueing on). It does not grow while hold time has risen by more than half
+ * since the previous window: more connections would only add load to a database that is already
+ * slowing down. It shrinks by one when the window's peak checkout count stayed more than growStep
+ * below the current size.
+ */
+@Slf4j
+public class AdaptivePoolSizeController {
+
+  static final double LATENCY_GROWTH_LIMIT = 1.5;
+
+  /** Below this a mean wait is Hikari bookkeeping, not queueing. */
+  static final double MIN_QUEUE_WAIT_MILLIS = 1.0;
+
+  private final List<HikariDataSource> pools;
+  private final PoolMetricsTrackerFactory trackerFactory;
+  private final int minSize;
+  private final int maxSize;
+  private final int growStep;
+  private final double waitToLatencyRatio;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Integer> configuredMinimumIdle = new ConcurrentHashMap<>();
+  private final Map<String, Double> previousUsageMillis = new ConcurrentHashMap<>();
+
+  public AdaptivePoolSizeController(
+      List<HikariDataSource> pools,
+      PoolMetricsTrackerFactory trackerFactory,
+      int minSize,
+      int maxSize,
+      int growStep,
+      double waitToLatencyRatio,
+      MeterRegistry meterRegistry) {
+    if (minSize < 1 || maxSize < minSize || growStep < 1) {
+      throw new IllegalArgumentException(
+          "Invalid adaptive pool bounds: min "
+              + minSize
+              + ", max "
+              + maxSize
+              + ", step "
+              + growStep);
+    }
+    this.pools = pools;
+    this.trackerFactory = trackerFactory;
+    this.minSize = minSize;
+    this.maxSize = maxSize;
+    this.growStep = growStep;
+    this.waitToLatencyRatio = waitToLatencyRatio;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Scheduled(fixedDelayString = "${app.datasource.pool.adaptive.interval:PT10S}")
+  public void adjust() {
+    for (HikariDataSource pool : pools) {
+      HikariPoolMXBean poolBean = pool.getHikariPoolMXBean();
+      PoolWindow window = trackerFactory.window(pool.getPoolName());
+      if (poolBean == null || window == null) {
+        continue; // not started yet
+      }
+      adjust(pool.getPoolName(), pool.getHikariConfigMXBean(), window.drain());
+    }
+  }
+
+  private void adjust(String poolName, HikariConfigMXBean config, PoolWindow.Sample sample) {
+    int current = config.getMaximumPoolSize();
+    Double previousUsage = previousUsageMillis.put(poolName, sample.meanUsageMillis());
+    int target = targetSize(current, sample, previousUsage);
+    if (target == current) {
+      return;
+    }
+    int minimumIdle =
+        configuredMinimumIdle.computeIfAbsent(poolName, name -> config.getMinimumIdle());
+    if (target > current) {
+      config.setMaximumPoolSize(target);
+      config.setMinimumIdle(Math.min(minimumIdle, target));
+    } else {
+      // Lower minimumIdle first so the housekeeper never refills above the new size. Hikari does
+      // not close open connections on resize; the surplus goes at idleTimeout or maxLifetime.
+      config.setMinimumIdle(Math.min(minimumIdle, target));
+      config.setMaximumPoolSize(target);
+    }
+    log.info(
+        "Pool {} resized {} -> {} (wait {} ms, hold {} ms, peak {}, timeouts {})",
+        poolName,
+        current,
+        target,
+        String.format("%.1f", sample.meanAcquireMillis()),
+        String.format("%.1f", sample.meanUsageMillis()),
+        sample.peakInUse(),
+        sample.timeouts());
+    if (meterRegistry != null) {
+      Counter.builder("db.pool.resizes")
+          .description("Maximum pool size changes made by the adaptive controller")
+          .tag("pool", poolName)
+          .tag("direction", target > current ? "grow" : "shrink")
+          .register(meterRegistry)
+          .increment();
+    }
+  }
+
+  int targetSize(int current, PoolWindow.Sample sample, Double previousUsageMillis) {
+    if (current < minSize) {
+      return minSize;
+    }
+    if (current > maxSize) {
+      return maxSize;
+    }
+    boolean queueing =
+        sample.timeouts() > 0
+            || (sample.meanAcquireMillis() >= MIN_QUEUE_WAIT_MILLIS
+                && sample.meanAcquireMillis() > waitToLatencyRatio * sample.meanUsageMillis());
+    if (queueing) {
+      boolean databaseSlowing =
+          previousUsageMillis != null
+              && previousUsageMillis > 0
+              && sample.meanUsageMillis() > previousUsageMillis * LATENCY_GROWTH_LIMIT;
+      return databaseSlowing ? current : Math.min(maxSize, current + growStep);
+    }
+    if (sample.peakInUse() + growStep < current) {
+      return Math.max(minSize, current - 1);
+    }
+    return current;
+  }
+}
@@ -0,0 +1,182 @@
+package com.suljhaoo.backend.config.datasource;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Hikari metrics tracker installed on every pool in place of the one Spring Boot would add. It
+ * keeps the standard hikaricp.* meters by delegating to Hikari's Micrometer tracker, and adds:
+ *
+ * <ul>
+ *   <li>hikaricp.connections.pending.at.acquire{pool}: waiting threads seen by each checkout;
+ *   <li>db.pool.slow.acquires{pool,route}: checkouts that waited longer than the threshold, by the
+ *       request mapping that asked for the connection ("none" outside a request);
+ *   <li>a WARN log for slow checkouts with pool, route, method and wait as structured fields, at
+ *       most one per pool per second, carrying the number of slow checkouts it stands for;
+ *   <li>the per-pool window that AdaptivePoolSizeController sizes the pool from.
+ * </ul>
+ */
+@Slf4j
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+
+  static final String NO_ROUTE = "none";
+  private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+  private final long slowAcquireNanos;
+  private final Map<String, PoolWindow> windows = new ConcurrentHashMap<>();
+
+  public PoolMetricsTrackerFactory(
+      ObjectProvider<MeterRegistry> meterRegistry, Duration slowAcquireThreshold) {
+    this.meterRegistry = meterRegistry;
+    this.slowAcquireNanos = slowAcquireThreshold.toNanos();
+  }
+
+  @Override
+  public IMetricsTracker create(String poolName, PoolStats poolStats) {
+    // Resolved when the pool starts, not when the DataSource bean is created.
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    IMetricsTracker delegate =
+        registry == null
+            ? new IMetricsTracker() {}
+            : new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats);
+    PoolWindow window = windows.computeIfAbsent(poolName, name -> new PoolWindow());
+    return new Tracker(poolName, poolStats, delegate, window, registry);
+  }
+
+  /** The window of a started pool, or null if no pool with that name has started yet. */
+  PoolWindow window(String poolName) {
+    return windows.get(poolName);
+  }
+
+  private class Tracker implements IMetricsTracker {
+
+    private final String poolName;
+    private final PoolStats poolStats;
+    private final IMetricsTracker delegate;
+    private final PoolWindow window;
+    private final MeterRegistry registry;
+    private final DistributionSummary pendingAtAcquire;
+    private final AtomicLong nextLogAt = new AtomicLong(System.nanoTime());
+    private final LongAdder unloggedSlowAcquires = new LongAdder();
+
+    Tracker(
+        String poolName,
+        PoolStats poolStats,
+        IMetricsTracker delegate,
+        PoolWindow window,
+        MeterRegistry registry) {
+      this.poolName = poolName;
+      this.poolStats = poolStats;
+      this.delegate = delegate;
+      this.window = window;
+      this.registry = registry;
+      this.pendingAtAcquire =
+          registry == null
+              ? null
+              : DistributionSummary.builder("hikaricp.connections.pending.at.acquire")
+                  .description("Threads waiting for a connection, sampled at each checkout")
+                  .tag("pool", poolName)
+                  .publishPercentileHistogram()
+                  .register(registry);
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+      delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+      delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+      window.acquired(elapsedAcquiredNanos);
+      if (pendingAtAcquire != null) {
+        pendingAtAcquire.record(poolStats.getPendingThreads());
+      }
+      if (elapsedAcquiredNanos >= slowAcquireNanos) {
+        slowAcquire(elapsedAcquiredNanos);
+      }
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+      delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+      window.released(elapsedBorrowedMillis);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+      delegate.recordConnectionTimeout();
+      window.timedOut();
+    }
+
+    @Override
+    public void close() {
+      delegate.close();
+    }
+
+    private void slowAcquire(long elapsedNanos) {
+      HttpServletRequest request = currentRequest();
+      String route = route(request);
+      if (registry != null) {
+        Counter.builder("db.pool.slow.acquires")
+            .description("Connection checkouts that waited longer than the slow-acquire threshold")
+            .tag("pool", poolName)
+            .tag("route", route)
+            .register(registry)
+            .increment();
+      }
+      unloggedSlowAcquires.increment();
+      long now = System.nanoTime();
+      long next = nextLogAt.get();
+      if (now - next < 0 || !nextLogAt.compareAndSet(next, now + LOG_INTERVAL_NANOS)) {
+        return;
+      }
+      log.atWarn()
+          .addKeyValue("db.pool", poolName)
+          .addKeyValue("http.route", route)
+          .addKeyValue("http.method", request == null ? NO_ROUTE : request.getMethod())
+          .addKeyValue("db.pool.wait_ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+          .addKeyValue("db.pool.pending", poolStats.getPendingThreads())
+          .addKeyValue("db.pool.slow_acquires", unloggedSlowAcquires.sumThenReset())
+          .log(
+              "Waited {} ms for a {} connection on {}",
+              TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+              poolName,
+              route);
+    }
+  }
+
+  private static HttpServletRequest currentRequest() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    return attributes instanceof ServletRequestAttributes servletAttributes
+        ? servletAttributes.getRequest()
+        : null;
+  }
+
+  private static String route(HttpServletRequest request) {
+    if (request == null) {
+      return NO_ROUTE;
+    }
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern == null ? NO_ROUTE : pattern.toString();
+  }
+}
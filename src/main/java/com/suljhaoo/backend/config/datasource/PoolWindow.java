@@ -0,0 +1,62 @@
+package com.suljhaoo.backend.config.datasource;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acquire and usage totals for one pool since the last drain, fed by PoolMetricsTrackerFactory and
+ * read by AdaptivePoolSizeController once per tick. Also tracks connections currently checked out
+ * and the peak of that count within the window.
+ */
+class PoolWindow {
+
+  private final LongAdder acquisitions = new LongAdder();
+  private final LongAdder acquireNanos = new LongAdder();
+  private final LongAdder releases = new LongAdder();
+  private final LongAdder usageMillis = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+  private final AtomicInteger inUse = new AtomicInteger();
+  private final AtomicInteger peakInUse = new AtomicInteger();
+
+  void acquired(long nanos) {
+    acquisitions.increment();
+    acquireNanos.add(nanos);
+    peakInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+  }
+
+  void released(long millis) {
+    releases.increment();
+    usageMillis.add(millis);
+    inUse.decrementAndGet();
+  }
+
+  void timedOut() {
+    timeouts.increment();
+  }
+
+  /** Returns the totals since the previous drain and starts a new window. */
+  Sample drain() {
+    long acquired = acquisitions.sumThenReset();
+    long waited = acquireNanos.sumThenReset();
+    long released = releases.sumThenReset();
+    long used = usageMillis.sumThenReset();
+    int peak = peakInUse.getAndSet(inUse.get());
+    return new Sample(
+        acquired,
+        acquired == 0 ? 0 : waited / 1_000_000.0 / acquired,
+        released == 0 ? 0 : (double) used / released,
+        timeouts.sumThenReset(),
+        peak);
+  }
+
+  /**
+   * One window. meanUsageMillis is how long a connection was held per checkout, the closest proxy
+   * the pool has for database latency.
+   */
+  record Sample(
+      long acquisitions,
+      double meanAcquireMillis,
+      double meanUsageMillis,
+      long timeouts,
+      int peakInUse) {}
+}
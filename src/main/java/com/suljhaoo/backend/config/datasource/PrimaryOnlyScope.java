@@ -0,0 +1,31 @@
+package com.suljhaoo.backend.config.datasource;
+
+/**
+ * Marks the current thread as running a @PrimaryOnly method (set by PrimaryOnlyAspect), so
+ * ReplicaRoutingDataSource hands out primary connections for its duration.
+ */
+public final class PrimaryOnlyScope {
+
+  private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> false);
+
+  private PrimaryOnlyScope() {}
+
+  /** Enters the scope; returns the previous state, to be handed back to exit. */
+  public static boolean enter() {
+    boolean outer = ACTIVE.get();
+    ACTIVE.set(true);
+    return outer;
+  }
+
+  public static void exit(boolean outer) {
+    if (outer) {
+      ACTIVE.set(true);
+    } else {
+      ACTIVE.remove();
+    }
+  }
+
+  static boolean isActive() {
+    return ACTIVE.get();
+  }
+}
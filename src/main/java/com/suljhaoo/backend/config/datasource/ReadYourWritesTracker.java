@@ -0,0 +1,57 @@
+package com.suljhaoo.backend.config.datasource;
+
+import com.suljhaoo.backend.util.SecurityUtil;
+import java.time.Duration;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Remembers when each user last committed a read-write transaction, so that user's reads stay on
+ * the primary until the replica has had time to replay the write. Per instance: a request that
+ * lands on another instance right after a write relies on the lag check alone.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+  private final long windowNanos;
+  private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+  public ReadYourWritesTracker(Duration window) {
+    this.windowNanos = window.toNanos();
+  }
+
+  @Override
+  public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+    if (commitFailure != null || transaction.isReadOnly()) {
+      return;
+    }
+    String userId = currentUserId();
+    if (userId != null) {
+      lastWriteNanos.put(userId, System.nanoTime());
+    }
+  }
+
+  public boolean isPinnedToPrimary() {
+    String userId = currentUserId();
+    if (userId == null) {
+      return false;
+    }
+    Long writtenAt = lastWriteNanos.get(userId);
+    return writtenAt != null && System.nanoTime() - writtenAt < windowNanos;
+  }
+
+  void purgeExpired() {
+    long now = System.nanoTime();
+    lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+  }
+
+  private static String currentUserId() {
+    try {
+      return SecurityUtil.getCurrentUserId();
+    } catch (NoSuchElementException e) {
+      return null; // Scheduled jobs, unauthenticated endpoints
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.suljhaoo.backend.config.datasource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Probes the replica on a fixed delay and keeps its replay lag. Until the first successful probe,
+ * and after any failed probe or failed connection, the replica counts as unavailable and reads stay
+ * on the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+  private final DataSource replica;
+  private final String lagQuery;
+  private final Duration maxLag;
+  private final ReadYourWritesTracker readYourWritesTracker;
+
+  private volatile boolean available;
+  private volatile double lagSeconds = Double.NaN;
+
+  public ReplicaLagMonitor(
+      DataSource replica,
+      String lagQuery,
+      Duration maxLag,
+      ReadYourWritesTracker readYourWritesTracker) {
+    this.replica = replica;
+    this.lagQuery = lagQuery;
+    this.maxLag = maxLag;
+    this.readYourWritesTracker = readYourWritesTracker;
+  }
+
+  @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+  public void check() {
+    try (Connection connection = replica.getConnection();
+        Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery(lagQuery)) {
+      resultSet.next();
+      recordLag(resultSet.getDouble(1));
+    } catch (SQLException e) {
+      markUnavailable(e);
+    }
+    readYourWritesTracker.purgeExpired();
+  }
+
+  void recordLag(double seconds) {
+    if (!available) {
+      log.info("Replica available, lag {}s", seconds);
+    } else if (seconds > maxLag.toMillis() / 1000.0) {
+      log.warn("Replica lag {}s exceeds {}; reads go to the primary", seconds, maxLag);
+    }
+    lagSeconds = seconds;
+    available = true;
+  }
+
+  void markUnavailable(SQLException e) {
+    if (available) {
+      log.warn("Replica unavailable, reads go to the primary: {}", e.getMessage());
+    }
+    available = false;
+  }
+
+  public boolean isAvailable() {
+    return available;
+  }
+
+  public boolean isWithinMaxLag() {
+    return lagSeconds <= maxLag.toMillis() / 1000.0;
+  }
+
+  public double getLagSeconds() {
+    return lagSeconds;
+  }
+}
@@ -0,0 +1,119 @@
+package com.suljhaoo.backend.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Chooses the primary or the replica pool per connection. Must sit behind a
+ * LazyConnectionDataSourceProxy so the choice is made at the first statement, after the
+ * transaction's read-only flag is known.
+ *
+ * <p>A connection goes to the replica only for a read-only transaction declared in application code
+ * (not the implicit read-only transaction Spring Data opens around a bare repository call, nor one
+ * inside a @PrimaryOnly method), when the current user has no recent write and the replica is
+ * reachable and within the lag bound.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+  static final String SPRING_DATA_TRANSACTION_PREFIX = "org.springframework.data.";
+
+  enum Route {
+    WRITE("primary", "write"),
+    IMPLICIT_READ("primary", "implicit_read"),
+    PRIMARY_ONLY("primary", "primary_only"),
+    PINNED("primary", "read_your_writes"),
+    LAGGING("primary", "replica_lagging"),
+    REPLICA_DOWN("primary", "replica_down"),
+    REPLICA("replica", "read_only");
+
+    final String target;
+    final String reason;
+
+    Route(String target, String reason) {
+      this.target = target;
+      this.reason = reason;
+    }
+  }
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final ReplicaLagMonitor lagMonitor;
+  private final ReadYourWritesTracker readYourWritesTracker;
+  private final Map<Route, Counter> routeCounters = new EnumMap<>(Route.class);
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      DataSource replica,
+      ReplicaLagMonitor lagMonitor,
+      ReadYourWritesTracker readYourWritesTracker,
+      MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.replica = replica;
+    this.lagMonitor = lagMonitor;
+    this.readYourWritesTracker = readYourWritesTracker;
+    for (Route route : Route.values()) {
+      routeCounters.put(
+          route,
+          Counter.builder("db.routing.connections")
+              .description("Connections handed out by the read/write routing DataSource")
+              .tag("target", route.target)
+              .tag("reason", route.reason)
+              .register(meterRegistry));
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    Route route = route();
+    if (route == Route.REPLICA) {
+      try {
+        Connection connection = replica.getConnection();
+        routeCounters.get(route).increment();
+        return connection;
+      } catch (SQLException e) {
+        lagMonitor.markUnavailable(e);
+        route = Route.REPLICA_DOWN;
+      }
+    }
+    routeCounters.get(route).increment();
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    // Pools own their credentials; explicit credentials only make sense against the primary.
+    return primary.getConnection(username, password);
+  }
+
+  Route route() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return Route.WRITE;
+    }
+    String transactionName = TransactionSynchronizationManager.getCurrentTransactionName();
+    if (transactionName != null && transactionName.startsWith(SPRING_DATA_TRANSACTION_PREFIX)) {
+      return Route.IMPLICIT_READ;
+    }
+    if (PrimaryOnlyScope.isActive()) {
+      return Route.PRIMARY_ONLY;
+    }
+    if (readYourWritesTracker.isPinnedToPrimary()) {
+      return Route.PINNED;
+    }
+    if (!lagMonitor.isAvailable()) {
+      return Route.REPLICA_DOWN;
+    }
+    if (!lagMonitor.isWithinMaxLag()) {
+      return Route.LAGGING;
+    }
+    return Route.REPLICA;
+  }
+}
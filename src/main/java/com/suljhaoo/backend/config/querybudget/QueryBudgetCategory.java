@@ -0,0 +1,15 @@
+package com.suljhaoo.backend.config.querybudget;
+
+/** Endpoint categories with their own statement timeout and per-request statement/row limits. */
+public enum QueryBudgetCategory {
+  LIST,
+  REPORT,
+  WRITE,
+  /** Bulk upload and batch replay: one request writes thousands of rows in one transaction. */
+  BULK;
+
+  /** Property segment and metric tag: list, report, write, bulk. */
+  public String key() {
+    return name().toLowerCase();
+  }
+}
@@ -0,0 +1,53 @@
+package com.suljhaoo.backend.config.querybudget;
+
+import com.suljhaoo.backend.annotations.QueryBudget;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opens the query budget for each controller call: the category from @QueryBudget, otherwise LIST
+ * for GET/HEAD and WRITE for everything else.
+ */
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+  private final QueryBudgetTracker tracker;
+
+  public QueryBudgetInterceptor(QueryBudgetTracker tracker) {
+    this.tracker = tracker;
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (handler instanceof HandlerMethod handlerMethod) {
+      Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      tracker.begin(
+          category(handlerMethod, request.getMethod()),
+          route == null ? request.getRequestURI() : route.toString(),
+          request.getMethod());
+    }
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    if (handler instanceof HandlerMethod) {
+      tracker.end();
+    }
+  }
+
+  private static QueryBudgetCategory category(HandlerMethod handlerMethod, String method) {
+    QueryBudget annotation = handlerMethod.getMethodAnnotation(QueryBudget.class);
+    if (annotation != null) {
+      return annotation.value();
+    }
+    return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+        ? QueryBudgetCategory.LIST
+        : QueryBudgetCategory.WRITE;
+  }
+}
@@ -0,0 +1,11 @@
+package com.suljhaoo.backend.config.querybudget;
+
+import java.time.Duration;
+
+/**
+ * Limits for one category. statementTimeout is applied to each transaction the request opens; the
+ * statement and row limits count across the whole request. With failOnExceeded false a breach is
+ * only counted and logged.
+ */
+public record QueryBudgetLimits(
+    Duration statementTimeout, int maxStatements, int maxRows, boolean failOnExceeded) {}
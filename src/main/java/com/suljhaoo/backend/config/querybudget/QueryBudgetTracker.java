@@ -0,0 +1,192 @@
+package com.suljhaoo.backend.config.querybudget;
+
+import com.suljhaoo.backend.exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds the query budget of the request on the current thread and enforces it from the persistence
+ * layer:
+ *
+ * <ul>
+ *   <li>each transaction the request begins gets the category's statement timeout as its deadline,
+ *       which Spring applies to every JPA query as jakarta.persistence.query.timeout (the remaining
+ *       time, so a transaction that issues many queries cannot exceed it in total);
+ *   <li>Hibernate's StatementInspector reports every prepared statement and a PostLoad listener
+ *       every entity row loaded; the first time a limit is crossed the breach is counted, and in
+ *       fail mode QueryBudgetExceededException is thrown from the statement or load that crossed
+ *       it;
+ *   <li>query timeouts seen by QueryTimeoutAspect are counted against the request's category.
+ * </ul>
+ *
+ * <p>Work outside a request (scheduled jobs, startup) has no budget and is not limited.
+ */
+@Slf4j
+public class QueryBudgetTracker implements TransactionExecutionListener {
+
+  enum Breach {
+    STATEMENTS,
+    ROWS,
+    TIMEOUT;
+
+    String key() {
+      return name().toLowerCase();
+    }
+  }
+
+  private final Map<QueryBudgetCategory, QueryBudgetLimits> limits;
+  private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+  private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+  public QueryBudgetTracker(
+      Map<QueryBudgetCategory, QueryBudgetLimits> limits,
+      ObjectProvider<EntityManagerFactory> entityManagerFactory,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.limits = limits;
+    this.entityManagerFactory = entityManagerFactory;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public void begin(QueryBudgetCategory category, String route, String method) {
+    current.set(new Scope(category, limits.get(category), route, method));
+  }
+
+  public void end() {
+    Scope scope = current.get();
+    current.remove();
+    if (scope == null) {
+      return;
+    }
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    if (registry != null) {
+      summary(registry, "db.query.budget.statements", scope.category).record(scope.statements);
+      summary(registry, "db.query.budget.rows", scope.category).record(scope.rows);
+    }
+    if (!scope.breaches.isEmpty()) {
+      log.atWarn()
+          .addKeyValue("query_budget.category", scope.category.key())
+          .addKeyValue("query_budget.breaches", scope.breaches.toString())
+          .addKeyValue("query_budget.statements", scope.statements)
+          .addKeyValue("query_budget.rows", scope.rows)
+          .addKeyValue("http.route", scope.route)
+          .addKeyValue("http.method", scope.method)
+          .log(
+              "Query budget exceeded on {} {}: {} statements (max {}), {} rows (max {}), {}",
+              scope.method,
+              scope.route,
+              scope.statements,
+              scope.limits.maxStatements(),
+              scope.rows,
+              scope.limits.maxRows(),
+              scope.breaches);
+    }
+  }
+
+  public void statementPrepared() {
+    Scope scope = current.get();
+    if (scope != null && ++scope.statements > scope.limits.maxStatements()) {
+      exceeded(scope, Breach.STATEMENTS);
+    }
+  }
+
+  public void rowLoaded() {
+    Scope scope = current.get();
+    if (scope != null && ++scope.rows > scope.limits.maxRows()) {
+      exceeded(scope, Breach.ROWS);
+    }
+  }
+
+  /** Counts a statement or transaction timeout; outside a request it is tagged category=none. */
+  public void timedOut() {
+    Scope scope = current.get();
+    if (scope == null) {
+      count("none", Breach.TIMEOUT);
+    } else if (scope.breaches.add(Breach.TIMEOUT)) {
+      count(scope.category.key(), Breach.TIMEOUT);
+    }
+  }
+
+  @Override
+  public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+    Scope scope = current.get();
+    EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+    if (scope == null || beginFailure != null || factory == null) {
+      return;
+    }
+    // An explicit @Transactional(timeout) has already set a deadline; keep it.
+    if (TransactionSynchronizationManager.getResource(factory) instanceof EntityManagerHolder holder
+        && !holder.hasTimeout()) {
+      holder.setTimeoutInMillis(scope.limits.statementTimeout().toMillis());
+    }
+  }
+
+  private void exceeded(Scope scope, Breach breach) {
+    if (scope.breaches.add(breach)) {
+      count(scope.category.key(), breach);
+    }
+    if (scope.limits.failOnExceeded()) {
+      throw new QueryBudgetExceededException(
+          "Query budget exceeded: "
+              + breach.key()
+              + " over "
+              + (breach == Breach.STATEMENTS
+                  ? scope.limits.maxStatements()
+                  : scope.limits.maxRows())
+              + " for "
+              + scope.category.key()
+              + " request "
+              + scope.method
+              + " "
+              + scope.route);
+    }
+  }
+
+  private void count(String category, Breach breach) {
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    if (registry != null) {
+      Counter.builder("db.query.budget.breaches")
+          .description("Requests that crossed a query budget limit or hit a query timeout")
+          .tag("category", category)
+          .tag("kind", breach.key())
+          .register(registry)
+          .increment();
+    }
+  }
+
+  private static DistributionSummary summary(
+      MeterRegistry registry, String name, QueryBudgetCategory category) {
+    return DistributionSummary.builder(name)
+        .description("Per request, by query budget category")
+        .tag("category", category.key())
+        .register(registry);
+  }
+
+  private static final class Scope {
+    final QueryBudgetCategory category;
+    final QueryBudgetLimits limits;
+    final String route;
+    final String method;
+    final Set<Breach> breaches = EnumSet.noneOf(Breach.class);
+    int statements;
+    int rows;
+
+    Scope(QueryBudgetCategory category, QueryBudgetLimits limits, String route, String method) {
+      this.category = category;
+      this.limits = limits;
+      this.route = route;
+      this.method = method;
+    }
+  }
+}
@@ -4,7 +4,9 @@ import com.suljhaoo.backend.model.request.auth.LoginRequest;
 import com.suljhaoo.backend.model.response.auth.LoginData;
 import com.suljhaoo.backend.model.response.auth.LoginResponse;
 import com.suljhaoo.backend.model.response.auth.LogoutResponse;
+import com.suljhaoo.backend.security.login.LoginRateLimiter;
 import com.suljhaoo.backend.service.auth.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,9 +21,14 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
   private final AuthService authService;
+  private final LoginRateLimiter loginRateLimiter;
 
   @PostMapping("/login")
-  public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request) {
+  public ResponseEntity<LoginResponse> login(
+      @Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+    // Before any database or bcrypt work (429 with Retry-After when exceeded)
+    loginRateLimiter.check(request.getPhoneNumber().trim(), httpRequest.getRemoteAddr());
+
     LoginData loginData = authService.login(request);
 
     LoginResponse response =
@@ -7,11 +7,15 @@ import com.suljhaoo.backend.model.response.expense.ExpenseListResponse;
 import com.suljhaoo.backend.model.response.expense.ExpenseResponse;
 import com.suljhaoo.backend.model.response.expense.ExpenseSingleResponse;
 import com.suljhaoo.backend.service.expense.ExpenseService;
+import com.suljhaoo.backend.service.sync.CollectionVersionService;
+import com.suljhaoo.backend.util.EtagResponseUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/expenses")
@@ -19,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 public class ExpenseController {
 
   private final ExpenseService expenseService;
+  private final CollectionVersionService collectionVersionService;
 
   /** Create a new expense record POST /api/expenses/user/{userId}/{storeId} */
   @ValidateUserAccess
@@ -46,8 +51,18 @@ public class ExpenseController {
       @PathVariable String userId,
       @PathVariable String storeId,
       @RequestParam(required = false) Integer limit,
-      @RequestParam(required = false) Integer skip) {
-    var result = expenseService.getAllExpenses(userId, storeId, limit, skip);
+      @RequestParam(required = false) Integer skip,
+      WebRequest webRequest) {
+    var read =
+        collectionVersionService.read(
+            () -> collectionVersionService.expensesEtag(userId, storeId),
+            webRequest::checkNotModified,
+            () -> expenseService.getAllExpenses(userId, storeId, limit, skip));
+    if (read.notModified()) {
+      return null;
+    }
+    String etag = read.etag();
+    var result = read.body();
 
     ExpenseListResponse response =
         ExpenseListResponse.builder()
@@ -62,7 +77,7 @@ public class ExpenseController {
                     .build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.ok(etag, response);
   }
 
   /** Update an expense record PUT /api/expenses/user/{userId}/{storeId}/{expenseId} */
@@ -72,8 +87,11 @@ public class ExpenseController {
       @PathVariable String userId,
       @PathVariable String storeId,
       @PathVariable String expenseId,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       @Valid @RequestBody UpdateExpenseRequest request) {
-    ExpenseResponse expense = expenseService.updateExpense(expenseId, userId, storeId, request);
+    ExpenseResponse expense =
+        expenseService.updateExpense(
+            expenseId, userId, storeId, request, EtagResponseUtil.parseIfMatch(ifMatch));
 
     ExpenseSingleResponse response =
         ExpenseSingleResponse.builder()
@@ -82,15 +100,19 @@ public class ExpenseController {
             .data(ExpenseSingleResponse.ExpenseSingleData.builder().expense(expense).build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.okWithVersion(expense.getVersion(), response);
   }
 
   /** Delete an expense record DELETE /api/expenses/user/{userId}/{storeId}/{expenseId} */
   @ValidateUserAccess
   @DeleteMapping("/user/{userId}/{storeId}/{expenseId}")
   public ResponseEntity<ExpenseSingleResponse> deleteExpense(
-      @PathVariable String userId, @PathVariable String storeId, @PathVariable String expenseId) {
-    expenseService.deleteExpense(expenseId, userId, storeId);
+      @PathVariable String userId,
+      @PathVariable String storeId,
+      @PathVariable String expenseId,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    expenseService.deleteExpense(
+        expenseId, userId, storeId, EtagResponseUtil.parseIfMatch(ifMatch));
 
     ExpenseSingleResponse response =
         ExpenseSingleResponse.builder()
@@ -8,9 +8,11 @@ import com.suljhaoo.backend.model.response.order.OrderListResponse;
 import com.suljhaoo.backend.model.response.order.OrderResponse;
 import com.suljhaoo.backend.model.response.order.OrderSingleResponse;
 import com.suljhaoo.backend.service.order.OrderService;
+import com.suljhaoo.backend.util.EtagResponseUtil;
 import com.suljhaoo.backend.util.SecurityUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -108,8 +110,10 @@ public class OrderController {
   public ResponseEntity<OrderSingleResponse> updateOrder(
       @PathVariable String userId,
       @PathVariable String id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       @Valid @RequestBody UpdateOrderRequest request) {
-    OrderResponse order = orderService.updateOrder(id, userId, request);
+    OrderResponse order =
+        orderService.updateOrder(id, userId, request, EtagResponseUtil.parseIfMatch(ifMatch));
 
     OrderSingleResponse response =
         OrderSingleResponse.builder()
@@ -118,7 +122,7 @@ public class OrderController {
             .data(OrderSingleResponse.OrderSingleData.builder().order(order).build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.okWithVersion(order.getVersion(), response);
   }
 
   /** Update order status PATCH /api/orders/user/{userId}/{id}/status */
@@ -130,7 +134,7 @@ public class OrderController {
       @Valid @RequestBody UpdateOrderStatusRequest request) {
     UpdateOrderRequest updateRequest =
         UpdateOrderRequest.builder().status(request.getStatus()).build();
-    OrderResponse order = orderService.updateOrder(id, userId, updateRequest);
+    OrderResponse order = orderService.updateOrder(id, userId, updateRequest, null);
 
     OrderSingleResponse response =
         OrderSingleResponse.builder()
@@ -146,8 +150,10 @@ public class OrderController {
   @ValidateUserAccess
   @DeleteMapping("/user/{userId}/{id}")
   public ResponseEntity<OrderSingleResponse> deleteOrder(
-      @PathVariable String userId, @PathVariable String id) {
-    orderService.deleteOrder(id, userId);
+      @PathVariable String userId,
+      @PathVariable String id,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    orderService.deleteOrder(id, userId, EtagResponseUtil.parseIfMatch(ifMatch));
 
     OrderSingleResponse response =
         OrderSingleResponse.builder()
@@ -8,11 +8,15 @@ import com.suljhaoo.backend.model.response.sales.SaleSingleResponse;
 import com.suljhaoo.backend.model.response.sales.SalesListResponse;
 import com.suljhaoo.backend.model.response.sales.SalesListResult;
 import com.suljhaoo.backend.service.sales.SaleService;
+import com.suljhaoo.backend.service.sync.CollectionVersionService;
+import com.suljhaoo.backend.util.EtagResponseUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/sales")
@@ -39,6 +43,7 @@ public class SaleController {
   }
 
   private final SaleService saleService;
+  private final CollectionVersionService collectionVersionService;
 
   /** Get all sales for a specific user and store GET /api/sales/user/{userId}/{storeId} */
   @ValidateUserAccess
@@ -47,8 +52,18 @@ public class SaleController {
       @PathVariable String userId,
       @PathVariable String storeId,
       @RequestParam(required = false) Integer limit,
-      @RequestParam(required = false) Integer skip) {
-    SalesListResult result = saleService.getSales(userId, storeId, limit, skip);
+      @RequestParam(required = false) Integer skip,
+      WebRequest webRequest) {
+    var read =
+        collectionVersionService.read(
+            () -> collectionVersionService.salesEtag(userId, storeId),
+            webRequest::checkNotModified,
+            () -> saleService.getSales(userId, storeId, limit, skip));
+    if (read.notModified()) {
+      return null;
+    }
+    String etag = read.etag();
+    SalesListResult result = read.body();
 
     SalesListResponse response =
         SalesListResponse.builder()
@@ -63,7 +78,7 @@ public class SaleController {
                     .build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.ok(etag, response);
   }
 
   /**
@@ -76,8 +91,18 @@ public class SaleController {
       @PathVariable String userId,
       @PathVariable String storeId,
       @RequestParam(required = false) Integer limit,
-      @RequestParam(required = false) Integer skip) {
-    SalesListResult result = saleService.getCashSales(userId, storeId, limit, skip);
+      @RequestParam(required = false) Integer skip,
+      WebRequest webRequest) {
+    var read =
+        collectionVersionService.read(
+            () -> collectionVersionService.salesEtag(userId, storeId),
+            webRequest::checkNotModified,
+            () -> saleService.getCashSales(userId, storeId, limit, skip));
+    if (read.notModified()) {
+      return null;
+    }
+    String etag = read.etag();
+    SalesListResult result = read.body();
 
     SalesListResponse response =
         SalesListResponse.builder()
@@ -92,15 +117,27 @@ public class SaleController {
                     .build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.ok(etag, response);
   }
 
   /** Get a single sale by ID GET /api/sales/user/{userId}/{storeId}/{saleId} */
   @ValidateUserAccess
   @GetMapping("/user/{userId}/{storeId}/{saleId}")
   public ResponseEntity<SaleSingleResponse> getSaleById(
-      @PathVariable String userId, @PathVariable String storeId, @PathVariable String saleId) {
-    SaleResponse sale = saleService.getSaleById(saleId, userId, storeId);
+      @PathVariable String userId,
+      @PathVariable String storeId,
+      @PathVariable String saleId,
+      WebRequest webRequest) {
+    var read =
+        collectionVersionService.read(
+            () -> collectionVersionService.saleEtag(userId, storeId, saleId),
+            webRequest::checkNotModified,
+            () -> saleService.getSaleById(saleId, userId, storeId));
+    if (read.notModified()) {
+      return null;
+    }
+    String etag = read.etag();
+    SaleResponse sale = read.body();
 
     SaleSingleResponse response =
         SaleSingleResponse.builder()
@@ -109,7 +146,7 @@ public class SaleController {
             .data(SaleSingleResponse.SaleSingleData.builder().sale(sale).build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.ok(etag, response);
   }
 
   /** Update a sale record PUT /api/sales/user/{userId}/{storeId}/{saleId} */
@@ -119,8 +156,11 @@ public class SaleController {
       @PathVariable String userId,
       @PathVariable String storeId,
       @PathVariable String saleId,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       @Valid @RequestBody UpdateSaleRequest request) {
-    SaleResponse sale = saleService.updateSale(saleId, userId, storeId, request);
+    SaleResponse sale =
+        saleService.updateSale(
+            saleId, userId, storeId, request, EtagResponseUtil.parseIfMatch(ifMatch));
 
     SaleSingleResponse response =
         SaleSingleResponse.builder()
@@ -129,15 +169,18 @@ public class SaleController {
             .data(SaleSingleResponse.SaleSingleData.builder().sale(sale).build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.okWithVersion(sale.getVersion(), response);
   }
 
   /** Delete a sale record DELETE /api/sales/user/{userId}/{storeId}/{saleId} */
   @ValidateUserAccess
   @DeleteMapping("/user/{userId}/{storeId}/{saleId}")
   public ResponseEntity<SaleSingleResponse> deleteSale(
-      @PathVariable String userId, @PathVariable String storeId, @PathVariable String saleId) {
-    saleService.deleteSale(saleId, userId, storeId);
+      @PathVariable String userId,
+      @PathVariable String storeId,
+      @PathVariable String saleId,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    saleService.deleteSale(saleId, userId, storeId, EtagResponseUtil.parseIfMatch(ifMatch));
 
     SaleSingleResponse response =
         SaleSingleResponse.builder().status("success").message("Sale deleted successfully").build();
@@ -1,6 +1,8 @@
 package com.suljhaoo.backend.controller.stock;
 
+import com.suljhaoo.backend.annotations.QueryBudget;
 import com.suljhaoo.backend.aspect.ValidateUserAccess;
+import com.suljhaoo.backend.config.querybudget.QueryBudgetCategory;
 import com.suljhaoo.backend.model.request.stock.CreateStockRequest;
 import com.suljhaoo.backend.model.request.stock.UpdateStockRequest;
 import com.suljhaoo.backend.model.response.stock.BulkUploadResponse;
@@ -8,11 +10,15 @@ import com.suljhaoo.backend.model.response.stock.StockListResponse;
 import com.suljhaoo.backend.model.response.stock.StockResponse;
 import com.suljhaoo.backend.model.response.stock.StockSingleResponse;
 import com.suljhaoo.backend.service.stock.StockService;
+import com.suljhaoo.backend.service.sync.CollectionVersionService;
+import com.suljhaoo.backend.util.EtagResponseUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 @RestController
@@ -21,6 +27,7 @@ import org.springframework.web.multipart.MultipartFile;
 public class StockController {
 
   private final StockService stockService;
+  private final CollectionVersionService collectionVersionService;
 
   /** Create a new stock item POST /api/stock/user/{userId}/{storeId} */
   @ValidateUserAccess
@@ -48,8 +55,18 @@ public class StockController {
       @PathVariable String userId,
       @PathVariable String storeId,
       @RequestParam(required = false) Integer limit,
-      @RequestParam(required = false) Integer skip) {
-    var result = stockService.getAllStocks(userId, storeId, limit, skip);
+      @RequestParam(required = false) Integer skip,
+      WebRequest webRequest) {
+    var read =
+        collectionVersionService.read(
+            () -> collectionVersionService.stocksEtag(userId, storeId),
+            webRequest::checkNotModified,
+            () -> stockService.getAllStocks(userId, storeId, limit, skip));
+    if (read.notModified()) {
+      return null;
+    }
+    String etag = read.etag();
+    var result = read.body();
 
     StockListResponse response =
         StockListResponse.builder()
@@ -63,7 +80,7 @@ public class StockController {
                     .build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.ok(etag, response);
   }
 
   /**
@@ -76,8 +93,18 @@ public class StockController {
       @PathVariable String userId,
       @PathVariable String storeId,
       @RequestParam(required = false) Integer limit,
-      @RequestParam(required = false) Integer skip) {
-    var result = stockService.getLowStockItems(userId, storeId, limit, skip);
+      @RequestParam(required = false) Integer skip,
+      WebRequest webRequest) {
+    var read =
+        collectionVersionService.read(
+            () -> collectionVersionService.stocksEtag(userId, storeId),
+            webRequest::checkNotModified,
+            () -> stockService.getLowStockItems(userId, storeId, limit, skip));
+    if (read.notModified()) {
+      return null;
+    }
+    String etag = read.etag();
+    var result = read.body();
 
     StockListResponse response =
         StockListResponse.builder()
@@ -91,7 +118,7 @@ public class StockController {
                     .build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.ok(etag, response);
   }
 
   /** Update a stock item PUT /api/stock/user/{userId}/{storeId}/{stockId} */
@@ -101,8 +128,11 @@ public class StockController {
       @PathVariable String userId,
       @PathVariable String storeId,
       @PathVariable String stockId,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
       @Valid @RequestBody UpdateStockRequest request) {
-    StockResponse stock = stockService.updateStock(stockId, userId, storeId, request);
+    StockResponse stock =
+        stockService.updateStock(
+            stockId, userId, storeId, request, EtagResponseUtil.parseIfMatch(ifMatch));
 
     StockSingleResponse response =
         StockSingleResponse.builder()
@@ -111,15 +141,18 @@ public class StockController {
             .data(StockSingleResponse.StockSingleData.builder().stock(stock).build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.okWithVersion(stock.getVersion(), response);
   }
 
   /** Delete a stock item DELETE /api/stock/user/{userId}/{storeId}/{stockId} */
   @ValidateUserAccess
   @DeleteMapping("/user/{userId}/{storeId}/{stockId}")
   public ResponseEntity<StockSingleResponse> deleteStock(
-      @PathVariable String userId, @PathVariable String storeId, @PathVariable String stockId) {
-    stockService.deleteStock(stockId, userId, storeId);
+      @PathVariable String userId,
+      @PathVariable String storeId,
+      @PathVariable String stockId,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    stockService.deleteStock(stockId, userId, storeId, EtagResponseUtil.parseIfMatch(ifMatch));
 
     StockSingleResponse response =
         StockSingleResponse.builder()
@@ -132,6 +165,7 @@ public class StockController {
 
   /** Bulk upload stock items from Excel file POST /api/stock/user/{userId}/{storeId}/bulk-upload */
   @ValidateUserAccess
+  @QueryBudget(QueryBudgetCategory.BULK)
   @PostMapping("/user/{userId}/{storeId}/bulk-upload")
   public ResponseEntity<BulkUploadResponse> bulkUploadStocks(
       @PathVariable String userId,
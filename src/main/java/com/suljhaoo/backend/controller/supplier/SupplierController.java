@@ -12,11 +12,14 @@ import com.suljhaoo.backend.model.response.supplier.SupplierResponse;
 import com.suljhaoo.backend.model.response.supplier.SupplierSingleResponse;
 import com.suljhaoo.backend.service.supplier.SupplierItemService;
 import com.suljhaoo.backend.service.supplier.SupplierService;
+import com.suljhaoo.backend.service.sync.CollectionVersionService;
+import com.suljhaoo.backend.util.EtagResponseUtil;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/suppliers")
@@ -25,6 +28,7 @@ public class SupplierController {
 
   private final SupplierService supplierService;
   private final SupplierItemService supplierItemService;
+  private final CollectionVersionService collectionVersionService;
 
   /** Create a new supplier record POST /api/suppliers/user/{userId}/{storeId} */
   @ValidateUserAccess
@@ -52,8 +56,18 @@ public class SupplierController {
       @PathVariable String userId,
       @PathVariable String storeId,
       @RequestParam(required = false) Integer limit,
-      @RequestParam(required = false) Integer skip) {
-    var result = supplierService.getAllSuppliers(userId, storeId, limit, skip);
+      @RequestParam(required = false) Integer skip,
+      WebRequest webRequest) {
+    var read =
+        collectionVersionService.read(
+            () -> collectionVersionService.suppliersEtag(userId, storeId),
+            webRequest::checkNotModified,
+            () -> supplierService.getAllSuppliers(userId, storeId, limit, skip));
+    if (read.notModified()) {
+      return null;
+    }
+    String etag = read.etag();
+    var result = read.body();
 
     SupplierListResponse response =
         SupplierListResponse.builder()
@@ -68,15 +82,27 @@ public class SupplierController {
                     .build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.ok(etag, response);
   }
 
   /** Get a single supplier by ID GET /api/suppliers/user/{userId}/{storeId}/{id} */
   @ValidateUserAccess
   @GetMapping("/user/{userId}/{storeId}/{id}")
   public ResponseEntity<SupplierSingleResponse> getSupplierById(
-      @PathVariable String userId, @PathVariable String storeId, @PathVariable String id) {
-    SupplierResponse supplier = supplierService.getSupplierById(id, userId, storeId);
+      @PathVariable String userId,
+      @PathVariable String storeId,
+      @PathVariable String id,
+      WebRequest webRequest) {
+    var read =
+        collectionVersionService.read(
+            () -> collectionVersionService.supplierEtag(userId, storeId, id),
+            webRequest::checkNotModified,
+            () -> supplierService.getSupplierById(id, userId, storeId));
+    if (read.notModified()) {
+      return null;
+    }
+    String etag = read.etag();
+    SupplierResponse supplier = read.body();
 
     SupplierSingleResponse response =
         SupplierSingleResponse.builder()
@@ -85,7 +111,7 @@ public class SupplierController {
             .data(SupplierSingleResponse.SupplierSingleData.builder().supplier(supplier).build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.ok(etag, response);
   }
 
   /** Update a supplier record PUT /api/suppliers/user/{userId}/{storeId}/{id} */
@@ -152,8 +178,19 @@ public class SupplierController {
       @PathVariable String storeId,
       @PathVariable String supplierId,
       @RequestParam(required = false) Integer limit,
-      @RequestParam(required = false) Integer skip) {
-    var result = supplierItemService.getAllSupplierItems(userId, storeId, supplierId, limit, skip);
+      @RequestParam(required = false) Integer skip,
+      WebRequest webRequest) {
+    var read =
+        collectionVersionService.read(
+            () -> collectionVersionService.supplierItemsEtag(userId, storeId, supplierId),
+            webRequest::checkNotModified,
+            () ->
+                supplierItemService.getAllSupplierItems(userId, storeId, supplierId, limit, skip));
+    if (read.notModified()) {
+      return null;
+    }
+    String etag = read.etag();
+    var result = read.body();
 
     SupplierItemListResponse response =
         SupplierItemListResponse.builder()
@@ -168,7 +205,7 @@ public class SupplierController {
                     .build())
             .build();
 
-    return ResponseEntity.ok(response);
+    return EtagResponseUtil.ok(etag, response);
   }
 
   /**
@@ -0,0 +1,71 @@
+package com.suljhaoo.backend.controller.sync;
+
+import com.suljhaoo.backend.annotations.QueryBudget;
+import com.suljhaoo.backend.aspect.ValidateUserAccess;
+import com.suljhaoo.backend.config.querybudget.QueryBudgetCategory;
+import com.suljhaoo.backend.model.request.sync.BatchMutationRequest;
+import com.suljhaoo.backend.model.response.sync.BatchMutationResponse;
+import com.suljhaoo.backend.model.response.sync.BatchMutationResult;
+import com.suljhaoo.backend.model.response.sync.SyncChangesResponse;
+import com.suljhaoo.backend.model.response.sync.SyncChangesResult;
+import com.suljhaoo.backend.service.sync.BatchMutationService;
+import com.suljhaoo.backend.service.sync.SyncService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/sync")
+@RequiredArgsConstructor
+public class SyncController {
+
+  private final SyncService syncService;
+  private final BatchMutationService batchMutationService;
+
+  /**
+   * Changes (created/updated rows and deletions) for a store since a cursor GET
+   * /api/sync/user/{userId}/{storeId}/changes?since={nextCursor}&limit={limit}
+   */
+  @ValidateUserAccess
+  @QueryBudget(QueryBudgetCategory.REPORT)
+  @GetMapping("/user/{userId}/{storeId}/changes")
+  public ResponseEntity<SyncChangesResponse> getChanges(
+      @PathVariable String userId,
+      @PathVariable String storeId,
+      @RequestParam(required = false) String since,
+      @RequestParam(required = false) Integer limit) {
+    SyncChangesResult result = syncService.getChanges(userId, storeId, since, limit);
+
+    SyncChangesResponse response =
+        SyncChangesResponse.builder()
+            .status("success")
+            .message("Changes retrieved successfully")
+            .data(result)
+            .build();
+
+    return ResponseEntity.ok(response);
+  }
+
+  /**
+   * Apply an ordered batch of queued offline mutations POST /api/sync/user/{userId}/{storeId}/batch
+   */
+  @ValidateUserAccess
+  @QueryBudget(QueryBudgetCategory.BULK)
+  @PostMapping("/user/{userId}/{storeId}/batch")
+  public ResponseEntity<BatchMutationResponse> applyBatch(
+      @PathVariable String userId,
+      @PathVariable String storeId,
+      @Valid @RequestBody BatchMutationRequest request) {
+    BatchMutationResult result = batchMutationService.applyBatch(userId, storeId, request);
+
+    BatchMutationResponse response =
+        BatchMutationResponse.builder()
+            .status("success")
+            .message("Batch processed successfully")
+            .data(result)
+            .build();
+
+    return ResponseEntity.ok(response);
+  }
+}
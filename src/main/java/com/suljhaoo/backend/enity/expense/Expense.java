@@ -24,7 +24,8 @@ import org.hibernate.annotations.UpdateTimestamp;
       @Index(name = "idx_expense_store_date", columnList = "store_id,expense_date"),
       @Index(name = "idx_expense_category", columnList = "category"),
       @Index(name = "idx_expense_tag", columnList = "tag"),
-      @Index(name = "idx_expense_payment_method", columnList = "payment_method")
+      @Index(name = "idx_expense_payment_method", columnList = "payment_method"),
+      @Index(name = "idx_expense_store_updated", columnList = "store_id,updated_at,id")
     })
 @Data
 @Builder
@@ -98,4 +99,8 @@ public class Expense {
   @UpdateTimestamp
   @Column(name = "updated_at")
   private LocalDateTime updatedAt;
+
+  @Version
+  @Column(name = "version", nullable = false)
+  private Integer version;
 }
@@ -26,7 +26,9 @@ import org.hibernate.annotations.UpdateTimestamp;
       @Index(name = "idx_order_user_date", columnList = "user_id,order_date"),
       // Composite index for supplier queries with date sorting:
       // findBySupplier_IdOrderByOrderDateDesc
-      @Index(name = "idx_order_supplier_date", columnList = "supplier_id,order_date")
+      @Index(name = "idx_order_supplier_date", columnList = "supplier_id,order_date"),
+      // Delta sync keyset paging by (updated_at, id) within a store
+      @Index(name = "idx_order_store_updated", columnList = "store_id,updated_at,id")
     })
 @Data
 @Builder
@@ -113,4 +115,8 @@ public class Order {
   @UpdateTimestamp
   @Column(name = "updated_at")
   private LocalDateTime updatedAt;
+
+  @Version
+  @Column(name = "version", nullable = false)
+  private Integer version;
 }
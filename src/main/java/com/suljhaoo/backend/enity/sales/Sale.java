@@ -21,7 +21,8 @@ import org.hibernate.annotations.UpdateTimestamp;
       @Index(name = "idx_store_id", columnList = "store_id"),
       @Index(name = "idx_sale_date", columnList = "sale_date"),
       @Index(name = "idx_user_store_date", columnList = "user_id,store_id,sale_date"),
-      @Index(name = "idx_store_date", columnList = "store_id,sale_date")
+      @Index(name = "idx_store_date", columnList = "store_id,sale_date"),
+      @Index(name = "idx_sale_store_updated", columnList = "store_id,updated_at,id")
     })
 @Data
 @Builder
@@ -73,6 +74,9 @@ public class Sale {
   @Column(name = "updated_at")
   private LocalDateTime updatedAt;
 
+  // Optimistic lock: incremented by Hibernate on every update, checked in the UPDATE's WHERE.
+  // New sales start at 1, as they did before the column was managed by Hibernate.
+  @Version
   @Column(name = "version", nullable = false)
   @Builder.Default
   private Integer version = 1;
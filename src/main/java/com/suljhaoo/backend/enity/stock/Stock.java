@@ -25,7 +25,8 @@ import org.hibernate.annotations.UpdateTimestamp;
       @Index(name = "idx_stock_category", columnList = "category"),
       @Index(name = "idx_stock_name", columnList = "name"),
       @Index(name = "idx_stock_store_category", columnList = "store_id,category"),
-      @Index(name = "idx_stock_low_stock", columnList = "store_id,quantity,min_level")
+      @Index(name = "idx_stock_low_stock", columnList = "store_id,quantity,min_level"),
+      @Index(name = "idx_stock_store_updated", columnList = "store_id,updated_at,id")
     })
 @Data
 @Builder
@@ -100,6 +101,10 @@ public class Stock {
   @Column(name = "updated_at")
   private LocalDateTime updatedAt;
 
+  @Version
+  @Column(name = "version", nullable = false)
+  private Integer version;
+
   /**
    * Checks if the stock quantity is at or below the minimum level.
    *
@@ -8,6 +8,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,13 +18,16 @@ import org.hibernate.annotations.UpdateTimestamp;
  * tracks supplier contact information and business details.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "supplier")
 @Table(
     name = "suppliers",
     indexes = {
       @Index(name = "idx_supplier_store_id", columnList = "store_id"),
       @Index(name = "idx_supplier_name", columnList = "name"),
       @Index(name = "idx_supplier_phone", columnList = "phone"),
-      @Index(name = "idx_supplier_store_name", columnList = "store_id,name")
+      @Index(name = "idx_supplier_store_name", columnList = "store_id,name"),
+      @Index(name = "idx_supplier_store_updated", columnList = "store_id,updated_at,id")
     })
 @Data
 @Builder
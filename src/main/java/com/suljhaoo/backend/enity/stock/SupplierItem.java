@@ -24,7 +24,8 @@ import org.hibernate.annotations.UpdateTimestamp;
       @Index(name = "idx_supplier_item_store_id", columnList = "store_id"),
       @Index(name = "idx_supplier_item_stock_id", columnList = "stock_item_id"),
       @Index(name = "idx_supplier_item_name", columnList = "name"),
-      @Index(name = "idx_supplier_item_store_supplier", columnList = "store_id,supplier_id")
+      @Index(name = "idx_supplier_item_store_supplier", columnList = "store_id,supplier_id"),
+      @Index(name = "idx_supplier_item_store_updated", columnList = "store_id,updated_at,id")
     })
 @Data
 @Builder
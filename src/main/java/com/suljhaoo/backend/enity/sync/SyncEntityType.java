@@ -0,0 +1,11 @@
+package com.suljhaoo.backend.enity.sync;
+
+/** Store-scoped entity types carried by the delta sync feed. */
+public enum SyncEntityType {
+  stock,
+  sale,
+  expense,
+  supplier,
+  supplierItem,
+  order
+}
@@ -0,0 +1,51 @@
+package com.suljhaoo.backend.enity.sync;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+/**
+ * Record of a hard delete, so mobile clients syncing with a watermark learn that a row they hold is
+ * gone. Written in the same transaction as the delete; purged after the retention window.
+ */
+@Entity
+@Table(
+    name = "sync_tombstones",
+    indexes = {
+      // Delta sync keyset paging: WHERE store_id = ? AND (deleted_at, id) > (?, ?)
+      @Index(name = "idx_sync_tombstone_store_deleted", columnList = "store_id,deleted_at,id"),
+      @Index(name = "idx_sync_tombstone_deleted_at", columnList = "deleted_at")
+    })
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstone {
+  @Id
+  @GeneratedValue(strategy = GenerationType.AUTO)
+  private UUID id;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(
+      name = "store_id",
+      nullable = false,
+      foreignKey = @ForeignKey(name = "fk_sync_tombstone_store"))
+  private Store store;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "entity_type", nullable = false, length = 20)
+  private SyncEntityType entityType;
+
+  @Column(name = "entity_id", nullable = false)
+  private UUID entityId;
+
+  @CreationTimestamp
+  @Column(name = "deleted_at", nullable = false, updatable = false)
+  private LocalDateTime deletedAt;
+}
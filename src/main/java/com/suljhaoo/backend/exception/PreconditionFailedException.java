@@ -0,0 +1,9 @@
+package com.suljhaoo.backend.exception;
+
+/** An If-Match header that can never match an entity version, such as a collection ETag. */
+public class PreconditionFailedException extends RuntimeException {
+
+  public PreconditionFailedException(String message) {
+    super(message);
+  }
+}
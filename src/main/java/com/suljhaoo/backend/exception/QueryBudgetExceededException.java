@@ -0,0 +1,9 @@
+package com.suljhaoo.backend.exception;
+
+/** A request ran more statements or loaded more rows than its query budget allows. */
+public class QueryBudgetExceededException extends RuntimeException {
+
+  public QueryBudgetExceededException(String message) {
+    super(message);
+  }
+}
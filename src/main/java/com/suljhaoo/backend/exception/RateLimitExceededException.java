@@ -0,0 +1,16 @@
+package com.suljhaoo.backend.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/** The caller has used up its request budget; answered with 429 and Retry-After. */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public RateLimitExceededException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+}
@@ -0,0 +1,46 @@
+package com.suljhaoo.backend.exception;
+
+import com.suljhaoo.backend.model.response.RateLimitResponse;
+import java.time.Duration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 429 for rate-limited callers and 503 for shed work, both with Retry-After (whole seconds, at
+ * least 1) so well-behaved clients back off instead of retrying at once.
+ */
+@RestControllerAdvice
+public class RateLimitExceptionHandler {
+
+  @ExceptionHandler(RateLimitExceededException.class)
+  public ResponseEntity<RateLimitResponse> handleRateLimited(RateLimitExceededException e) {
+    return response(HttpStatus.TOO_MANY_REQUESTS, e.getMessage(), e.getRetryAfter());
+  }
+
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<RateLimitResponse> handleOverloaded(ServiceOverloadedException e) {
+    return response(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e.getRetryAfter());
+  }
+
+  /** Whole seconds, rounded up, at least 1: the Retry-After header has no sub-second form. */
+  public static long retryAfterSeconds(Duration retryAfter) {
+    return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+  }
+
+  private static ResponseEntity<RateLimitResponse> response(
+      HttpStatus status, String message, Duration retryAfter) {
+    long seconds = retryAfterSeconds(retryAfter);
+    RateLimitResponse response =
+        RateLimitResponse.builder()
+            .status("error")
+            .message(message)
+            .retryAfterSeconds(seconds)
+            .build();
+    return ResponseEntity.status(status)
+        .header(HttpHeaders.RETRY_AFTER, Long.toString(seconds))
+        .body(response);
+  }
+}
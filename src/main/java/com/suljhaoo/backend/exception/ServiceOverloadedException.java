@@ -0,0 +1,16 @@
+package com.suljhaoo.backend.exception;
+
+import java.time.Duration;
+import lombok.Getter;
+
+/** Work was shed because a bounded resource is saturated; answered with 503 and Retry-After. */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public ServiceOverloadedException(String message, Duration retryAfter) {
+    super(message);
+    this.retryAfter = retryAfter;
+  }
+}
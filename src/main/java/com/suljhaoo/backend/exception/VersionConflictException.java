@@ -0,0 +1,20 @@
+package com.suljhaoo.backend.exception;
+
+import lombok.Getter;
+
+/**
+ * The client's expected version no longer matches the stored row. Carries the current state so the
+ * client can resolve the conflict without another GET.
+ */
+@Getter
+public class VersionConflictException extends RuntimeException {
+
+  private final Integer currentVersion;
+  private final transient Object currentState;
+
+  public VersionConflictException(Integer currentVersion, Object currentState) {
+    super("Version conflict: current version is " + currentVersion);
+    this.currentVersion = currentVersion;
+    this.currentState = currentState;
+  }
+}
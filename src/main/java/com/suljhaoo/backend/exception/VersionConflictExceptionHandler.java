@@ -0,0 +1,62 @@
+package com.suljhaoo.backend.exception;
+
+import com.suljhaoo.backend.model.response.VersionConflictResponse;
+import com.suljhaoo.backend.util.EtagResponseUtil;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 409 for optimistic-locking conflicts. An If-Match mismatch carries the stored entity and its
+ * version (also as ETag), so the client can merge and retry without another GET. A lost race at
+ * flush time (two writers passed the check together) has no state to return; the client re-reads.
+ * An If-Match that is not an entity version answers 412.
+ */
+@RestControllerAdvice
+@Log4j2
+public class VersionConflictExceptionHandler {
+
+  @ExceptionHandler(VersionConflictException.class)
+  public ResponseEntity<VersionConflictResponse> handleVersionConflict(VersionConflictException e) {
+    VersionConflictResponse response =
+        VersionConflictResponse.builder()
+            .status("error")
+            .message(e.getMessage())
+            .data(
+                VersionConflictResponse.VersionConflictData.builder()
+                    .currentVersion(e.getCurrentVersion())
+                    .current(e.getCurrentState())
+                    .build())
+            .build();
+
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .eTag(EtagResponseUtil.versionEtag(e.getCurrentVersion()))
+        .body(response);
+  }
+
+  @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+  public ResponseEntity<VersionConflictResponse> handleConcurrentUpdate(
+      ObjectOptimisticLockingFailureException e) {
+    log.info("Concurrent update rejected: {} {}", e.getPersistentClassName(), e.getIdentifier());
+
+    VersionConflictResponse response =
+        VersionConflictResponse.builder()
+            .status("error")
+            .message("Record was modified concurrently; reload and retry")
+            .build();
+
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+  }
+
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<VersionConflictResponse> handlePreconditionFailed(
+      PreconditionFailedException e) {
+    VersionConflictResponse response =
+        VersionConflictResponse.builder().status("error").message(e.getMessage()).build();
+
+    return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(response);
+  }
+}
@@ -0,0 +1,45 @@
+package com.suljhaoo.backend.logging;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Field extraction for single ECS JSON log lines as written by EcsLayout. Scans for the key instead
+ * of parsing the whole document, since archive queries touch every line of a segment.
+ */
+final class EcsLines {
+
+  private static final String TIMESTAMP_KEY = "\"@timestamp\":\"";
+  private static final String TRACE_ID_KEY = "\"trace.id\":\"";
+
+  private EcsLines() {}
+
+  /** Returns the event timestamp, or null when the line has none or it cannot be parsed. */
+  static Instant timestampOf(String line) {
+    String value = valueOf(line, TIMESTAMP_KEY);
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Instant.parse(value);
+    } catch (DateTimeParseException e) {
+      return null;
+    }
+  }
+
+  /** Returns the trace.id value, or null when absent or empty. */
+  static String traceIdOf(String line) {
+    String value = valueOf(line, TRACE_ID_KEY);
+    return value == null || value.isEmpty() ? null : value;
+  }
+
+  private static String valueOf(String line, String key) {
+    int start = line.indexOf(key);
+    if (start < 0) {
+      return null;
+    }
+    start += key.length();
+    int end = line.indexOf('"', start);
+    return end < 0 ? null : line.substring(start, end);
+  }
+}
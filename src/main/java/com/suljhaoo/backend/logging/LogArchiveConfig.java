@@ -0,0 +1,11 @@
+package com.suljhaoo.backend.logging;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables the periodic segment indexing used by the log-archive retention mode. */
+@Configuration
+@Profile("log-archive")
+@EnableScheduling
+public class LogArchiveConfig {}
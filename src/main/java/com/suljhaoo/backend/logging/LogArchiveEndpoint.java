@@ -0,0 +1,88 @@
+package com.suljhaoo.backend.logging;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint streaming archived log events as NDJSON: GET
+ * /actuator/logarchive?from=2025-01-01T10:00:00Z&to=...&traceId=... (ADMIN only, via /actuator/**
+ * in endpoint-roles.json). Only segments whose sidecar index overlaps the range and whose trace id
+ * filter may contain the id are decompressed; the active log file is read last.
+ */
+@Slf4j
+@Component
+@Profile("log-archive")
+@Endpoint(id = "logarchive")
+@RequiredArgsConstructor
+public class LogArchiveEndpoint {
+
+  private final LogArchiveIndexer indexer;
+
+  @ReadOperation(produces = "application/x-ndjson")
+  public Resource query(@Nullable String from, @Nullable String to, @Nullable String traceId)
+      throws IOException {
+    Instant fromInstant = parse("from", from);
+    Instant toInstant = parse("to", to);
+    if (fromInstant == null && toInstant == null && traceId == null) {
+      throw new InvalidEndpointRequestException(
+          "At least one of from, to or traceId is required", "Missing filter");
+    }
+
+    // Pick up segments rolled since the last scheduled sweep.
+    indexer.indexPending();
+
+    List<Path> files = new ArrayList<>();
+    Instant lastArchived = null;
+    for (LogSegmentIndex segment : indexer.segments()) {
+      if (segment.getLastTimestamp() != null
+          && (lastArchived == null || segment.getLastTimestamp().isAfter(lastArchived))) {
+        lastArchived = segment.getLastTimestamp();
+      }
+      if (segment.overlaps(fromInstant, toInstant)
+          && (traceId == null || segment.mightContainTraceId(traceId))) {
+        files.add(indexer.archiveDirectory().resolve(segment.getSegment()));
+      }
+    }
+    Path active = indexer.activeLogFile();
+    if (Files.exists(active)
+        && (toInstant == null || lastArchived == null || !toInstant.isBefore(lastArchived))) {
+      files.add(active);
+    }
+
+    log.info(
+        "Log archive query from={} to={} traceId={} reading {} file(s)",
+        fromInstant,
+        toInstant,
+        traceId,
+        files.size());
+    return new InputStreamResource(
+        new LogArchiveQueryStream(files, fromInstant, toInstant, traceId));
+  }
+
+  private static Instant parse(String name, String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    try {
+      return Instant.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new InvalidEndpointRequestException(
+          name + " must be an ISO-8601 instant, e.g. 2025-01-01T10:00:00Z", "Invalid " + name);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package com.suljhaoo.backend.logging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the sidecar index (first/last timestamp, line count, trace id Bloom filter) for every
+ * compressed segment Log4j2 rolls into the archive directory. Runs on a schedule and before each
+ * query, so a segment is read in full exactly once.
+ */
+@Slf4j
+@Component
+@Profile("log-archive")
+@RequiredArgsConstructor
+public class LogArchiveIndexer {
+
+  static final String SEGMENT_SUFFIX = ".log.gz";
+  static final String INDEX_SUFFIX = ".idx.json";
+
+  /** Gzip is written by a background rollover action; leave fresh files alone until it is done. */
+  private static final long SETTLE_MILLIS = 5_000;
+
+  private final ObjectMapper objectMapper;
+
+  @Value("${LOG_ARCHIVE_PATH:/apps/logs/archive}")
+  private String archivePath;
+
+  @Value("${LOG_PATH:/apps/logs/application.log}")
+  private String activeLogPath;
+
+  public Path archiveDirectory() {
+    return Paths.get(archivePath);
+  }
+
+  public Path activeLogFile() {
+    return Paths.get(activeLogPath);
+  }
+
+  @Scheduled(fixedDelayString = "${logging.archive.index-interval-ms:60000}")
+  public synchronized void indexPending() {
+    Path directory = archiveDirectory();
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    long settledBefore = System.currentTimeMillis() - SETTLE_MILLIS;
+    try (DirectoryStream<Path> segments =
+        Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+      for (Path segment : segments) {
+        if (Files.exists(indexFileFor(segment))
+            || Files.getLastModifiedTime(segment).toMillis() > settledBefore) {
+          continue;
+        }
+        try {
+          writeIndex(segment, buildIndex(segment));
+        } catch (IOException e) {
+          // Truncated gzip (rollover still running) or unreadable file; retried next sweep.
+          log.warn("Could not index log segment {}: {}", segment.getFileName(), e.getMessage());
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Could not list log archive {}: {}", directory, e.getMessage());
+    }
+  }
+
+  /** Returns all segment indexes ordered by first timestamp; unindexed segments are included. */
+  public List<LogSegmentIndex> segments() throws IOException {
+    List<LogSegmentIndex> result = new ArrayList<>();
+    Path directory = archiveDirectory();
+    if (!Files.isDirectory(directory)) {
+      return result;
+    }
+    try (DirectoryStream<Path> segments =
+        Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+      for (Path segment : segments) {
+        Path indexFile = indexFileFor(segment);
+        if (Files.exists(indexFile)) {
+          result.add(objectMapper.readValue(indexFile.toFile(), LogSegmentIndex.class));
+        } else {
+          result.add(LogSegmentIndex.builder().segment(segment.getFileName().toString()).build());
+        }
+      }
+    }
+    result.sort(
+        Comparator.comparing(
+                LogSegmentIndex::getFirstTimestamp, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(LogSegmentIndex::getSegment));
+    return result;
+  }
+
+  LogSegmentIndex buildIndex(Path segment) throws IOException {
+    TraceIdBloomFilter traceIds = new TraceIdBloomFilter();
+    Instant first = null;
+    Instant last = null;
+    long lines = 0;
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment), 64 * 1024),
+                StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        lines++;
+        Instant timestamp = EcsLines.timestampOf(line);
+        if (timestamp != null) {
+          if (first == null || timestamp.isBefore(first)) {
+            first = timestamp;
+          }
+          if (last == null || timestamp.isAfter(last)) {
+            last = timestamp;
+          }
+        }
+        String traceId = EcsLines.traceIdOf(line);
+        if (traceId != null) {
+          traceIds.add(traceId);
+        }
+      }
+    }
+    return LogSegmentIndex.builder()
+        .segment(segment.getFileName().toString())
+        .firstTimestamp(first)
+        .lastTimestamp(last)
+        .lineCount(lines)
+        .traceIdBloom(traceIds.toBase64())
+        .build();
+  }
+
+  private void writeIndex(Path segment, LogSegmentIndex index) throws IOException {
+    Path target = indexFileFor(segment);
+    Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+    objectMapper.writeValue(temp.toFile(), index);
+    try {
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+    log.info(
+        "Indexed log segment {} ({} lines, {} .. {})",
+        index.getSegment(),
+        index.getLineCount(),
+        index.getFirstTimestamp(),
+        index.getLastTimestamp());
+  }
+
+  static Path indexFileFor(Path segment) {
+    return segment.resolveSibling(segment.getFileName() + INDEX_SUFFIX);
+  }
+}
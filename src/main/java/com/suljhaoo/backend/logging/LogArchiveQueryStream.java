@@ -0,0 +1,127 @@
+package com.suljhaoo.backend.logging;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams the lines of the given files that match a time range and/or trace id, one file at a time,
+ * so the response is written while segments are still being read and memory use stays at one line.
+ * Files ending in .gz are decompressed on the fly.
+ */
+class LogArchiveQueryStream extends InputStream {
+
+  private final Iterator<Path> files;
+  private final Instant from;
+  private final Instant to;
+  private final String traceId;
+
+  private BufferedReader reader;
+  private byte[] line = new byte[0];
+  private int position;
+
+  LogArchiveQueryStream(List<Path> files, Instant from, Instant to, String traceId) {
+    this.files = files.iterator();
+    this.from = from;
+    this.to = to;
+    this.traceId = traceId;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!fill()) {
+      return -1;
+    }
+    return line[position++] & 0xff;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!fill()) {
+      return -1;
+    }
+    int count = Math.min(length, line.length - position);
+    System.arraycopy(line, position, buffer, offset, count);
+    position += count;
+    return count;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (reader != null) {
+      reader.close();
+      reader = null;
+    }
+  }
+
+  /** Makes sure the current line buffer has unread bytes; returns false at end of all files. */
+  private boolean fill() throws IOException {
+    while (position >= line.length) {
+      String next = nextMatchingLine();
+      if (next == null) {
+        return false;
+      }
+      line = (next + "\n").getBytes(StandardCharsets.UTF_8);
+      position = 0;
+    }
+    return true;
+  }
+
+  private String nextMatchingLine() throws IOException {
+    while (true) {
+      if (reader == null) {
+        if (!files.hasNext()) {
+          return null;
+        }
+        reader = open(files.next());
+        if (reader == null) {
+          continue;
+        }
+      }
+      String candidate = reader.readLine();
+      if (candidate == null) {
+        close();
+        continue;
+      }
+      if (matches(candidate)) {
+        return candidate;
+      }
+    }
+  }
+
+  private boolean matches(String candidate) {
+    if (traceId != null && !traceId.equals(EcsLines.traceIdOf(candidate))) {
+      return false;
+    }
+    if (from == null && to == null) {
+      return true;
+    }
+    Instant timestamp = EcsLines.timestampOf(candidate);
+    return timestamp != null
+        && (from == null || !timestamp.isBefore(from))
+        && (to == null || !timestamp.isAfter(to));
+  }
+
+  private static BufferedReader open(Path file) throws IOException {
+    if (!Files.isReadable(file)) {
+      // Deleted by retention between listing and reading.
+      return null;
+    }
+    InputStream in = Files.newInputStream(file);
+    if (file.getFileName().toString().endsWith(".gz")) {
+      in = new GZIPInputStream(in, 64 * 1024);
+    }
+    return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+  }
+}
@@ -0,0 +1,34 @@
+package com.suljhaoo.backend.logging;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Sidecar index for one compressed archive segment, stored next to it as *.idx.json. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogSegmentIndex {
+
+  private String segment;
+  private Instant firstTimestamp;
+  private Instant lastTimestamp;
+  private long lineCount;
+  private String traceIdBloom;
+
+  public boolean overlaps(Instant from, Instant to) {
+    if (firstTimestamp == null || lastTimestamp == null) {
+      return true;
+    }
+    return (from == null || !lastTimestamp.isBefore(from))
+        && (to == null || !firstTimestamp.isAfter(to));
+  }
+
+  public boolean mightContainTraceId(String traceId) {
+    return traceIdBloom == null
+        || TraceIdBloomFilter.fromBase64(traceIdBloom).mightContain(traceId);
+  }
+}
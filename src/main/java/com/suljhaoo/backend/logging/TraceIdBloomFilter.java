@@ -0,0 +1,73 @@
+package com.suljhaoo.backend.logging;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * Fixed-size Bloom filter over trace ids, stored in each segment's sidecar index. 2^19 bits (64 KB)
+ * with 7 hash functions keeps the false-positive rate under 1% up to ~50k distinct trace ids per
+ * segment; a false positive only costs reading one extra segment.
+ */
+public final class TraceIdBloomFilter {
+
+  static final int HASHES = 7;
+  private static final int BITS = 1 << 19;
+  private static final int MASK = BITS - 1;
+
+  private final long[] words;
+
+  public TraceIdBloomFilter() {
+    this(new long[BITS / Long.SIZE]);
+  }
+
+  private TraceIdBloomFilter(long[] words) {
+    this.words = words;
+  }
+
+  public void add(String traceId) {
+    int h1 = traceId.hashCode();
+    int h2 = fnv1a(traceId);
+    for (int i = 0; i < HASHES; i++) {
+      int bit = (h1 + i * h2) & MASK;
+      words[bit >>> 6] |= 1L << bit;
+    }
+  }
+
+  public boolean mightContain(String traceId) {
+    int h1 = traceId.hashCode();
+    int h2 = fnv1a(traceId);
+    for (int i = 0; i < HASHES; i++) {
+      int bit = (h1 + i * h2) & MASK;
+      if ((words[bit >>> 6] & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public String toBase64() {
+    ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES);
+    buffer.asLongBuffer().put(words);
+    return Base64.getEncoder().encodeToString(buffer.array());
+  }
+
+  public static TraceIdBloomFilter fromBase64(String encoded) {
+    byte[] bytes = Base64.getDecoder().decode(encoded);
+    if (bytes.length != BITS / Byte.SIZE) {
+      throw new IllegalArgumentException("Unexpected trace id filter size: " + bytes.length);
+    }
+    long[] words = new long[BITS / Long.SIZE];
+    ByteBuffer.wrap(bytes).asLongBuffer().get(words);
+    return new TraceIdBloomFilter(words);
+  }
+
+  private static int fnv1a(String value) {
+    int hash = 0x811c9dc5;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x01000193;
+    }
+    // Odd step so the probe sequence visits distinct bits.
+    return hash | 1;
+  }
+}
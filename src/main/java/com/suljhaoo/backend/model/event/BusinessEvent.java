@@ -0,0 +1,77 @@
+package com.suljhaoo.backend.model.event;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.math.BigDecimal;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of /apps/logs/events.ndjson. Amounts and quantities are serialized as JSON numbers so
+ * the events data stream can aggregate them without scripting. Bump {@link #SCHEMA_VERSION} on any
+ * incompatible change and keep the ES mapping (suljhaoo-events-mappings) in step.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"@timestamp", "schema_version", "event.action", "service.name", "trace.id"})
+public class BusinessEvent {
+
+  public static final int SCHEMA_VERSION = 1;
+
+  @JsonProperty("@timestamp")
+  private Instant timestamp;
+
+  @JsonProperty("schema_version")
+  private Integer schemaVersion;
+
+  @JsonProperty("event.action")
+  private BusinessEventType action;
+
+  @JsonProperty("service.name")
+  private String serviceName;
+
+  @JsonProperty("trace.id")
+  private String traceId;
+
+  @JsonProperty("user.id")
+  private String userId;
+
+  @JsonProperty("store.id")
+  private String storeId;
+
+  @JsonProperty("supplier.id")
+  private String supplierId;
+
+  @JsonProperty("entity.id")
+  private String entityId;
+
+  private BigDecimal amount;
+
+  private BigDecimal quantity;
+
+  @JsonProperty("item_count")
+  private Integer itemCount;
+
+  @JsonProperty("created_count")
+  private Integer createdCount;
+
+  @JsonProperty("updated_count")
+  private Integer updatedCount;
+
+  @JsonProperty("error_count")
+  private Integer errorCount;
+
+  @JsonProperty("payment_method")
+  private String paymentMethod;
+
+  private String category;
+
+  private String status;
+}
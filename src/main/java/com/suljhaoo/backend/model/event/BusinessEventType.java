@@ -0,0 +1,28 @@
+package com.suljhaoo.backend.model.event;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/** Domain events written to the business-event stream. The code is the indexed event.action. */
+public enum BusinessEventType {
+  SALE_CREATED("sale.created"),
+  SALE_UPDATED("sale.updated"),
+  SALE_DELETED("sale.deleted"),
+  EXPENSE_CREATED("expense.created"),
+  EXPENSE_UPDATED("expense.updated"),
+  EXPENSE_DELETED("expense.deleted"),
+  ORDER_CREATED("order.created"),
+  ORDER_RECEIVED("order.received"),
+  ORDER_DELETED("order.deleted"),
+  STOCK_BULK_IMPORTED("stock.bulk_imported");
+
+  private final String code;
+
+  BusinessEventType(String code) {
+    this.code = code;
+  }
+
+  @JsonValue
+  public String getCode() {
+    return code;
+  }
+}
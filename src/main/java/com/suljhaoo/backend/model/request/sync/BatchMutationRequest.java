@@ -0,0 +1,51 @@
+package com.suljhaoo.backend.model.request.sync;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchMutationRequest {
+  @NotEmpty(message = "At least one operation is required")
+  @Valid
+  private List<BatchOperation> operations;
+
+  // true: all operations commit together or not at all; false (default): each commits on its own
+  private Boolean atomic;
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class BatchOperation {
+    private String opId; // Client-side id echoed in the result (e.g. offline queue entry id)
+
+    @NotBlank(message = "Entity is required")
+    @Pattern(
+        regexp = "^(sale|expense|stock|supplier)$",
+        message = "Entity must be one of: sale, expense, stock, supplier")
+    private String entity;
+
+    @NotBlank(message = "Action is required")
+    @Pattern(
+        regexp = "^(create|update|delete)$",
+        message = "Action must be one of: create, update, delete")
+    private String action;
+
+    private String id; // Required for update and delete
+
+    private Integer expectedVersion; // Optional: reject update/delete if the row has moved on
+
+    private JsonNode payload; // Create*/Update*Request body of the entity, as in the REST call
+  }
+}
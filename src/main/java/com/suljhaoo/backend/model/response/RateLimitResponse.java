@@ -0,0 +1,16 @@
+package com.suljhaoo.backend.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitResponse {
+  private String status;
+  private String message;
+  private Long retryAfterSeconds;
+}
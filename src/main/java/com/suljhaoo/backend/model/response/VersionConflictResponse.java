@@ -0,0 +1,25 @@
+package com.suljhaoo.backend.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionConflictResponse {
+  private String status;
+  private String message;
+  private VersionConflictData data;
+
+  @Data
+  @Builder
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class VersionConflictData {
+    private Integer currentVersion;
+    private Object current; // Entity as currently stored (same DTO as the GET endpoint)
+  }
+}
@@ -25,4 +25,5 @@ public class ExpenseResponse {
   private String billImageUrl;
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
+  private Integer version;
 }
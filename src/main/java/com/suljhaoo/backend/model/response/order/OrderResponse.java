@@ -26,4 +26,5 @@ public class OrderResponse {
   private Boolean addedToStock;
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
+  private Integer version;
 }
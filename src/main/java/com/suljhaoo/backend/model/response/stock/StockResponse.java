@@ -26,4 +26,5 @@ public class StockResponse {
   private String supplierName;
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
+  private Integer version;
 }
@@ -0,0 +1,18 @@
+package com.suljhaoo.backend.model.response.sync;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchMutationResult {
+  private List<BatchOperationResult> results; // Same order as the request operations
+  private Integer succeeded;
+  private Integer failed;
+  private Boolean atomic;
+}
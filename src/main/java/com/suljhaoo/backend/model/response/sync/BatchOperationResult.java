@@ -0,0 +1,19 @@
+package com.suljhaoo.backend.model.response.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperationResult {
+  private Integer index;
+  private String opId;
+  private String status; // ok, conflict, error, skipped, rolled_back
+  private String message;
+  private Object data; // Entity response after create/update; current state on conflict
+  private Integer currentVersion; // Set on conflict
+}
@@ -0,0 +1,16 @@
+package com.suljhaoo.backend.model.response.sync;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncChangesResponse {
+  private String status;
+  private String message;
+  private SyncChangesResult data;
+}
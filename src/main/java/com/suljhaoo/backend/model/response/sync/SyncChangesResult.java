@@ -0,0 +1,36 @@
+package com.suljhaoo.backend.model.response.sync;
+
+import com.suljhaoo.backend.model.response.expense.ExpenseResponse;
+import com.suljhaoo.backend.model.response.order.OrderResponse;
+import com.suljhaoo.backend.model.response.sales.SaleResponse;
+import com.suljhaoo.backend.model.response.stock.StockResponse;
+import com.suljhaoo.backend.model.response.supplier.SupplierItemResponse;
+import com.suljhaoo.backend.model.response.supplier.SupplierResponse;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of the delta sync feed: rows created or updated and tombstones for rows deleted, in
+ * (updatedAt, id) order across all types. Clients apply the page, store nextCursor and call again
+ * while hasMore is true.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncChangesResult {
+  private List<StockResponse> stocks;
+  private List<SaleResponse> sales;
+  private List<ExpenseResponse> expenses;
+  private List<SupplierResponse> suppliers;
+  private List<SupplierItemResponse> supplierItems;
+  private List<OrderResponse> orders;
+  private List<SyncTombstoneResponse> deleted;
+  private String nextCursor;
+  private Boolean hasMore;
+  // The cursor is older than tombstone retention: deletes may be missing, re-download everything
+  private Boolean fullResyncRequired;
+}
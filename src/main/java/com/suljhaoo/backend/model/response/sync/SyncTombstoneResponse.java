@@ -0,0 +1,17 @@
+package com.suljhaoo.backend.model.response.sync;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncTombstoneResponse {
+  private String entityType; // stock, sale, expense, supplier, supplierItem, order
+  private String id;
+  private LocalDateTime deletedAt;
+}
@@ -0,0 +1,68 @@
+package com.suljhaoo.backend.ratelimit;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The store ids each user owns, loaded once per user and kept for ttl, so TenantRateLimitFilter can
+ * key buckets on stores without a query per request. A store id the user does not own (made up,
+ * another tenant's, or created since the last load) is not a key of its own; the request shares the
+ * user's "-" bucket. Bounded to maxUsers like TokenBucketMap: when full, expired entries go first,
+ * then arbitrary ones, which only costs a reload.
+ */
+public final class OwnedStores {
+
+  private record Entry(Set<String> storeIds, long loadedAtNanos) {}
+
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final Function<String, Set<String>> loader;
+  private final long ttlNanos;
+  private final int maxUsers;
+
+  public OwnedStores(Function<String, Set<String>> loader, Duration ttl, int maxUsers) {
+    this.loader = loader;
+    this.ttlNanos = ttl.toNanos();
+    this.maxUsers = maxUsers;
+  }
+
+  public boolean owns(String userId, String storeId, long nowNanos) {
+    Entry entry = entries.get(userId);
+    if (entry == null || expired(entry, nowNanos)) {
+      if (entry == null && entries.size() >= maxUsers) {
+        evict(nowNanos);
+      }
+      entry =
+          entries.compute(
+              userId,
+              (key, current) ->
+                  current != null && !expired(current, nowNanos)
+                      ? current
+                      : new Entry(Set.copyOf(loader.apply(key)), nowNanos));
+    }
+    return entry.storeIds().contains(storeId);
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  private boolean expired(Entry entry, long nowNanos) {
+    return nowNanos - entry.loadedAtNanos() >= ttlNanos;
+  }
+
+  private synchronized void evict(long nowNanos) {
+    if (entries.size() < maxUsers) {
+      return;
+    }
+    entries.values().removeIf(entry -> expired(entry, nowNanos));
+    Iterator<String> keys = entries.keySet().iterator();
+    int target = maxUsers - Math.max(1, maxUsers / 10);
+    while (entries.size() > target && keys.hasNext()) {
+      keys.next();
+      keys.remove();
+    }
+  }
+}
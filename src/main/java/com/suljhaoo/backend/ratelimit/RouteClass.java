@@ -0,0 +1,33 @@
+package com.suljhaoo.backend.ratelimit;
+
+import java.util.Set;
+
+/**
+ * Request classes with their own tenant token buckets, cheapest first. Classified from the method
+ * and the last path segment alone, so it runs before handler mapping.
+ */
+public enum RouteClass {
+  READ,
+  WRITE,
+  BULK,
+  REPORT;
+
+  /** POST endpoints that write many rows in one request. */
+  private static final Set<String> BULK_SEGMENTS = Set.of("bulk-upload", "batch");
+
+  /** GET endpoints that aggregate or scan a whole store rather than one page of it. */
+  private static final Set<String> REPORT_SEGMENTS = Set.of("cash-sales", "low-stock", "changes");
+
+  /** Property segment and metric tag: read, write, bulk, report. */
+  public String key() {
+    return name().toLowerCase();
+  }
+
+  public static RouteClass of(String method, String path) {
+    String last = path.substring(path.lastIndexOf('/') + 1);
+    if ("GET".equals(method) || "HEAD".equals(method)) {
+      return REPORT_SEGMENTS.contains(last) ? REPORT : READ;
+    }
+    return "POST".equals(method) && BULK_SEGMENTS.contains(last) ? BULK : WRITE;
+  }
+}
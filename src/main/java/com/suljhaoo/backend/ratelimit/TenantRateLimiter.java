@@ -0,0 +1,93 @@
+package com.suljhaoo.backend.ratelimit;
+
+import com.suljhaoo.backend.exception.RateLimitExceededException;
+import com.suljhaoo.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Per-tenant limits for authenticated API calls: one token bucket per (user, store, route class),
+ * so one store's looping client runs out of its own budget instead of the shared connection pool.
+ *
+ * <p>On top of the buckets, work is shed while requests queue on the connection pool: once
+ * pendingThreshold threads wait for a connection, reports and bulk uploads are refused; at twice
+ * the threshold, reads are too. Writes are never shed, only rate limited.
+ */
+public class TenantRateLimiter {
+
+  /** A route class's bucket: capacity is the burst, refill the time to regain one request. */
+  public record Limit(int capacity, Duration refill) {}
+
+  private final Map<RouteClass, TokenBucketMap> buckets = new EnumMap<>(RouteClass.class);
+  private final IntSupplier pendingConnections;
+  private final int pendingThreshold;
+  private final Duration shedRetryAfter;
+  private final Map<RouteClass, Counter> limited = new EnumMap<>(RouteClass.class);
+  private final Map<RouteClass, Counter> shed = new EnumMap<>(RouteClass.class);
+
+  public TenantRateLimiter(
+      Map<RouteClass, Limit> limits,
+      int maxKeys,
+      IntSupplier pendingConnections,
+      int pendingThreshold,
+      Duration shedRetryAfter,
+      MeterRegistry meterRegistry) {
+    for (RouteClass routeClass : RouteClass.values()) {
+      Limit limit = limits.get(routeClass);
+      buckets.put(
+          routeClass,
+          new TokenBucketMap(maxKeys, () -> new TokenBucket(limit.capacity(), limit.refill())));
+      limited.put(routeClass, rejections(meterRegistry, routeClass, "rate_limit"));
+      shed.put(routeClass, rejections(meterRegistry, routeClass, "shed"));
+    }
+    this.pendingConnections = pendingConnections;
+    this.pendingThreshold = pendingThreshold;
+    this.shedRetryAfter = shedRetryAfter;
+    meterRegistry.gauge(
+        "http.tenant.rate_limit.keys",
+        buckets,
+        all -> all.values().stream().mapToInt(TokenBucketMap::size).sum());
+  }
+
+  private static Counter rejections(
+      MeterRegistry meterRegistry, RouteClass routeClass, String reason) {
+    return Counter.builder("http.tenant.rejected")
+        .description("Authenticated requests refused before reaching a controller")
+        .tag("route_class", routeClass.key())
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Throws ServiceOverloadedException when the pool is backed up for this route class, or
+   * RateLimitExceededException when the tenant's bucket is empty.
+   */
+  public void check(String userId, String storeId, RouteClass routeClass) {
+    if (shouldShed(routeClass)) {
+      shed.get(routeClass).increment();
+      throw new ServiceOverloadedException(
+          "The server is busy. Please try again shortly.", shedRetryAfter);
+    }
+    long wait = buckets.get(routeClass).tryAcquire(userId + '/' + storeId, System.nanoTime());
+    if (wait > 0) {
+      limited.get(routeClass).increment();
+      throw new RateLimitExceededException(
+          "Too many requests for this store. Please slow down.", Duration.ofNanos(wait));
+    }
+  }
+
+  private boolean shouldShed(RouteClass routeClass) {
+    if (routeClass == RouteClass.WRITE) {
+      return false;
+    }
+    int pending = pendingConnections.getAsInt();
+    if (pending < pendingThreshold) {
+      return false;
+    }
+    return routeClass != RouteClass.READ || pending >= 2 * pendingThreshold;
+  }
+}
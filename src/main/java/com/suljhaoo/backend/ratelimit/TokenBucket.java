@@ -0,0 +1,49 @@
+package com.suljhaoo.backend.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival time" (the
+ * instant the bucket will be full again), updated with a CAS. A bucket holds up to capacity tokens
+ * and regains one every refillInterval. Times are System.nanoTime() values.
+ */
+public final class TokenBucket {
+
+  private static final long NEVER_USED = Long.MIN_VALUE;
+
+  private final long intervalNanos;
+  private final long burstNanos;
+  private final AtomicLong fullAt;
+
+  public TokenBucket(int capacity, Duration refillInterval) {
+    if (capacity < 1 || refillInterval.isNegative() || refillInterval.isZero()) {
+      throw new IllegalArgumentException("Token bucket needs capacity >= 1 and a positive refill");
+    }
+    this.intervalNanos = refillInterval.toNanos();
+    this.burstNanos = intervalNanos * capacity;
+    this.fullAt = new AtomicLong(NEVER_USED);
+  }
+
+  /** Takes one token; returns 0 if granted, else the nanoseconds until a token is available. */
+  public long tryAcquire(long nowNanos) {
+    while (true) {
+      long current = fullAt.get();
+      long base = current == NEVER_USED || current - nowNanos <= 0 ? nowNanos : current;
+      long next = base + intervalNanos;
+      long wait = next - nowNanos - burstNanos;
+      if (wait > 0) {
+        return wait;
+      }
+      if (fullAt.compareAndSet(current, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /** True when the bucket has refilled completely, i.e. it is indistinguishable from a new one. */
+  public boolean isFull(long nowNanos) {
+    long current = fullAt.get();
+    return current == NEVER_USED || current - nowNanos <= 0;
+  }
+}
@@ -0,0 +1,59 @@
+package com.suljhaoo.backend.ratelimit;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Token buckets by key, bounded to maxEntries. When a new key would exceed the bound, buckets that
+ * have refilled completely are dropped first; that loses nothing, since a new bucket starts full.
+ * If the map is still full (more than maxEntries keys active inside one refill window, e.g. a
+ * spoofed-key flood), arbitrary entries are dropped, so memory stays bounded and those keys start
+ * over with a full bucket.
+ */
+public final class TokenBucketMap {
+
+  private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+  private final int maxEntries;
+  private final Supplier<TokenBucket> bucketFactory;
+  private final AtomicBoolean sweeping = new AtomicBoolean();
+
+  public TokenBucketMap(int maxEntries, Supplier<TokenBucket> bucketFactory) {
+    this.maxEntries = maxEntries;
+    this.bucketFactory = bucketFactory;
+  }
+
+  /** Takes one token from the key's bucket; 0 if granted, else nanoseconds until one is free. */
+  public long tryAcquire(String key, long nowNanos) {
+    TokenBucket bucket = buckets.get(key);
+    if (bucket == null) {
+      if (buckets.size() >= maxEntries) {
+        evict(nowNanos);
+      }
+      bucket = buckets.computeIfAbsent(key, k -> bucketFactory.get());
+    }
+    return bucket.tryAcquire(nowNanos);
+  }
+
+  public int size() {
+    return buckets.size();
+  }
+
+  private void evict(long nowNanos) {
+    if (!sweeping.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      buckets.values().removeIf(bucket -> bucket.isFull(nowNanos));
+      Iterator<String> keys = buckets.keySet().iterator();
+      int target = maxEntries - Math.max(1, maxEntries / 10);
+      while (buckets.size() > target && keys.hasNext()) {
+        keys.next();
+        keys.remove();
+      }
+    } finally {
+      sweeping.set(false);
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package com.suljhaoo.backend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row count and newest updated_at of a store-scoped collection. Any insert, update or delete in the
+ * collection changes at least one of the two, so together they version the collection without
+ * loading its rows.
+ */
+public interface CollectionStamp {
+  long getCount();
+
+  LocalDateTime getLastUpdated();
+}
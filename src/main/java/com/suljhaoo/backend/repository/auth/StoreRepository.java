@@ -4,6 +4,8 @@ import com.suljhaoo.backend.enity.auth.Store;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -17,4 +19,7 @@ public interface StoreRepository extends JpaRepository<Store, String> {
   long countByUser_IdAndIsDeletedFalse(String userId);
 
   List<Store> findByUser_IdAndIsDeletedFalseAndIdNot(String userId, String excludeId);
+
+  @Query("SELECT s.id FROM Store s WHERE s.user.id = :userId AND s.isDeleted = false")
+  List<String> findIdsByUserId(@Param("userId") String userId);
 }
@@ -1,11 +1,16 @@
 package com.suljhaoo.backend.repository.expense;
 
 import com.suljhaoo.backend.enity.expense.Expense;
+import com.suljhaoo.backend.repository.CollectionStamp;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -16,4 +21,22 @@ public interface ExpenseRepository extends JpaRepository<Expense, UUID> {
 
   // Get a single expense by ID, user ID, and store ID
   Optional<Expense> findByIdAndUser_IdAndStore_Id(UUID id, String userId, String storeId);
+
+  // Count and newest updated_at of the collection (ETag for conditional GET)
+  @Query(
+      "SELECT COUNT(e) AS count, MAX(e.updatedAt) AS lastUpdated FROM Expense e "
+          + "WHERE e.store.id = :storeId")
+  CollectionStamp findStampByStoreId(@Param("storeId") String storeId);
+
+  // Delta sync: rows changed after the (updatedAt, id) cursor and before the settle bound
+  @Query(
+      "SELECT e FROM Expense e WHERE e.store.id = :storeId "
+          + "AND (e.updatedAt > :since OR (e.updatedAt = :since AND e.id > :afterId)) "
+          + "AND e.updatedAt < :until ORDER BY e.updatedAt ASC, e.id ASC")
+  List<Expense> findChangesSince(
+      @Param("storeId") String storeId,
+      @Param("since") LocalDateTime since,
+      @Param("afterId") UUID afterId,
+      @Param("until") LocalDateTime until,
+      Pageable pageable);
 }
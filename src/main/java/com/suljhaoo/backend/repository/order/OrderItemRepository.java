@@ -1,6 +1,7 @@
 package com.suljhaoo.backend.repository.order;
 
 import com.suljhaoo.backend.enity.order.OrderItem;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +12,9 @@ public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
   // Get all order items for an order
   List<OrderItem> findByOrder_IdOrderByCreatedAtAsc(UUID orderId);
 
+  // Get the items of several orders in one query (delta sync pages)
+  List<OrderItem> findByOrder_IdInOrderByCreatedAtAsc(Collection<UUID> orderIds);
+
   // Delete all order items for an order (used when deleting order)
   void deleteByOrder_Id(UUID orderId);
 }
@@ -1,11 +1,15 @@
 package com.suljhaoo.backend.repository.order;
 
 import com.suljhaoo.backend.enity.order.Order;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -24,4 +28,20 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
 
   // Count orders for a supplier
   long countBySupplier_Id(UUID supplierId);
+
+  // Delta sync: rows changed after the (updatedAt, id) cursor and before the settle bound
+  @Query(
+      "SELECT o FROM Order o WHERE o.store.id = :storeId "
+          + "AND (o.updatedAt > :since OR (o.updatedAt = :since AND o.id > :afterId)) "
+          + "AND o.updatedAt < :until ORDER BY o.updatedAt ASC, o.id ASC")
+  List<Order> findChangesSince(
+      @Param("storeId") String storeId,
+      @Param("since") LocalDateTime since,
+      @Param("afterId") UUID afterId,
+      @Param("until") LocalDateTime until,
+      Pageable pageable);
+
+  // Ids removed by ON DELETE CASCADE when their supplier is deleted (sync tombstones)
+  @Query("SELECT o.id FROM Order o WHERE o.supplier.id = :supplierId")
+  List<UUID> findIdsBySupplierId(@Param("supplierId") UUID supplierId);
 }
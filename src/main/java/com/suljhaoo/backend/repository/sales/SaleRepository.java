@@ -1,6 +1,8 @@
 package com.suljhaoo.backend.repository.sales;
 
 import com.suljhaoo.backend.enity.sales.Sale;
+import com.suljhaoo.backend.repository.CollectionStamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -45,4 +47,27 @@ public interface SaleRepository extends JpaRepository<Sale, UUID> {
           + "AND s.paymentMethod IN ('cash', 'upi', 'card')")
   long countCashSalesByUserAndStore(
       @Param("userId") String userId, @Param("storeId") String storeId);
+
+  // Count and newest updated_at of the collection (ETag for conditional GET)
+  @Query(
+      "SELECT COUNT(s) AS count, MAX(s.updatedAt) AS lastUpdated FROM Sale s "
+          + "WHERE s.store.id = :storeId")
+  CollectionStamp findStampByStoreId(@Param("storeId") String storeId);
+
+  // version of a single sale in a store (ETag for conditional GET and If-Match)
+  @Query("SELECT s.version FROM Sale s WHERE s.id = :id AND s.store.id = :storeId")
+  Optional<Integer> findVersionByIdAndStoreId(
+      @Param("id") UUID id, @Param("storeId") String storeId);
+
+  // Delta sync: rows changed after the (updatedAt, id) cursor and before the settle bound
+  @Query(
+      "SELECT s FROM Sale s WHERE s.store.id = :storeId "
+          + "AND (s.updatedAt > :since OR (s.updatedAt = :since AND s.id > :afterId)) "
+          + "AND s.updatedAt < :until ORDER BY s.updatedAt ASC, s.id ASC")
+  List<Sale> findChangesSince(
+      @Param("storeId") String storeId,
+      @Param("since") LocalDateTime since,
+      @Param("afterId") UUID afterId,
+      @Param("until") LocalDateTime until,
+      Pageable pageable);
 }
@@ -1,12 +1,16 @@
 package com.suljhaoo.backend.repository.stock;
 
 import com.suljhaoo.backend.enity.stock.Stock;
+import com.suljhaoo.backend.repository.CollectionStamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -49,4 +53,33 @@ public interface StockRepository extends JpaRepository<Stock, UUID> {
 
   // Find stock by name and store ID (for bulk upload - update if exists)
   Optional<Stock> findByStore_IdAndName(String storeId, String name);
+
+  // Find all stocks of a store matching any of the given names (bulk upload, one query)
+  List<Stock> findByStore_IdAndNameIn(String storeId, Collection<String> names);
+
+  // Count and newest updated_at of the collection (ETag for conditional GET)
+  @Query(
+      "SELECT COUNT(s) AS count, MAX(s.updatedAt) AS lastUpdated FROM Stock s "
+          + "WHERE s.store.id = :storeId")
+  CollectionStamp findStampByStoreId(@Param("storeId") String storeId);
+
+  // Delta sync: rows changed after the (updatedAt, id) cursor and before the settle bound
+  @Query(
+      "SELECT s FROM Stock s WHERE s.store.id = :storeId "
+          + "AND (s.updatedAt > :since OR (s.updatedAt = :since AND s.id > :afterId)) "
+          + "AND s.updatedAt < :until ORDER BY s.updatedAt ASC, s.id ASC")
+  List<Stock> findChangesSince(
+      @Param("storeId") String storeId,
+      @Param("since") LocalDateTime since,
+      @Param("afterId") UUID afterId,
+      @Param("until") LocalDateTime until,
+      Pageable pageable);
+
+  // Supplier delete: clears the reference that ON DELETE SET NULL would clear, but bumps
+  // updated_at and version so the change reaches the delta sync feed
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "UPDATE Stock s SET s.supplier = null, s.updatedAt = :now, s.version = s.version + 1 "
+          + "WHERE s.supplier.id = :supplierId")
+  int clearSupplier(@Param("supplierId") UUID supplierId, @Param("now") LocalDateTime now);
 }
@@ -1,11 +1,17 @@
 package com.suljhaoo.backend.repository.stock;
 
 import com.suljhaoo.backend.enity.stock.SupplierItem;
+import com.suljhaoo.backend.repository.CollectionStamp;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -24,4 +30,35 @@ public interface SupplierItemRepository extends JpaRepository<SupplierItem, UUID
   // Check if item with same name exists for supplier (case-insensitive)
   boolean existsBySupplier_IdAndStore_IdAndNameIgnoreCase(
       UUID supplierId, String storeId, String name);
+
+  // Count and newest updated_at of the collection (ETag for conditional GET)
+  @Query(
+      "SELECT COUNT(si) AS count, MAX(si.updatedAt) AS lastUpdated FROM SupplierItem si "
+          + "WHERE si.supplier.id = :supplierId AND si.store.id = :storeId")
+  CollectionStamp findStampBySupplierIdAndStoreId(
+      @Param("supplierId") UUID supplierId, @Param("storeId") String storeId);
+
+  // Delta sync: rows changed after the (updatedAt, id) cursor and before the settle bound
+  @Query(
+      "SELECT si FROM SupplierItem si WHERE si.store.id = :storeId "
+          + "AND (si.updatedAt > :since OR (si.updatedAt = :since AND si.id > :afterId)) "
+          + "AND si.updatedAt < :until ORDER BY si.updatedAt ASC, si.id ASC")
+  List<SupplierItem> findChangesSince(
+      @Param("storeId") String storeId,
+      @Param("since") LocalDateTime since,
+      @Param("afterId") UUID afterId,
+      @Param("until") LocalDateTime until,
+      Pageable pageable);
+
+  // Ids removed by ON DELETE CASCADE when their supplier is deleted (sync tombstones)
+  @Query("SELECT si.id FROM SupplierItem si WHERE si.supplier.id = :supplierId")
+  List<UUID> findIdsBySupplierId(@Param("supplierId") UUID supplierId);
+
+  // Stock delete: clears the reference that ON DELETE SET NULL would clear, but bumps
+  // updated_at so the change reaches the delta sync feed
+  @Modifying(flushAutomatically = true)
+  @Query(
+      "UPDATE SupplierItem si SET si.stock = null, si.updatedAt = :now "
+          + "WHERE si.stock.id = :stockId")
+  int clearStock(@Param("stockId") UUID stockId, @Param("now") LocalDateTime now);
 }
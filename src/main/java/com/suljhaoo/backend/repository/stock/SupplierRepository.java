@@ -1,12 +1,16 @@
 package com.suljhaoo.backend.repository.stock;
 
 import com.suljhaoo.backend.enity.stock.Supplier;
+import com.suljhaoo.backend.repository.CollectionStamp;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -25,4 +29,22 @@ public interface SupplierRepository extends JpaRepository<Supplier, UUID> {
 
   // Count suppliers for a store
   long countByStore_Id(String storeId);
+
+  // Count and newest updated_at of the collection (ETag for conditional GET)
+  @Query(
+      "SELECT COUNT(s) AS count, MAX(s.updatedAt) AS lastUpdated FROM Supplier s "
+          + "WHERE s.store.id = :storeId")
+  CollectionStamp findStampByStoreId(@Param("storeId") String storeId);
+
+  // Delta sync: rows changed after the (updatedAt, id) cursor and before the settle bound
+  @Query(
+      "SELECT s FROM Supplier s WHERE s.store.id = :storeId "
+          + "AND (s.updatedAt > :since OR (s.updatedAt = :since AND s.id > :afterId)) "
+          + "AND s.updatedAt < :until ORDER BY s.updatedAt ASC, s.id ASC")
+  List<Supplier> findChangesSince(
+      @Param("storeId") String storeId,
+      @Param("since") LocalDateTime since,
+      @Param("afterId") UUID afterId,
+      @Param("until") LocalDateTime until,
+      Pageable pageable);
 }
@@ -0,0 +1,32 @@
+package com.suljhaoo.backend.repository.sync;
+
+import com.suljhaoo.backend.enity.sync.SyncTombstone;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, UUID> {
+  // Deletes in a store after the (deletedAt, id) cursor and before the settle bound
+  @Query(
+      "SELECT t FROM SyncTombstone t WHERE t.store.id = :storeId "
+          + "AND (t.deletedAt > :since OR (t.deletedAt = :since AND t.id > :afterId)) "
+          + "AND t.deletedAt < :until ORDER BY t.deletedAt ASC, t.id ASC")
+  List<SyncTombstone> findChangesSince(
+      @Param("storeId") String storeId,
+      @Param("since") LocalDateTime since,
+      @Param("afterId") UUID afterId,
+      @Param("until") LocalDateTime until,
+      Pageable pageable);
+
+  // Purge tombstones past the retention window
+  @Modifying
+  @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :cutoff")
+  int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,121 @@
+package com.suljhaoo.backend.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suljhaoo.backend.exception.RateLimitExceededException;
+import com.suljhaoo.backend.exception.RateLimitExceptionHandler;
+import com.suljhaoo.backend.exception.ServiceOverloadedException;
+import com.suljhaoo.backend.model.response.RateLimitResponse;
+import com.suljhaoo.backend.ratelimit.OwnedStores;
+import com.suljhaoo.backend.ratelimit.RouteClass;
+import com.suljhaoo.backend.ratelimit.TenantRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies TenantRateLimiter after JwtAuthenticationFilter: the key is the authenticated user and
+ * the store id from the path, the bucket the request's RouteClass. The path's store id is only used
+ * when the user owns that store (OwnedStores, cached); anything else shares the user's "-" bucket,
+ * so cycling made-up ids neither earns fresh buckets nor floods the key map. Unauthenticated
+ * requests pass through (login has its own limiter; everything else is refused by authorization
+ * anyway).
+ *
+ * <p>Not a bean, so Spring Boot does not also register it as a servlet filter; SecurityConfig adds
+ * it to the security chain. Refusals are written here because controller advice does not see
+ * exceptions thrown by filters.
+ */
+public class TenantRateLimitFilter extends OncePerRequestFilter {
+
+  /**
+   * /{resource}/user/{userId}/{storeId}/... Order URLs carry the order id in that slot, which never
+   * matches an owned store, so order traffic stays in the per-user bucket.
+   */
+  private static final Set<String> STORE_SCOPED_RESOURCES =
+      Set.of("sales", "stock", "expenses", "suppliers", "sync", "orders");
+
+  private static final String NO_STORE = "-";
+
+  private final TenantRateLimiter rateLimiter;
+  private final OwnedStores ownedStores;
+  private final ObjectMapper objectMapper;
+
+  public TenantRateLimitFilter(
+      TenantRateLimiter rateLimiter, OwnedStores ownedStores, ObjectMapper objectMapper) {
+    this.rateLimiter = rateLimiter;
+    this.ownedStores = ownedStores;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication == null
+        || !(authentication.getPrincipal() instanceof SecurityUser user)
+        || "OPTIONS".equals(request.getMethod())) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    String storeId = storeId(path);
+    if (!NO_STORE.equals(storeId)
+        && !ownedStores.owns(user.getUserId(), storeId, System.nanoTime())) {
+      storeId = NO_STORE;
+    }
+    try {
+      rateLimiter.check(user.getUserId(), storeId, RouteClass.of(request.getMethod(), path));
+    } catch (RateLimitExceededException e) {
+      refuse(response, HttpStatus.TOO_MANY_REQUESTS, e.getMessage(), e.getRetryAfter());
+      return;
+    } catch (ServiceOverloadedException e) {
+      refuse(response, HttpStatus.SERVICE_UNAVAILABLE, e.getMessage(), e.getRetryAfter());
+      return;
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  /** The store id path segment, unchecked, or "-" for endpoints not scoped to one store. */
+  static String storeId(String path) {
+    String[] segments = path.split("/");
+    // segments[0] is the empty string before the leading slash
+    if (segments.length >= 3 && "stores".equals(segments[1])) {
+      return segments[2];
+    }
+    if (segments.length >= 5
+        && STORE_SCOPED_RESOURCES.contains(segments[1])
+        && "user".equals(segments[2])) {
+      return segments[4];
+    }
+    return NO_STORE;
+  }
+
+  private void refuse(
+      HttpServletResponse response, HttpStatus status, String message, Duration retryAfter)
+      throws IOException {
+    long seconds = RateLimitExceptionHandler.retryAfterSeconds(retryAfter);
+    response.setStatus(status.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    objectMapper.writeValue(
+        response.getOutputStream(),
+        RateLimitResponse.builder()
+            .status("error")
+            .message(message)
+            .retryAfterSeconds(seconds)
+            .build());
+  }
+}
@@ -0,0 +1,99 @@
+package com.suljhaoo.backend.security.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * One AuthorizationManager for every request, compiled from endpoint-roles.json into an
+ * EndpointRuleTrie keyed by HTTP method. A request's rule is found in O(path depth) instead of by
+ * trying one RequestMatcher per configured endpoint. The first matching entry in the file wins, as
+ * with the matcher chain, but the entry's method is now honoured.
+ *
+ * <p>OPTIONS is always permitted (CORS preflight), HEAD uses the GET rules, and a request that
+ * matches no entry only needs to be authenticated.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CompiledAuthorizationManager
+    implements AuthorizationManager<RequestAuthorizationContext> {
+
+  private static final AuthorizationDecision PERMIT = new AuthorizationDecision(true);
+  private static final AuthorizationManager<RequestAuthorizationContext> PERMIT_ALL =
+      (authentication, context) -> PERMIT;
+  private static final AuthorizationManager<RequestAuthorizationContext> AUTHENTICATED =
+      AuthenticatedAuthorizationManager.authenticated();
+
+  private final EndpointRoleConfig endpointRoleConfig;
+
+  private volatile EndpointRuleTrie<AuthorizationManager<RequestAuthorizationContext>> rules =
+      new EndpointRuleTrie<>();
+
+  /** Builds the trie from the currently loaded endpoint-roles.json and swaps it in. */
+  @PostConstruct
+  public void compile() {
+    install(compile(endpointRoleConfig.getEndpoints()));
+  }
+
+  /**
+   * Builds a trie without installing it, so a reload can check a new file before using it.
+   *
+   * @throws IllegalArgumentException if an entry has an unsupported pattern
+   */
+  EndpointRuleTrie<AuthorizationManager<RequestAuthorizationContext>> compile(
+      List<EndpointRoleConfig.EndpointConfig> endpoints) {
+    EndpointRuleTrie<AuthorizationManager<RequestAuthorizationContext>> compiled =
+        new EndpointRuleTrie<>();
+    for (int order = 0; order < endpoints.size(); order++) {
+      EndpointRoleConfig.EndpointConfig endpoint = endpoints.get(order);
+      compiled.add(endpoint.getMethod(), endpoint.getPath(), order, managerFor(endpoint));
+    }
+    return compiled;
+  }
+
+  /** Atomically replaces the rules every following request is decided with. */
+  void install(EndpointRuleTrie<AuthorizationManager<RequestAuthorizationContext>> compiled) {
+    this.rules = compiled;
+    log.info("Compiled {} endpoint-role mappings into the authorization trie", compiled.size());
+  }
+
+  @Override
+  public AuthorizationDecision check(
+      Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+    HttpServletRequest request = context.getRequest();
+    String method = request.getMethod();
+    if (HttpMethod.OPTIONS.matches(method)) {
+      return PERMIT;
+    }
+    return resolve(method, UrlPathHelper.defaultInstance.getPathWithinApplication(request))
+        .check(authentication, context);
+  }
+
+  /** The manager that decides a request with this method and application-relative path. */
+  AuthorizationManager<RequestAuthorizationContext> resolve(String method, String path) {
+    String key = HttpMethod.HEAD.matches(method) ? HttpMethod.GET.name() : method;
+    AuthorizationManager<RequestAuthorizationContext> manager = rules.resolve(key, path);
+    return manager != null ? manager : AUTHENTICATED;
+  }
+
+  private static AuthorizationManager<RequestAuthorizationContext> managerFor(
+      EndpointRoleConfig.EndpointConfig endpoint) {
+    if (endpoint.isPublic()) {
+      return PERMIT_ALL;
+    }
+    return AuthorityAuthorizationManager.hasAnyRole(endpoint.getRoles().toArray(String[]::new));
+  }
+}
@@ -29,7 +29,7 @@ public class EndpointRoleConfig {
 
   private final ObjectMapper objectMapper;
 
-  @Getter private EndpointRolesConfig config;
+  @Getter private volatile EndpointRolesConfig config;
 
   @PostConstruct
   public void init() throws IOException {
@@ -66,7 +66,7 @@ public class EndpointRoleConfig {
 
   public void loadConfig() throws IOException {
     try (InputStream inputStream = resource.getInputStream()) {
-      this.config = objectMapper.readValue(inputStream, EndpointRolesConfig.class);
+      this.config = parse(inputStream);
       log.info(
           "Loaded {} endpoint-role mappings from {}",
           config.getEndpoints().size(),
@@ -77,6 +77,20 @@ public class EndpointRoleConfig {
     }
   }
 
+  /** Parses endpoint-roles.json content without making it the active configuration. */
+  public EndpointRolesConfig parse(InputStream inputStream) throws IOException {
+    EndpointRolesConfig parsed = objectMapper.readValue(inputStream, EndpointRolesConfig.class);
+    if (parsed.getEndpoints() == null) {
+      throw new IOException("endpoint-roles.json has no \"endpoints\" array");
+    }
+    return parsed;
+  }
+
+  /** Makes an already validated configuration the active one (used by EndpointRoleReloader). */
+  public void apply(EndpointRolesConfig config) {
+    this.config = config;
+  }
+
   public List<EndpointConfig> getEndpoints() {
     return config != null ? config.getEndpoints() : new ArrayList<>();
   }
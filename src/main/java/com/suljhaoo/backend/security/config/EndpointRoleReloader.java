@@ -0,0 +1,143 @@
+package com.suljhaoo.backend.security.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+/**
+ * Polls an EndpointRoleSource and swaps in a changed endpoint-roles.json without a restart.
+ *
+ * <p>A candidate is parsed, compiled into a new trie and validated against the controller endpoints
+ * before anything changes. Only then is the trie installed in CompiledAuthorizationManager (one
+ * volatile write, so each request sees either the old or the new rules) and the configuration made
+ * active. Validation always runs on reload, whatever strictValidation says. If any step fails, the
+ * previous rules stay active.
+ */
+@Slf4j
+public class EndpointRoleReloader {
+
+  public enum Result {
+    APPLIED,
+    UNCHANGED,
+    REJECTED,
+    FAILED
+  }
+
+  private final EndpointRoleSource source;
+  private final EndpointRoleConfig endpointRoleConfig;
+  private final CompiledAuthorizationManager authorizationManager;
+  private final EndpointValidationService validationService;
+  private final MeterRegistry meterRegistry;
+
+  /** 1 is the configuration loaded at startup; each applied reload adds one. */
+  private final AtomicLong version = new AtomicLong(1);
+
+  public EndpointRoleReloader(
+      EndpointRoleSource source,
+      EndpointRoleConfig endpointRoleConfig,
+      CompiledAuthorizationManager authorizationManager,
+      EndpointValidationService validationService,
+      MeterRegistry meterRegistry) {
+    this.source = source;
+    this.endpointRoleConfig = endpointRoleConfig;
+    this.authorizationManager = authorizationManager;
+    this.validationService = validationService;
+    this.meterRegistry = meterRegistry;
+    Gauge.builder("authz.rules.version", version, AtomicLong::get)
+        .description("Version of the active endpoint-roles.json; 1 is the one loaded at startup")
+        .register(meterRegistry);
+    Gauge.builder("authz.rules.endpoints", endpointRoleConfig, c -> c.getEndpoints().size())
+        .description("Endpoint-role mappings in the active configuration")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(fixedDelayString = "${app.security.endpoint-roles.reload.interval:PT30S}")
+  public void poll() {
+    reload();
+  }
+
+  /** Reads the source once and applies it if it changed and is valid. */
+  public synchronized Result reload() {
+    long start = System.nanoTime();
+    EndpointRoleSource.Snapshot snapshot;
+    EndpointRoleConfig.EndpointRolesConfig candidate;
+    try {
+      snapshot = source.read();
+      candidate =
+          endpointRoleConfig.parse(
+              new ByteArrayInputStream(snapshot.content().getBytes(StandardCharsets.UTF_8)));
+    } catch (IOException | RuntimeException e) {
+      log.error(
+          "Could not read endpoint roles from {}; keeping version {}",
+          source.description(),
+          version.get(),
+          e);
+      return record(Result.FAILED, start);
+    }
+
+    if (candidate.equals(endpointRoleConfig.getConfig())) {
+      return Result.UNCHANGED;
+    }
+
+    EndpointRuleTrie<AuthorizationManager<RequestAuthorizationContext>> compiled;
+    try {
+      compiled = authorizationManager.compile(candidate.getEndpoints());
+    } catch (IllegalArgumentException e) {
+      log.error(
+          "Rejected endpoint roles {} from {}: {}; keeping version {}",
+          snapshot.sourceVersion(),
+          source.description(),
+          e.getMessage(),
+          version.get());
+      return record(Result.REJECTED, start);
+    }
+
+    EndpointValidationService.ValidationResult validation =
+        validationService.validate(candidate.getEndpoints());
+    if (!validation.isValid()) {
+      log.error(
+          "Rejected endpoint roles {} from {}; keeping version {}{}",
+          snapshot.sourceVersion(),
+          source.description(),
+          version.get(),
+          validationService.describe(validation));
+      return record(Result.REJECTED, start);
+    }
+
+    authorizationManager.install(compiled);
+    endpointRoleConfig.apply(candidate);
+    long applied = version.incrementAndGet();
+    log.info(
+        "Applied endpoint roles version {} ({} from {}, {} mappings) in {} ms",
+        applied,
+        snapshot.sourceVersion(),
+        source.description(),
+        candidate.getEndpoints().size(),
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    return record(Result.APPLIED, start);
+  }
+
+  public long version() {
+    return version.get();
+  }
+
+  private Result record(Result result, long start) {
+    Timer.builder("authz.rules.reload")
+        .description(
+            "Reloads of endpoint-roles.json by outcome; polls that found no change are not recorded")
+        .tag("result", result.name().toLowerCase(Locale.ROOT))
+        .register(meterRegistry)
+        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    return result;
+  }
+}
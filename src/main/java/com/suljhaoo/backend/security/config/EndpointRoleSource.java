@@ -0,0 +1,20 @@
+package com.suljhaoo.backend.security.config;
+
+import java.io.IOException;
+
+/** Where EndpointRoleReloader reads endpoint-roles.json from at runtime. */
+public interface EndpointRoleSource {
+
+  /** Reads the current content. */
+  Snapshot read() throws IOException;
+
+  /** The file path or parameter name, for logs. */
+  String description();
+
+  /**
+   * @param content the JSON document
+   * @param sourceVersion what the source calls this revision (file modification time, Parameter
+   *     Store version), for logs
+   */
+  record Snapshot(String content, String sourceVersion) {}
+}
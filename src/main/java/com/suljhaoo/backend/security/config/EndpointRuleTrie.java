@@ -0,0 +1,149 @@
+package com.suljhaoo.backend.security.config;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Path-segment trie over endpoint patterns, one root per HTTP method plus one for "*". A segment is
+ * a literal, a single-segment wildcard ({name} or *), or a trailing /** that matches zero or more
+ * remaining segments. Lookup walks the request path once per root, so its cost depends on the path
+ * depth rather than on how many patterns are configured.
+ *
+ * <p>When several patterns match, the one added with the lowest order wins, which keeps the
+ * first-match-in-file semantics of a RequestMatcher chain.
+ */
+final class EndpointRuleTrie<T> {
+
+  static final String ANY_METHOD = "*";
+
+  private static final String[] NO_SEGMENTS = new String[0];
+
+  private final Map<String, Node<T>> roots = new HashMap<>();
+  private int size;
+
+  /**
+   * Adds a pattern. A null or blank method, or "*", applies to every method.
+   *
+   * @throws IllegalArgumentException if the pattern uses /** anywhere but at the end, or a partial
+   *     wildcard such as "item-{id}"
+   */
+  void add(String method, String pattern, int order, T value) {
+    String key =
+        method == null || method.isBlank() ? ANY_METHOD : method.trim().toUpperCase(Locale.ROOT);
+    Node<T> node = roots.computeIfAbsent(key, k -> new Node<>());
+    String[] segments = segments(pattern);
+    for (int i = 0; i < segments.length; i++) {
+      String segment = segments[i];
+      if ("**".equals(segment)) {
+        if (i != segments.length - 1) {
+          throw new IllegalArgumentException(
+              "'/**' is only supported at the end of an endpoint pattern: " + pattern);
+        }
+        node.remainder = earlier(node.remainder, new Rule<>(order, value));
+        size++;
+        return;
+      }
+      if (isVariable(segment)) {
+        node = node.variable();
+      } else if (segment.indexOf('{') >= 0 || segment.indexOf('*') >= 0) {
+        throw new IllegalArgumentException(
+            "Only whole-segment wildcards are supported in endpoint patterns: " + pattern);
+      } else {
+        node = node.literal(segment);
+      }
+    }
+    node.terminal = earlier(node.terminal, new Rule<>(order, value));
+    size++;
+  }
+
+  /** Returns the value of the first matching pattern for this method and path, or null. */
+  T resolve(String method, String path) {
+    String[] segments = segments(path);
+    Rule<T> best = match(roots.get(method), segments, 0, null);
+    best = match(roots.get(ANY_METHOD), segments, 0, best);
+    return best == null ? null : best.value();
+  }
+
+  int size() {
+    return size;
+  }
+
+  private static <T> Rule<T> match(Node<T> node, String[] segments, int index, Rule<T> best) {
+    if (node == null) {
+      return best;
+    }
+    best = earlier(best, node.remainder);
+    if (index == segments.length) {
+      return earlier(best, node.terminal);
+    }
+    String segment = segments[index];
+    if (node.literals != null) {
+      best = match(node.literals.get(segment), segments, index + 1, best);
+    }
+    if (!segment.isEmpty()) {
+      best = match(node.variable, segments, index + 1, best);
+    }
+    return best;
+  }
+
+  private static <T> Rule<T> earlier(Rule<T> current, Rule<T> candidate) {
+    if (candidate == null) {
+      return current;
+    }
+    return current == null || candidate.order() < current.order() ? candidate : current;
+  }
+
+  private static boolean isVariable(String segment) {
+    return "*".equals(segment)
+        || (segment.length() > 2
+            && segment.charAt(0) == '{'
+            && segment.charAt(segment.length() - 1) == '}');
+  }
+
+  /** Splits "/a/b/c" into [a, b, c] without a regex; "/" and "" have no segments. */
+  static String[] segments(String path) {
+    int start = path.startsWith("/") ? 1 : 0;
+    if (start >= path.length()) {
+      return NO_SEGMENTS;
+    }
+    int count = 1;
+    for (int i = start; i < path.length(); i++) {
+      if (path.charAt(i) == '/') {
+        count++;
+      }
+    }
+    String[] segments = new String[count];
+    int segment = 0;
+    for (int i = start; i <= path.length(); i++) {
+      if (i == path.length() || path.charAt(i) == '/') {
+        segments[segment++] = path.substring(start, i);
+        start = i + 1;
+      }
+    }
+    return segments;
+  }
+
+  private record Rule<T>(int order, T value) {}
+
+  private static final class Node<T> {
+    private Map<String, Node<T>> literals;
+    private Node<T> variable;
+    private Rule<T> terminal;
+    private Rule<T> remainder;
+
+    private Node<T> literal(String segment) {
+      if (literals == null) {
+        literals = new HashMap<>();
+      }
+      return literals.computeIfAbsent(segment, k -> new Node<>());
+    }
+
+    private Node<T> variable() {
+      if (variable == null) {
+        variable = new Node<>();
+      }
+      return variable;
+    }
+  }
+}
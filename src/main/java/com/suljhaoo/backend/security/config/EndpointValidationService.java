@@ -1,37 +1,72 @@
 package com.suljhaoo.backend.security.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.aop.framework.AopProxyUtils;
-import org.springframework.context.ApplicationContext;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.stereotype.Component;
-import org.springframework.web.bind.annotation.DeleteMapping;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PatchMapping;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
 /**
  * Service that validates all controller endpoints are defined in endpoint-roles.json. Follows
  * Single Responsibility Principle - only responsible for endpoint validation. Fails application
  * startup if strict validation is enabled and endpoints don't match.
+ *
+ * <p>Controller endpoints come from the RequestMappingHandlerMapping registry Spring MVC has
+ * already built, not from reflection over controller classes. Both sides are indexed by normalized
+ * path, so a comparison is linear in the number of endpoints. Each phase is timed as
+ * endpoint.validation{phase=scan|index|compare}.
+ *
+ * <p>With app.security.endpoint-validation.mode=async the check runs in the background once the
+ * application is ready. A mismatch then cannot stop startup, so it is logged and readiness is set
+ * to REFUSING_TRAFFIC instead.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class EndpointValidationService {
 
-  private final ApplicationContext applicationContext;
+  private static final Pattern PATH_VARIABLE = Pattern.compile("\\{[^}]+}");
+
+  private final RequestMappingHandlerMapping handlerMapping;
   private final EndpointRoleConfig endpointRoleConfig;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+  private final boolean async;
+
+  private volatile EndpointIndex controllerIndex;
+
+  public EndpointValidationService(
+      @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+      EndpointRoleConfig endpointRoleConfig,
+      ApplicationEventPublisher eventPublisher,
+      ObjectProvider<MeterRegistry> meterRegistry,
+      @Value("${app.security.endpoint-validation.mode:startup}") String mode) {
+    this.handlerMapping = handlerMapping;
+    this.endpointRoleConfig = endpointRoleConfig;
+    this.eventPublisher = eventPublisher;
+    this.meterRegistry = meterRegistry;
+    this.async = "async".equalsIgnoreCase(mode);
+  }
 
   @PostConstruct
   public void validateEndpoints() {
@@ -41,23 +76,14 @@ public class EndpointValidationService {
       log.warn("Strict validation is disabled. Skipping endpoint validation.");
       return;
     }
+    if (async) {
+      log.info("Endpoint validation will run in the background once the application is ready");
+      return;
+    }
 
-    log.info("Starting endpoint validation...");
-    Set<EndpointSignature> controllerEndpoints = scanControllerEndpoints();
-    Set<EndpointSignature> configEndpoints = getConfigEndpoints();
-
-    // Filter out actuator endpoints from config endpoints for validation
-    // Actuator endpoints are not @RestController endpoints, so they shouldn't be validated
-    Set<EndpointSignature> configEndpointsForValidation =
-        configEndpoints.stream()
-            .filter(endpoint -> !isActuatorEndpoint(endpoint))
-            .collect(Collectors.toSet());
-
-    List<String> missingInConfig = findMissing(controllerEndpoints, configEndpointsForValidation);
-    List<String> extraInConfig = findMissing(configEndpointsForValidation, controllerEndpoints);
-
-    if (!missingInConfig.isEmpty() || !extraInConfig.isEmpty()) {
-      String errorMessage = constructErrorDetails(missingInConfig, extraInConfig);
+    ValidationResult result = validateTimed();
+    if (!result.isValid()) {
+      String errorMessage = constructErrorDetails(result.missingInConfig(), result.extraInConfig());
       log.error(errorMessage);
 
       // Create a more descriptive exception message
@@ -67,14 +93,89 @@ public class EndpointValidationService {
                           Endpoint validation failed. Server cannot start.
                           Missing endpoints: %d | Extra endpoints: %d
                           See logs above for detailed endpoint information.""",
-              missingInConfig.size(), extraInConfig.size());
+              result.missingInConfig().size(), result.extraInConfig().size());
 
       throw new IllegalStateException(exceptionMessage);
     }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void validateAfterReadiness() {
+    if (!async || !endpointRoleConfig.isStrictValidation()) {
+      return;
+    }
+    CompletableFuture.runAsync(
+        () -> {
+          ValidationResult result = validateTimed();
+          if (!result.isValid()) {
+            log.error(constructErrorDetails(result.missingInConfig(), result.extraInConfig()));
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+          }
+        });
+  }
 
-    log.info(
-        "Endpoint validation passed. All {} endpoints are properly configured.",
-        controllerEndpoints.size());
+  /**
+   * Compares a configuration (the active one, or a candidate before a reload) with the controller
+   * endpoints. Controllers are read and indexed once and the index is reused.
+   */
+  public ValidationResult validate(List<EndpointRoleConfig.EndpointConfig> endpoints) {
+    return compare(controllerIndex(), indexConfig(endpoints));
+  }
+
+  /** Error details for a failed validation, in the same layout as the startup failure. */
+  public String describe(ValidationResult result) {
+    return constructErrorDetails(result.missingInConfig(), result.extraInConfig());
+  }
+
+  private ValidationResult validateTimed() {
+    log.info("Starting endpoint validation...");
+    long start = System.nanoTime();
+    Set<EndpointSignature> controllerEndpoints = scanControllerEndpoints();
+    long scanned = System.nanoTime();
+    EndpointIndex controllers = new EndpointIndex(controllerEndpoints);
+    EndpointIndex config = indexConfig(endpointRoleConfig.getEndpoints());
+    long indexed = System.nanoTime();
+    ValidationResult result = compare(controllers, config);
+    long compared = System.nanoTime();
+    controllerIndex = controllers;
+
+    record("scan", scanned - start);
+    record("index", indexed - scanned);
+    record("compare", compared - indexed);
+    if (result.isValid()) {
+      log.info(
+          "Endpoint validation passed. All {} endpoints are properly configured "
+              + "(scan {} us, index {} us, compare {} us).",
+          controllerEndpoints.size(),
+          TimeUnit.NANOSECONDS.toMicros(scanned - start),
+          TimeUnit.NANOSECONDS.toMicros(indexed - scanned),
+          TimeUnit.NANOSECONDS.toMicros(compared - indexed));
+    }
+    return result;
+  }
+
+  private ValidationResult compare(EndpointIndex controllers, EndpointIndex config) {
+    return new ValidationResult(config.findMissing(controllers), controllers.findMissing(config));
+  }
+
+  private EndpointIndex controllerIndex() {
+    EndpointIndex index = controllerIndex;
+    if (index == null) {
+      index = new EndpointIndex(scanControllerEndpoints());
+      controllerIndex = index;
+    }
+    return index;
+  }
+
+  private void record(String phase, long nanos) {
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    if (registry != null) {
+      Timer.builder("endpoint.validation")
+          .description("Endpoint validation against endpoint-roles.json, by phase")
+          .tag("phase", phase)
+          .register(registry)
+          .record(nanos, TimeUnit.NANOSECONDS);
+    }
   }
 
   private String constructErrorDetails(List<String> missingInConfig, List<String> extraInConfig) {
@@ -119,175 +220,141 @@ public class EndpointValidationService {
     return error.toString();
   }
 
+  /**
+   * One signature per HTTP method and path of every @RestController handler. Handlers without an
+   * HTTP method (a bare @RequestMapping) are skipped, as before.
+   */
   private Set<EndpointSignature> scanControllerEndpoints() {
     Set<EndpointSignature> endpoints = new HashSet<>();
-
-    applicationContext
-        .getBeansWithAnnotation(RestController.class)
-        .values()
+    handlerMapping
+        .getHandlerMethods()
         .forEach(
-            bean -> {
-              // Get the target class (handles AOP proxies)
-              Class<?> beanClass = AopProxyUtils.ultimateTargetClass(bean);
-              RequestMapping classMapping = beanClass.getAnnotation(RequestMapping.class);
-              String basePath =
-                  classMapping != null && classMapping.value().length > 0
-                      ? normalizePathVariables(classMapping.value()[0])
-                      : "";
-
-              // Use getMethods() to include all public methods (works with AOP proxies)
-              for (Method method : beanClass.getMethods()) {
-                // Only process methods declared in the actual controller class (not Object methods)
-                if (method.getDeclaringClass() == Object.class) {
-                  continue;
-                }
-                String httpMethod = getHttpMethod(method);
-                if (httpMethod != null) {
-                  String methodPath = getMethodPath(method);
-                  String fullPath = combinePaths(basePath, methodPath);
-                  endpoints.add(new EndpointSignature(fullPath, httpMethod));
+            (info, handlerMethod) -> {
+              if (!AnnotatedElementUtils.hasAnnotation(
+                  handlerMethod.getBeanType(), RestController.class)) {
+                return;
+              }
+              for (String pattern : info.getPatternValues()) {
+                String path = normalizePathVariables(pattern);
+                for (RequestMethod method : info.getMethodsCondition().getMethods()) {
+                  endpoints.add(new EndpointSignature(path, method.name()));
                 }
               }
             });
-
     return endpoints;
   }
 
-  private Set<EndpointSignature> getConfigEndpoints() {
-    return endpointRoleConfig.getEndpoints().stream()
-        .map(
-            config -> {
-              String method = "*".equals(config.getMethod()) ? "*" : config.getMethod();
-              String normalizedPath = normalizePathVariables(config.getPath());
-              return new EndpointSignature(normalizedPath, method);
-            })
-        .collect(Collectors.toSet());
-  }
-
-  private String getHttpMethod(Method method) {
-    if (method.isAnnotationPresent(GetMapping.class)) return "GET";
-    if (method.isAnnotationPresent(PostMapping.class)) return "POST";
-    if (method.isAnnotationPresent(PutMapping.class)) return "PUT";
-    if (method.isAnnotationPresent(DeleteMapping.class)) return "DELETE";
-    if (method.isAnnotationPresent(PatchMapping.class)) return "PATCH";
-    return null;
-  }
-
-  private String getMethodPath(Method method) {
-    GetMapping getMapping = method.getAnnotation(GetMapping.class);
-    if (getMapping != null && getMapping.value().length > 0) {
-      return getMapping.value()[0];
-    }
-
-    PostMapping postMapping = method.getAnnotation(PostMapping.class);
-    if (postMapping != null && postMapping.value().length > 0) {
-      return postMapping.value()[0];
-    }
-
-    PutMapping putMapping = method.getAnnotation(PutMapping.class);
-    if (putMapping != null && putMapping.value().length > 0) {
-      return putMapping.value()[0];
-    }
-
-    DeleteMapping deleteMapping = method.getAnnotation(DeleteMapping.class);
-    if (deleteMapping != null && deleteMapping.value().length > 0) {
-      return deleteMapping.value()[0];
-    }
-
-    PatchMapping patchMapping = method.getAnnotation(PatchMapping.class);
-    if (patchMapping != null && patchMapping.value().length > 0) {
-      return patchMapping.value()[0];
-    }
-
-    RequestMapping requestMapping = method.getAnnotation(RequestMapping.class);
-    if (requestMapping != null && requestMapping.value().length > 0) {
-      return requestMapping.value()[0];
-    }
-
-    return "";
-  }
-
-  private String combinePaths(String basePath, String methodPath) {
-    if (basePath == null) basePath = "";
-    if (methodPath == null) methodPath = "";
-
-    if (!basePath.startsWith("/")) basePath = "/" + basePath;
-    if (basePath.endsWith("/")) basePath = basePath.substring(0, basePath.length() - 1);
-
-    if (methodPath.startsWith("/")) methodPath = methodPath.substring(1);
-
-    String combined;
-    if (basePath.equals("/")) {
-      combined = "/" + methodPath;
-    } else if (methodPath.isEmpty()) {
-      combined = basePath;
-    } else {
-      combined = basePath + "/" + methodPath;
+  private EndpointIndex indexConfig(List<EndpointRoleConfig.EndpointConfig> endpoints) {
+    Set<EndpointSignature> signatures = new HashSet<>();
+    for (EndpointRoleConfig.EndpointConfig config : endpoints) {
+      EndpointSignature signature =
+          new EndpointSignature(normalizePathVariables(config.getPath()), config.getMethod());
+      // Actuator endpoints are not @RestController endpoints, so they shouldn't be validated
+      if (!isActuatorEndpoint(signature)) {
+        signatures.add(signature);
+      }
     }
-
-    return normalizePathVariables(combined);
+    return new EndpointIndex(signatures);
   }
 
-  private String normalizePathVariables(String path) {
+  private static String normalizePathVariables(String path) {
     if (path == null || path.isEmpty()) {
       return "/";
     }
     if (!path.startsWith("/")) {
       path = "/" + path;
     }
-    return path.replaceAll("\\{[^}]+}", "{id}");
-  }
-
-  private List<String> findMissing(Set<EndpointSignature> source, Set<EndpointSignature> target) {
-    List<String> missing = new ArrayList<>();
-    for (EndpointSignature sourceEndpoint : source) {
-      boolean found = false;
-      for (EndpointSignature targetEndpoint : target) {
-        if (matches(sourceEndpoint, targetEndpoint)) {
-          found = true;
-          break;
-        }
-      }
-      if (!found) {
-        missing.add(sourceEndpoint.toString());
-      }
-    }
-    return missing;
+    return path.indexOf('{') < 0 ? path : PATH_VARIABLE.matcher(path).replaceAll("{id}");
   }
 
   /**
    * Checks if an endpoint is an actuator endpoint (not a @RestController endpoint). Actuator
    * endpoints should be excluded from validation as they are not @RestController endpoints.
    */
-  private boolean isActuatorEndpoint(EndpointSignature endpoint) {
+  private static boolean isActuatorEndpoint(EndpointSignature endpoint) {
     return endpoint.path().startsWith("/actuator/");
   }
 
-  private boolean matches(EndpointSignature source, EndpointSignature target) {
-    boolean pathMatches = false;
+  private static boolean methodMatches(String a, String b) {
+    return "*".equals(a) || "*".equals(b) || a.equals(b);
+  }
+
+  /** The base of a "/x/**" pattern covers "/x" and everything below it. */
+  private static boolean isUnder(String path, String base) {
+    return base.equals("/")
+        || path.equals(base)
+        || (path.startsWith(base) && path.charAt(base.length()) == '/');
+  }
 
-    if (source.path.equals(target.path)) {
-      pathMatches = true;
-    } else if (target.path.endsWith("/**")) {
-      String basePath = target.path.substring(0, target.path.length() - 3);
-      if (basePath.isEmpty()) {
-        basePath = "/";
+  /**
+   * Signatures indexed by normalized path, with "/**" patterns kept apart by their base path. A
+   * lookup is a hash probe plus a scan of the (few) wildcard patterns.
+   */
+  private static final class EndpointIndex {
+    private final Map<String, Set<String>> methodsByPath = new HashMap<>();
+    private final List<EndpointSignature> wildcards = new ArrayList<>();
+    private final List<EndpointSignature> signatures;
+
+    private EndpointIndex(Set<EndpointSignature> signatures) {
+      this.signatures = new ArrayList<>(signatures);
+      for (EndpointSignature signature : signatures) {
+        methodsByPath
+            .computeIfAbsent(signature.path(), path -> new HashSet<>())
+            .add(signature.method());
+        if (signature.path().endsWith("/**")) {
+          wildcards.add(signature);
+        }
       }
-      pathMatches = source.path.startsWith(basePath);
-    } else if (source.path.endsWith("/**")) {
-      String basePath = source.path.substring(0, source.path.length() - 3);
-      if (basePath.isEmpty()) {
-        basePath = "/";
+    }
+
+    /** The signatures of other that nothing in this index covers. */
+    private List<String> findMissing(EndpointIndex other) {
+      List<String> missing = new ArrayList<>();
+      for (EndpointSignature signature : other.signatures) {
+        if (!covers(signature)) {
+          missing.add(signature.toString());
+        }
       }
-      pathMatches = target.path.startsWith(basePath);
+      return missing;
     }
 
-    boolean methodMatches =
-        "*".equals(target.method)
-            || "*".equals(source.method)
-            || source.method.equals(target.method);
+    private boolean covers(EndpointSignature source) {
+      Set<String> methods = methodsByPath.get(source.path());
+      if (methods != null
+          && ("*".equals(source.method())
+              || methods.contains("*")
+              || methods.contains(source.method()))) {
+        return true;
+      }
+      for (EndpointSignature wildcard : wildcards) {
+        if (methodMatches(wildcard.method(), source.method())
+            && isUnder(source.path(), base(wildcard.path()))) {
+          return true;
+        }
+      }
+      if (source.path().endsWith("/**")) {
+        String base = base(source.path());
+        for (EndpointSignature signature : signatures) {
+          if (methodMatches(signature.method(), source.method())
+              && isUnder(signature.path(), base)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
 
-    return pathMatches && methodMatches;
+    private static String base(String wildcardPath) {
+      String base = wildcardPath.substring(0, wildcardPath.length() - 3);
+      return base.isEmpty() ? "/" : base;
+    }
+  }
+
+  /** Endpoints found in controllers but not configured, and configured but not in controllers. */
+  public record ValidationResult(List<String> missingInConfig, List<String> extraInConfig) {
+    public boolean isValid() {
+      return missingInConfig.isEmpty() && extraInConfig.isEmpty();
+    }
   }
 
   private record EndpointSignature(String path, String method) {
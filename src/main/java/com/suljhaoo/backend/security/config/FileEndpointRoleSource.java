@@ -0,0 +1,27 @@
+package com.suljhaoo.backend.security.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/** Reads endpoint-roles.json from a file on disk, e.g. a mounted ConfigMap. */
+public class FileEndpointRoleSource implements EndpointRoleSource {
+
+  private final Path path;
+
+  public FileEndpointRoleSource(Path path) {
+    this.path = path;
+  }
+
+  @Override
+  public Snapshot read() throws IOException {
+    String content = Files.readString(path, StandardCharsets.UTF_8);
+    return new Snapshot(content, Files.getLastModifiedTime(path).toString());
+  }
+
+  @Override
+  public String description() {
+    return path.toString();
+  }
+}
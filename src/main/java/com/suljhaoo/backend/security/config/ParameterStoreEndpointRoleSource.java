@@ -0,0 +1,52 @@
+package com.suljhaoo.backend.security.config;
+
+import java.io.IOException;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.ssm.SsmClient;
+import software.amazon.awssdk.services.ssm.model.GetParameterRequest;
+import software.amazon.awssdk.services.ssm.model.Parameter;
+import software.amazon.awssdk.services.ssm.model.SsmException;
+
+/**
+ * Reads endpoint-roles.json from one AWS Parameter Store parameter, with the same credential chain
+ * as ParameterStoreConfig.
+ */
+public class ParameterStoreEndpointRoleSource implements EndpointRoleSource, AutoCloseable {
+
+  private final String parameterName;
+  private final SsmClient ssmClient;
+
+  public ParameterStoreEndpointRoleSource(String parameterName, String region) {
+    this.parameterName = parameterName;
+    this.ssmClient =
+        SsmClient.builder()
+            .region(Region.of(region))
+            .credentialsProvider(DefaultCredentialsProvider.builder().build())
+            .build();
+  }
+
+  @Override
+  public Snapshot read() throws IOException {
+    try {
+      Parameter parameter =
+          ssmClient
+              .getParameter(
+                  GetParameterRequest.builder().name(parameterName).withDecryption(true).build())
+              .parameter();
+      return new Snapshot(parameter.value(), "v" + parameter.version());
+    } catch (SsmException e) {
+      throw new IOException("Failed to read parameter " + parameterName, e);
+    }
+  }
+
+  @Override
+  public String description() {
+    return "parameter " + parameterName;
+  }
+
+  @Override
+  public void close() {
+    ssmClient.close();
+  }
+}
@@ -0,0 +1,64 @@
+package com.suljhaoo.backend.security.login;
+
+import com.suljhaoo.backend.exception.RateLimitExceededException;
+import com.suljhaoo.backend.ratelimit.TokenBucket;
+import com.suljhaoo.backend.ratelimit.TokenBucketMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+
+/**
+ * Pre-authentication limiter for POST /auth/login: one token bucket per phone number and one per
+ * source IP, checked before the user is loaded or a password is hashed. The phone bucket slows
+ * guessing against one account (the 5-failure lock only starts after the first attempts hit the
+ * database); the IP bucket caps what one client can spray across many accounts.
+ */
+public class LoginRateLimiter {
+
+  private final TokenBucketMap phoneBuckets;
+  private final TokenBucketMap ipBuckets;
+  private final Counter phoneRejections;
+  private final Counter ipRejections;
+
+  public LoginRateLimiter(
+      int phoneCapacity,
+      Duration phoneRefill,
+      int ipCapacity,
+      Duration ipRefill,
+      int maxKeys,
+      MeterRegistry meterRegistry) {
+    this.phoneBuckets =
+        new TokenBucketMap(maxKeys, () -> new TokenBucket(phoneCapacity, phoneRefill));
+    this.ipBuckets = new TokenBucketMap(maxKeys, () -> new TokenBucket(ipCapacity, ipRefill));
+    this.phoneRejections = rejections(meterRegistry, "phone_rate_limit");
+    this.ipRejections = rejections(meterRegistry, "ip_rate_limit");
+    meterRegistry.gauge(
+        "auth.login.rate_limit.keys", phoneBuckets, buckets -> buckets.size() + ipBuckets.size());
+  }
+
+  static Counter rejections(MeterRegistry meterRegistry, String reason) {
+    return Counter.builder("auth.login.rejected")
+        .description("Login attempts refused before the password was checked")
+        .tag("reason", reason)
+        .register(meterRegistry);
+  }
+
+  /** Throws RateLimitExceededException if either bucket is empty. */
+  public void check(String phoneNumber, String clientIp) {
+    long now = System.nanoTime();
+    long ipWait = ipBuckets.tryAcquire(clientIp, now);
+    if (ipWait > 0) {
+      ipRejections.increment();
+      throw new RateLimitExceededException(
+          "Too many login attempts from this network. Please try again later.",
+          Duration.ofNanos(ipWait));
+    }
+    long phoneWait = phoneBuckets.tryAcquire(phoneNumber, now);
+    if (phoneWait > 0) {
+      phoneRejections.increment();
+      throw new RateLimitExceededException(
+          "Too many login attempts for this phone number. Please try again later.",
+          Duration.ofNanos(phoneWait));
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.suljhaoo.backend.security.login;
+
+import com.suljhaoo.backend.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Runs password checks (bcrypt) on a small dedicated pool instead of the request thread, so a
+ * credential-stuffing burst can use at most `threads` cores and the rest stay free for normal API
+ * traffic. The queue is bounded: when it is full, or a queued check is not done within waitTimeout,
+ * the login is shed with 503 instead of piling up behind the burst.
+ *
+ * <p>Metrics: auth.password.hash (time spent hashing), auth.password.hash.wait (time queued),
+ * auth.login.rejected{reason=hash_queue_full|hash_timeout} and gauge auth.password.hash.queue.
+ */
+public class PasswordHashingLane implements DisposableBean {
+
+  private final PasswordEncoder passwordEncoder;
+  private final ThreadPoolExecutor executor;
+  private final Duration waitTimeout;
+  private final Timer hashTimer;
+  private final Timer waitTimer;
+  private final Counter queueFullRejections;
+  private final Counter timeoutRejections;
+
+  public PasswordHashingLane(
+      PasswordEncoder passwordEncoder,
+      int threads,
+      int queueCapacity,
+      Duration waitTimeout,
+      MeterRegistry meterRegistry) {
+    this.passwordEncoder = passwordEncoder;
+    this.waitTimeout = waitTimeout;
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    this.hashTimer =
+        Timer.builder("auth.password.hash")
+            .description("Time spent verifying a password hash")
+            .register(meterRegistry);
+    this.waitTimer =
+        Timer.builder("auth.password.hash.wait")
+            .description("Time a password check waited for a hashing thread")
+            .register(meterRegistry);
+    this.queueFullRejections = LoginRateLimiter.rejections(meterRegistry, "hash_queue_full");
+    this.timeoutRejections = LoginRateLimiter.rejections(meterRegistry, "hash_timeout");
+    meterRegistry.gauge("auth.password.hash.queue", executor, e -> e.getQueue().size());
+  }
+
+  /** PasswordEncoder.matches on the hashing pool; throws ServiceOverloadedException when shed. */
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    long submitted = System.nanoTime();
+    Future<Boolean> result;
+    try {
+      result =
+          executor.submit(
+              () -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                  return passwordEncoder.matches(rawPassword, encodedPassword);
+                } finally {
+                  hashTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+              });
+    } catch (RejectedExecutionException e) {
+      queueFullRejections.increment();
+      throw overloaded();
+    }
+    try {
+      return result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      abandon(result);
+      timeoutRejections.increment();
+      throw overloaded();
+    } catch (InterruptedException e) {
+      abandon(result);
+      Thread.currentThread().interrupt();
+      throw overloaded();
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException runtime
+          ? runtime
+          : new IllegalStateException(e.getCause());
+    }
+  }
+
+  /** Cancels the check and frees its queue slot if it has not started. */
+  private void abandon(Future<Boolean> result) {
+    result.cancel(true);
+    executor.remove((Runnable) result);
+  }
+
+  private ServiceOverloadedException overloaded() {
+    return new ServiceOverloadedException(
+        "Login is temporarily busy. Please try again shortly.", waitTimeout);
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,19 @@
+package com.suljhaoo.backend.service.auth;
+
+import com.suljhaoo.backend.model.response.auth.OtpCheckResult;
+
+/**
+ * Where pending signup OTPs live between send and verify. app.otp.store selects the implementation:
+ * "memory" (InMemoryOtpStore, default) or "jpa" (JpaOtpStore, the otp table).
+ */
+public interface OtpStore {
+
+  /** Stores the OTP for the phone number, replacing any pending one. */
+  void put(String phoneNumber, String otp, String name);
+
+  /** Checks the OTP without consuming it (a wrong OTP still counts as an attempt). */
+  OtpCheckResult check(String phoneNumber, String otp);
+
+  /** Checks the OTP and removes it if it matches, so it cannot be used twice. */
+  OtpCheckResult consume(String phoneNumber, String otp);
+}
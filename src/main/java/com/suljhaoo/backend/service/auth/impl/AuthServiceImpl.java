@@ -6,12 +6,12 @@ import com.suljhaoo.backend.model.request.auth.LoginRequest;
 import com.suljhaoo.backend.model.response.auth.LoginData;
 import com.suljhaoo.backend.model.response.auth.UserResponse;
 import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.security.login.PasswordHashingLane;
 import com.suljhaoo.backend.service.auth.AuthService;
 import com.suljhaoo.backend.util.JwtUtil;
 import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,7 +23,7 @@ public class AuthServiceImpl implements AuthService {
   private final UserRepository userRepository;
   // private final StoreService storeService; // Removed - no longer needed
   private final JwtUtil jwtUtil;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingLane passwordHashingLane;
 
   private static final int MAX_LOGIN_ATTEMPTS = 5;
   private static final long LOCK_TIME_MINUTES = 30;
@@ -64,8 +64,10 @@ public class AuthServiceImpl implements AuthService {
       throw new RuntimeException("Invalid user role. Access denied.");
     }
 
-    // Verify password - password is always fetched since it's not marked with select=false
-    boolean isPasswordValid = passwordEncoder.matches(request.getPassword(), user.getPassword());
+    // Verify password - password is always fetched since it's not marked with select=false.
+    // bcrypt runs on the bounded hashing lane (503 when it is saturated), not on this thread.
+    boolean isPasswordValid =
+        passwordHashingLane.matches(request.getPassword(), user.getPassword());
 
     if (!isPasswordValid) {
       // Increment login attempts
@@ -0,0 +1,200 @@
+package com.suljhaoo.backend.service.auth.impl;
+
+import com.suljhaoo.backend.model.response.auth.OtpCheckResult;
+import com.suljhaoo.backend.service.auth.OtpStore;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Pending OTPs in memory: no database round trip, WAL or vacuum for rows that live a minute.
+ *
+ * <ul>
+ *   <li>Sharded: phone numbers hash to one of `shards` maps, each with its own lock, so concurrent
+ *       sends and checks rarely contend.
+ *   <li>Expiry: every entry is also filed in a timing wheel (one slot per tick, enough slots to
+ *       cover the TTL). sweep() runs every tick and drops the entries of the slots that have
+ *       passed, so memory follows the live OTPs; expired entries are also refused on read in
+ *       between.
+ *   <li>Attempts: each wrong OTP counts against the entry; after maxAttempts it is removed and the
+ *       user has to request a new one.
+ *   <li>Comparison is constant-time (MessageDigest.isEqual).
+ * </ul>
+ *
+ * <p>OTPs are lost on restart and are not shared between instances: run one instance, route /signup
+ * by phone number, or use app.otp.store=jpa.
+ */
+public class InMemoryOtpStore implements OtpStore {
+
+  private final Shard[] shards;
+  private final long ttlMillis;
+  private final long tickMillis;
+  private final int maxAttempts;
+  private final Clock clock;
+  private long sweptTick;
+
+  public InMemoryOtpStore(int shards, Duration ttl, Duration tick, int maxAttempts, Clock clock) {
+    this.ttlMillis = ttl.toMillis();
+    this.tickMillis = Math.max(1, tick.toMillis());
+    this.maxAttempts = maxAttempts;
+    this.clock = clock;
+    int wheelSize = (int) (ttlMillis / tickMillis) + 2;
+    this.shards = new Shard[Integer.highestOneBit(Math.max(1, shards - 1)) << 1];
+    for (int i = 0; i < this.shards.length; i++) {
+      this.shards[i] = new Shard(wheelSize);
+    }
+    this.sweptTick = clock.millis() / tickMillis;
+  }
+
+  @Override
+  public void put(String phoneNumber, String otp, String name) {
+    long expiresAt = clock.millis() + ttlMillis;
+    Shard shard = shard(phoneNumber);
+    shard.lock.lock();
+    try {
+      shard.entries.put(phoneNumber, new Entry(otp, name, expiresAt));
+      shard.slot(expiryTick(expiresAt)).add(phoneNumber);
+    } finally {
+      shard.lock.unlock();
+    }
+  }
+
+  @Override
+  public OtpCheckResult check(String phoneNumber, String otp) {
+    return verify(phoneNumber, otp, false);
+  }
+
+  @Override
+  public OtpCheckResult consume(String phoneNumber, String otp) {
+    return verify(phoneNumber, otp, true);
+  }
+
+  private OtpCheckResult verify(String phoneNumber, String otp, boolean consume) {
+    Shard shard = shard(phoneNumber);
+    shard.lock.lock();
+    try {
+      Entry entry = shard.entries.get(phoneNumber);
+      if (entry == null) {
+        return new OtpCheckResult(false, null);
+      }
+      if (entry.expiresAt <= clock.millis()) {
+        shard.entries.remove(phoneNumber);
+        return new OtpCheckResult(false, null);
+      }
+      if (!constantTimeEquals(entry.otp, otp)) {
+        if (++entry.failedAttempts >= maxAttempts) {
+          shard.entries.remove(phoneNumber);
+        }
+        return new OtpCheckResult(false, null);
+      }
+      if (consume) {
+        shard.entries.remove(phoneNumber);
+      }
+      return new OtpCheckResult(true, entry.name);
+    } finally {
+      shard.lock.unlock();
+    }
+  }
+
+  /** Drops the entries filed in every wheel slot that has passed since the last sweep. */
+  @Scheduled(fixedDelayString = "${app.otp.store.memory.tick:PT1S}")
+  public synchronized void sweep() {
+    long now = clock.millis();
+    long currentTick = now / tickMillis;
+    long from = Math.max(sweptTick + 1, currentTick - shards[0].wheel.length + 1);
+    for (long tick = from; tick <= currentTick; tick++) {
+      for (Shard shard : shards) {
+        shard.lock.lock();
+        try {
+          // Keys of replaced entries, or of entries filed while the sweep lagged a whole wheel
+          // behind, are not expired yet: keep them for the next pass over this slot.
+          shard
+              .slot(tick)
+              .removeIf(
+                  phoneNumber -> {
+                    Entry entry = shard.entries.get(phoneNumber);
+                    if (entry == null) {
+                      return true;
+                    }
+                    if (entry.expiresAt <= now) {
+                      shard.entries.remove(phoneNumber);
+                      return true;
+                    }
+                    return false;
+                  });
+        } finally {
+          shard.lock.unlock();
+        }
+      }
+    }
+    sweptTick = Math.max(sweptTick, currentTick);
+  }
+
+  /** Pending OTPs across all shards. */
+  public int size() {
+    int size = 0;
+    for (Shard shard : shards) {
+      shard.lock.lock();
+      try {
+        size += shard.entries.size();
+      } finally {
+        shard.lock.unlock();
+      }
+    }
+    return size;
+  }
+
+  static boolean constantTimeEquals(String expected, String actual) {
+    return actual != null
+        && MessageDigest.isEqual(
+            expected.getBytes(StandardCharsets.UTF_8), actual.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /** First tick at whose start the entry has expired, so sweeping that slot always removes it. */
+  private long expiryTick(long expiresAt) {
+    return (expiresAt + tickMillis - 1) / tickMillis;
+  }
+
+  private Shard shard(String phoneNumber) {
+    int hash = phoneNumber.hashCode();
+    return shards[(hash ^ (hash >>> 16)) & (shards.length - 1)];
+  }
+
+  private static final class Entry {
+    private final String otp;
+    private final String name;
+    private final long expiresAt;
+    private int failedAttempts;
+
+    private Entry(String otp, String name, long expiresAt) {
+      this.otp = otp;
+      this.name = name;
+      this.expiresAt = expiresAt;
+    }
+  }
+
+  private static final class Shard {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final List<String>[] wheel;
+
+    @SuppressWarnings("unchecked")
+    private Shard(int wheelSize) {
+      wheel = new List[wheelSize];
+      for (int i = 0; i < wheelSize; i++) {
+        wheel[i] = new ArrayList<>();
+      }
+    }
+
+    private List<String> slot(long tick) {
+      return wheel[(int) Math.floorMod(tick, (long) wheel.length)];
+    }
+  }
+}
@@ -0,0 +1,77 @@
+package com.suljhaoo.backend.service.auth.impl;
+
+import com.suljhaoo.backend.enity.auth.Otp;
+import com.suljhaoo.backend.model.response.auth.OtpCheckResult;
+import com.suljhaoo.backend.repository.auth.OtpRepository;
+import com.suljhaoo.backend.service.auth.OtpStore;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * OTPs in the otp table (the original storage). Works across several backend instances without
+ * sticky routing, at the cost of a delete + insert per send and a read (+ delete) per check. Has no
+ * attempt counter: the table has no column for it.
+ */
+public class JpaOtpStore implements OtpStore {
+
+  private final OtpRepository otpRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration ttl;
+
+  public JpaOtpStore(
+      OtpRepository otpRepository, PlatformTransactionManager transactionManager, Duration ttl) {
+    this.otpRepository = otpRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.ttl = ttl;
+  }
+
+  @Override
+  public void put(String phoneNumber, String otp, String name) {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          // Delete any existing OTP for this phone number
+          otpRepository.deleteByPhoneNumber(phoneNumber);
+          otpRepository.save(Otp.builder().phoneNumber(phoneNumber).otp(otp).name(name).build());
+        });
+  }
+
+  @Override
+  public OtpCheckResult check(String phoneNumber, String otp) {
+    return transactionTemplate.execute(status -> find(phoneNumber, otp));
+  }
+
+  @Override
+  public OtpCheckResult consume(String phoneNumber, String otp) {
+    return transactionTemplate.execute(
+        status -> {
+          OtpCheckResult result = find(phoneNumber, otp);
+          if (result.isValid()) {
+            // Delete OTP after successful verification
+            otpRepository.deleteByPhoneNumber(phoneNumber);
+          }
+          return result;
+        });
+  }
+
+  private OtpCheckResult find(String phoneNumber, String otp) {
+    Optional<Otp> otpDoc = otpRepository.findByPhoneNumber(phoneNumber);
+    if (otpDoc.isEmpty()) {
+      return new OtpCheckResult(false, null);
+    }
+
+    Otp otpEntity = otpDoc.get();
+    if (LocalDateTime.now().isAfter(otpEntity.getCreatedAt().plus(ttl))) {
+      // Delete expired OTP
+      otpRepository.delete(otpEntity);
+      return new OtpCheckResult(false, null);
+    }
+
+    if (!InMemoryOtpStore.constantTimeEquals(otpEntity.getOtp(), otp)) {
+      return new OtpCheckResult(false, null);
+    }
+    return new OtpCheckResult(true, otpEntity.getName());
+  }
+}
@@ -1,35 +1,27 @@
 package com.suljhaoo.backend.service.auth.impl;
 
-import com.suljhaoo.backend.enity.auth.Otp;
 import com.suljhaoo.backend.model.response.auth.OtpCheckResult;
-import com.suljhaoo.backend.repository.auth.OtpRepository;
 import com.suljhaoo.backend.service.auth.OtpService;
+import com.suljhaoo.backend.service.auth.OtpStore;
 import com.suljhaoo.backend.util.Fast2SmsUtil;
-import java.time.LocalDateTime;
-import java.util.Optional;
 import java.util.Random;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OtpServiceImpl implements OtpService {
 
-  private final OtpRepository otpRepository;
+  // In memory or the otp table (config/OtpStoreConfig); expiry is otp.expiry.minutes
+  private final OtpStore otpStore;
   private final Fast2SmsUtil fast2SmsUtil;
 
-  @Value("${otp.expiry.minutes:1}")
-  private int otpExpiryMinutes;
-
   private static final Random random = new Random();
 
   @Override
-  @Transactional
   public String storeOTP(String phoneNumber, String name) {
     // Validate phone number format (should start with 6-9)
     if (phoneNumber == null || !phoneNumber.matches("^[6-9]\\d{9}$")) {
@@ -40,14 +32,8 @@ public class OtpServiceImpl implements OtpService {
     // Generate 6-digit OTP
     String otp = generateOTP();
 
-    // Delete any existing OTP for this phone number
-    otpRepository.deleteByPhoneNumber(phoneNumber.trim());
-
-    // Store OTP with name
-    Otp otpEntity =
-        Otp.builder().phoneNumber(phoneNumber.trim()).otp(otp).name(name.trim()).build();
-
-    otpRepository.save(otpEntity);
+    // Store OTP with name, replacing any existing OTP for this phone number
+    otpStore.put(phoneNumber.trim(), otp, name.trim());
 
     log.info("OTP generated and stored for phone: {} (OTP: {})", phoneNumber, otp);
 
@@ -69,46 +55,24 @@ public class OtpServiceImpl implements OtpService {
       throw new RuntimeException("Invalid phone number format");
     }
 
-    // Find OTP document
-    Optional<Otp> otpDoc = otpRepository.findByPhoneNumber(phoneNumber.trim());
-
-    if (otpDoc.isEmpty()) {
-      return new OtpCheckResult(false, null);
-    }
-
-    Otp otpEntity = otpDoc.get();
-
-    // Check if OTP is expired (1 minute = 60 seconds)
-    LocalDateTime expiryTime = otpEntity.getCreatedAt().plusMinutes(otpExpiryMinutes);
-    if (LocalDateTime.now().isAfter(expiryTime)) {
-      // Delete expired OTP
-      otpRepository.delete(otpEntity);
-      return new OtpCheckResult(false, null);
-    }
-
-    // Verify OTP
-    if (!otpEntity.getOtp().equals(otp.trim())) {
-      return new OtpCheckResult(false, null);
-    }
-
-    // OTP is valid, return name
-    return new OtpCheckResult(true, otpEntity.getName());
+    // Expired OTPs and wrong OTPs are invalid; the store counts wrong attempts
+    return otpStore.check(phoneNumber.trim(), otp.trim());
   }
 
   @Override
-  @Transactional
   public OtpCheckResult verifyOTPForSignup(String phoneNumber, String otp) {
-    // Check OTP
-    OtpCheckResult result = checkOTP(phoneNumber, otp);
-
-    if (!result.isValid()) {
-      return result;
+    // Validate input
+    if (phoneNumber == null || otp == null) {
+      throw new RuntimeException("Phone number and OTP are required");
     }
 
-    // Delete OTP after successful verification
-    otpRepository.deleteByPhoneNumber(phoneNumber.trim());
+    // Validate phone number format
+    if (!phoneNumber.matches("^[6-9]\\d{9}$")) {
+      throw new RuntimeException("Invalid phone number format");
+    }
 
-    return result;
+    // Check OTP and delete it after successful verification, in one step
+    return otpStore.consume(phoneNumber.trim(), otp.trim());
   }
 
   @Override
@@ -119,8 +83,7 @@ public class OtpServiceImpl implements OtpService {
       fast2SmsUtil.sendOTP(phoneNumber, otp);
       log.info("OTP sent successfully to phone: {}", phoneNumber);
     } catch (Exception e) {
-      log.error(
-          "Error sending OTP to phone: {}. OTP is already stored in database.", phoneNumber, e);
+      log.error("Error sending OTP to phone: {}. OTP is already stored.", phoneNumber, e);
       // Don't throw exception - OTP is already stored, SMS failure shouldn't block the flow
       // The OTP can still be verified manually if needed
     }
@@ -0,0 +1,11 @@
+package com.suljhaoo.backend.service.event;
+
+import com.suljhaoo.backend.model.event.BusinessEvent;
+
+public interface BusinessEventPublisher {
+  /**
+   * Writes the event to the business-event stream once the surrounding transaction commits (or
+   * immediately when there is none). Never blocks on I/O and never throws.
+   */
+  void publish(BusinessEvent event);
+}
@@ -0,0 +1,65 @@
+package com.suljhaoo.backend.service.event.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suljhaoo.backend.config.TraceIdFilter;
+import com.suljhaoo.backend.model.event.BusinessEvent;
+import com.suljhaoo.backend.service.event.BusinessEventPublisher;
+import java.time.Instant;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Serializes events to one JSON line and hands them to the "business-events" logger, which
+ * log4j2-spring.xml routes through a non-blocking Async appender to events.ndjson (batched flushes,
+ * events dropped rather than stalling a request when the queue is full).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BusinessEventPublisherImpl implements BusinessEventPublisher {
+
+  private static final Logger EVENTS = LoggerFactory.getLogger("business-events");
+
+  private final ObjectMapper objectMapper;
+
+  @Value("${spring.application.name}")
+  private String serviceName;
+
+  @Override
+  public void publish(BusinessEvent event) {
+    event.setTimestamp(Instant.now());
+    event.setSchemaVersion(BusinessEvent.SCHEMA_VERSION);
+    event.setServiceName(serviceName);
+    // Captured now: afterCommit still runs on the request thread, but keep the event
+    // self-contained.
+    event.setTraceId(MDC.get(TraceIdFilter.MDC_TRACE_ID));
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              write(event);
+            }
+          });
+    } else {
+      write(event);
+    }
+  }
+
+  private void write(BusinessEvent event) {
+    try {
+      EVENTS.info(objectMapper.writeValueAsString(event));
+    } catch (JsonProcessingException e) {
+      log.warn("Could not serialize business event {}: {}", event.getAction(), e.getMessage());
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package com.suljhaoo.backend.service.expense;
 
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.expense.Expense;
 import com.suljhaoo.backend.model.request.expense.CreateExpenseRequest;
 import com.suljhaoo.backend.model.request.expense.UpdateExpenseRequest;
 import com.suljhaoo.backend.model.response.expense.ExpenseListResult;
@@ -11,7 +13,27 @@ public interface ExpenseService {
   ExpenseListResult getAllExpenses(String userId, String storeId, Integer limit, Integer skip);
 
   ExpenseResponse updateExpense(
-      String expenseId, String userId, String storeId, UpdateExpenseRequest request);
+      String expenseId,
+      String userId,
+      String storeId,
+      UpdateExpenseRequest request,
+      Integer expectedVersion);
 
-  void deleteExpense(String expenseId, String userId, String storeId);
+  void deleteExpense(String expenseId, String userId, String storeId, Integer expectedVersion);
+
+  /**
+   * Batch variant of createExpense for a store whose ownership the caller has already checked. Must
+   * run in the caller's transaction (Propagation.MANDATORY) and skips the user and store lookups.
+   */
+  ExpenseResponse createExpense(Store store, CreateExpenseRequest request);
+
+  /** Batch variant of updateExpense; same contract as createExpense(Store, ...). */
+  ExpenseResponse updateExpense(
+      Store store, String expenseId, UpdateExpenseRequest request, Integer expectedVersion);
+
+  /** Batch variant of deleteExpense; same contract as createExpense(Store, ...). */
+  void deleteExpense(Store store, String expenseId, Integer expectedVersion);
+
+  /** Same mapping as this service's own responses, for rows loaded by the delta sync feed. */
+  ExpenseResponse toResponse(Expense expense);
 }
@@ -1,8 +1,11 @@
 package com.suljhaoo.backend.service.expense.impl;
 
 import com.suljhaoo.backend.enity.auth.Store;
-import com.suljhaoo.backend.enity.auth.User;
 import com.suljhaoo.backend.enity.expense.Expense;
+import com.suljhaoo.backend.enity.sync.SyncEntityType;
+import com.suljhaoo.backend.exception.VersionConflictException;
+import com.suljhaoo.backend.model.event.BusinessEvent;
+import com.suljhaoo.backend.model.event.BusinessEventType;
 import com.suljhaoo.backend.model.request.expense.CreateExpenseRequest;
 import com.suljhaoo.backend.model.request.expense.UpdateExpenseRequest;
 import com.suljhaoo.backend.model.response.expense.ExpenseListResult;
@@ -10,8 +13,9 @@ import com.suljhaoo.backend.model.response.expense.ExpenseResponse;
 import com.suljhaoo.backend.repository.auth.StoreRepository;
 import com.suljhaoo.backend.repository.auth.UserRepository;
 import com.suljhaoo.backend.repository.expense.ExpenseRepository;
+import com.suljhaoo.backend.service.event.BusinessEventPublisher;
 import com.suljhaoo.backend.service.expense.ExpenseService;
-import jakarta.transaction.Transactional;
+import com.suljhaoo.backend.service.sync.SyncTombstoneService;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -25,6 +29,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -34,14 +40,15 @@ public class ExpenseServiceImpl implements ExpenseService {
   private final ExpenseRepository expenseRepository;
   private final UserRepository userRepository;
   private final StoreRepository storeRepository;
+  private final BusinessEventPublisher businessEventPublisher;
+  private final SyncTombstoneService syncTombstoneService;
 
   @Override
   @Transactional
   public ExpenseResponse createExpense(
       String userId, String storeId, CreateExpenseRequest request) {
     // Validate user exists
-    User user =
-        userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+    userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
 
     // Validate store exists
     Store store =
@@ -54,6 +61,15 @@ public class ExpenseServiceImpl implements ExpenseService {
       throw new RuntimeException("Store does not belong to user");
     }
 
+    return createExpense(store, request);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public ExpenseResponse createExpense(Store store, CreateExpenseRequest request) {
+    String userId = store.getUser().getId();
+    String storeId = store.getId();
+
     // Validate category
     if (request.getCategory() == null || request.getCategory().trim().isEmpty()) {
       throw new RuntimeException("Expense category is required");
@@ -132,7 +148,7 @@ public class ExpenseServiceImpl implements ExpenseService {
     // Create expense
     Expense expense =
         Expense.builder()
-            .user(user)
+            .user(store.getUser())
             .store(store)
             .category(request.getCategory().trim())
             .amount(request.getAmount())
@@ -147,11 +163,13 @@ public class ExpenseServiceImpl implements ExpenseService {
     expense = expenseRepository.saveAndFlush(expense);
 
     log.info("Expense created: {} by user: {} for store: {}", expense.getId(), userId, storeId);
+    publishExpenseEvent(BusinessEventType.EXPENSE_CREATED, expense, userId, storeId);
 
     return mapToResponse(expense);
   }
 
   @Override
+  @Transactional(readOnly = true)
   public ExpenseListResult getAllExpenses(
       String userId, String storeId, Integer limit, Integer skip) {
     // Validate store exists and belongs to user
@@ -184,13 +202,21 @@ public class ExpenseServiceImpl implements ExpenseService {
   @Override
   @Transactional
   public ExpenseResponse updateExpense(
-      String expenseId, String userId, String storeId, UpdateExpenseRequest request) {
+      String expenseId,
+      String userId,
+      String storeId,
+      UpdateExpenseRequest request,
+      Integer expectedVersion) {
     // Find expense by ID, userId, and storeId
     Expense expense =
         expenseRepository
             .findByIdAndUser_IdAndStore_Id(UUID.fromString(expenseId), userId, storeId)
             .orElseThrow(() -> new RuntimeException("Expense not found"));
 
+    if (expectedVersion != null && !expectedVersion.equals(expense.getVersion())) {
+      throw new VersionConflictException(expense.getVersion(), mapToResponse(expense));
+    }
+
     // Update category if provided
     if (request.getCategory() != null) {
       String trimmedCategory = request.getCategory().trim();
@@ -270,24 +296,65 @@ public class ExpenseServiceImpl implements ExpenseService {
       expense.setTag(tag);
     }
 
-    expense = expenseRepository.save(expense);
+    expense = expenseRepository.saveAndFlush(expense);
 
     log.info("Expense updated: {} for user: {}", expenseId, userId);
+    publishExpenseEvent(BusinessEventType.EXPENSE_UPDATED, expense, userId, storeId);
 
     return mapToResponse(expense);
   }
 
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public ExpenseResponse updateExpense(
+      Store store, String expenseId, UpdateExpenseRequest request, Integer expectedVersion) {
+    return updateExpense(
+        expenseId, store.getUser().getId(), store.getId(), request, expectedVersion);
+  }
+
   @Override
   @Transactional
-  public void deleteExpense(String expenseId, String userId, String storeId) {
+  public void deleteExpense(
+      String expenseId, String userId, String storeId, Integer expectedVersion) {
     Expense expense =
         expenseRepository
             .findByIdAndUser_IdAndStore_Id(UUID.fromString(expenseId), userId, storeId)
             .orElseThrow(() -> new RuntimeException("Expense not found"));
 
+    if (expectedVersion != null && !expectedVersion.equals(expense.getVersion())) {
+      throw new VersionConflictException(expense.getVersion(), mapToResponse(expense));
+    }
+
     expenseRepository.delete(expense);
+    syncTombstoneService.recordDeletion(SyncEntityType.expense, expense.getId(), storeId);
 
     log.info("Expense deleted: {} for user: {}", expenseId, userId);
+    publishExpenseEvent(BusinessEventType.EXPENSE_DELETED, expense, userId, storeId);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void deleteExpense(Store store, String expenseId, Integer expectedVersion) {
+    deleteExpense(expenseId, store.getUser().getId(), store.getId(), expectedVersion);
+  }
+
+  private void publishExpenseEvent(
+      BusinessEventType type, Expense expense, String userId, String storeId) {
+    businessEventPublisher.publish(
+        BusinessEvent.builder()
+            .action(type)
+            .userId(userId)
+            .storeId(storeId)
+            .entityId(expense.getId().toString())
+            .amount(expense.getAmount())
+            .category(expense.getCategory())
+            .paymentMethod(expense.getPaymentMethod())
+            .build());
+  }
+
+  @Override
+  public ExpenseResponse toResponse(Expense expense) {
+    return mapToResponse(expense);
   }
 
   private ExpenseResponse mapToResponse(Expense expense) {
@@ -304,6 +371,7 @@ public class ExpenseServiceImpl implements ExpenseService {
         .billImageUrl(expense.getBillImageUrl())
         .createdAt(expense.getCreatedAt())
         .updatedAt(expense.getUpdatedAt())
+        .version(expense.getVersion())
         .build();
   }
 }
@@ -1,9 +1,11 @@
 package com.suljhaoo.backend.service.order;
 
+import com.suljhaoo.backend.enity.order.Order;
 import com.suljhaoo.backend.model.request.order.CreateOrderRequest;
 import com.suljhaoo.backend.model.request.order.UpdateOrderRequest;
 import com.suljhaoo.backend.model.response.order.OrderListResult;
 import com.suljhaoo.backend.model.response.order.OrderResponse;
+import java.util.List;
 
 public interface OrderService {
   OrderResponse createOrder(String userId, CreateOrderRequest request);
@@ -14,7 +16,14 @@ public interface OrderService {
 
   OrderResponse getOrderById(String orderId, String userId);
 
-  OrderResponse updateOrder(String orderId, String userId, UpdateOrderRequest request);
+  OrderResponse updateOrder(
+      String orderId, String userId, UpdateOrderRequest request, Integer expectedVersion);
 
-  void deleteOrder(String orderId, String userId);
+  void deleteOrder(String orderId, String userId, Integer expectedVersion);
+
+  /**
+   * Same mapping as this service's own responses, for rows loaded by the delta sync feed. Items of
+   * all orders are fetched in one query.
+   */
+  List<OrderResponse> toResponses(List<Order> orders);
 }
@@ -5,6 +5,10 @@ import com.suljhaoo.backend.enity.auth.User;
 import com.suljhaoo.backend.enity.order.Order;
 import com.suljhaoo.backend.enity.order.OrderItem;
 import com.suljhaoo.backend.enity.stock.Supplier;
+import com.suljhaoo.backend.enity.sync.SyncEntityType;
+import com.suljhaoo.backend.exception.VersionConflictException;
+import com.suljhaoo.backend.model.event.BusinessEvent;
+import com.suljhaoo.backend.model.event.BusinessEventType;
 import com.suljhaoo.backend.model.request.order.CreateOrderRequest;
 import com.suljhaoo.backend.model.request.order.OrderItemRequest;
 import com.suljhaoo.backend.model.request.order.UpdateOrderRequest;
@@ -15,13 +19,15 @@ import com.suljhaoo.backend.repository.auth.UserRepository;
 import com.suljhaoo.backend.repository.order.OrderItemRepository;
 import com.suljhaoo.backend.repository.order.OrderRepository;
 import com.suljhaoo.backend.repository.stock.SupplierRepository;
+import com.suljhaoo.backend.service.event.BusinessEventPublisher;
 import com.suljhaoo.backend.service.order.OrderService;
-import jakarta.transaction.Transactional;
+import com.suljhaoo.backend.service.sync.SyncTombstoneService;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +36,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -41,6 +48,8 @@ public class OrderServiceImpl implements OrderService {
   private final UserRepository userRepository;
   private final StoreRepository storeRepository;
   private final SupplierRepository supplierRepository;
+  private final BusinessEventPublisher businessEventPublisher;
+  private final SyncTombstoneService syncTombstoneService;
 
   @Override
   @Transactional
@@ -137,7 +146,8 @@ public class OrderServiceImpl implements OrderService {
             .items(new ArrayList<>())
             .build();
 
-    order = orderRepository.saveAndFlush(order);
+    // No flush here: the order and its items are inserted together at commit, items batched.
+    order = orderRepository.save(order);
 
     // Create order items
     List<OrderItem> orderItems = new ArrayList<>();
@@ -161,11 +171,13 @@ public class OrderServiceImpl implements OrderService {
         order.getId(),
         userId,
         request.getSupplierId());
+    publishOrderEvent(BusinessEventType.ORDER_CREATED, order, orderItems, userId);
 
     return mapToResponse(order);
   }
 
   @Override
+  @Transactional(readOnly = true)
   public OrderListResult getAllOrders(String userId, Integer limit, Integer skip) {
     // Validate user exists
     userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
@@ -183,6 +195,7 @@ public class OrderServiceImpl implements OrderService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public OrderListResult getOrdersBySupplier(String supplierId, Integer limit, Integer skip) {
     // Validate supplier exists
     Supplier supplier =
@@ -204,6 +217,7 @@ public class OrderServiceImpl implements OrderService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public OrderResponse getOrderById(String orderId, String userId) {
     Order order =
         orderRepository
@@ -215,12 +229,17 @@ public class OrderServiceImpl implements OrderService {
 
   @Override
   @Transactional
-  public OrderResponse updateOrder(String orderId, String userId, UpdateOrderRequest request) {
+  public OrderResponse updateOrder(
+      String orderId, String userId, UpdateOrderRequest request, Integer expectedVersion) {
     Order order =
         orderRepository
             .findByIdAndUser_Id(UUID.fromString(orderId), userId)
             .orElseThrow(() -> new RuntimeException("Order not found"));
 
+    if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+      throw new VersionConflictException(order.getVersion(), mapToResponse(order));
+    }
+
     // Prevent updating received or closed orders
     if ("received".equals(order.getStatus()) || "closed".equals(order.getStatus())) {
       throw new RuntimeException("Cannot update an order with status 'received' or 'closed'");
@@ -297,6 +316,8 @@ public class OrderServiceImpl implements OrderService {
       }
     }
 
+    String previousStatus = order.getStatus();
+
     // Update status if provided
     if (request.getStatus() != null && !request.getStatus().trim().isEmpty()) {
       String status = request.getStatus().toLowerCase();
@@ -307,21 +328,32 @@ public class OrderServiceImpl implements OrderService {
       order.setStatus(status);
     }
 
-    order = orderRepository.save(order);
+    order = orderRepository.saveAndFlush(order);
 
     log.info("Order updated: {} for user: {}", orderId, userId);
+    if ("received".equals(order.getStatus()) && !"received".equals(previousStatus)) {
+      publishOrderEvent(
+          BusinessEventType.ORDER_RECEIVED,
+          order,
+          orderItemRepository.findByOrder_IdOrderByCreatedAtAsc(order.getId()),
+          userId);
+    }
 
     return mapToResponse(order);
   }
 
   @Override
   @Transactional
-  public void deleteOrder(String orderId, String userId) {
+  public void deleteOrder(String orderId, String userId, Integer expectedVersion) {
     Order order =
         orderRepository
             .findByIdAndUser_Id(UUID.fromString(orderId), userId)
             .orElseThrow(() -> new RuntimeException("Order not found"));
 
+    if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+      throw new VersionConflictException(order.getVersion(), mapToResponse(order));
+    }
+
     // Prevent deletion of received or closed orders
     if ("received".equals(order.getStatus()) || "closed".equals(order.getStatus())) {
       throw new RuntimeException("Cannot delete an order with status 'received' or 'closed'");
@@ -332,8 +364,44 @@ public class OrderServiceImpl implements OrderService {
 
     // Delete order
     orderRepository.delete(order);
+    syncTombstoneService.recordDeletion(SyncEntityType.order, order.getId(), order.getStoreId());
 
     log.info("Order deleted: {} for user: {}", orderId, userId);
+    publishOrderEvent(BusinessEventType.ORDER_DELETED, order, List.of(), userId);
+  }
+
+  private void publishOrderEvent(
+      BusinessEventType type, Order order, List<OrderItem> items, String userId) {
+    BigDecimal quantity =
+        items.isEmpty()
+            ? null
+            : items.stream().map(OrderItem::getQuantity).reduce(BigDecimal.ZERO, BigDecimal::add);
+    businessEventPublisher.publish(
+        BusinessEvent.builder()
+            .action(type)
+            .userId(userId)
+            .storeId(order.getStore() != null ? order.getStore().getId() : null)
+            .supplierId(order.getSupplier() != null ? order.getSupplier().getId().toString() : null)
+            .entityId(order.getId().toString())
+            .itemCount(order.getTotalItems())
+            .quantity(quantity)
+            .status(order.getStatus())
+            .build());
+  }
+
+  @Override
+  public List<OrderResponse> toResponses(List<Order> orders) {
+    if (orders.isEmpty()) {
+      return List.of();
+    }
+    Map<UUID, List<OrderItem>> itemsByOrderId =
+        orderItemRepository
+            .findByOrder_IdInOrderByCreatedAtAsc(orders.stream().map(Order::getId).toList())
+            .stream()
+            .collect(Collectors.groupingBy(OrderItem::getOrderId));
+    return orders.stream()
+        .map(order -> mapToResponse(order, itemsByOrderId.getOrDefault(order.getId(), List.of())))
+        .collect(Collectors.toList());
   }
 
   private OrderResponse mapToResponse(Order order) {
@@ -341,6 +409,10 @@ public class OrderServiceImpl implements OrderService {
     List<OrderItem> orderItems =
         orderItemRepository.findByOrder_IdOrderByCreatedAtAsc(order.getId());
 
+    return mapToResponse(order, orderItems);
+  }
+
+  private OrderResponse mapToResponse(Order order, List<OrderItem> orderItems) {
     return OrderResponse.builder()
         .id(order.getId())
         .userId(order.getUserId())
@@ -365,6 +437,7 @@ public class OrderServiceImpl implements OrderService {
         .addedToStock(order.getAddedToStock())
         .createdAt(order.getCreatedAt())
         .updatedAt(order.getUpdatedAt())
+        .version(order.getVersion())
         .build();
   }
 }
@@ -1,5 +1,7 @@
 package com.suljhaoo.backend.service.sales;
 
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.sales.Sale;
 import com.suljhaoo.backend.model.request.sales.CreateSaleRequest;
 import com.suljhaoo.backend.model.request.sales.UpdateSaleRequest;
 import com.suljhaoo.backend.model.response.sales.SaleResponse;
@@ -12,9 +14,34 @@ public interface SaleService {
 
   SaleResponse getSaleById(String saleId, String userId, String storeId);
 
-  SaleResponse updateSale(String saleId, String userId, String storeId, UpdateSaleRequest request);
+  /**
+   * @param expectedVersion version the client last saw (If-Match), or null to update
+   *     unconditionally; a mismatch throws VersionConflictException
+   */
+  SaleResponse updateSale(
+      String saleId,
+      String userId,
+      String storeId,
+      UpdateSaleRequest request,
+      Integer expectedVersion);
 
-  void deleteSale(String saleId, String userId, String storeId);
+  void deleteSale(String saleId, String userId, String storeId, Integer expectedVersion);
 
   SalesListResult getCashSales(String userId, String storeId, Integer limit, Integer skip);
+
+  /**
+   * Batch variant of createSale for a store whose ownership the caller has already checked. Must
+   * run in the caller's transaction (Propagation.MANDATORY) and skips the user and store lookups.
+   */
+  SaleResponse createSale(Store store, CreateSaleRequest request);
+
+  /** Batch variant of updateSale; same contract as createSale(Store, ...). */
+  SaleResponse updateSale(
+      Store store, String saleId, UpdateSaleRequest request, Integer expectedVersion);
+
+  /** Batch variant of deleteSale; same contract as createSale(Store, ...). */
+  void deleteSale(Store store, String saleId, Integer expectedVersion);
+
+  /** Same mapping as this service's own responses, for rows loaded by the delta sync feed. */
+  SaleResponse toResponse(Sale sale);
 }
@@ -1,8 +1,11 @@
 package com.suljhaoo.backend.service.sales.impl;
 
 import com.suljhaoo.backend.enity.auth.Store;
-import com.suljhaoo.backend.enity.auth.User;
 import com.suljhaoo.backend.enity.sales.Sale;
+import com.suljhaoo.backend.enity.sync.SyncEntityType;
+import com.suljhaoo.backend.exception.VersionConflictException;
+import com.suljhaoo.backend.model.event.BusinessEvent;
+import com.suljhaoo.backend.model.event.BusinessEventType;
 import com.suljhaoo.backend.model.request.sales.CreateSaleRequest;
 import com.suljhaoo.backend.model.request.sales.UpdateSaleRequest;
 import com.suljhaoo.backend.model.response.sales.SaleResponse;
@@ -10,8 +13,9 @@ import com.suljhaoo.backend.model.response.sales.SalesListResult;
 import com.suljhaoo.backend.repository.auth.StoreRepository;
 import com.suljhaoo.backend.repository.auth.UserRepository;
 import com.suljhaoo.backend.repository.sales.SaleRepository;
+import com.suljhaoo.backend.service.event.BusinessEventPublisher;
 import com.suljhaoo.backend.service.sales.SaleService;
-import jakarta.transaction.Transactional;
+import com.suljhaoo.backend.service.sync.SyncTombstoneService;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -22,6 +26,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -31,13 +37,14 @@ public class SaleServiceImpl implements SaleService {
   private final SaleRepository saleRepository;
   private final UserRepository userRepository;
   private final StoreRepository storeRepository;
+  private final BusinessEventPublisher businessEventPublisher;
+  private final SyncTombstoneService syncTombstoneService;
 
   @Override
   @Transactional
   public SaleResponse createSale(String userId, String storeId, CreateSaleRequest request) {
     // Validate user exists
-    User user =
-        userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+    userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
 
     // Validate store exists
     Store store =
@@ -50,6 +57,15 @@ public class SaleServiceImpl implements SaleService {
       throw new RuntimeException("Store does not belong to user");
     }
 
+    return createSale(store, request);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public SaleResponse createSale(Store store, CreateSaleRequest request) {
+    String userId = store.getUser().getId();
+    String storeId = store.getId();
+
     // Validate amount
     if (request.getAmount().compareTo(java.math.BigDecimal.ZERO) <= 0) {
       throw new RuntimeException("Amount must be greater than 0");
@@ -77,7 +93,7 @@ public class SaleServiceImpl implements SaleService {
     // Create sale
     Sale sale =
         Sale.builder()
-            .user(user)
+            .user(store.getUser())
             .store(store)
             .amount(request.getAmount())
             .paymentMethod(paymentMethod)
@@ -92,11 +108,21 @@ public class SaleServiceImpl implements SaleService {
     sale = saleRepository.save(sale);
 
     log.info("Sale created: {} by user: {}", sale.getId(), userId);
+    businessEventPublisher.publish(
+        BusinessEvent.builder()
+            .action(BusinessEventType.SALE_CREATED)
+            .userId(userId)
+            .storeId(storeId)
+            .entityId(sale.getId().toString())
+            .amount(sale.getAmount())
+            .paymentMethod(sale.getPaymentMethod())
+            .build());
 
     return mapToResponse(sale);
   }
 
   @Override
+  @Transactional(readOnly = true)
   public SalesListResult getSales(String userId, String storeId, Integer limit, Integer skip) {
     // Validate store exists and belongs to user
     Store store =
@@ -122,6 +148,7 @@ public class SaleServiceImpl implements SaleService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public SaleResponse getSaleById(String saleId, String userId, String storeId) {
     Sale sale =
         saleRepository
@@ -134,13 +161,21 @@ public class SaleServiceImpl implements SaleService {
   @Override
   @Transactional
   public SaleResponse updateSale(
-      String saleId, String userId, String storeId, UpdateSaleRequest request) {
+      String saleId,
+      String userId,
+      String storeId,
+      UpdateSaleRequest request,
+      Integer expectedVersion) {
     // Find sale
     Sale sale =
         saleRepository
             .findByIdAndUser_IdAndStore_Id(UUID.fromString(saleId), userId, storeId)
             .orElseThrow(() -> new RuntimeException("Sale not found"));
 
+    if (expectedVersion != null && !expectedVersion.equals(sale.getVersion())) {
+      throw new VersionConflictException(sale.getVersion(), mapToResponse(sale));
+    }
+
     // Validate amount if provided
     if (request.getAmount() != null) {
       if (request.getAmount().compareTo(java.math.BigDecimal.ZERO) <= 0) {
@@ -180,31 +215,68 @@ public class SaleServiceImpl implements SaleService {
       sale.setSaleDate(saleDate);
     }
 
-    // Increment version and set updated_by
-    sale.setVersion(sale.getVersion() + 1);
+    // Version is incremented by Hibernate (@Version); flush here so a concurrent update fails
+    // inside this call as ObjectOptimisticLockingFailureException, not later at commit
     sale.setUpdatedBy("web");
 
-    sale = saleRepository.save(sale);
+    sale = saleRepository.saveAndFlush(sale);
 
     log.info("Sale updated: {} for user: {}", saleId, userId);
+    businessEventPublisher.publish(
+        BusinessEvent.builder()
+            .action(BusinessEventType.SALE_UPDATED)
+            .userId(userId)
+            .storeId(storeId)
+            .entityId(saleId)
+            .amount(sale.getAmount())
+            .paymentMethod(sale.getPaymentMethod())
+            .build());
 
     return mapToResponse(sale);
   }
 
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public SaleResponse updateSale(
+      Store store, String saleId, UpdateSaleRequest request, Integer expectedVersion) {
+    return updateSale(saleId, store.getUser().getId(), store.getId(), request, expectedVersion);
+  }
+
   @Override
   @Transactional
-  public void deleteSale(String saleId, String userId, String storeId) {
+  public void deleteSale(String saleId, String userId, String storeId, Integer expectedVersion) {
     Sale sale =
         saleRepository
             .findByIdAndUser_IdAndStore_Id(UUID.fromString(saleId), userId, storeId)
             .orElseThrow(() -> new RuntimeException("Sale not found"));
 
+    if (expectedVersion != null && !expectedVersion.equals(sale.getVersion())) {
+      throw new VersionConflictException(sale.getVersion(), mapToResponse(sale));
+    }
+
     saleRepository.delete(sale);
+    syncTombstoneService.recordDeletion(SyncEntityType.sale, sale.getId(), storeId);
 
     log.info("Sale deleted: {} for user: {}", saleId, userId);
+    businessEventPublisher.publish(
+        BusinessEvent.builder()
+            .action(BusinessEventType.SALE_DELETED)
+            .userId(userId)
+            .storeId(storeId)
+            .entityId(saleId)
+            .amount(sale.getAmount())
+            .paymentMethod(sale.getPaymentMethod())
+            .build());
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void deleteSale(Store store, String saleId, Integer expectedVersion) {
+    deleteSale(saleId, store.getUser().getId(), store.getId(), expectedVersion);
   }
 
   @Override
+  @Transactional(readOnly = true)
   public SalesListResult getCashSales(String userId, String storeId, Integer limit, Integer skip) {
     // Validate store exists and belongs to user
     Store store =
@@ -228,6 +300,11 @@ public class SaleServiceImpl implements SaleService {
     return SalesListResult.builder().sales(sales).total(salesPage.getTotalElements()).build();
   }
 
+  @Override
+  public SaleResponse toResponse(Sale sale) {
+    return mapToResponse(sale);
+  }
+
   private SaleResponse mapToResponse(Sale sale) {
     return SaleResponse.builder()
         .id(sale.getId().toString())
@@ -1,5 +1,7 @@
 package com.suljhaoo.backend.service.stock;
 
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.stock.Stock;
 import com.suljhaoo.backend.model.request.stock.CreateStockRequest;
 import com.suljhaoo.backend.model.request.stock.UpdateStockRequest;
 import com.suljhaoo.backend.model.response.stock.BulkUploadResult;
@@ -15,9 +17,29 @@ public interface StockService {
   StockListResult getLowStockItems(String userId, String storeId, Integer limit, Integer skip);
 
   StockResponse updateStock(
-      String stockId, String userId, String storeId, UpdateStockRequest request);
+      String stockId,
+      String userId,
+      String storeId,
+      UpdateStockRequest request,
+      Integer expectedVersion);
 
-  void deleteStock(String stockId, String userId, String storeId);
+  void deleteStock(String stockId, String userId, String storeId, Integer expectedVersion);
 
   BulkUploadResult bulkUploadStocks(String userId, String storeId, MultipartFile file);
+
+  /**
+   * Batch variant of createStock for a store whose ownership the caller has already checked. Must
+   * run in the caller's transaction (Propagation.MANDATORY) and skips the user and store lookups.
+   */
+  StockResponse createStock(Store store, CreateStockRequest request);
+
+  /** Batch variant of updateStock; same contract as createStock(Store, ...). */
+  StockResponse updateStock(
+      Store store, String stockId, UpdateStockRequest request, Integer expectedVersion);
+
+  /** Batch variant of deleteStock; same contract as createStock(Store, ...). */
+  void deleteStock(Store store, String stockId, Integer expectedVersion);
+
+  /** Same mapping as this service's own responses, for rows loaded by the delta sync feed. */
+  StockResponse toResponse(Stock stock);
 }
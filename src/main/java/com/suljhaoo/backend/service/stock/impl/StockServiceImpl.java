@@ -1,9 +1,12 @@
 package com.suljhaoo.backend.service.stock.impl;
 
 import com.suljhaoo.backend.enity.auth.Store;
-import com.suljhaoo.backend.enity.auth.User;
 import com.suljhaoo.backend.enity.stock.Stock;
 import com.suljhaoo.backend.enity.stock.Supplier;
+import com.suljhaoo.backend.enity.sync.SyncEntityType;
+import com.suljhaoo.backend.exception.VersionConflictException;
+import com.suljhaoo.backend.model.event.BusinessEvent;
+import com.suljhaoo.backend.model.event.BusinessEventType;
 import com.suljhaoo.backend.model.request.stock.CreateStockRequest;
 import com.suljhaoo.backend.model.request.stock.UpdateStockRequest;
 import com.suljhaoo.backend.model.response.stock.BulkUploadResult;
@@ -12,15 +15,20 @@ import com.suljhaoo.backend.model.response.stock.StockResponse;
 import com.suljhaoo.backend.repository.auth.StoreRepository;
 import com.suljhaoo.backend.repository.auth.UserRepository;
 import com.suljhaoo.backend.repository.stock.StockRepository;
+import com.suljhaoo.backend.repository.stock.SupplierItemRepository;
 import com.suljhaoo.backend.repository.stock.SupplierRepository;
+import com.suljhaoo.backend.service.event.BusinessEventPublisher;
 import com.suljhaoo.backend.service.stock.StockService;
+import com.suljhaoo.backend.service.sync.SyncTombstoneService;
 import io.micrometer.common.util.StringUtils;
-import jakarta.transaction.Transactional;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -34,6 +42,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 @Service
@@ -45,13 +57,16 @@ public class StockServiceImpl implements StockService {
   private final UserRepository userRepository;
   private final StoreRepository storeRepository;
   private final SupplierRepository supplierRepository;
+  private final SupplierItemRepository supplierItemRepository;
+  private final BusinessEventPublisher businessEventPublisher;
+  private final SyncTombstoneService syncTombstoneService;
+  private final PlatformTransactionManager transactionManager;
 
   @Override
   @Transactional
   public StockResponse createStock(String userId, String storeId, CreateStockRequest request) {
     // Validate user exists
-    User user =
-        userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
+    userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
 
     // Validate store exists
     Store store =
@@ -64,6 +79,15 @@ public class StockServiceImpl implements StockService {
       throw new RuntimeException("Store does not belong to user");
     }
 
+    return createStock(store, request);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public StockResponse createStock(Store store, CreateStockRequest request) {
+    String userId = store.getUser().getId();
+    String storeId = store.getId();
+
     // Validate quantity
     if (request.getQuantity().compareTo(java.math.BigDecimal.ZERO) < 0) {
       throw new RuntimeException("Quantity cannot be negative");
@@ -117,6 +141,7 @@ public class StockServiceImpl implements StockService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public StockListResult getAllStocks(String userId, String storeId, Integer limit, Integer skip) {
     // Validate store exists and belongs to user
     Store store =
@@ -141,6 +166,7 @@ public class StockServiceImpl implements StockService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public StockListResult getLowStockItems(
       String userId, String storeId, Integer limit, Integer skip) {
     // Validate store exists and belongs to user
@@ -168,13 +194,11 @@ public class StockServiceImpl implements StockService {
   @Override
   @Transactional
   public StockResponse updateStock(
-      String stockId, String userId, String storeId, UpdateStockRequest request) {
-    // Find stock by ID and store ID
-    Stock stock =
-        stockRepository
-            .findByIdAndStore_Id(UUID.fromString(stockId), storeId)
-            .orElseThrow(() -> new RuntimeException("Stock item not found"));
-
+      String stockId,
+      String userId,
+      String storeId,
+      UpdateStockRequest request,
+      Integer expectedVersion) {
     // Validate store exists and belongs to user
     Store store =
         storeRepository
@@ -185,6 +209,26 @@ public class StockServiceImpl implements StockService {
       throw new RuntimeException("Store does not belong to user");
     }
 
+    return updateStock(store, stockId, request, expectedVersion);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public StockResponse updateStock(
+      Store store, String stockId, UpdateStockRequest request, Integer expectedVersion) {
+    String userId = store.getUser().getId();
+    String storeId = store.getId();
+
+    // Find stock by ID and store ID
+    Stock stock =
+        stockRepository
+            .findByIdAndStore_Id(UUID.fromString(stockId), storeId)
+            .orElseThrow(() -> new RuntimeException("Stock item not found"));
+
+    if (expectedVersion != null && !expectedVersion.equals(stock.getVersion())) {
+      throw new VersionConflictException(stock.getVersion(), mapToResponse(stock));
+    }
+
     // Update name if provided
     if (request.getName() != null) {
       String trimmedName = request.getName().trim();
@@ -264,13 +308,7 @@ public class StockServiceImpl implements StockService {
 
   @Override
   @Transactional
-  public void deleteStock(String stockId, String userId, String storeId) {
-    // Find stock by ID and store ID
-    Stock stock =
-        stockRepository
-            .findByIdAndStore_Id(UUID.fromString(stockId), storeId)
-            .orElseThrow(() -> new RuntimeException("Stock item not found"));
-
+  public void deleteStock(String stockId, String userId, String storeId, Integer expectedVersion) {
     // Validate store exists and belongs touser
     Store store =
         storeRepository
@@ -281,13 +319,34 @@ public class StockServiceImpl implements StockService {
       throw new RuntimeException("Store does not belong to user");
     }
 
+    deleteStock(store, stockId, expectedVersion);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void deleteStock(Store store, String stockId, Integer expectedVersion) {
+    String userId = store.getUser().getId();
+    String storeId = store.getId();
+
+    // Find stock by ID and store ID
+    Stock stock =
+        stockRepository
+            .findByIdAndStore_Id(UUID.fromString(stockId), storeId)
+            .orElseThrow(() -> new RuntimeException("Stock item not found"));
+
+    if (expectedVersion != null && !expectedVersion.equals(stock.getVersion())) {
+      throw new VersionConflictException(stock.getVersion(), mapToResponse(stock));
+    }
+
+    // Linked supplier items stay; they lose the stock reference as a visible change
+    supplierItemRepository.clearStock(stock.getId(), LocalDateTime.now());
     stockRepository.delete(stock);
+    syncTombstoneService.recordDeletion(SyncEntityType.stock, stock.getId(), storeId);
 
     log.info("Stock deleted: {} by user: {} for store: {}", stockId, userId, storeId);
   }
 
   @Override
-  @Transactional
   public BulkUploadResult bulkUploadStocks(String userId, String storeId, MultipartFile file) {
     // Validate user exists
     userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
@@ -315,8 +374,7 @@ public class StockServiceImpl implements StockService {
 
     List<String> validationErrors = new ArrayList<>();
     List<String> processingErrors = new ArrayList<>();
-    int createdCount = 0;
-    int updatedCount = 0;
+    List<StockRow> stockRows = new ArrayList<>();
 
     try (Workbook workbook = WorkbookFactory.create(file.getInputStream())) {
       Sheet sheet = workbook.getSheetAt(0); // Get first sheet
@@ -411,44 +469,18 @@ public class StockServiceImpl implements StockService {
             }
           }
 
-          // Process the stock item (update if exists, create if not)
-          String trimmedName = itemName.trim();
-          Optional<Stock> existingStock =
-              stockRepository.findByStore_IdAndName(storeId, trimmedName);
-
-          if (existingStock.isPresent()) {
-            // Update existing stock
-            Stock stock = existingStock.get();
-            stock.setQuantity(quantity);
-            stock.setMinLevel(minLevel);
-            stock.setUnit(unit != null && !unit.trim().isEmpty() ? unit.trim() : null);
-            stock.setUnitPrice(unitPrice);
-            stock.setCategory(
-                category != null && !category.trim().isEmpty() ? category.trim() : null);
-            stock.setDescription(
-                description != null && !description.trim().isEmpty() ? description.trim() : null);
-            stockRepository.saveAndFlush(stock);
-            updatedCount++;
-          } else {
-            // Create new stock
-            Stock newStock =
-                Stock.builder()
-                    .store(store)
-                    .name(trimmedName)
-                    .quantity(quantity)
-                    .minLevel(minLevel)
-                    .unit(unit != null && !unit.trim().isEmpty() ? unit.trim() : null)
-                    .unitPrice(unitPrice)
-                    .category(
-                        category != null && !category.trim().isEmpty() ? category.trim() : null)
-                    .description(
-                        description != null && !description.trim().isEmpty()
-                            ? description.trim()
-                            : null)
-                    .build();
-            stockRepository.saveAndFlush(newStock);
-            createdCount++;
-          }
+          stockRows.add(
+              new StockRow(
+                  rowIndex + 1,
+                  itemName.trim(),
+                  quantity,
+                  minLevel,
+                  unit != null && !unit.trim().isEmpty() ? unit.trim() : null,
+                  unitPrice,
+                  category != null && !category.trim().isEmpty() ? category.trim() : null,
+                  description != null && !description.trim().isEmpty()
+                      ? description.trim()
+                      : null));
         } catch (Exception e) {
           String errorMsg =
               String.format(
@@ -458,6 +490,7 @@ public class StockServiceImpl implements StockService {
           log.error("Error processing stock item at row {}: {}", rowIndex + 1, e.getMessage(), e);
         }
       }
+
     } catch (IOException e) {
       log.error("Error reading Excel file: {}", e.getMessage(), e);
       throw new RuntimeException("Failed to read Excel file: " + e.getMessage(), e);
@@ -466,6 +499,43 @@ public class StockServiceImpl implements StockService {
       throw new RuntimeException("Failed to process Excel file: " + e.getMessage(), e);
     }
 
+    // The whole sheet is written in one transaction so inserts and updates go out as JDBC
+    // batches. A failed flush leaves that transaction unusable, so the rows are then retried one
+    // transaction each to report which of them the database rejected.
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    WriteCounts counts;
+    try {
+      counts = transactionTemplate.execute(status -> writeStockRows(store, stockRows));
+    } catch (RuntimeException e) {
+      log.warn(
+          "Batched bulk upload failed for store: {}, retrying row by row: {}",
+          storeId,
+          e.getMessage());
+      counts = new WriteCounts(0, 0);
+      for (StockRow stockRow : stockRows) {
+        try {
+          counts =
+              counts.plus(
+                  transactionTemplate.execute(status -> writeStockRows(store, List.of(stockRow))));
+        } catch (RuntimeException rowError) {
+          processingErrors.add(
+              String.format(
+                  "Row %d: %s",
+                  stockRow.rowNumber(),
+                  rowError.getMessage() != null
+                      ? rowError.getMessage()
+                      : "Failed to process item"));
+          log.error(
+              "Error processing stock item at row {}: {}",
+              stockRow.rowNumber(),
+              rowError.getMessage(),
+              rowError);
+        }
+      }
+    }
+    int createdCount = counts.created();
+    int updatedCount = counts.updated();
+
     int total = createdCount + updatedCount;
     List<String> allErrors = new ArrayList<>();
     allErrors.addAll(validationErrors);
@@ -478,6 +548,16 @@ public class StockServiceImpl implements StockService {
         createdCount,
         updatedCount,
         allErrors.size());
+    businessEventPublisher.publish(
+        BusinessEvent.builder()
+            .action(BusinessEventType.STOCK_BULK_IMPORTED)
+            .userId(userId)
+            .storeId(storeId)
+            .itemCount(total)
+            .createdCount(createdCount)
+            .updatedCount(updatedCount)
+            .errorCount(allErrors.size())
+            .build());
 
     return BulkUploadResult.builder()
         .created(createdCount)
@@ -487,6 +567,75 @@ public class StockServiceImpl implements StockService {
         .build();
   }
 
+  /**
+   * Creates or updates the stocks for the given sheet rows, matched by name within the store, and
+   * flushes them together. A later row with the same name updates the earlier one, as before.
+   */
+  private WriteCounts writeStockRows(Store store, List<StockRow> stockRows) {
+    Set<String> itemNames = stockRows.stream().map(StockRow::name).collect(Collectors.toSet());
+    Map<String, Stock> stocksByName = new HashMap<>();
+    if (!itemNames.isEmpty()) {
+      for (Stock stock : stockRepository.findByStore_IdAndNameIn(store.getId(), itemNames)) {
+        stocksByName.putIfAbsent(stock.getName(), stock);
+      }
+    }
+
+    List<Stock> newStocks = new ArrayList<>();
+    int createdCount = 0;
+    int updatedCount = 0;
+    for (StockRow stockRow : stockRows) {
+      Stock stock = stocksByName.get(stockRow.name());
+      if (stock != null) {
+        // Update existing stock (managed entity; written by dirty checking at flush)
+        stock.setQuantity(stockRow.quantity());
+        stock.setMinLevel(stockRow.minLevel());
+        stock.setUnit(stockRow.unit());
+        stock.setUnitPrice(stockRow.unitPrice());
+        stock.setCategory(stockRow.category());
+        stock.setDescription(stockRow.description());
+        updatedCount++;
+      } else {
+        // Create new stock
+        Stock newStock =
+            Stock.builder()
+                .store(store)
+                .name(stockRow.name())
+                .quantity(stockRow.quantity())
+                .minLevel(stockRow.minLevel())
+                .unit(stockRow.unit())
+                .unitPrice(stockRow.unitPrice())
+                .category(stockRow.category())
+                .description(stockRow.description())
+                .build();
+        newStocks.add(newStock);
+        stocksByName.put(stockRow.name(), newStock);
+        createdCount++;
+      }
+    }
+
+    // One flush for all rows: inserts and updates go out as JDBC batches
+    stockRepository.saveAll(newStocks);
+    stockRepository.flush();
+    return new WriteCounts(createdCount, updatedCount);
+  }
+
+  /** A validated row of the bulk upload sheet; rowNumber is the 1-based Excel row. */
+  private record StockRow(
+      int rowNumber,
+      String name,
+      BigDecimal quantity,
+      BigDecimal minLevel,
+      String unit,
+      BigDecimal unitPrice,
+      String category,
+      String description) {}
+
+  private record WriteCounts(int created, int updated) {
+    WriteCounts plus(WriteCounts other) {
+      return new WriteCounts(created + other.created, updated + other.updated);
+    }
+  }
+
   private String getCellValueAsString(Cell cell) {
     if (cell == null) {
       return null;
@@ -513,6 +662,11 @@ public class StockServiceImpl implements StockService {
     }
   }
 
+  @Override
+  public StockResponse toResponse(Stock stock) {
+    return mapToResponse(stock);
+  }
+
   private StockResponse mapToResponse(Stock stock) {
     return StockResponse.builder()
         .id(stock.getId())
@@ -528,6 +682,7 @@ public class StockServiceImpl implements StockService {
         .supplierName(stock.getSupplierName())
         .createdAt(stock.getCreatedAt())
         .updatedAt(stock.getUpdatedAt())
+        .version(stock.getVersion())
         .build();
   }
 }
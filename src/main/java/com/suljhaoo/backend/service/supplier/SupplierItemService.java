@@ -1,5 +1,6 @@
 package com.suljhaoo.backend.service.supplier;
 
+import com.suljhaoo.backend.enity.stock.SupplierItem;
 import com.suljhaoo.backend.model.request.supplier.CreateSupplierItemRequest;
 import com.suljhaoo.backend.model.request.supplier.UpdateSupplierItemRequest;
 import com.suljhaoo.backend.model.response.supplier.SupplierItemListResult;
@@ -20,4 +21,7 @@ public interface SupplierItemService {
       UpdateSupplierItemRequest request);
 
   void deleteSupplierItem(String itemId, String userId, String storeId, String supplierId);
+
+  /** Same mapping as this service's own responses, for rows loaded by the delta sync feed. */
+  SupplierItemResponse toResponse(SupplierItem supplierItem, String userId);
 }
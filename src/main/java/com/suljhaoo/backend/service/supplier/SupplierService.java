@@ -1,5 +1,7 @@
 package com.suljhaoo.backend.service.supplier;
 
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.stock.Supplier;
 import com.suljhaoo.backend.model.request.supplier.CreateSupplierRequest;
 import com.suljhaoo.backend.model.request.supplier.UpdateSupplierRequest;
 import com.suljhaoo.backend.model.response.supplier.SupplierListResult;
@@ -16,4 +18,20 @@ public interface SupplierService {
       String supplierId, String userId, String storeId, UpdateSupplierRequest request);
 
   void deleteSupplier(String supplierId, String userId, String storeId);
+
+  /**
+   * Batch variant of createSupplier for a store whose ownership the caller has already checked.
+   * Must run in the caller's transaction (Propagation.MANDATORY) and skips the user and store
+   * lookups.
+   */
+  SupplierResponse createSupplier(Store store, CreateSupplierRequest request);
+
+  /** Batch variant of updateSupplier; same contract as createSupplier(Store, ...). */
+  SupplierResponse updateSupplier(Store store, String supplierId, UpdateSupplierRequest request);
+
+  /** Batch variant of deleteSupplier; same contract as createSupplier(Store, ...). */
+  void deleteSupplier(Store store, String supplierId);
+
+  /** Same mapping as this service's own responses, for rows loaded by the delta sync feed. */
+  SupplierResponse toResponse(Supplier supplier, String userId);
 }
@@ -4,6 +4,7 @@ import com.suljhaoo.backend.enity.auth.Store;
 import com.suljhaoo.backend.enity.stock.Stock;
 import com.suljhaoo.backend.enity.stock.Supplier;
 import com.suljhaoo.backend.enity.stock.SupplierItem;
+import com.suljhaoo.backend.enity.sync.SyncEntityType;
 import com.suljhaoo.backend.model.request.stock.CreateStockRequest;
 import com.suljhaoo.backend.model.request.supplier.CreateSupplierItemRequest;
 import com.suljhaoo.backend.model.request.supplier.UpdateSupplierItemRequest;
@@ -15,7 +16,7 @@ import com.suljhaoo.backend.repository.stock.SupplierItemRepository;
 import com.suljhaoo.backend.repository.stock.SupplierRepository;
 import com.suljhaoo.backend.service.stock.StockService;
 import com.suljhaoo.backend.service.supplier.SupplierItemService;
-import jakarta.transaction.Transactional;
+import com.suljhaoo.backend.service.sync.SyncTombstoneService;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +28,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -38,6 +40,7 @@ public class SupplierItemServiceImpl implements SupplierItemService {
   private final StoreRepository storeRepository;
   private final StockRepository stockRepository;
   private final StockService stockService;
+  private final SyncTombstoneService syncTombstoneService;
 
   @Override
   @Transactional
@@ -172,6 +175,7 @@ public class SupplierItemServiceImpl implements SupplierItemService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public SupplierItemListResult getAllSupplierItems(
       String userId, String storeId, String supplierId, Integer limit, Integer skip) {
     // Validate store exists and belongs to user
@@ -268,10 +272,16 @@ public class SupplierItemServiceImpl implements SupplierItemService {
             .orElseThrow(() -> new RuntimeException("Supplier item not found"));
 
     supplierItemRepository.delete(supplierItem);
+    syncTombstoneService.recordDeletion(SyncEntityType.supplierItem, supplierItem.getId(), storeId);
 
     log.info("Supplier item deleted: {} for supplier: {} by user: {}", itemId, supplierId, userId);
   }
 
+  @Override
+  public SupplierItemResponse toResponse(SupplierItem supplierItem, String userId) {
+    return mapToResponse(supplierItem, userId);
+  }
+
   private SupplierItemResponse mapToResponse(SupplierItem supplierItem, String userId) {
     return SupplierItemResponse.builder()
         .id(supplierItem.getId())
@@ -8,9 +8,11 @@ import com.suljhaoo.backend.model.response.supplier.SupplierListResult;
 import com.suljhaoo.backend.model.response.supplier.SupplierResponse;
 import com.suljhaoo.backend.repository.auth.StoreRepository;
 import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.repository.stock.StockRepository;
 import com.suljhaoo.backend.repository.stock.SupplierRepository;
 import com.suljhaoo.backend.service.supplier.SupplierService;
-import jakarta.transaction.Transactional;
+import com.suljhaoo.backend.service.sync.SyncTombstoneService;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +24,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -29,8 +33,10 @@ import org.springframework.stereotype.Service;
 public class SupplierServiceImpl implements SupplierService {
 
   private final SupplierRepository supplierRepository;
+  private final StockRepository stockRepository;
   private final UserRepository userRepository;
   private final StoreRepository storeRepository;
+  private final SyncTombstoneService syncTombstoneService;
 
   @Override
   @Transactional
@@ -50,6 +56,15 @@ public class SupplierServiceImpl implements SupplierService {
       throw new RuntimeException("Store does not belong to user");
     }
 
+    return createSupplier(store, request);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public SupplierResponse createSupplier(Store store, CreateSupplierRequest request) {
+    String userId = store.getUser().getId();
+    String storeId = store.getId();
+
     // Validate supplierType
     String supplierType = validateAndExtractSupplierType(request);
     String finalNickName = extractNickNameDetails(request, supplierType);
@@ -136,6 +151,7 @@ public class SupplierServiceImpl implements SupplierService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public SupplierListResult getAllSuppliers(
       String userId, String storeId, Integer limit, Integer skip) {
     // Validate store exists and belongs to user
@@ -167,6 +183,7 @@ public class SupplierServiceImpl implements SupplierService {
   }
 
   @Override
+  @Transactional(readOnly = true)
   public SupplierResponse getSupplierById(String supplierId, String userId, String storeId) {
     // Validate store exists and belongs to user
     Store store =
@@ -296,6 +313,13 @@ public class SupplierServiceImpl implements SupplierService {
     return mapToResponse(supplier, userId);
   }
 
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public SupplierResponse updateSupplier(
+      Store store, String supplierId, UpdateSupplierRequest request) {
+    return updateSupplier(supplierId, store.getUser().getId(), store.getId(), request);
+  }
+
   @Override
   @Transactional
   public void deleteSupplier(String supplierId, String userId, String storeId) {
@@ -304,11 +328,26 @@ public class SupplierServiceImpl implements SupplierService {
             .findByIdAndStore_User_IdAndStore_Id(UUID.fromString(supplierId), userId, storeId)
             .orElseThrow(() -> new RuntimeException("Supplier not found"));
 
+    // Before the delete: its items and orders are still there to be listed
+    syncTombstoneService.recordSupplierDeletion(supplier.getId(), storeId);
+    // Linked stocks stay; they lose the supplier reference as a visible change
+    stockRepository.clearSupplier(supplier.getId(), LocalDateTime.now());
     supplierRepository.delete(supplier);
 
     log.info("Supplier deleted: {} for user: {}", supplierId, userId);
   }
 
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void deleteSupplier(Store store, String supplierId) {
+    deleteSupplier(supplierId, store.getUser().getId(), store.getId());
+  }
+
+  @Override
+  public SupplierResponse toResponse(Supplier supplier, String userId) {
+    return mapToResponse(supplier, userId);
+  }
+
   private SupplierResponse mapToResponse(Supplier supplier, String userId) {
     // Get supplierType directly from database (no inference needed)
     String supplierType =
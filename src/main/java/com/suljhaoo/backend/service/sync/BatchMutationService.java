@@ -0,0 +1,8 @@
+package com.suljhaoo.backend.service.sync;
+
+import com.suljhaoo.backend.model.request.sync.BatchMutationRequest;
+import com.suljhaoo.backend.model.response.sync.BatchMutationResult;
+
+public interface BatchMutationService {
+  BatchMutationResult applyBatch(String userId, String storeId, BatchMutationRequest request);
+}
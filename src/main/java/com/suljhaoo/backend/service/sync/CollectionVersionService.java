@@ -0,0 +1,42 @@
+package com.suljhaoo.backend.service.sync;
+
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Weak ETags for the store-scoped list and detail endpoints. Each method validates store ownership
+ * and runs a single aggregate query, so a conditional GET can be answered with 304 before any
+ * entity is loaded or mapped.
+ *
+ * <p>Controllers go through read(), which takes the stamp and the body inside one read-only
+ * transaction. With replica routing both then come from the same pool, and the stamp is never newer
+ * than the body it labels.
+ */
+public interface CollectionVersionService {
+
+  /** A conditional GET: the ETag, and the body unless the client's copy is current. */
+  record TaggedRead<T>(String etag, boolean notModified, T body) {}
+
+  /**
+   * Takes the ETag, asks notModified (e.g. WebRequest::checkNotModified) whether the client's copy
+   * is current, and otherwise reads the body, all in one read-only transaction. A null ETag (the
+   * entity does not exist) always reads the body, which reports the missing entity.
+   */
+  <T> TaggedRead<T> read(Supplier<String> etag, Predicate<String> notModified, Supplier<T> body);
+
+  String stocksEtag(String userId, String storeId);
+
+  String salesEtag(String userId, String storeId);
+
+  String expensesEtag(String userId, String storeId);
+
+  String suppliersEtag(String userId, String storeId);
+
+  String supplierItemsEtag(String userId, String storeId, String supplierId);
+
+  /** Version ETag of a single sale, or null if it does not exist (caller reports not found). */
+  String saleEtag(String userId, String storeId, String saleId);
+
+  /** ETag of a single supplier, or null if it does not exist in the store. */
+  String supplierEtag(String userId, String storeId, String supplierId);
+}
@@ -0,0 +1,14 @@
+package com.suljhaoo.backend.service.sync;
+
+import com.suljhaoo.backend.model.response.sync.SyncChangesResult;
+
+public interface SyncService {
+  /**
+   * Rows of a store created, updated or deleted after the cursor, across stock, sales, expenses,
+   * suppliers, supplier items and orders.
+   *
+   * @param cursor nextCursor of the previous page, or null for a full initial sync
+   * @param limit maximum number of changes (rows + tombstones) in the page
+   */
+  SyncChangesResult getChanges(String userId, String storeId, String cursor, Integer limit);
+}
@@ -0,0 +1,18 @@
+package com.suljhaoo.backend.service.sync;
+
+import com.suljhaoo.backend.enity.sync.SyncEntityType;
+import java.util.UUID;
+
+/**
+ * Records hard deletes for the delta sync feed. Callers invoke it inside the deleting transaction,
+ * so a tombstone exists exactly when the delete commits.
+ */
+public interface SyncTombstoneService {
+  void recordDeletion(SyncEntityType entityType, UUID entityId, String storeId);
+
+  /** Supplier delete also cascades (in the database) to its supplier items and orders. */
+  void recordSupplierDeletion(UUID supplierId, String storeId);
+
+  /** Removes tombstones older than the retention window; returns the number purged. */
+  int purgeExpired();
+}
@@ -0,0 +1,431 @@
+package com.suljhaoo.backend.service.sync.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.stock.Supplier;
+import com.suljhaoo.backend.exception.VersionConflictException;
+import com.suljhaoo.backend.model.request.expense.CreateExpenseRequest;
+import com.suljhaoo.backend.model.request.expense.UpdateExpenseRequest;
+import com.suljhaoo.backend.model.request.sales.CreateSaleRequest;
+import com.suljhaoo.backend.model.request.sales.UpdateSaleRequest;
+import com.suljhaoo.backend.model.request.stock.CreateStockRequest;
+import com.suljhaoo.backend.model.request.stock.UpdateStockRequest;
+import com.suljhaoo.backend.model.request.supplier.CreateSupplierRequest;
+import com.suljhaoo.backend.model.request.supplier.UpdateSupplierRequest;
+import com.suljhaoo.backend.model.request.sync.BatchMutationRequest;
+import com.suljhaoo.backend.model.request.sync.BatchMutationRequest.BatchOperation;
+import com.suljhaoo.backend.model.response.sync.BatchMutationResult;
+import com.suljhaoo.backend.model.response.sync.BatchOperationResult;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.service.expense.ExpenseService;
+import com.suljhaoo.backend.service.sales.SaleService;
+import com.suljhaoo.backend.service.stock.StockService;
+import com.suljhaoo.backend.service.supplier.SupplierService;
+import com.suljhaoo.backend.service.sync.BatchMutationService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Replays an ordered list of offline mutations through the regular domain services, so every
+ * operation gets the same validation and side effects (tombstones, cache eviction) as its REST
+ * call. Store ownership is checked once for the whole batch; the operations then use the services'
+ * batch variants, which take the checked Store and run in the batch's transaction. Non-atomic
+ * batches put a savepoint around each operation; atomic batches roll back on the first failure.
+ */
+@Service
+@RequiredArgsConstructor
+@Log4j2
+public class BatchMutationServiceImpl implements BatchMutationService {
+
+  private static final String OK = "ok";
+  private static final String CONFLICT = "conflict";
+  private static final String ERROR = "error";
+  private static final String SKIPPED = "skipped";
+  private static final String ROLLED_BACK = "rolled_back";
+
+  private final StoreRepository storeRepository;
+  private final SaleService saleService;
+  private final ExpenseService expenseService;
+  private final StockService stockService;
+  private final SupplierService supplierService;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final PlatformTransactionManager transactionManager;
+  private final EntityManager entityManager;
+
+  @Value("${app.sync.batch.max-operations:500}")
+  private int maxOperations;
+
+  @Override
+  public BatchMutationResult applyBatch(
+      String userId, String storeId, BatchMutationRequest request) {
+    Store store = validateStoreOwnership(userId, storeId);
+
+    List<BatchOperation> operations = request.getOperations();
+    if (operations == null || operations.isEmpty()) {
+      throw new RuntimeException("At least one operation is required");
+    }
+    if (operations.size() > maxOperations) {
+      throw new RuntimeException("Batch cannot contain more than " + maxOperations + " operations");
+    }
+
+    boolean atomic = Boolean.TRUE.equals(request.getAtomic());
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    List<BatchOperationResult> results =
+        atomic
+            ? applyAtomically(store, operations, transactionTemplate)
+            : applyIndependently(store, operations, transactionTemplate);
+
+    int succeeded = (int) results.stream().filter(r -> OK.equals(r.getStatus())).count();
+    log.info(
+        "Applied batch: storeId={}, operations={}, succeeded={}, atomic={}",
+        storeId,
+        operations.size(),
+        succeeded,
+        atomic);
+
+    return BatchMutationResult.builder()
+        .results(results)
+        .succeeded(succeeded)
+        .failed(results.size() - succeeded)
+        .atomic(atomic)
+        .build();
+  }
+
+  /**
+   * One transaction for the batch, with a JDBC savepoint around each operation: a failed operation
+   * is rolled back to its savepoint and the others commit together. A Hibernate session cannot
+   * continue after a failed flush (the transaction is then rollback-only), so such a failure rolls
+   * back the attempt once, and the operations that have not failed are then applied in one
+   * transaction each. The batch is never replayed as a whole, so a batch of failing flushes costs
+   * at most one extra transaction per operation.
+   */
+  private List<BatchOperationResult> applyIndependently(
+      Store store, List<BatchOperation> operations, TransactionTemplate transactionTemplate) {
+    Map<Integer, BatchOperationResult> failed = new HashMap<>();
+    List<BatchOperationResult> results =
+        transactionTemplate.execute(
+            status -> applyWithSavepoints(store, operations, failed, status));
+    if (results != null) {
+      return results;
+    }
+    log.info(
+        "Batch flush failed, applying operations one transaction each: storeId={}, operations={}",
+        store.getId(),
+        operations.size());
+    return applyOneByOne(store, operations, failed, transactionTemplate);
+  }
+
+  /** One attempt of a non-atomic batch; null when it had to be rolled back. */
+  private List<BatchOperationResult> applyWithSavepoints(
+      Store store,
+      List<BatchOperation> operations,
+      Map<Integer, BatchOperationResult> failed,
+      TransactionStatus status) {
+    Session session = entityManager.unwrap(Session.class);
+    List<BatchOperationResult> results = new ArrayList<>(operations.size());
+    for (int i = 0; i < operations.size(); i++) {
+      BatchOperation operation = operations.get(i);
+      // Earlier operations are flushed, so the savepoint only covers this one's statements
+      Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+      try {
+        Object data = apply(managed(store), operation);
+        session.flush();
+        session.doWork(connection -> connection.releaseSavepoint(savepoint));
+        results.add(success(i, operation, data));
+      } catch (RuntimeException e) {
+        failed.put(i, failure(i, operation, e));
+        if (status.isRollbackOnly()) {
+          status.setRollbackOnly();
+          return null;
+        }
+        session.doWork(connection -> connection.rollback(savepoint));
+        // Drop the operation's unflushed changes; the earlier operations are already written, and
+        // the next operation gets a fresh reference to the store and loads what it needs again
+        session.clear();
+        if ("supplier".equalsIgnoreCase(operation.getEntity())) {
+          evictSuppliersAfterCompletion();
+        }
+        results.add(failed.get(i));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Fallback after a failed flush: every operation that has not already failed commits or rolls
+   * back in its own transaction.
+   */
+  private List<BatchOperationResult> applyOneByOne(
+      Store store,
+      List<BatchOperation> operations,
+      Map<Integer, BatchOperationResult> failed,
+      TransactionTemplate transactionTemplate) {
+    List<BatchOperationResult> results = new ArrayList<>(operations.size());
+    for (int i = 0; i < operations.size(); i++) {
+      BatchOperation operation = operations.get(i);
+      if (failed.containsKey(i)) {
+        results.add(failed.get(i));
+        continue;
+      }
+      try {
+        Object data =
+            transactionTemplate.execute(
+                status -> {
+                  Object applied = apply(managed(store), operation);
+                  entityManager.flush();
+                  return applied;
+                });
+        results.add(success(i, operation, data));
+      } catch (RuntimeException e) {
+        results.add(failure(i, operation, e));
+      }
+    }
+    return results;
+  }
+
+  /** The batch's store, checked outside the transaction, as a reference in the current session. */
+  private Store managed(Store store) {
+    return entityManager.getReference(Store.class, store.getId());
+  }
+
+  /**
+   * Suppliers are the only second-level cached entity a batch writes. Hibernate still applies a
+   * supplier write that was rolled back to a savepoint to the cache at commit, so the region is
+   * evicted once the transaction has completed.
+   */
+  private void evictSuppliersAfterCompletion() {
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            entityManager.getEntityManagerFactory().getCache().evict(Supplier.class);
+          }
+        });
+  }
+
+  /**
+   * One transaction for the whole batch. The first failing operation marks it rollback-only; the
+   * operations before it are reported rolled_back and the ones after it are not attempted.
+   */
+  private List<BatchOperationResult> applyAtomically(
+      Store store, List<BatchOperation> operations, TransactionTemplate transactionTemplate) {
+    List<BatchOperationResult> results = new ArrayList<>(operations.size());
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            try {
+              results.add(success(i, operation, apply(managed(store), operation)));
+            } catch (RuntimeException e) {
+              status.setRollbackOnly();
+              String rolledBack = "Rolled back: operation " + i + " failed";
+              results.replaceAll(
+                  r -> r.toBuilder().status(ROLLED_BACK).message(rolledBack).build());
+              results.add(failure(i, operation, e));
+              for (int j = i + 1; j < operations.size(); j++) {
+                results.add(
+                    BatchOperationResult.builder()
+                        .index(j)
+                        .opId(operations.get(j).getOpId())
+                        .status(SKIPPED)
+                        .message("Not applied: operation " + i + " failed")
+                        .build());
+              }
+              return;
+            }
+          }
+        });
+    return results;
+  }
+
+  private Object apply(Store store, BatchOperation operation) {
+    String entity = operation.getEntity() == null ? "" : operation.getEntity().toLowerCase();
+    String action = operation.getAction() == null ? "" : operation.getAction().toLowerCase();
+    if (!"create".equals(action)) {
+      requireId(operation);
+    }
+    Integer expectedVersion = operation.getExpectedVersion();
+
+    switch (entity) {
+      case "sale":
+        switch (action) {
+          case "create":
+            return saleService.createSale(store, payload(operation, CreateSaleRequest.class));
+          case "update":
+            return saleService.updateSale(
+                store,
+                operation.getId(),
+                payload(operation, UpdateSaleRequest.class),
+                expectedVersion);
+          case "delete":
+            saleService.deleteSale(store, operation.getId(), expectedVersion);
+            return null;
+          default:
+            break;
+        }
+        break;
+      case "expense":
+        switch (action) {
+          case "create":
+            return expenseService.createExpense(
+                store, payload(operation, CreateExpenseRequest.class));
+          case "update":
+            return expenseService.updateExpense(
+                store,
+                operation.getId(),
+                payload(operation, UpdateExpenseRequest.class),
+                expectedVersion);
+          case "delete":
+            expenseService.deleteExpense(store, operation.getId(), expectedVersion);
+            return null;
+          default:
+            break;
+        }
+        break;
+      case "stock":
+        switch (action) {
+          case "create":
+            return stockService.createStock(store, payload(operation, CreateStockRequest.class));
+          case "update":
+            return stockService.updateStock(
+                store,
+                operation.getId(),
+                payload(operation, UpdateStockRequest.class),
+                expectedVersion);
+          case "delete":
+            stockService.deleteStock(store, operation.getId(), expectedVersion);
+            return null;
+          default:
+            break;
+        }
+        break;
+      case "supplier":
+        switch (action) {
+          case "create":
+            return supplierService.createSupplier(
+                store, payload(operation, CreateSupplierRequest.class));
+          case "update":
+            rejectExpectedVersion(entity, expectedVersion);
+            return supplierService.updateSupplier(
+                store, operation.getId(), payload(operation, UpdateSupplierRequest.class));
+          case "delete":
+            rejectExpectedVersion(entity, expectedVersion);
+            supplierService.deleteSupplier(store, operation.getId());
+            return null;
+          default:
+            break;
+        }
+        break;
+      default:
+        throw new RuntimeException(
+            "Invalid entity. Must be one of: sale, expense, stock, supplier");
+    }
+    throw new RuntimeException("Invalid action. Must be one of: create, update, delete");
+  }
+
+  /** Suppliers carry no version column; a precondition that cannot be checked is an error. */
+  private static void rejectExpectedVersion(String entity, Integer expectedVersion) {
+    if (expectedVersion != null) {
+      throw new RuntimeException("expectedVersion is not supported for " + entity);
+    }
+  }
+
+  private <T> T payload(BatchOperation operation, Class<T> type) {
+    JsonNode payload = operation.getPayload();
+    if (payload == null || payload.isNull()) {
+      throw new RuntimeException("Payload is required for " + operation.getAction());
+    }
+    T request;
+    try {
+      request = objectMapper.treeToValue(payload, type);
+    } catch (Exception e) {
+      throw new RuntimeException("Invalid payload: " + e.getMessage());
+    }
+    Set<ConstraintViolation<T>> violations = validator.validate(request);
+    if (!violations.isEmpty()) {
+      throw new RuntimeException(
+          violations.stream()
+              .map(ConstraintViolation::getMessage)
+              .sorted()
+              .collect(Collectors.joining("; ")));
+    }
+    return request;
+  }
+
+  private Store validateStoreOwnership(String userId, String storeId) {
+    Store store =
+        storeRepository
+            .findById(storeId)
+            .orElseThrow(() -> new RuntimeException("Store not found"));
+
+    if (!store.getUser().getId().equals(userId)) {
+      throw new RuntimeException("Store does not belong to user");
+    }
+    return store;
+  }
+
+  private static void requireId(BatchOperation operation) {
+    if (operation.getId() == null || operation.getId().isBlank()) {
+      throw new RuntimeException("Id is required for " + operation.getAction());
+    }
+  }
+
+  private static BatchOperationResult success(int index, BatchOperation operation, Object data) {
+    return BatchOperationResult.builder()
+        .index(index)
+        .opId(operation.getOpId())
+        .status(OK)
+        .data(data)
+        .build();
+  }
+
+  private static BatchOperationResult failure(
+      int index, BatchOperation operation, RuntimeException e) {
+    if (e instanceof ObjectOptimisticLockingFailureException) {
+      return BatchOperationResult.builder()
+          .index(index)
+          .opId(operation.getOpId())
+          .status(CONFLICT)
+          .message("Record was modified concurrently")
+          .build();
+    }
+    if (e instanceof VersionConflictException conflict) {
+      return BatchOperationResult.builder()
+          .index(index)
+          .opId(operation.getOpId())
+          .status(CONFLICT)
+          .message(conflict.getMessage())
+          .currentVersion(conflict.getCurrentVersion())
+          .data(conflict.getCurrentState())
+          .build();
+    }
+    return BatchOperationResult.builder()
+        .index(index)
+        .opId(operation.getOpId())
+        .status(ERROR)
+        .message(e.getMessage())
+        .build();
+  }
+}
@@ -0,0 +1,131 @@
+package com.suljhaoo.backend.service.sync.impl;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.repository.CollectionStamp;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.expense.ExpenseRepository;
+import com.suljhaoo.backend.repository.sales.SaleRepository;
+import com.suljhaoo.backend.repository.stock.StockRepository;
+import com.suljhaoo.backend.repository.stock.SupplierItemRepository;
+import com.suljhaoo.backend.repository.stock.SupplierRepository;
+import com.suljhaoo.backend.service.sync.CollectionVersionService;
+import com.suljhaoo.backend.util.EtagResponseUtil;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class CollectionVersionServiceImpl implements CollectionVersionService {
+
+  private final StoreRepository storeRepository;
+  private final StockRepository stockRepository;
+  private final SaleRepository saleRepository;
+  private final ExpenseRepository expenseRepository;
+  private final SupplierRepository supplierRepository;
+  private final SupplierItemRepository supplierItemRepository;
+
+  @Override
+  @Transactional(readOnly = true)
+  public <T> TaggedRead<T> read(
+      Supplier<String> etag, Predicate<String> notModified, Supplier<T> body) {
+    String tag = etag.get();
+    if (tag != null && notModified.test(tag)) {
+      return new TaggedRead<>(tag, true, null);
+    }
+    return new TaggedRead<>(tag, false, body.get());
+  }
+
+  @Override
+  public String stocksEtag(String userId, String storeId) {
+    validateStore(userId, storeId);
+    return collectionEtag("stocks", stockRepository.findStampByStoreId(storeId));
+  }
+
+  @Override
+  public String salesEtag(String userId, String storeId) {
+    validateStore(userId, storeId);
+    return collectionEtag("sales", saleRepository.findStampByStoreId(storeId));
+  }
+
+  @Override
+  public String expensesEtag(String userId, String storeId) {
+    validateStore(userId, storeId);
+    return collectionEtag("expenses", expenseRepository.findStampByStoreId(storeId));
+  }
+
+  @Override
+  public String suppliersEtag(String userId, String storeId) {
+    validateStore(userId, storeId);
+    return collectionEtag("suppliers", supplierRepository.findStampByStoreId(storeId));
+  }
+
+  @Override
+  public String supplierItemsEtag(String userId, String storeId, String supplierId) {
+    validateStore(userId, storeId);
+    return collectionEtag(
+        "supplier-items",
+        supplierItemRepository.findStampBySupplierIdAndStoreId(
+            parseId(supplierId, "Supplier not found"), storeId));
+  }
+
+  @Override
+  public String saleEtag(String userId, String storeId, String saleId) {
+    validateStore(userId, storeId);
+    return saleRepository
+        .findVersionByIdAndStoreId(parseId(saleId, "Sale not found"), storeId)
+        .map(EtagResponseUtil::versionEtag)
+        .orElse(null);
+  }
+
+  @Override
+  public String supplierEtag(String userId, String storeId, String supplierId) {
+    validateStore(userId, storeId);
+    // Served from the second-level cache on repeated polls
+    return supplierRepository
+        .findById(parseId(supplierId, "Supplier not found"))
+        .filter(supplier -> storeId.equals(supplier.getStoreId()))
+        .map(supplier -> etag("supplier", supplierId, micros(supplier.getUpdatedAt())))
+        .orElse(null);
+  }
+
+  /** Same checks and messages as the list services; the Store lookup hits the L2 cache. */
+  private void validateStore(String userId, String storeId) {
+    Store store =
+        storeRepository
+            .findById(storeId)
+            .orElseThrow(() -> new RuntimeException("Store not found"));
+    if (!store.getUser().getId().equals(userId)) {
+      throw new RuntimeException("Store does not belong to user");
+    }
+  }
+
+  /** A malformed id cannot exist, so it gets the same not-found error as the unconditional read. */
+  private static UUID parseId(String id, String notFoundMessage) {
+    try {
+      return UUID.fromString(id);
+    } catch (IllegalArgumentException e) {
+      throw new RuntimeException(notFoundMessage);
+    }
+  }
+
+  private static String collectionEtag(String collection, CollectionStamp stamp) {
+    return etag(collection, stamp.getCount(), micros(stamp.getLastUpdated()));
+  }
+
+  private static String etag(String kind, Object first, long micros) {
+    return "W/\"" + kind + "-" + first + "-" + Long.toString(micros, 36) + "\"";
+  }
+
+  private static long micros(LocalDateTime timestamp) {
+    if (timestamp == null) {
+      return 0L;
+    }
+    return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+  }
+}
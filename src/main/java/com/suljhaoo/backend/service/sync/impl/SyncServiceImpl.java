@@ -0,0 +1,284 @@
+package com.suljhaoo.backend.service.sync.impl;
+
+import com.suljhaoo.backend.annotations.PrimaryOnly;
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.expense.Expense;
+import com.suljhaoo.backend.enity.order.Order;
+import com.suljhaoo.backend.enity.sales.Sale;
+import com.suljhaoo.backend.enity.stock.Stock;
+import com.suljhaoo.backend.enity.stock.Supplier;
+import com.suljhaoo.backend.enity.stock.SupplierItem;
+import com.suljhaoo.backend.enity.sync.SyncEntityType;
+import com.suljhaoo.backend.enity.sync.SyncTombstone;
+import com.suljhaoo.backend.model.response.sync.SyncChangesResult;
+import com.suljhaoo.backend.model.response.sync.SyncTombstoneResponse;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.expense.ExpenseRepository;
+import com.suljhaoo.backend.repository.order.OrderRepository;
+import com.suljhaoo.backend.repository.sales.SaleRepository;
+import com.suljhaoo.backend.repository.stock.StockRepository;
+import com.suljhaoo.backend.repository.stock.SupplierItemRepository;
+import com.suljhaoo.backend.repository.stock.SupplierRepository;
+import com.suljhaoo.backend.repository.sync.SyncTombstoneRepository;
+import com.suljhaoo.backend.service.expense.ExpenseService;
+import com.suljhaoo.backend.service.order.OrderService;
+import com.suljhaoo.backend.service.sales.SaleService;
+import com.suljhaoo.backend.service.stock.StockService;
+import com.suljhaoo.backend.service.supplier.SupplierItemService;
+import com.suljhaoo.backend.service.supplier.SupplierService;
+import com.suljhaoo.backend.service.sync.SyncService;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keyset-paged change feed over six tables. Each table is read with the same (updated_at, id) >
+ * cursor predicate, limit + 1 rows, on its (store_id, updated_at, id) index; the results are merged
+ * in that order and cut at limit, so the last row of the page is the next cursor for every table.
+ * When the page is not full, the settle bound itself is the next cursor.
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncServiceImpl implements SyncService {
+
+  private static final int DEFAULT_LIMIT = 500;
+  private static final int MAX_LIMIT = 1000;
+  private static final Cursor START =
+      new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0L, 0L));
+
+  private final StoreRepository storeRepository;
+  private final StockRepository stockRepository;
+  private final SaleRepository saleRepository;
+  private final ExpenseRepository expenseRepository;
+  private final SupplierRepository supplierRepository;
+  private final SupplierItemRepository supplierItemRepository;
+  private final OrderRepository orderRepository;
+  private final SyncTombstoneRepository syncTombstoneRepository;
+  private final StockService stockService;
+  private final SaleService saleService;
+  private final ExpenseService expenseService;
+  private final SupplierService supplierService;
+  private final SupplierItemService supplierItemService;
+  private final OrderService orderService;
+  private final JdbcTemplate jdbcTemplate;
+
+  // Rows newer than now - settleWindow are held back: a transaction that stamped updated_at
+  // earlier but commits later must not fall behind a cursor the client has already stored.
+  @Value("${app.sync.settle-window:PT8S}")
+  private Duration settleWindow;
+
+  // Start of the oldest write transaction still open in the database. Required: a write can
+  // commit any time after it stamped updated_at (query budget deadlines do not bound flush, lock
+  // waits or commit), so the settle window alone cannot keep its rows ahead of the cursor.
+  @Value("${app.sync.oldest-write-query}")
+  private String oldestWriteQuery;
+
+  @Value("${app.sync.tombstone-retention:P90D}")
+  private Duration tombstoneRetention;
+
+  @PostConstruct
+  void requireOldestWriteQuery() {
+    if (oldestWriteQuery == null || oldestWriteQuery.isBlank()) {
+      throw new IllegalStateException(
+          "app.sync.oldest-write-query must be set: delta sync cannot bound open writes without it");
+    }
+  }
+
+  // The cursor moves past the settle bound; rows a lagging replica has not replayed yet would be
+  // skipped for good, so the feed always reads the primary
+  @Override
+  @PrimaryOnly
+  @Transactional(readOnly = true)
+  public SyncChangesResult getChanges(String userId, String storeId, String cursor, Integer limit) {
+    Store store =
+        storeRepository
+            .findById(storeId)
+            .orElseThrow(() -> new RuntimeException("Store not found"));
+    if (!store.getUser().getId().equals(userId)) {
+      throw new RuntimeException("Store does not belong to user");
+    }
+
+    boolean initialSync = cursor == null || cursor.isBlank();
+    Cursor from = initialSync ? START : Cursor.decode(cursor);
+    LocalDateTime now = LocalDateTime.now();
+    if (!initialSync && from.updatedAt().isBefore(now.minus(tombstoneRetention))) {
+      SyncChangesResult result = emptyResult(cursor);
+      result.setFullResyncRequired(true);
+      return result;
+    }
+
+    int pageSize = limit != null && limit > 0 ? Math.min(limit, MAX_LIMIT) : DEFAULT_LIMIT;
+    LocalDateTime until = now.minus(settleWindow);
+    LocalDateTime oldestWrite = oldestOpenWrite();
+    if (oldestWrite != null && oldestWrite.isBefore(until)) {
+      until = oldestWrite;
+    }
+    // Microseconds, as stored: the bound can then be handed out as the next cursor
+    until = until.truncatedTo(ChronoUnit.MICROS);
+    Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+    List<Change> changes = new ArrayList<>();
+    collect(
+        changes,
+        SyncEntityType.stock,
+        stockRepository.findChangesSince(storeId, from.updatedAt(), from.id(), until, pageable),
+        Stock::getUpdatedAt,
+        Stock::getId);
+    collect(
+        changes,
+        SyncEntityType.sale,
+        saleRepository.findChangesSince(storeId, from.updatedAt(), from.id(), until, pageable),
+        Sale::getUpdatedAt,
+        Sale::getId);
+    collect(
+        changes,
+        SyncEntityType.expense,
+        expenseRepository.findChangesSince(storeId, from.updatedAt(), from.id(), until, pageable),
+        Expense::getUpdatedAt,
+        Expense::getId);
+    collect(
+        changes,
+        SyncEntityType.supplier,
+        supplierRepository.findChangesSince(storeId, from.updatedAt(), from.id(), until, pageable),
+        Supplier::getUpdatedAt,
+        Supplier::getId);
+    collect(
+        changes,
+        SyncEntityType.supplierItem,
+        supplierItemRepository.findChangesSince(
+            storeId, from.updatedAt(), from.id(), until, pageable),
+        SupplierItem::getUpdatedAt,
+        SupplierItem::getId);
+    collect(
+        changes,
+        SyncEntityType.order,
+        orderRepository.findChangesSince(storeId, from.updatedAt(), from.id(), until, pageable),
+        Order::getUpdatedAt,
+        Order::getId);
+    // Tombstones share the cursor; their entityType is resolved per row below
+    collect(
+        changes,
+        null,
+        syncTombstoneRepository.findChangesSince(
+            storeId, from.updatedAt(), from.id(), until, pageable),
+        SyncTombstone::getDeletedAt,
+        SyncTombstone::getId);
+
+    // UUID order as the database compares it (unsigned bytes == lowercase hex string order)
+    changes.sort(
+        Comparator.comparing(Change::updatedAt).thenComparing(change -> change.id().toString()));
+    boolean hasMore = changes.size() > pageSize;
+    List<Change> page = hasMore ? changes.subList(0, pageSize) : changes;
+
+    SyncChangesResult result = emptyResult(cursor);
+    List<Order> orders = new ArrayList<>();
+    for (Change change : page) {
+      if (change.type() == null) {
+        SyncTombstone tombstone = (SyncTombstone) change.row();
+        result
+            .getDeleted()
+            .add(
+                SyncTombstoneResponse.builder()
+                    .entityType(tombstone.getEntityType().name())
+                    .id(tombstone.getEntityId().toString())
+                    .deletedAt(tombstone.getDeletedAt())
+                    .build());
+        continue;
+      }
+      switch (change.type()) {
+        case stock -> result.getStocks().add(stockService.toResponse((Stock) change.row()));
+        case sale -> result.getSales().add(saleService.toResponse((Sale) change.row()));
+        case expense -> result.getExpenses().add(expenseService.toResponse((Expense) change.row()));
+        case supplier ->
+            result.getSuppliers().add(supplierService.toResponse((Supplier) change.row(), userId));
+        case supplierItem ->
+            result
+                .getSupplierItems()
+                .add(supplierItemService.toResponse((SupplierItem) change.row(), userId));
+        case order -> orders.add((Order) change.row());
+      }
+    }
+    result.getOrders().addAll(orderService.toResponses(orders));
+
+    if (hasMore) {
+      Change last = page.get(page.size() - 1);
+      result.setNextCursor(new Cursor(last.updatedAt(), last.id()).encode());
+    } else if (until.isAfter(from.updatedAt())) {
+      // Every row before the settle bound has been returned, so the bound is the next cursor.
+      // An idle store's cursor keeps moving and does not age past the tombstone retention.
+      result.setNextCursor(new Cursor(until, START.id()).encode());
+    }
+    result.setHasMore(hasMore);
+    return result;
+  }
+
+  private LocalDateTime oldestOpenWrite() {
+    Timestamp startedAt = jdbcTemplate.queryForObject(oldestWriteQuery, Timestamp.class);
+    return startedAt == null ? null : startedAt.toLocalDateTime();
+  }
+
+  private static <T> void collect(
+      List<Change> changes,
+      SyncEntityType type,
+      List<T> rows,
+      Function<T, LocalDateTime> updatedAt,
+      Function<T, UUID> id) {
+    for (T row : rows) {
+      changes.add(new Change(type, updatedAt.apply(row), id.apply(row), row));
+    }
+  }
+
+  private static SyncChangesResult emptyResult(String cursor) {
+    return SyncChangesResult.builder()
+        .stocks(new ArrayList<>())
+        .sales(new ArrayList<>())
+        .expenses(new ArrayList<>())
+        .suppliers(new ArrayList<>())
+        .supplierItems(new ArrayList<>())
+        .orders(new ArrayList<>())
+        .deleted(new ArrayList<>())
+        .nextCursor(cursor)
+        .hasMore(false)
+        .fullResyncRequired(false)
+        .build();
+  }
+
+  /** A changed row or tombstone (type null) with its position in the feed. */
+  private record Change(SyncEntityType type, LocalDateTime updatedAt, UUID id, Object row) {}
+
+  /** Opaque to clients: base64url of "updatedAt|id". */
+  private record Cursor(LocalDateTime updatedAt, UUID id) {
+
+    String encode() {
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString((updatedAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String value) {
+      try {
+        String[] parts =
+            new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8).split("\\|");
+        return new Cursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+      } catch (RuntimeException e) {
+        throw new RuntimeException("Invalid sync cursor");
+      }
+    }
+  }
+}
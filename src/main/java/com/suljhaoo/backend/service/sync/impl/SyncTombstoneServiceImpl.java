@@ -0,0 +1,73 @@
+package com.suljhaoo.backend.service.sync.impl;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.sync.SyncEntityType;
+import com.suljhaoo.backend.enity.sync.SyncTombstone;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.order.OrderRepository;
+import com.suljhaoo.backend.repository.stock.SupplierItemRepository;
+import com.suljhaoo.backend.repository.sync.SyncTombstoneRepository;
+import com.suljhaoo.backend.service.sync.SyncTombstoneService;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SyncTombstoneServiceImpl implements SyncTombstoneService {
+
+  private final SyncTombstoneRepository syncTombstoneRepository;
+  private final StoreRepository storeRepository;
+  private final SupplierItemRepository supplierItemRepository;
+  private final OrderRepository orderRepository;
+
+  @Value("${app.sync.tombstone-retention:P90D}")
+  private Duration tombstoneRetention;
+
+  @Override
+  @Transactional
+  public void recordDeletion(SyncEntityType entityType, UUID entityId, String storeId) {
+    syncTombstoneRepository.save(tombstone(entityType, entityId, storeId));
+  }
+
+  @Override
+  @Transactional
+  public void recordSupplierDeletion(UUID supplierId, String storeId) {
+    List<SyncTombstone> tombstones = new ArrayList<>();
+    tombstones.add(tombstone(SyncEntityType.supplier, supplierId, storeId));
+    for (UUID itemId : supplierItemRepository.findIdsBySupplierId(supplierId)) {
+      tombstones.add(tombstone(SyncEntityType.supplierItem, itemId, storeId));
+    }
+    for (UUID orderId : orderRepository.findIdsBySupplierId(supplierId)) {
+      tombstones.add(tombstone(SyncEntityType.order, orderId, storeId));
+    }
+    syncTombstoneRepository.saveAll(tombstones);
+  }
+
+  @Override
+  @Transactional
+  @Scheduled(cron = "${app.sync.tombstone-purge-cron:0 30 3 * * *}")
+  public int purgeExpired() {
+    int purged =
+        syncTombstoneRepository.deleteByDeletedAtBefore(
+            LocalDateTime.now().minus(tombstoneRetention));
+    if (purged > 0) {
+      log.info("Purged {} sync tombstones older than {}", purged, tombstoneRetention);
+    }
+    return purged;
+  }
+
+  private SyncTombstone tombstone(SyncEntityType entityType, UUID entityId, String storeId) {
+    Store store = storeRepository.getReferenceById(storeId);
+    return SyncTombstone.builder().store(store).entityType(entityType).entityId(entityId).build();
+  }
+}
@@ -0,0 +1,59 @@
+package com.suljhaoo.backend.util;
+
+import com.suljhaoo.backend.exception.PreconditionFailedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+public class EtagResponseUtil {
+
+  /**
+   * 200 carrying the ETag as validator. "private, no-cache" lets the mobile client keep the body
+   * but makes it revalidate with If-None-Match on every poll (answered with 304 when unchanged).
+   *
+   * @param etag weak ETag from CollectionVersionService, or null to send a plain 200
+   */
+  public static <T> ResponseEntity<T> ok(String etag, T body) {
+    if (etag == null) {
+      return ResponseEntity.ok(body);
+    }
+    return ResponseEntity.ok()
+        .eTag(etag)
+        .cacheControl(CacheControl.noCache().cachePrivate())
+        .body(body);
+  }
+
+  /** 200 after a write, with the entity's new version as ETag for the client's next If-Match. */
+  public static <T> ResponseEntity<T> okWithVersion(Integer version, T body) {
+    return ResponseEntity.ok().eTag(versionEtag(version)).body(body);
+  }
+
+  /** Strong ETag of a versioned entity (Sale, Stock, Expense, Order): "3". */
+  public static String versionEtag(Integer version) {
+    return "\"" + version + "\"";
+  }
+
+  /**
+   * Version from an If-Match header sent back by the client. Accepts "3", 3 and W/"3"; null or "*"
+   * means no precondition. A list of tags is checked against its first one: a client only ever
+   * holds one version of an entity. A tag that is not a version cannot match and fails with 412.
+   */
+  public static Integer parseIfMatch(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank()) {
+      return null;
+    }
+    String value = ifMatch.split(",")[0].trim();
+    if ("*".equals(value)) {
+      return null;
+    }
+    if (value.startsWith("W/")) {
+      value = value.substring(2);
+    }
+    value = value.replace("\"", "");
+    try {
+      return Integer.valueOf(value);
+    } catch (NumberFormatException e) {
+      throw new PreconditionFailedException(
+          "Invalid If-Match header: expected an entity version ETag");
+    }
+  }
+}
@@ -37,6 +37,7 @@ CREATE TABLE IF NOT EXISTS suljhaoo.expenses (
     -- Audit fields
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version INTEGER NOT NULL DEFAULT 0,
     
     -- Foreign key constraints
     CONSTRAINT fk_expense_user FOREIGN KEY (user_id) 
@@ -67,6 +68,11 @@ CREATE INDEX IF NOT EXISTS idx_expense_user_store_date ON suljhaoo.expenses(user
 -- Store-based queries
 CREATE INDEX IF NOT EXISTS idx_expense_store_id ON suljhaoo.expenses(store_id);
 CREATE INDEX IF NOT EXISTS idx_expense_store_date ON suljhaoo.expenses(store_id, expense_date DESC);
+-- Collection version (COUNT + MAX(updated_at) per store) for conditional GET / ETag,
+-- and delta sync keyset paging: WHERE store_id = ? AND (updated_at, id) > (?, ?) ORDER BY updated_at, id
+CREATE INDEX IF NOT EXISTS idx_expense_store_updated ON suljhaoo.expenses(store_id, updated_at, id);
+-- Optimistic locking (@Version, If-Match on PUT); adds the column to tables created before it
+ALTER TABLE suljhaoo.expenses ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
 
 -- Category filtering
 CREATE INDEX IF NOT EXISTS idx_expense_category ON suljhaoo.expenses(category) WHERE category IS NOT NULL;
@@ -22,6 +22,7 @@ CREATE TABLE IF NOT EXISTS suljhaoo.orders (
     -- Audit fields
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version INTEGER NOT NULL DEFAULT 0,
 
     -- Foreign key constraints
     CONSTRAINT fk_order_user FOREIGN KEY (user_id)
@@ -77,6 +78,11 @@ CREATE INDEX IF NOT EXISTS idx_order_user_date ON suljhaoo.orders(user_id, order
 -- Composite index optimizes both filtering by supplier_id and sorting by order_date DESC
 CREATE INDEX IF NOT EXISTS idx_order_supplier_date ON suljhaoo.orders(supplier_id, order_date DESC);
 
+-- Delta sync keyset paging: WHERE store_id = ? AND (updated_at, id) > (?, ?) ORDER BY updated_at, id
+CREATE INDEX IF NOT EXISTS idx_order_store_updated ON suljhaoo.orders(store_id, updated_at, id);
+-- Optimistic locking (@Version, If-Match on PUT); adds the column to tables created before it
+ALTER TABLE suljhaoo.orders ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
+
 -- Indexes for order_items table
 -- Only index on order_id which is searched in findByOrder_IdOrderByCreatedAtAsc and deleteByOrder_Id
 CREATE INDEX IF NOT EXISTS idx_order_item_order_id ON suljhaoo.order_items(order_id);
@@ -35,6 +35,9 @@ CREATE INDEX IF NOT EXISTS idx_store_id ON suljhaoo.sales(store_id);
 CREATE INDEX IF NOT EXISTS idx_sale_date ON suljhaoo.sales(sale_date);
 CREATE INDEX IF NOT EXISTS idx_user_store_date ON suljhaoo.sales(user_id, store_id, sale_date);
 CREATE INDEX IF NOT EXISTS idx_store_date ON suljhaoo.sales(store_id, sale_date);
+-- Collection version (COUNT + MAX(updated_at) per store) for conditional GET / ETag,
+-- and delta sync keyset paging: WHERE store_id = ? AND (updated_at, id) > (?, ?) ORDER BY updated_at, id
+CREATE INDEX IF NOT EXISTS idx_sale_store_updated ON suljhaoo.sales(store_id, updated_at, id);
 
 COMMIT;
 
@@ -33,6 +33,7 @@ CREATE TABLE IF NOT EXISTS suljhaoo.stocks (
     -- Audit fields
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version INTEGER NOT NULL DEFAULT 0,
     
     -- Foreign key constraints
     CONSTRAINT fk_stock_store FOREIGN KEY (store_id) 
@@ -55,6 +56,11 @@ COMMENT ON COLUMN suljhaoo.stocks.is_dirty IS 'Flag indicating if record needs s
 -- Store-based queries (most common)
 CREATE INDEX IF NOT EXISTS idx_stock_store_id ON suljhaoo.stocks(store_id);
 CREATE INDEX IF NOT EXISTS idx_stock_store_category ON suljhaoo.stocks(store_id, category) WHERE category IS NOT NULL;
+-- Collection version (COUNT + MAX(updated_at) per store) for conditional GET / ETag,
+-- and delta sync keyset paging: WHERE store_id = ? AND (updated_at, id) > (?, ?) ORDER BY updated_at, id
+CREATE INDEX IF NOT EXISTS idx_stock_store_updated ON suljhaoo.stocks(store_id, updated_at, id);
+-- Optimistic locking (@Version, If-Match on PUT); adds the column to tables created before it
+ALTER TABLE suljhaoo.stocks ADD COLUMN IF NOT EXISTS version INTEGER NOT NULL DEFAULT 0;
 
 -- Supplier-based queries
 CREATE INDEX IF NOT EXISTS idx_stock_supplier_id ON suljhaoo.stocks(supplier_id) WHERE supplier_id IS NOT NULL;
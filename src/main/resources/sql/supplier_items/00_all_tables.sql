@@ -51,6 +51,8 @@ CREATE INDEX IF NOT EXISTS idx_supplier_item_store_supplier ON suljhaoo.supplier
 
 -- Store-based queries
 CREATE INDEX IF NOT EXISTS idx_supplier_item_store_id ON suljhaoo.supplier_items(store_id);
+-- Delta sync keyset paging: WHERE store_id = ? AND (updated_at, id) > (?, ?) ORDER BY updated_at, id
+CREATE INDEX IF NOT EXISTS idx_supplier_item_store_updated ON suljhaoo.supplier_items(store_id, updated_at, id);
 
 -- Stock item relationship (for finding supplier items linked to a stock)
 CREATE INDEX IF NOT EXISTS idx_supplier_item_stock_id ON suljhaoo.supplier_items(stock_item_id)
@@ -45,6 +45,9 @@ COMMENT ON COLUMN suljhaoo.suppliers.is_dirty IS 'Flag indicating if record need
 -- Store-based queries (most common)
 CREATE INDEX IF NOT EXISTS idx_supplier_store_id ON suljhaoo.suppliers(store_id);
 CREATE INDEX IF NOT EXISTS idx_supplier_store_name ON suljhaoo.suppliers(store_id, name);
+-- Collection version (COUNT + MAX(updated_at) per store) for conditional GET / ETag,
+-- and delta sync keyset paging: WHERE store_id = ? AND (updated_at, id) > (?, ?) ORDER BY updated_at, id
+CREATE INDEX IF NOT EXISTS idx_supplier_store_updated ON suljhaoo.suppliers(store_id, updated_at, id);
 
 -- Search and filtering
 CREATE INDEX IF NOT EXISTS idx_supplier_name ON suljhaoo.suppliers(name);
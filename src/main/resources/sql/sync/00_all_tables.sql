@@ -0,0 +1,37 @@
+-- Master SQL script to create the delta sync tables
+-- Execute this script to set up the sync module database schema
+-- Run this script in a single transaction for consistency
+--
+-- Prerequisites:
+-- - suljhaoo schema must exist
+-- - stores table must exist (from auth module)
+
+BEGIN;
+
+-- ============================================================================
+-- SYNC_TOMBSTONES TABLE
+-- ============================================================================
+-- One row per hard delete of a store-scoped row (stock, sale, expense, supplier, supplier item,
+-- order), so GET /sync/user/{userId}/{storeId}/changes can report deletions.
+-- Rows older than app.sync.tombstone-retention (default 90 days) are purged nightly.
+CREATE TABLE IF NOT EXISTS suljhaoo.sync_tombstones (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    store_id VARCHAR(26) NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id UUID NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_sync_tombstone_store FOREIGN KEY (store_id)
+        REFERENCES suljhaoo.stores(id)
+        ON DELETE CASCADE
+);
+
+COMMENT ON TABLE suljhaoo.sync_tombstones IS 'Deleted row markers for mobile delta sync';
+COMMENT ON COLUMN suljhaoo.sync_tombstones.entity_type IS 'stock, sale, expense, supplier, supplierItem or order';
+
+-- Delta sync keyset paging: WHERE store_id = ? AND (deleted_at, id) > (?, ?) ORDER BY deleted_at, id
+CREATE INDEX IF NOT EXISTS idx_sync_tombstone_store_deleted ON suljhaoo.sync_tombstones(store_id, deleted_at, id);
+-- Retention purge
+CREATE INDEX IF NOT EXISTS idx_sync_tombstone_deleted_at ON suljhaoo.sync_tombstones(deleted_at);
+
+COMMIT;
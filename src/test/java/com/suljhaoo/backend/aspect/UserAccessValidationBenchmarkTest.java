@@ -0,0 +1,160 @@
+package com.suljhaoo.backend.aspect;
+
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.security.SecurityUser;
+import com.suljhaoo.backend.util.SecurityUtil;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * JMH: cost of one @ValidateUserAccess call on a controller-shaped method. "direct" calls it with
+ * no validation; "reflectiveAspect" goes through the aspect as it was before the index cache
+ * (parameter name discovery and a name scan on every call); "cachedAspect" through
+ * UserAccessValidationAspect; "interceptor" is UserAccessInterceptor.preHandle alone.
+ *
+ * <p>Not part of the normal build: mvn -B test -Dtest=UserAccessValidationBenchmarkTest
+ * -Dbenchmark=true
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserAccessValidationBenchmarkTest {
+
+  public static class Controller {
+    @ValidateUserAccess
+    public String getSales(String userId, String storeId, Integer limit, String cursor) {
+      return storeId;
+    }
+  }
+
+  /** UserAccessValidationAspect before the argument index was cached. */
+  @Aspect
+  static class ReflectiveAspect {
+    private final ParameterNameDiscoverer parameterNameDiscoverer =
+        new DefaultParameterNameDiscoverer();
+
+    @Around("@annotation(validateUserAccess)")
+    public Object validateUserAccess(
+        ProceedingJoinPoint joinPoint, ValidateUserAccess validateUserAccess) throws Throwable {
+      Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+      String[] parameterNames = parameterNameDiscoverer.getParameterNames(method);
+      Object[] args = joinPoint.getArgs();
+      String userIdFromParam = null;
+      for (int i = 0; i < parameterNames.length; i++) {
+        if (parameterNames[i].equals(validateUserAccess.value())) {
+          userIdFromParam = args[i] == null ? null : args[i].toString();
+          break;
+        }
+      }
+      String currentUserId = SecurityUtil.getCurrentUserId();
+      if (currentUserId == null || !currentUserId.equals(userIdFromParam)) {
+        throw new RuntimeException("Unauthorized access");
+      }
+      return joinPoint.proceed();
+    }
+  }
+
+  private Controller direct;
+  private Controller reflective;
+  private Controller cached;
+  private UserAccessInterceptor interceptor;
+  private HandlerMethod handlerMethod;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @Setup
+  public void setUp() throws Exception {
+    User user =
+        User.builder().name("Bench").phoneNumber("9000000999").role(UserRole.shopowner).build();
+    user.setId("01JBENCHUSER000000000000000");
+    SecurityUser principal = new SecurityUser(user);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(
+                principal, null, principal.getAuthorities()));
+
+    direct = new Controller();
+    reflective = proxy(new ReflectiveAspect());
+    cached = proxy(new UserAccessValidationAspect());
+
+    interceptor = new UserAccessInterceptor();
+    handlerMethod =
+        new HandlerMethod(
+            direct,
+            Controller.class.getMethod(
+                "getSales", String.class, String.class, Integer.class, String.class));
+    request = new MockHttpServletRequest();
+    request.setAttribute(
+        HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+        Map.of("userId", user.getId(), "storeId", "store-1"));
+    response = new MockHttpServletResponse();
+  }
+
+  private Controller proxy(Object aspect) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(new Controller());
+    factory.addAspect(aspect);
+    return factory.getProxy();
+  }
+
+  @Benchmark
+  public String direct() {
+    return direct.getSales("01JBENCHUSER000000000000000", "store-1", 50, null);
+  }
+
+  @Benchmark
+  public String reflectiveAspect() {
+    return reflective.getSales("01JBENCHUSER000000000000000", "store-1", 50, null);
+  }
+
+  @Benchmark
+  public String cachedAspect() {
+    return cached.getSales("01JBENCHUSER000000000000000", "store-1", 50, null);
+  }
+
+  @Benchmark
+  public boolean interceptor() {
+    return interceptor.preHandle(request, response, handlerMethod);
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+  void run() throws Exception {
+    new Runner(
+            new OptionsBuilder()
+                .include(UserAccessValidationBenchmarkTest.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,102 @@
+package com.suljhaoo.backend.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.security.SecurityUser;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * @ValidateUserAccess through the aspect (cached argument index) and the interceptor (path
+ * variables): the caller's own id passes, another id is refused, and a method whose userId cannot
+ * be found is let through as before.
+ */
+class UserAccessValidationTest {
+
+  static class Handler {
+    @ValidateUserAccess
+    public String ownData(String storeId, String userId) {
+      return storeId;
+    }
+
+    @ValidateUserAccess("ownerId")
+    public String misnamed(String userId) {
+      return userId;
+    }
+  }
+
+  private Handler proxy;
+
+  @BeforeEach
+  void setUp() {
+    User user =
+        User.builder()
+            .name("Access Test")
+            .phoneNumber("9000000901")
+            .role(UserRole.shopowner)
+            .build();
+    user.setId("user-1");
+    SecurityUser principal = new SecurityUser(user);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(
+                principal, null, principal.getAuthorities()));
+    AspectJProxyFactory factory = new AspectJProxyFactory(new Handler());
+    factory.addAspect(new UserAccessValidationAspect());
+    proxy = factory.getProxy();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void aspectComparesTheCachedArgument() {
+    assertThat(proxy.ownData("store-1", "user-1")).isEqualTo("store-1");
+    assertThat(proxy.ownData("store-2", "user-1")).isEqualTo("store-2");
+    assertThatThrownBy(() -> proxy.ownData("store-1", "user-2")).hasMessage("Unauthorized access");
+    assertThat(proxy.misnamed("user-2")).isEqualTo("user-2");
+  }
+
+  @Test
+  void interceptorComparesThePathVariable() throws Exception {
+    UserAccessInterceptor interceptor = new UserAccessInterceptor();
+    HandlerMethod ownData =
+        new HandlerMethod(
+            new Handler(), Handler.class.getMethod("ownData", String.class, String.class));
+
+    assertThat(interceptor.preHandle(request(Map.of("userId", "user-1")), response(), ownData))
+        .isTrue();
+    assertThatThrownBy(
+            () -> interceptor.preHandle(request(Map.of("userId", "user-2")), response(), ownData))
+        .hasMessage("Unauthorized access");
+
+    HandlerMethod misnamed =
+        new HandlerMethod(new Handler(), Handler.class.getMethod("misnamed", String.class));
+    assertThat(interceptor.preHandle(request(Map.of("userId", "user-2")), response(), misnamed))
+        .isTrue();
+  }
+
+  private static MockHttpServletRequest request(Map<String, String> uriVariables) {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, uriVariables);
+    return request;
+  }
+
+  private static MockHttpServletResponse response() {
+    return new MockHttpServletResponse();
+  }
+}
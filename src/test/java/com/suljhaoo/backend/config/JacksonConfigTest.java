@@ -0,0 +1,104 @@
+package com.suljhaoo.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.suljhaoo.backend.model.response.HealthResponse;
+import com.suljhaoo.backend.model.response.sales.SaleResponse;
+import com.suljhaoo.backend.model.response.sales.SalesListResponse;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The application ObjectMapper uses the fast path (ISO LocalDateTime writer and Blackbird) and
+ * writes exactly what Spring Boot's default mapper did, @JsonFormat included.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class JacksonConfigTest {
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Test
+  void fastPathLeavesTheJsonUnchanged() throws Exception {
+    assertThat(objectMapper.getRegisteredModuleIds())
+        .contains(new BlackbirdModule().getTypeId(), "iso-date-time");
+
+    ObjectMapper reflective = bootDefaults().build();
+    SalesListResponse response = cashSales(50);
+    assertThat(objectMapper.writeValueAsString(response))
+        .isEqualTo(reflective.writeValueAsString(response))
+        .contains(
+            "\"amount\":1234.50",
+            "\"saleDate\":\"2026-03-01T10:15:30\"",
+            "\"createdAt\":\"2026-03-01T10:16:30.12\"",
+            "\"createdAt\":\"2026-03-01T10:17:30.000000001\"",
+            "\"note\":null");
+
+    HealthResponse health =
+        HealthResponse.builder().timeStamp(LocalDateTime.of(2026, 3, 1, 14, 5, 9)).build();
+    assertThat(objectMapper.writeValueAsString(health))
+        .isEqualTo(reflective.writeValueAsString(health))
+        .contains("\"time_stamp\":\"2026-03-01 02:05:09\"");
+    for (LocalDateTime edge :
+        List.of(
+            LocalDateTime.of(10000, 1, 1, 0, 0),
+            LocalDateTime.of(-1, 12, 31, 23, 59, 59, 999_999_999),
+            LocalDateTime.of(1, 1, 1, 0, 0, 0, 100_000_000))) {
+      assertThat(objectMapper.writeValueAsString(edge))
+          .isEqualTo(reflective.writeValueAsString(edge));
+    }
+  }
+
+  /** Spring Boot's ObjectMapper settings without Blackbird: ISO date strings, not arrays. */
+  static Jackson2ObjectMapperBuilder bootDefaults() {
+    return Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  }
+
+  /** Postgres timestamps carry microseconds; the writer has to trim like DateTimeFormatter. */
+  private static final int[] NANOS = {0, 120_000_000, 1, 123_456_000};
+
+  /** A cash-sales page as SaleController returns it; also used by ListPayloadBenchmarkTest. */
+  static SalesListResponse cashSales(int rows) {
+    List<SaleResponse> sales = new ArrayList<>(rows);
+    LocalDateTime base = LocalDateTime.of(2026, 3, 1, 10, 15, 30);
+    for (int i = 0; i < rows; i++) {
+      sales.add(
+          SaleResponse.builder()
+              .id(String.format("01JSALE%019d", i))
+              .userId("01JUSER0000000000000000001")
+              .storeId("01JSTORE000000000000000001")
+              .amount(new BigDecimal("1234.50").add(BigDecimal.valueOf(i % 97)))
+              .paymentMethod("cash")
+              .customerName(i % 3 == 0 ? null : "Customer " + i)
+              .note(i % 5 == 0 ? "Paid in full" : null)
+              .saleDate(base.plusMinutes(i))
+              .createdAt(base.plusMinutes(i).withNano(NANOS[i % NANOS.length]))
+              .updatedAt(base.plusMinutes(i))
+              .version(0)
+              .updatedBy("01JUSER0000000000000000001")
+              .build());
+    }
+    return SalesListResponse.builder()
+        .status("success")
+        .message("Cash sales retrieved successfully")
+        .data(
+            SalesListResponse.SalesListData.builder()
+                .sales(sales)
+                .total((long) rows)
+                .limit(rows)
+                .skip(0)
+                .build())
+        .build();
+  }
+}
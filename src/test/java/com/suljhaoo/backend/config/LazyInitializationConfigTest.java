@@ -0,0 +1,37 @@
+package com.suljhaoo.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The "lazy" profile: hot-path beans (JPA, repositories, authorization) and beans with @Scheduled
+ * methods are created at startup, everything else on first use.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "lazy"})
+class LazyInitializationConfigTest {
+
+  @Autowired private ConfigurableListableBeanFactory beanFactory;
+
+  @Test
+  void createsHotPathAndScheduledBeansAtStartup() {
+    assertThat(beanFactory.containsSingleton("entityManagerFactory")).isTrue();
+    assertThat(beanFactory.containsSingleton("userRepository")).isTrue();
+    assertThat(beanFactory.containsSingleton("compiledAuthorizationManager")).isTrue();
+    assertThat(beanFactory.containsSingleton("syncTombstoneServiceImpl")).isTrue();
+  }
+
+  @Test
+  void defersOtherBeansUntilFirstUse() {
+    assertThat(beanFactory.containsSingleton("expenseServiceImpl")).isFalse();
+
+    beanFactory.getBean("expenseServiceImpl");
+
+    assertThat(beanFactory.containsSingleton("expenseServiceImpl")).isTrue();
+  }
+}
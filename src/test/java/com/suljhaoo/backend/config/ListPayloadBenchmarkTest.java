@@ -0,0 +1,98 @@
+package com.suljhaoo.backend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.suljhaoo.backend.model.response.sales.SalesListResponse;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH: serializing a 1000-row cash-sales page with Spring Boot's default ObjectMapper, with
+ * Blackbird alone, and with the whole JacksonConfig fast path (Blackbird plus the ISO LocalDateTime
+ * writer); and the cost of gzipping the result, which is what Tomcat does with
+ * server.compression.enabled. run() first prints the body size with and without gzip.
+ *
+ * <p>Not part of the normal build: mvn -B test -Dtest=ListPayloadBenchmarkTest -Dbenchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListPayloadBenchmarkTest {
+
+  private static final int ROWS = 1000;
+
+  private SalesListResponse page;
+  private ObjectMapper reflective;
+  private ObjectMapper blackbird;
+  private ObjectMapper fastPath;
+  private byte[] json;
+
+  @Setup
+  public void setUp() throws Exception {
+    page = JacksonConfigTest.cashSales(ROWS);
+    reflective = JacksonConfigTest.bootDefaults().build();
+    blackbird = JacksonConfigTest.bootDefaults().modulesToInstall(new BlackbirdModule()).build();
+    JacksonConfig config = new JacksonConfig();
+    fastPath =
+        JacksonConfigTest.bootDefaults()
+            .modulesToInstall(config.blackbirdModule(), config.isoDateTimeModule())
+            .build();
+    json = reflective.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public byte[] reflective() throws Exception {
+    return reflective.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public byte[] blackbird() throws Exception {
+    return blackbird.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public byte[] fastPath() throws Exception {
+    return fastPath.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public byte[] gzip() throws Exception {
+    return gzip(json);
+  }
+
+  private static byte[] gzip(byte[] body) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(body);
+    }
+    return out.toByteArray();
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+  void run() throws Exception {
+    setUp();
+    System.out.printf(
+        "%d rows: %d bytes of JSON, %d bytes gzipped%n", ROWS, json.length, gzip(json).length);
+    new Runner(new OptionsBuilder().include(ListPayloadBenchmarkTest.class.getSimpleName()).build())
+        .run();
+  }
+}
@@ -0,0 +1,206 @@
+package com.suljhaoo.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+/**
+ * Parameter Store bootstrap against a local SSM stub: the first boot loads from SSM and writes an
+ * encrypted snapshot, later boots start from the snapshot without waiting for SSM, and the
+ * background refresh applies changed values or keeps the snapshot when SSM is slow.
+ */
+class ParameterStoreConfigTest {
+
+  private static final String PARAMETER = "/config/suljhaoo-backend-service/dev/application.json";
+
+  @TempDir Path snapshotDir;
+
+  private HttpServer ssm;
+  private final AtomicReference<String> parameterValue = new AtomicReference<>();
+  private final AtomicLong responseDelayMillis = new AtomicLong();
+  private final String key = Base64.getEncoder().encodeToString(new byte[32]);
+
+  @BeforeEach
+  void startSsmStub() throws IOException {
+    System.setProperty("aws.accessKeyId", "test");
+    System.setProperty("aws.secretAccessKey", "test");
+    ssm = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    ssm.createContext(
+        "/",
+        exchange -> {
+          try {
+            Thread.sleep(responseDelayMillis.get());
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          byte[] body =
+              new ObjectMapper()
+                  .writeValueAsBytes(
+                      Map.of(
+                          "Parameter",
+                          Map.of(
+                              "Name",
+                              PARAMETER,
+                              "Type",
+                              "SecureString",
+                              "Value",
+                              parameterValue.get(),
+                              "Version",
+                              1)));
+          exchange.getResponseHeaders().add("Content-Type", "application/x-amz-json-1.1");
+          exchange.sendResponseHeaders(200, body.length);
+          exchange.getResponseBody().write(body);
+          exchange.close();
+        });
+    ssm.start();
+  }
+
+  @AfterEach
+  void stopSsmStub() {
+    ssm.stop(0);
+    System.clearProperty("aws.accessKeyId");
+    System.clearProperty("aws.secretAccessKey");
+  }
+
+  @Test
+  void firstBootLoadsFromSsmAndWritesAnEncryptedSnapshot() throws IOException {
+    parameterValue.set("{\"app\":{\"feature\":\"one\"}}");
+
+    Boot boot = boot();
+
+    assertThat(boot.environment.getProperty("app.feature")).isEqualTo("one");
+    assertThat(boot.initializers).isEmpty();
+    Path snapshot = snapshotDir.resolve("dev.snapshot");
+    assertThat(new String(Files.readAllBytes(snapshot), StandardCharsets.ISO_8859_1))
+        .doesNotContain("feature");
+    assertThat(new ParameterStoreSnapshot(snapshot, key).read())
+        .contains("{\"app\":{\"feature\":\"one\"}}");
+  }
+
+  @Test
+  void bootsFromTheSnapshotAndAppliesChangedValuesInTheBackground() throws Exception {
+    parameterValue.set("{\"app\":{\"feature\":\"one\",\"limit\":5}}");
+    boot();
+    parameterValue.set("{\"app\":{\"feature\":\"two\",\"limit\":5}}");
+
+    Boot boot = boot();
+    assertThat(boot.environment.getProperty("app.feature")).isEqualTo("one");
+
+    BlockingQueue<ParameterStoreRefreshedEvent> events = boot.ready();
+    ParameterStoreRefreshedEvent event = events.poll(5, TimeUnit.SECONDS);
+
+    assertThat(event).isNotNull();
+    assertThat(event.getChangedKeys()).isEqualTo(Set.of("app.feature"));
+    assertThat(boot.environment.getProperty("app.feature")).isEqualTo("two");
+    assertThat(new ParameterStoreSnapshot(snapshotDir.resolve("dev.snapshot"), key).read())
+        .contains("{\"app\":{\"feature\":\"two\",\"limit\":5}}");
+  }
+
+  @Test
+  void doesNotWaitForASlowSsmAndKeepsTheSnapshotValues() throws Exception {
+    parameterValue.set("{\"app\":{\"feature\":\"one\"}}");
+    boot();
+    parameterValue.set("{\"app\":{\"feature\":\"two\"}}");
+    responseDelayMillis.set(3000);
+
+    long start = System.nanoTime();
+    Boot boot = boot();
+    assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    assertThat(boot.environment.getProperty("app.feature")).isEqualTo("one");
+
+    BlockingQueue<ParameterStoreRefreshedEvent> events = boot.ready();
+    assertThat(events.poll(2, TimeUnit.SECONDS)).isNull();
+    assertThat(boot.environment.getProperty("app.feature")).isEqualTo("one");
+  }
+
+  private Boot boot() {
+    StandardEnvironment environment = new StandardEnvironment();
+    environment
+        .getPropertySources()
+        .addFirst(
+            new MapPropertySource(
+                "test",
+                Map.of(
+                    "aws.parameterstore.endpoint",
+                    "http://127.0.0.1:" + ssm.getAddress().getPort(),
+                    "aws.parameterstore.timeout",
+                    "1s",
+                    "aws.parameterstore.snapshot.key",
+                    key,
+                    "aws.parameterstore.snapshot.path",
+                    snapshotDir.resolve("{env}.snapshot").toString())));
+    SpringApplication application = mock(SpringApplication.class);
+    List<ApplicationContextInitializer<?>> initializers = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              for (Object initializer : invocation.getArguments()) {
+                initializers.add((ApplicationContextInitializer<?>) initializer);
+              }
+              return null;
+            })
+        .when(application)
+        .addInitializers(any());
+
+    new ParameterStoreConfig().postProcessEnvironment(environment, application);
+    return new Boot(environment, application, initializers);
+  }
+
+  private record Boot(
+      StandardEnvironment environment,
+      SpringApplication application,
+      List<ApplicationContextInitializer<?>> initializers) {
+
+    /** Refreshes a context with the boot's initializers and publishes ApplicationReadyEvent. */
+    @SuppressWarnings("unchecked")
+    BlockingQueue<ParameterStoreRefreshedEvent> ready() {
+      GenericApplicationContext context = new GenericApplicationContext();
+      context.setEnvironment(environment);
+      BlockingQueue<ParameterStoreRefreshedEvent> events = new LinkedBlockingQueue<>();
+      context.addApplicationListener(
+          event -> {
+            if (event instanceof ParameterStoreRefreshedEvent refreshed) {
+              events.add(refreshed);
+            }
+          });
+      for (ApplicationContextInitializer<?> initializer : initializers) {
+        ((ApplicationContextInitializer<ConfigurableApplicationContext>) initializer)
+            .initialize(context);
+      }
+      context.refresh();
+      context.publishEvent(
+          new ApplicationReadyEvent(application, new String[0], context, Duration.ZERO));
+      return events;
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package com.suljhaoo.backend.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+/**
+ * Load test for the adaptive controller: 16 workers each hold a connection for ~10 ms against a
+ * pool that starts at 2. The controller must grow the pool until waiting stops dominating, hold
+ * that size under steady load, and shrink back to the minimum once the load is gone.
+ */
+class AdaptivePoolSizeControllerLoadTest {
+
+  private static final int WORKERS = 16;
+  private static final long HOLD_MILLIS = 10;
+  private static final Duration TICK = Duration.ofMillis(250);
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final LongAdder waits = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+  private HikariDataSource pool;
+  private AdaptivePoolSizeController controller;
+  private ExecutorService workers;
+
+  @BeforeEach
+  void setUp() {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("meterRegistry", meterRegistry);
+    PoolMetricsTrackerFactory trackerFactory =
+        new PoolMetricsTrackerFactory(
+            beanFactory.getBeanProvider(MeterRegistry.class), Duration.ofMillis(100));
+
+    pool = new HikariDataSource();
+    pool.setJdbcUrl("jdbc:h2:mem:adaptive_pool_load");
+    pool.setUsername("sa");
+    pool.setPoolName("load");
+    pool.setMaximumPoolSize(2);
+    pool.setMetricsTrackerFactory(trackerFactory);
+
+    controller =
+        new AdaptivePoolSizeController(List.of(pool), trackerFactory, 2, 16, 2, 0.5, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (workers != null) {
+      workers.shutdownNow();
+    }
+    pool.close();
+  }
+
+  @Test
+  void growsUnderLoadConvergesAndShrinksWhenIdle() throws Exception {
+    AtomicBoolean running = new AtomicBoolean(true);
+    workers = Executors.newFixedThreadPool(WORKERS);
+    for (int i = 0; i < WORKERS; i++) {
+      workers.submit(
+          () -> {
+            while (running.get()) {
+              long start = System.nanoTime();
+              try (Connection connection = pool.getConnection();
+                  Statement statement = connection.createStatement()) {
+                waitNanos.add(System.nanoTime() - start);
+                waits.increment();
+                statement.execute("SELECT 1");
+                Thread.sleep(HOLD_MILLIS);
+              }
+            }
+            return null;
+          });
+    }
+
+    List<Integer> sizes = new ArrayList<>();
+    List<Double> meanWaits = new ArrayList<>();
+    int unchangedTicks = 0;
+    for (int tick = 0; tick < 40 && unchangedTicks < 4; tick++) {
+      Thread.sleep(TICK.toMillis());
+      meanWaits.add(drainMeanWaitMillis());
+      int before = pool.getMaximumPoolSize();
+      controller.adjust();
+      sizes.add(pool.getMaximumPoolSize());
+      unchangedTicks = pool.getMaximumPoolSize() == before ? unchangedTicks + 1 : 0;
+    }
+    running.set(false);
+    workers.shutdown();
+    assertThat(workers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+    System.out.printf("pool size per tick: %s%nmean wait per tick (ms): %s%n", sizes, meanWaits);
+    int converged = pool.getMaximumPoolSize();
+    assertThat(unchangedTicks).as("size stable under steady load").isGreaterThanOrEqualTo(4);
+    assertThat(converged).isBetween(10, 16);
+    assertThat(meanWaits.get(meanWaits.size() - 1)).isLessThan(Collections.max(meanWaits) / 10);
+    assertThat(
+            meterRegistry.counter("db.pool.resizes", "pool", "load", "direction", "grow").count())
+        .isPositive();
+
+    for (int tick = 0; tick < 20; tick++) {
+      controller.adjust();
+    }
+    assertThat(pool.getMaximumPoolSize()).isEqualTo(2);
+  }
+
+  private double drainMeanWaitMillis() {
+    long count = waits.sumThenReset();
+    long nanos = waitNanos.sumThenReset();
+    return count == 0 ? 0 : nanos / 1_000_000.0 / count;
+  }
+}
@@ -0,0 +1,176 @@
+package com.suljhaoo.backend.config.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.suljhaoo.backend.controller.stock.StockController;
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.model.request.stock.CreateStockRequest;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.repository.stock.StockRepository;
+import com.suljhaoo.backend.security.SecurityUser;
+import com.suljhaoo.backend.service.stock.StockService;
+import com.suljhaoo.backend.service.sync.SyncService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Routing decisions with the replica enabled. The "replica" pool points at the same in-memory H2
+ * database as the primary, so reads work either way; the routing counters show which pool served
+ * each connection.
+ */
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:replica_routing",
+      "app.datasource.replica.enabled=true",
+      "app.datasource.replica.hikari.jdbc-url=jdbc:h2:mem:replica_routing",
+      "app.datasource.replica.hikari.username=sa",
+      "app.datasource.replica.lag-query=SELECT 0",
+      "app.datasource.replica.lag-check-interval=PT1H",
+      "app.sync.settle-window=PT2H"
+    })
+@ActiveProfiles("test")
+class ReplicaRoutingDataSourceTest {
+
+  private static final AtomicInteger PHONE_SEQUENCE = new AtomicInteger(800);
+
+  @Autowired private StockController stockController;
+  @Autowired private StockService stockService;
+  @Autowired private SyncService syncService;
+  @Autowired private StockRepository stockRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+  @Autowired private ReplicaLagMonitor replicaLagMonitor;
+  @Autowired private MeterRegistry meterRegistry;
+
+  private User writer;
+  private Store writerStore;
+  private User reader;
+  private Store readerStore;
+
+  @BeforeEach
+  void setUp() {
+    writer = user();
+    writerStore = storeRepository.save(Store.builder().user(writer).storeName("W").build());
+    reader = user();
+    readerStore = storeRepository.save(Store.builder().user(reader).storeName("R").build());
+    replicaLagMonitor.check();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+    replicaLagMonitor.recordLag(0);
+  }
+
+  @Test
+  void readOnlyServiceReadsGoToReplicaUnlessPinnedOrLagging() {
+    actAs(reader);
+    assertRoutedTo(
+        "replica",
+        "read_only",
+        () -> stockService.getAllStocks(reader.getId(), readerStore.getId(), 20, 0));
+
+    actAs(writer);
+    stockService.createStock(
+        writer.getId(),
+        writerStore.getId(),
+        CreateStockRequest.builder()
+            .name("Rice")
+            .quantity(BigDecimal.TEN)
+            .minLevel(BigDecimal.ONE)
+            .build());
+    assertRoutedTo(
+        "primary",
+        "read_your_writes",
+        () -> stockService.getAllStocks(writer.getId(), writerStore.getId(), 20, 0));
+
+    assertRoutedTo("primary", "implicit_read", () -> stockRepository.count());
+
+    actAs(reader);
+    replicaLagMonitor.recordLag(30);
+    assertRoutedTo(
+        "primary",
+        "replica_lagging",
+        () -> stockService.getAllStocks(reader.getId(), readerStore.getId(), 20, 0));
+  }
+
+  @Test
+  void etagStampAndBodyShareOneReplicaTransaction() {
+    actAs(reader);
+    double implicitReads = routed("primary", "implicit_read");
+    assertRoutedTo(
+        "replica",
+        "read_only",
+        () ->
+            stockController.getAllStocks(
+                reader.getId(),
+                readerStore.getId(),
+                20,
+                0,
+                new ServletWebRequest(new MockHttpServletRequest())));
+    assertThat(routed("primary", "implicit_read")).isEqualTo(implicitReads);
+  }
+
+  @Test
+  void deltaSyncReadsThePrimary() {
+    actAs(reader);
+    assertRoutedTo(
+        "primary",
+        "primary_only",
+        () -> syncService.getChanges(reader.getId(), readerStore.getId(), null, null));
+  }
+
+  @Test
+  void eachPoolPublishesItsOwnHikariMetrics() {
+    assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge())
+        .isNotNull();
+    assertThat(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge())
+        .isNotNull();
+  }
+
+  private void assertRoutedTo(String target, String reason, Runnable read) {
+    double before = routed(target, reason);
+    read.run();
+    assertThat(routed(target, reason)).isEqualTo(before + 1);
+  }
+
+  private double routed(String target, String reason) {
+    return meterRegistry
+        .get("db.routing.connections")
+        .tag("target", target)
+        .tag("reason", reason)
+        .counter()
+        .count();
+  }
+
+  private User user() {
+    return userRepository.save(
+        User.builder()
+            .name("Routing Test")
+            .phoneNumber("9000000" + PHONE_SEQUENCE.incrementAndGet())
+            .password("x")
+            .role(UserRole.shopowner)
+            .build());
+  }
+
+  private static void actAs(User user) {
+    SecurityUser principal = new SecurityUser(user);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+  }
+}
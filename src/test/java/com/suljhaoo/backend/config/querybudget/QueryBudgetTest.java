@@ -0,0 +1,166 @@
+package com.suljhaoo.backend.config.querybudget;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.exception.QueryBudgetExceededException;
+import com.suljhaoo.backend.model.request.sales.CreateSaleRequest;
+import com.suljhaoo.backend.model.response.sales.SaleResponse;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.security.SecurityUser;
+import com.suljhaoo.backend.service.sales.SaleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Query budgets: a list request over its row limit fails in fail mode, a write over its statement
+ * limit only counts in log mode, batch replays get the bulk budget, and budgeted transactions put
+ * the category's timeout on queries.
+ */
+@SpringBootTest(
+    properties = {
+      "app.query-budget.list.max-rows=2",
+      "app.query-budget.list.on-exceeded=fail",
+      "app.query-budget.list.statement-timeout=PT2S",
+      "app.query-budget.write.max-statements=1",
+      "app.query-budget.write.on-exceeded=log"
+    })
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetTest {
+
+  private static final AtomicInteger PHONE_SEQUENCE = new AtomicInteger(900);
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+  @Autowired private SaleService saleService;
+  @Autowired private QueryBudgetTracker queryBudgetTracker;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private EntityManager entityManager;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private User owner;
+  private Store store;
+
+  @BeforeEach
+  void setUp() {
+    owner =
+        userRepository.save(
+            User.builder()
+                .name("Budget Test")
+                .phoneNumber("9000000" + PHONE_SEQUENCE.incrementAndGet())
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    store = storeRepository.save(Store.builder().user(owner).storeName("Budget Store").build());
+  }
+
+  @Test
+  void listRequestOverRowBudgetFails() {
+    for (int i = 0; i < 3; i++) {
+      sale("cash");
+    }
+    double before = breaches("list", "rows");
+    String url = "/sales/user/" + owner.getId() + "/" + store.getId() + "/cash-sales";
+
+    assertThatThrownBy(() -> mockMvc.perform(get(url).with(user(new SecurityUser(owner)))))
+        .hasRootCauseInstanceOf(QueryBudgetExceededException.class);
+    assertThat(breaches("list", "rows")).isEqualTo(before + 1);
+  }
+
+  @Test
+  void writeRequestOverStatementBudgetIsOnlyCounted() throws Exception {
+    SaleResponse sale = sale("upi");
+    double before = breaches("write", "statements");
+
+    mockMvc
+        .perform(
+            put("/sales/user/" + owner.getId() + "/" + store.getId() + "/" + sale.getId())
+                .with(user(new SecurityUser(owner)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"note\":\"over budget\"}"))
+        .andExpect(status().isOk());
+    assertThat(breaches("write", "statements")).isEqualTo(before + 1);
+  }
+
+  @Test
+  void batchReplayRunsUnderTheBulkBudget() throws Exception {
+    double before = requests("bulk");
+
+    mockMvc
+        .perform(
+            post("/sync/user/" + owner.getId() + "/" + store.getId() + "/batch")
+                .with(user(new SecurityUser(owner)))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"operations\":[{\"entity\":\"expense\",\"action\":\"create\","
+                        + "\"payload\":{\"category\":\"Rent\",\"amount\":500}}]}"))
+        .andExpect(status().isOk());
+    assertThat(requests("bulk")).isEqualTo(before + 1);
+  }
+
+  @Test
+  void budgetedTransactionsCarryTheStatementTimeout() {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+    Object unbudgeted = transaction.execute(status -> queryTimeoutHint());
+    assertThat(unbudgeted).isNull();
+
+    queryBudgetTracker.begin(QueryBudgetCategory.LIST, "/test", "GET");
+    try {
+      Object timeout = transaction.execute(status -> queryTimeoutHint());
+      assertThat(((Number) timeout).intValue()).isBetween(1, 2000);
+    } finally {
+      queryBudgetTracker.end();
+    }
+  }
+
+  private Object queryTimeoutHint() {
+    return entityManager
+        .createQuery("select count(s) from Sale s")
+        .getHints()
+        .get("jakarta.persistence.query.timeout");
+  }
+
+  private SaleResponse sale(String paymentMethod) {
+    return saleService.createSale(
+        owner.getId(),
+        store.getId(),
+        CreateSaleRequest.builder()
+            .amount(new BigDecimal("10.00"))
+            .paymentMethod(paymentMethod)
+            .build());
+  }
+
+  private double breaches(String category, String kind) {
+    return meterRegistry
+        .counter("db.query.budget.breaches", "category", category, "kind", kind)
+        .count();
+  }
+
+  private double requests(String category) {
+    return meterRegistry.summary("db.query.budget.statements", "category", category).count();
+  }
+}
@@ -0,0 +1,151 @@
+package com.suljhaoo.backend.controller.sales;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.model.request.sales.CreateSaleRequest;
+import com.suljhaoo.backend.model.response.sales.SaleResponse;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.repository.sales.SaleRepository;
+import com.suljhaoo.backend.security.SecurityUser;
+import com.suljhaoo.backend.service.sales.SaleService;
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * If-Match on PUT and DELETE: matching version succeeds, a stale one gets 409 and a tag that is not
+ * a version gets 412.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SaleControllerVersionTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+  @Autowired private SaleRepository saleRepository;
+  @Autowired private SaleService saleService;
+
+  @Test
+  void staleIfMatchIsRejectedWithCurrentState() throws Exception {
+    User owner =
+        userRepository.save(
+            User.builder()
+                .name("Version Test")
+                .phoneNumber("9000000600")
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store store =
+        storeRepository.save(Store.builder().user(owner).storeName("Version Store").build());
+    SaleResponse sale =
+        saleService.createSale(
+            owner.getId(),
+            store.getId(),
+            CreateSaleRequest.builder()
+                .amount(new BigDecimal("50.00"))
+                .paymentMethod("upi")
+                .build());
+    String url = "/sales/user/" + owner.getId() + "/" + store.getId() + "/" + sale.getId();
+    SecurityUser principal = new SecurityUser(owner);
+
+    mockMvc
+        .perform(get(url).with(user(principal)))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+    mockMvc
+        .perform(
+            put(url)
+                .with(user(principal))
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"note\":\"first\"}"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+        .andExpect(jsonPath("$.data.sale.version").value(2));
+
+    // A second client still holding version 1
+    mockMvc
+        .perform(
+            put(url)
+                .with(user(principal))
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"note\":\"second\"}"))
+        .andExpect(status().isConflict())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+        .andExpect(jsonPath("$.data.currentVersion").value(2))
+        .andExpect(jsonPath("$.data.current.note").value("first"));
+
+    // Without If-Match the update is unconditional, as before
+    mockMvc
+        .perform(
+            put(url)
+                .with(user(principal))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"note\":\"second\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.sale.version").value(3));
+  }
+
+  @Test
+  void deleteHonoursIfMatch() throws Exception {
+    User owner =
+        userRepository.save(
+            User.builder()
+                .name("Version Delete Test")
+                .phoneNumber("9000000602")
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store store =
+        storeRepository.save(Store.builder().user(owner).storeName("Version Store").build());
+    SaleResponse sale =
+        saleService.createSale(
+            owner.getId(),
+            store.getId(),
+            CreateSaleRequest.builder()
+                .amount(new BigDecimal("75.00"))
+                .paymentMethod("cash")
+                .build());
+    String url = "/sales/user/" + owner.getId() + "/" + store.getId() + "/" + sale.getId();
+    SecurityUser principal = new SecurityUser(owner);
+
+    mockMvc
+        .perform(delete(url).with(user(principal)).header(HttpHeaders.IF_MATCH, "\"7\""))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.data.currentVersion").value(1));
+
+    mockMvc
+        .perform(
+            delete(url).with(user(principal)).header(HttpHeaders.IF_MATCH, "W/\"2-1700000000\""))
+        .andExpect(status().isPreconditionFailed());
+
+    // Only the first tag of a list is compared
+    mockMvc
+        .perform(delete(url).with(user(principal)).header(HttpHeaders.IF_MATCH, "\"1\", \"7\""))
+        .andExpect(status().isOk());
+
+    assertThat(saleRepository.findById(UUID.fromString(sale.getId()))).isEmpty();
+  }
+}
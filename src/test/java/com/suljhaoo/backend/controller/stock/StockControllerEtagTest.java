@@ -0,0 +1,105 @@
+package com.suljhaoo.backend.controller.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.enity.stock.Stock;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.repository.stock.StockRepository;
+import com.suljhaoo.backend.security.SecurityUser;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/** Conditional GET on the stock list: 304 without loading stocks, new ETag after any change. */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StockControllerEtagTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+  @Autowired private StockRepository stockRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void unchangedStockListIsAnsweredWithNotModified() throws Exception {
+    User owner =
+        userRepository.save(
+            User.builder()
+                .name("Etag Test")
+                .phoneNumber("9000000300")
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store store = storeRepository.save(Store.builder().user(owner).storeName("Etag Store").build());
+    Stock rice = stockRepository.save(stock(store, "Rice"));
+    Stock dal = stockRepository.save(stock(store, "Dal"));
+    String url = "/stock/user/" + owner.getId() + "/" + store.getId();
+    SecurityUser principal = new SecurityUser(owner);
+
+    String etag =
+        mockMvc
+            .perform(get(url).with(user(principal)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    assertThat(etag).startsWith("W/\"stocks-2-");
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    mockMvc
+        .perform(get(url).with(user(principal)).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+    // Only the COUNT/MAX stamp query; the store comes from the second-level cache.
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+
+    rice.setQuantity(BigDecimal.ONE);
+    stockRepository.save(rice);
+    String afterUpdate = assertChanged(url, principal, etag);
+
+    stockRepository.delete(dal);
+    assertChanged(url, principal, afterUpdate);
+  }
+
+  private String assertChanged(String url, SecurityUser principal, String previousEtag)
+      throws Exception {
+    String etag =
+        mockMvc
+            .perform(get(url).with(user(principal)).header(HttpHeaders.IF_NONE_MATCH, previousEtag))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    assertThat(etag).isNotEqualTo(previousEtag);
+    return etag;
+  }
+
+  private static Stock stock(Store store, String name) {
+    return Stock.builder()
+        .store(store)
+        .name(name)
+        .quantity(BigDecimal.TEN)
+        .minLevel(BigDecimal.ONE)
+        .build();
+  }
+}
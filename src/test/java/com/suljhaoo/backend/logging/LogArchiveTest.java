@@ -0,0 +1,118 @@
+package com.suljhaoo.backend.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Archive query building blocks: the trace id Bloom filter survives the sidecar round trip without
+ * false negatives, segment time ranges overlap inclusively, and the query stream filters a gzip
+ * segment and the active file in order.
+ */
+class LogArchiveTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void bloomFilterRoundTripsWithoutFalseNegatives() {
+    TraceIdBloomFilter filter = new TraceIdBloomFilter();
+    List<String> added = new ArrayList<>();
+    for (int i = 0; i < 20_000; i++) {
+      String traceId = "trace-" + i;
+      filter.add(traceId);
+      added.add(traceId);
+    }
+
+    TraceIdBloomFilter restored = TraceIdBloomFilter.fromBase64(filter.toBase64());
+    assertThat(added).allMatch(restored::mightContain);
+    long falsePositives =
+        IntStream.range(0, 10_000).filter(i -> restored.mightContain("absent-" + i)).count();
+    assertThat(falsePositives).isLessThan(100);
+  }
+
+  @Test
+  void segmentOverlapIsInclusiveAndOpenEnded() {
+    LogSegmentIndex index =
+        LogSegmentIndex.builder()
+            .firstTimestamp(Instant.parse("2026-01-01T10:00:00Z"))
+            .lastTimestamp(Instant.parse("2026-01-01T11:00:00Z"))
+            .build();
+
+    assertThat(index.overlaps(null, null)).isTrue();
+    assertThat(index.overlaps(Instant.parse("2026-01-01T11:00:00Z"), null)).isTrue();
+    assertThat(index.overlaps(null, Instant.parse("2026-01-01T10:00:00Z"))).isTrue();
+    assertThat(
+            index.overlaps(
+                Instant.parse("2026-01-01T10:30:00Z"), Instant.parse("2026-01-01T10:31:00Z")))
+        .isTrue();
+    assertThat(index.overlaps(Instant.parse("2026-01-01T11:00:01Z"), null)).isFalse();
+    assertThat(index.overlaps(null, Instant.parse("2026-01-01T09:59:59Z"))).isFalse();
+    // Not indexed yet: always read.
+    assertThat(LogSegmentIndex.builder().build().overlaps(Instant.now(), Instant.now())).isTrue();
+  }
+
+  @Test
+  void queryStreamFiltersGzipSegmentAndActiveFile() throws Exception {
+    Path segment = directory.resolve("application-1.log.gz");
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(segment))) {
+      out.write(
+          String.join(
+                  "\n",
+                  line("2026-01-01T10:00:00Z", "a"),
+                  line("2026-01-01T10:05:00Z", "b"),
+                  line("2026-01-01T10:10:00Z", "a"))
+              .getBytes(StandardCharsets.UTF_8));
+    }
+    Path active = directory.resolve("application.log");
+    Files.writeString(
+        active,
+        line("2026-01-01T10:15:00Z", "a")
+            + "\n"
+            + "not json\n"
+            + line("2026-01-01T10:20:00Z", "b"));
+    Path deleted = directory.resolve("application-0.log.gz");
+
+    assertThat(
+            query(
+                List.of(deleted, segment, active),
+                Instant.parse("2026-01-01T10:05:00Z"),
+                Instant.parse("2026-01-01T10:15:00Z"),
+                null))
+        .containsExactly(
+            line("2026-01-01T10:05:00Z", "b"),
+            line("2026-01-01T10:10:00Z", "a"),
+            line("2026-01-01T10:15:00Z", "a"));
+    assertThat(query(List.of(segment, active), null, null, "a"))
+        .containsExactly(
+            line("2026-01-01T10:00:00Z", "a"),
+            line("2026-01-01T10:10:00Z", "a"),
+            line("2026-01-01T10:15:00Z", "a"));
+    assertThat(query(List.of(segment, active), null, null, null)).hasSize(6);
+  }
+
+  private static List<String> query(List<Path> files, Instant from, Instant to, String traceId)
+      throws Exception {
+    try (LogArchiveQueryStream stream = new LogArchiveQueryStream(files, from, to, traceId)) {
+      String body = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+      return body.isEmpty() ? List.of() : List.of(body.split("\n"));
+    }
+  }
+
+  private static String line(String timestamp, String traceId) {
+    return "{\"@timestamp\":\""
+        + timestamp
+        + "\",\"log.level\":\"INFO\",\"message\":\"m\",\"trace.id\":\""
+        + traceId
+        + "\"}";
+  }
+}
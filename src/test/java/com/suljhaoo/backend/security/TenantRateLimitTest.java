@@ -0,0 +1,198 @@
+package com.suljhaoo.backend.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.exception.RateLimitExceededException;
+import com.suljhaoo.backend.exception.ServiceOverloadedException;
+import com.suljhaoo.backend.ratelimit.OwnedStores;
+import com.suljhaoo.backend.ratelimit.RouteClass;
+import com.suljhaoo.backend.ratelimit.TenantRateLimiter;
+import com.suljhaoo.backend.ratelimit.TenantRateLimiter.Limit;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Tenant limits: a store's report bucket runs dry with 429 while its other route classes and other
+ * stores are unaffected, and a backed-up connection pool sheds reports and bulk before reads and
+ * never sheds writes. Store ids the user does not own share the user's bucket.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TenantRateLimitTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+
+  @Test
+  void reportBucketIsPerStoreAndPerRouteClass() throws Exception {
+    User owner =
+        userRepository.save(
+            User.builder()
+                .name("Tenant Limit Test")
+                .phoneNumber("9000000801")
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store busy = storeRepository.save(Store.builder().user(owner).storeName("Busy").build());
+    Store quiet = storeRepository.save(Store.builder().user(owner).storeName("Quiet").build());
+    SecurityUser principal = new SecurityUser(owner);
+    String busyStock = "/stock/user/" + owner.getId() + "/" + busy.getId();
+
+    // Default report bucket: 10 requests, then one per 2 s
+    for (int i = 0; i < 10; i++) {
+      mockMvc
+          .perform(get(busyStock + "/low-stock").with(user(principal)))
+          .andExpect(status().isOk());
+    }
+    mockMvc
+        .perform(get(busyStock + "/low-stock").with(user(principal)))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+        .andExpect(jsonPath("$.retryAfterSeconds").value(2));
+
+    mockMvc.perform(get(busyStock).with(user(principal))).andExpect(status().isOk());
+    mockMvc
+        .perform(
+            get("/stock/user/" + owner.getId() + "/" + quiet.getId() + "/low-stock")
+                .with(user(principal)))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void unownedStoreIdsShareTheUserBucket() throws Exception {
+    User owner =
+        userRepository.save(
+            User.builder()
+                .name("Tenant Limit Spoof Test")
+                .phoneNumber("9000000802")
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store own = storeRepository.save(Store.builder().user(owner).storeName("Own").build());
+    SecurityUser principal = new SecurityUser(owner);
+    String stockPrefix = "/stock/user/" + owner.getId() + "/";
+
+    // A fresh made-up store id per request reaches the controller (which rejects the store) but
+    // still drains one per-user report bucket
+    for (int i = 0; i < 10; i++) {
+      String madeUp = stockPrefix + "made-up-" + i + "/low-stock";
+      assertThatThrownBy(() -> mockMvc.perform(get(madeUp).with(user(principal))))
+          .hasRootCauseMessage("Store not found");
+    }
+    mockMvc
+        .perform(get(stockPrefix + "made-up-10/low-stock").with(user(principal)))
+        .andExpect(status().isTooManyRequests());
+
+    // The owned store keeps its own bucket
+    mockMvc
+        .perform(get(stockPrefix + own.getId() + "/low-stock").with(user(principal)))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  void poolBacklogShedsHeavyWorkFirst() {
+    AtomicInteger pending = new AtomicInteger();
+    Map<RouteClass, Limit> limits = new EnumMap<>(RouteClass.class);
+    for (RouteClass routeClass : RouteClass.values()) {
+      limits.put(routeClass, new Limit(1000, Duration.ofMillis(1)));
+    }
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    TenantRateLimiter limiter =
+        new TenantRateLimiter(limits, 100, pending::get, 4, Duration.ofSeconds(2), registry);
+
+    pending.set(4);
+    assertThatThrownBy(() -> limiter.check("u", "s", RouteClass.REPORT))
+        .isInstanceOf(ServiceOverloadedException.class);
+    assertThatThrownBy(() -> limiter.check("u", "s", RouteClass.BULK))
+        .isInstanceOf(ServiceOverloadedException.class);
+    limiter.check("u", "s", RouteClass.READ);
+
+    pending.set(8);
+    assertThatThrownBy(() -> limiter.check("u", "s", RouteClass.READ))
+        .isInstanceOf(ServiceOverloadedException.class);
+    limiter.check("u", "s", RouteClass.WRITE);
+
+    pending.set(0);
+    limiter.check("u", "s", RouteClass.REPORT);
+    assertThat(
+            registry
+                .get("http.tenant.rejected")
+                .tag("route_class", "report")
+                .tag("reason", "shed")
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void classifiesRoutesAndKeysByStore() {
+    assertThat(RouteClass.of("GET", "/sales/user/u1/s1/cash-sales")).isEqualTo(RouteClass.REPORT);
+    assertThat(RouteClass.of("GET", "/sync/user/u1/s1/changes")).isEqualTo(RouteClass.REPORT);
+    assertThat(RouteClass.of("POST", "/stock/user/u1/s1/bulk-upload")).isEqualTo(RouteClass.BULK);
+    assertThat(RouteClass.of("POST", "/sync/user/u1/s1/batch")).isEqualTo(RouteClass.BULK);
+    assertThat(RouteClass.of("GET", "/sales/user/u1/s1")).isEqualTo(RouteClass.READ);
+    assertThat(RouteClass.of("DELETE", "/sales/user/u1/s1/x")).isEqualTo(RouteClass.WRITE);
+
+    assertThat(TenantRateLimitFilter.storeId("/sales/user/u1/s1/cash-sales")).isEqualTo("s1");
+    assertThat(TenantRateLimitFilter.storeId("/stores/s2")).isEqualTo("s2");
+    assertThat(TenantRateLimitFilter.storeId("/orders/user/u1/o1")).isEqualTo("o1");
+    assertThat(TenantRateLimitFilter.storeId("/orders/supplier/p1")).isEqualTo("-");
+
+    TenantRateLimiter limiter =
+        new TenantRateLimiter(
+            Map.of(
+                RouteClass.READ, new Limit(1, Duration.ofMinutes(1)),
+                RouteClass.WRITE, new Limit(1, Duration.ofMinutes(1)),
+                RouteClass.BULK, new Limit(1, Duration.ofMinutes(1)),
+                RouteClass.REPORT, new Limit(1, Duration.ofMinutes(1))),
+            100,
+            () -> 0,
+            4,
+            Duration.ofSeconds(2),
+            new SimpleMeterRegistry());
+    limiter.check("u1", "s1", RouteClass.READ);
+    limiter.check("u1", "s2", RouteClass.READ);
+    limiter.check("u2", "s1", RouteClass.READ);
+    assertThatThrownBy(() -> limiter.check("u1", "s1", RouteClass.READ))
+        .isInstanceOf(RateLimitExceededException.class);
+
+    AtomicInteger loads = new AtomicInteger();
+    OwnedStores ownedStores =
+        new OwnedStores(
+            userId -> {
+              loads.incrementAndGet();
+              return Set.of("s1");
+            },
+            Duration.ofMinutes(1),
+            100);
+    assertThat(ownedStores.owns("u1", "s1", 0)).isTrue();
+    assertThat(ownedStores.owns("u1", "made-up", 1)).isFalse();
+    assertThat(loads).hasValue(1);
+    assertThat(ownedStores.owns("u1", "s1", Duration.ofMinutes(1).toNanos())).isTrue();
+    assertThat(loads).hasValue(2);
+  }
+}
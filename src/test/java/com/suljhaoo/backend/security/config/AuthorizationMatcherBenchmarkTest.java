@@ -0,0 +1,117 @@
+package com.suljhaoo.backend.security.config;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+
+/**
+ * JMH: time to authorize one request with the per-endpoint RequestMatcher chain (method-blind,
+ * PathPattern matchers, as SecurityConfig builds it with compiled-authorization disabled) versus
+ * the CompiledAuthorizationManager trie. "early" requests hit entries near the top of
+ * endpoint-roles.json, "late" ones entries near the bottom and unmatched paths, where the chain has
+ * to try every matcher.
+ *
+ * <p>Not part of the normal build: mvn -B test -Dtest=AuthorizationMatcherBenchmarkTest
+ * -Dbenchmark=true
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationMatcherBenchmarkTest {
+
+  private static final List<String[]> EARLY =
+      List.of(
+          new String[] {"POST", "/auth/login"},
+          new String[] {"GET", "/health"},
+          new String[] {"GET", "/stores/3f2a"},
+          new String[] {"PUT", "/profile"});
+
+  private static final List<String[]> LATE =
+      List.of(
+          new String[] {"GET", "/orders/user/u1/o1"},
+          new String[] {"PATCH", "/orders/user/u1/o1/status"},
+          new String[] {"GET", "/sync/user/u1/s1/changes"},
+          new String[] {"POST", "/sync/user/u1/s1/batch"},
+          new String[] {"GET", "/reports/unknown/path"});
+
+  @Param({"early", "late"})
+  public String requests;
+
+  private final Supplier<Authentication> authentication =
+      () ->
+          UsernamePasswordAuthenticationToken.authenticated(
+              "owner", null, AuthorityUtils.createAuthorityList("ROLE_SHOPOWNER"));
+
+  private RequestMatcherDelegatingAuthorizationManager chain;
+  private CompiledAuthorizationManager compiled;
+  private MockHttpServletRequest[] mockRequests;
+  private RequestAuthorizationContext[] contexts;
+  private int next;
+
+  @Setup
+  public void setUp() throws Exception {
+    EndpointRoleConfig config = CompiledAuthorizationManagerTest.loadEndpointRoleConfig();
+    chain = CompiledAuthorizationManagerTest.matcherChain(config, false);
+    compiled = new CompiledAuthorizationManager(config);
+    compiled.compile();
+
+    List<String[]> selected = "early".equals(requests) ? EARLY : LATE;
+    mockRequests = new MockHttpServletRequest[selected.size()];
+    contexts = new RequestAuthorizationContext[selected.size()];
+    for (int i = 0; i < selected.size(); i++) {
+      mockRequests[i] = new MockHttpServletRequest(selected.get(i)[0], selected.get(i)[1]);
+      contexts[i] = new RequestAuthorizationContext(mockRequests[i]);
+    }
+  }
+
+  @Benchmark
+  public AuthorizationDecision matcherChain() {
+    return chain.check(authentication, mockRequests[nextIndex()]);
+  }
+
+  @Benchmark
+  public AuthorizationDecision compiledTrie() {
+    return compiled.check(authentication, contexts[nextIndex()]);
+  }
+
+  private int nextIndex() {
+    int index = next;
+    next = index + 1 == mockRequests.length ? 0 : index + 1;
+    return index;
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+  void run() throws Exception {
+    new Runner(
+            new OptionsBuilder()
+                .include(AuthorizationMatcherBenchmarkTest.class.getSimpleName())
+                .build())
+        .run();
+  }
+}
@@ -0,0 +1,187 @@
+package com.suljhaoo.backend.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * The trie must decide every configured endpoint exactly as an ordered, method-aware RequestMatcher
+ * chain built from the same endpoint-roles.json, for every method and for anonymous, shop-owner and
+ * admin callers.
+ */
+class CompiledAuthorizationManagerTest {
+
+  private static final List<HttpMethod> METHODS =
+      List.of(HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+  private static final List<Authentication> CALLERS =
+      List.of(
+          new AnonymousAuthenticationToken(
+              "key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")),
+          UsernamePasswordAuthenticationToken.authenticated(
+              "owner", null, AuthorityUtils.createAuthorityList("ROLE_SHOPOWNER")),
+          UsernamePasswordAuthenticationToken.authenticated(
+              "admin", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN")));
+
+  private EndpointRoleConfig endpointRoleConfig;
+  private CompiledAuthorizationManager compiled;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    endpointRoleConfig = loadEndpointRoleConfig();
+    compiled = new CompiledAuthorizationManager(endpointRoleConfig);
+    compiled.compile();
+  }
+
+  @Test
+  void matchesOrderedMatcherChainForEveryConfiguredEndpoint() {
+    RequestMatcherDelegatingAuthorizationManager chain = matcherChain(endpointRoleConfig);
+    List<String> paths = samplePaths(endpointRoleConfig);
+    int decisions = 0;
+
+    for (String path : paths) {
+      for (HttpMethod method : METHODS) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method.name(), path);
+        for (Authentication caller : CALLERS) {
+          Supplier<Authentication> authentication = () -> caller;
+          assertThat(granted(compiled, authentication, request))
+              .as("%s %s as %s", method, path, caller.getName())
+              .isEqualTo(granted(chain.check(authentication, request)));
+          decisions++;
+        }
+      }
+    }
+    assertThat(decisions).isEqualTo(paths.size() * METHODS.size() * CALLERS.size());
+  }
+
+  @Test
+  void honoursTheMethodOfEachEntry() {
+    MockHttpServletRequest delete = new MockHttpServletRequest("DELETE", "/stores/42");
+    MockHttpServletRequest get = new MockHttpServletRequest("GET", "/stores/42");
+
+    assertThat(granted(compiled, () -> CALLERS.get(1), delete)).isFalse();
+    assertThat(granted(compiled, () -> CALLERS.get(2), delete)).isTrue();
+    assertThat(granted(compiled, () -> CALLERS.get(1), get)).isTrue();
+  }
+
+  @Test
+  void actuatorWritesNeedAdmin() {
+    MockHttpServletRequest loggers = new MockHttpServletRequest("POST", "/actuator/loggers/x");
+    MockHttpServletRequest startup = new MockHttpServletRequest("POST", "/actuator/startup");
+
+    assertThat(granted(compiled, () -> CALLERS.get(1), loggers)).isFalse();
+    assertThat(granted(compiled, () -> CALLERS.get(1), startup)).isFalse();
+    assertThat(granted(compiled, () -> CALLERS.get(2), loggers)).isTrue();
+  }
+
+  @Test
+  void resolvesPathsWithinTheContextPathAndPermitsPreflight() {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/stores/42");
+    request.setContextPath("/api");
+    MockHttpServletRequest preflight = new MockHttpServletRequest("OPTIONS", "/api/stores/42");
+    preflight.setContextPath("/api");
+    MockHttpServletRequest head = new MockHttpServletRequest("HEAD", "/health");
+
+    assertThat(granted(compiled, () -> CALLERS.get(1), request)).isTrue();
+    assertThat(granted(compiled, () -> CALLERS.get(0), request)).isFalse();
+    assertThat(granted(compiled, () -> CALLERS.get(0), preflight)).isTrue();
+    assertThat(granted(compiled, () -> CALLERS.get(0), head)).isTrue();
+  }
+
+  static EndpointRoleConfig loadEndpointRoleConfig() throws Exception {
+    EndpointRoleConfig config = new EndpointRoleConfig(new ObjectMapper());
+    ReflectionTestUtils.setField(config, "resource", new ClassPathResource("endpoint-roles.json"));
+    config.init();
+    return config;
+  }
+
+  /** The configured entries as an ordered chain of method-aware PathPattern matchers. */
+  static RequestMatcherDelegatingAuthorizationManager matcherChain(
+      EndpointRoleConfig config, boolean methodAware) {
+    RequestMatcherDelegatingAuthorizationManager.Builder builder =
+        RequestMatcherDelegatingAuthorizationManager.builder();
+    PathPatternRequestMatcher.Builder matchers = PathPatternRequestMatcher.withDefaults();
+    builder.add(
+        matchers.matcher(HttpMethod.OPTIONS, "/**"),
+        (authentication, context) -> new AuthorizationDecision(true));
+    for (EndpointRoleConfig.EndpointConfig endpoint : config.getEndpoints()) {
+      HttpMethod method =
+          !methodAware || "*".equals(endpoint.getMethod())
+              ? null
+              : HttpMethod.valueOf(endpoint.getMethod());
+      AuthorizationManager<RequestAuthorizationContext> manager =
+          endpoint.isPublic()
+              ? (authentication, context) -> new AuthorizationDecision(true)
+              : AuthorityAuthorizationManager.hasAnyRole(
+                  endpoint.getRoles().toArray(String[]::new));
+      builder.add(matchers.matcher(method, endpoint.getPath()), manager);
+    }
+    builder.add(AnyRequestMatcher.INSTANCE, AuthenticatedAuthorizationManager.authenticated());
+    return builder.build();
+  }
+
+  static RequestMatcherDelegatingAuthorizationManager matcherChain(EndpointRoleConfig config) {
+    return matcherChain(config, true);
+  }
+
+  /**
+   * One concrete path per pattern ({name} replaced, /** expanded to zero, one and two segments),
+   * plus paths that must fall through to the authenticated default.
+   */
+  static List<String> samplePaths(EndpointRoleConfig config) {
+    List<String> paths = new ArrayList<>();
+    for (EndpointRoleConfig.EndpointConfig endpoint : config.getEndpoints()) {
+      String path = endpoint.getPath().replaceAll("\\{[^/]+}", "a1b2");
+      if (path.endsWith("/**")) {
+        String base = path.substring(0, path.length() - 3);
+        paths.add(base);
+        paths.add(base + "/x");
+        paths.add(base + "/x/y");
+      } else {
+        paths.add(path);
+      }
+    }
+    paths.addAll(
+        List.of(
+            "/",
+            "/unknown",
+            "/stores/",
+            "/stores/a1b2/extra",
+            "/actuator/health/liveness",
+            "/sales/user/a1b2/a1b2/cash-sales",
+            "/authx/login"));
+    return paths;
+  }
+
+  private static boolean granted(
+      AuthorizationManager<RequestAuthorizationContext> manager,
+      Supplier<Authentication> authentication,
+      MockHttpServletRequest request) {
+    return granted(manager.check(authentication, new RequestAuthorizationContext(request)));
+  }
+
+  private static boolean granted(AuthorizationDecision decision) {
+    return decision != null && decision.isGranted();
+  }
+}
@@ -0,0 +1,137 @@
+package com.suljhaoo.backend.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Hot reload of endpoint-roles.json from a file: a valid change is applied without a restart, and a
+ * file that no longer covers every controller endpoint, or is not valid JSON, leaves the previous
+ * rules active.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EndpointRoleReloaderTest {
+
+  private static final Path FILE = createFile();
+
+  @Autowired private EndpointRoleReloader reloader;
+  @Autowired private EndpointRoleConfig endpointRoleConfig;
+  @Autowired private CompiledAuthorizationManager authorizationManager;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @DynamicPropertySource
+  static void reloadFromFile(DynamicPropertyRegistry registry) {
+    registry.add("app.security.endpoint-roles.reload.enabled", () -> "true");
+    registry.add("app.security.endpoint-roles.reload.file", FILE::toString);
+    registry.add("app.security.endpoint-roles.reload.interval", () -> "PT1H");
+  }
+
+  @AfterEach
+  void restoreOriginal() throws IOException {
+    Files.writeString(FILE, original(), StandardCharsets.UTF_8);
+    reloader.reload();
+  }
+
+  @Test
+  void appliesAValidChangeAndSkipsAnUnchangedFile() throws IOException {
+    long version = reloader.version();
+    assertThat(shopOwnerMayDeleteStore()).isFalse();
+
+    ObjectNode json = (ObjectNode) objectMapper.readTree(original());
+    for (var endpoint : json.withArray("endpoints")) {
+      if ("DELETE".equals(endpoint.get("method").asText())
+          && "/stores/{id}".equals(endpoint.get("path").asText())) {
+        ((ArrayNode) endpoint.get("roles")).insert(0, "SHOPOWNER");
+      }
+    }
+    Files.writeString(FILE, objectMapper.writeValueAsString(json), StandardCharsets.UTF_8);
+
+    assertThat(reloader.reload()).isEqualTo(EndpointRoleReloader.Result.APPLIED);
+    assertThat(reloader.version()).isEqualTo(version + 1);
+    assertThat(meterRegistry.get("authz.rules.version").gauge().value()).isEqualTo(version + 1);
+    assertThat(shopOwnerMayDeleteStore()).isTrue();
+    assertThat(reloader.reload()).isEqualTo(EndpointRoleReloader.Result.UNCHANGED);
+  }
+
+  @Test
+  void keepsThePreviousRulesWhenAControllerEndpointIsMissing() throws IOException {
+    long version = reloader.version();
+    int endpoints = endpointRoleConfig.getEndpoints().size();
+
+    ObjectNode json = (ObjectNode) objectMapper.readTree(original());
+    ArrayNode entries = json.withArray("endpoints");
+    for (int i = 0; i < entries.size(); i++) {
+      if ("/profile".equals(entries.get(i).get("path").asText())) {
+        entries.remove(i);
+        break;
+      }
+    }
+    Files.writeString(FILE, objectMapper.writeValueAsString(json), StandardCharsets.UTF_8);
+
+    assertThat(reloader.reload()).isEqualTo(EndpointRoleReloader.Result.REJECTED);
+    assertThat(reloader.version()).isEqualTo(version);
+    assertThat(endpointRoleConfig.getEndpoints()).hasSize(endpoints);
+    assertThat(meterRegistry.get("authz.rules.reload").tag("result", "rejected").timer().count())
+        .isPositive();
+  }
+
+  @Test
+  void keepsThePreviousRulesWhenTheFileIsNotValidJson() throws IOException {
+    long version = reloader.version();
+    Files.writeString(FILE, "{\"endpoints\": [", StandardCharsets.UTF_8);
+
+    assertThat(reloader.reload()).isEqualTo(EndpointRoleReloader.Result.FAILED);
+    assertThat(reloader.version()).isEqualTo(version);
+    assertThat(shopOwnerMayDeleteStore()).isFalse();
+  }
+
+  private boolean shopOwnerMayDeleteStore() {
+    AuthorizationDecision decision =
+        authorizationManager.check(
+            () ->
+                UsernamePasswordAuthenticationToken.authenticated(
+                    "owner", null, AuthorityUtils.createAuthorityList("ROLE_SHOPOWNER")),
+            new RequestAuthorizationContext(new MockHttpServletRequest("DELETE", "/stores/42")));
+    return decision != null && decision.isGranted();
+  }
+
+  private static String original() throws IOException {
+    try (InputStream inputStream = new ClassPathResource("endpoint-roles.json").getInputStream()) {
+      return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  private static Path createFile() {
+    try {
+      Path file = Files.createTempFile("endpoint-roles", ".json");
+      Files.writeString(file, original(), StandardCharsets.UTF_8);
+      file.toFile().deleteOnExit();
+      return file;
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
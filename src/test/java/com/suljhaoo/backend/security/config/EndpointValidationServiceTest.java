@@ -0,0 +1,68 @@
+package com.suljhaoo.backend.security.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Endpoint validation from the handler-mapping registry: the shipped endpoint-roles.json matches
+ * the controllers, a missing or unknown entry is reported, "/**" entries cover whole subtrees and
+ * each startup phase is timed.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EndpointValidationServiceTest {
+
+  @Autowired private EndpointValidationService validationService;
+  @Autowired private EndpointRoleConfig endpointRoleConfig;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void shippedConfigurationMatchesTheControllers() {
+    assertThat(validationService.validate(endpointRoleConfig.getEndpoints()).isValid()).isTrue();
+    for (String phase : List.of("scan", "index", "compare")) {
+      assertThat(meterRegistry.get("endpoint.validation").tag("phase", phase).timer().count())
+          .isPositive();
+    }
+  }
+
+  @Test
+  void reportsMissingAndUnknownEndpoints() {
+    List<EndpointRoleConfig.EndpointConfig> endpoints =
+        new ArrayList<>(endpointRoleConfig.getEndpoints());
+    endpoints.removeIf(e -> "DELETE".equals(e.getMethod()) && "/stores/{id}".equals(e.getPath()));
+    endpoints.add(endpoint("GET", "/stores/{storeId}/archive"));
+
+    EndpointValidationService.ValidationResult result = validationService.validate(endpoints);
+
+    assertThat(result.missingInConfig()).containsExactly("DELETE /stores/{id}");
+    assertThat(result.extraInConfig()).containsExactly("GET /stores/{id}/archive");
+  }
+
+  @Test
+  void wildcardEntryCoversItsSubtreeOnly() {
+    List<EndpointRoleConfig.EndpointConfig> endpoints =
+        new ArrayList<>(endpointRoleConfig.getEndpoints());
+    endpoints.removeIf(e -> e.getPath().startsWith("/sync/"));
+    endpoints.add(endpoint("*", "/sync/**"));
+    assertThat(validationService.validate(endpoints).isValid()).isTrue();
+
+    endpoints.removeIf(e -> e.getPath().equals("/sync/**"));
+    endpoints.add(endpoint("*", "/syn/**"));
+    assertThat(validationService.validate(endpoints).missingInConfig()).hasSize(2);
+  }
+
+  private static EndpointRoleConfig.EndpointConfig endpoint(String method, String path) {
+    EndpointRoleConfig.EndpointConfig endpoint = new EndpointRoleConfig.EndpointConfig();
+    endpoint.setMethod(method);
+    endpoint.setPath(path);
+    endpoint.setRoles(List.of("ADMIN"));
+    return endpoint;
+  }
+}
@@ -0,0 +1,163 @@
+package com.suljhaoo.backend.security.login;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.exception.ServiceOverloadedException;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Login lane: per-phone and per-IP buckets answer 429 with Retry-After before the database is
+ * touched, a correct password still logs in through the hashing pool, and a saturated pool sheds
+ * with 503 instead of queueing without bound.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginThrottleTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void phoneBucketRefusesGuessingBeforeTheDatabase() throws Exception {
+    userRepository.save(
+        User.builder()
+            .name("Throttle Test")
+            .phoneNumber("9000000601")
+            .password(passwordEncoder.encode("correct-horse"))
+            .role(UserRole.shopowner)
+            .build());
+
+    login("9000000601", "correct-horse", "10.0.6.1").andExpect(status().isOk());
+    for (int attempt = 1; attempt < 5; attempt++) {
+      failedLogin("9000000601", "wrong-" + attempt, "10.0.6." + (attempt + 1));
+    }
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    login("9000000601", "wrong-6", "10.0.6.9")
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+        .andExpect(jsonPath("$.retryAfterSeconds").isNumber());
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(
+            meterRegistry
+                .get("auth.login.rejected")
+                .tag("reason", "phone_rate_limit")
+                .counter()
+                .count())
+        .isPositive();
+    assertThat(meterRegistry.get("auth.password.hash").timer().count()).isPositive();
+  }
+
+  @Test
+  void ipBucketCapsSprayingAcrossAccounts() throws Exception {
+    for (int i = 0; i < 30; i++) {
+      failedLogin(String.format("91000007%02d", i), "guess", "10.0.7.1");
+    }
+
+    login("9100000799", "guess", "10.0.7.1")
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    failedLogin("9100000799", "guess", "10.0.7.2");
+  }
+
+  @Test
+  void saturatedHashingPoolShedsInsteadOfQueueing() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    PasswordEncoder slowEncoder =
+        new PasswordEncoder() {
+          @Override
+          public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+          }
+
+          @Override
+          public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            try {
+              return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+              return false;
+            }
+          }
+        };
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    PasswordHashingLane lane =
+        new PasswordHashingLane(slowEncoder, 1, 1, Duration.ofSeconds(5), registry);
+    try {
+      CompletableFuture<Boolean> running =
+          CompletableFuture.supplyAsync(() -> lane.matches("a", "a"));
+      CompletableFuture<Boolean> queued =
+          CompletableFuture.supplyAsync(() -> lane.matches("b", "b"));
+      while (registry.get("auth.password.hash.queue").gauge().value() < 1) {
+        Thread.sleep(10);
+      }
+
+      assertThatThrownBy(() -> lane.matches("c", "c"))
+          .isInstanceOf(ServiceOverloadedException.class);
+      assertThat(
+              registry
+                  .get("auth.login.rejected")
+                  .tag("reason", "hash_queue_full")
+                  .counter()
+                  .count())
+          .isEqualTo(1);
+
+      release.countDown();
+      assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+      assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    } finally {
+      release.countDown();
+      lane.destroy();
+    }
+  }
+
+  /** Wrong credentials surface as the service's RuntimeException, i.e. the request got through. */
+  private void failedLogin(String phoneNumber, String password, String clientIp) {
+    assertThatThrownBy(() -> login(phoneNumber, password, clientIp))
+        .hasMessageContaining("Invalid phone number or password");
+  }
+
+  private ResultActions login(String phoneNumber, String password, String clientIp)
+      throws Exception {
+    return mockMvc.perform(
+        post("/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"phoneNumber\":\"" + phoneNumber + "\",\"password\":\"" + password + "\"}")
+            .with(
+                request -> {
+                  request.setRemoteAddr(clientIp);
+                  return request;
+                }));
+  }
+}
@@ -0,0 +1,129 @@
+package com.suljhaoo.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.enity.stock.Supplier;
+import com.suljhaoo.backend.model.request.auth.UpdateProfileRequest;
+import com.suljhaoo.backend.model.request.store.UpdateStoreRequest;
+import com.suljhaoo.backend.model.request.supplier.UpdateSupplierRequest;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.repository.stock.SupplierRepository;
+import com.suljhaoo.backend.service.auth.ProfileService;
+import com.suljhaoo.backend.service.store.StoreService;
+import com.suljhaoo.backend.service.supplier.SupplierService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Store, Supplier and User are served from the second-level cache on findById, and writes through
+ * the services replace or evict the cached entry so no reader sees stale state.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheInvalidationTest {
+
+  private static final AtomicInteger PHONE_SEQUENCE = new AtomicInteger(200);
+
+  @Autowired private StoreService storeService;
+  @Autowired private SupplierService supplierService;
+  @Autowired private ProfileService profileService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+  @Autowired private SupplierRepository supplierRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private User user;
+  private Store store;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    user =
+        userRepository.save(
+            User.builder()
+                .name("Cache Test")
+                .phoneNumber("9000000" + PHONE_SEQUENCE.incrementAndGet())
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    store = storeRepository.save(Store.builder().user(user).storeName("Cache Store").build());
+  }
+
+  @Test
+  void storeUpdateAndSoftDeleteAreVisibleThroughCache() {
+    // A second store so deleteStore does not refuse to remove the only one.
+    storeRepository.save(Store.builder().user(user).storeName("Other Store").build());
+
+    assertCacheHit("store", () -> storeRepository.findById(store.getId()).orElseThrow());
+
+    storeService.updateStore(
+        store.getId(), user.getId(), UpdateStoreRequest.builder().storeName("Renamed").build());
+    Store updated =
+        assertCacheHit("store", () -> storeRepository.findById(store.getId()).orElseThrow());
+    assertThat(updated.getStoreName()).isEqualTo("Renamed");
+
+    storeService.deleteStore(store.getId(), user.getId());
+    assertThat(storeRepository.findById(store.getId()).orElseThrow().getIsDeleted()).isTrue();
+  }
+
+  @Test
+  void supplierUpdateAndDeleteAreVisibleThroughCache() {
+    Supplier supplier =
+        supplierRepository.save(
+            Supplier.builder()
+                .store(store)
+                .name("Cache Supplier")
+                .nickName("cache")
+                .phone("9000000299")
+                .build());
+
+    assertCacheHit("supplier", () -> supplierRepository.findById(supplier.getId()).orElseThrow());
+
+    supplierService.updateSupplier(
+        supplier.getId().toString(),
+        user.getId(),
+        store.getId(),
+        UpdateSupplierRequest.builder().phone("9000000298").build());
+    Supplier updated =
+        assertCacheHit(
+            "supplier", () -> supplierRepository.findById(supplier.getId()).orElseThrow());
+    assertThat(updated.getPhone()).isEqualTo("9000000298");
+
+    supplierService.deleteSupplier(supplier.getId().toString(), user.getId(), store.getId());
+    statistics.clear();
+    assertThat(supplierRepository.findById(supplier.getId())).isEmpty();
+    assertThat(statistics.getDomainDataRegionStatistics("supplier").getHitCount()).isZero();
+  }
+
+  @Test
+  void userProfileUpdateIsVisibleThroughCache() {
+    assertCacheHit("user", () -> userRepository.findById(user.getId()).orElseThrow());
+
+    profileService.updateProfile(
+        user.getId(), UpdateProfileRequest.builder().name("Renamed User").build());
+    User updated =
+        assertCacheHit("user", () -> userRepository.findById(user.getId()).orElseThrow());
+    assertThat(updated.getName()).isEqualTo("Renamed User");
+  }
+
+  /** Runs the lookup and asserts it was answered from the region without touching the database. */
+  private <T> T assertCacheHit(String region, java.util.function.Supplier<T> lookup) {
+    statistics.clear();
+    T result = lookup.get();
+    assertThat(statistics.getDomainDataRegionStatistics(region).getHitCount()).isEqualTo(1);
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    return result;
+  }
+}
@@ -0,0 +1,99 @@
+package com.suljhaoo.backend.service.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.suljhaoo.backend.service.auth.impl.InMemoryOtpStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+/**
+ * In-memory OTP store: check leaves the OTP, consume removes it, wrong attempts use it up, expired
+ * OTPs are refused and the timing wheel frees them without any read.
+ */
+class InMemoryOtpStoreTest {
+
+  private final MutableClock clock = new MutableClock();
+  private final InMemoryOtpStore store =
+      new InMemoryOtpStore(4, Duration.ofMinutes(1), Duration.ofSeconds(1), 3, clock);
+
+  @Test
+  void checkKeepsTheOtpAndConsumeRemovesIt() {
+    store.put("9876500001", "123456", "Asha");
+
+    assertThat(store.check("9876500001", "123456").isValid()).isTrue();
+    assertThat(store.check("9876500001", "123456").getName()).isEqualTo("Asha");
+    assertThat(store.consume("9876500001", "123456").isValid()).isTrue();
+    assertThat(store.consume("9876500001", "123456").isValid()).isFalse();
+  }
+
+  @Test
+  void wrongAttemptsUseUpTheOtpAndANewOneStartsOver() {
+    store.put("9876500002", "111111", "Ravi");
+    assertThat(store.check("9876500002", "000000").isValid()).isFalse();
+    assertThat(store.check("9876500002", "000001").isValid()).isFalse();
+    assertThat(store.check("9876500002", "111111").isValid()).isTrue();
+    assertThat(store.check("9876500002", "000002").isValid()).isFalse();
+    assertThat(store.check("9876500002", "111111").isValid()).isFalse();
+
+    store.put("9876500002", "222222", "Ravi");
+    assertThat(store.check("9876500002", "111111").isValid()).isFalse();
+    assertThat(store.consume("9876500002", "222222").isValid()).isTrue();
+  }
+
+  @Test
+  void expiredOtpsAreRefusedAndSweptWithoutBeingRead() {
+    store.put("9876500003", "333333", "Meena");
+    clock.advance(Duration.ofSeconds(30));
+    store.put("9876500004", "444444", "Kiran");
+    store.sweep();
+    assertThat(store.size()).isEqualTo(2);
+
+    clock.advance(Duration.ofSeconds(31));
+    assertThat(store.check("9876500003", "333333").isValid()).isFalse();
+    assertThat(store.check("9876500004", "444444").isValid()).isTrue();
+
+    clock.advance(Duration.ofSeconds(30));
+    store.sweep();
+    assertThat(store.size()).isZero();
+  }
+
+  @Test
+  void replacedOtpKeepsItsNewExpiry() {
+    store.put("9876500005", "555555", "Nita");
+    clock.advance(Duration.ofSeconds(50));
+    store.put("9876500005", "666666", "Nita");
+
+    clock.advance(Duration.ofSeconds(20));
+    store.sweep();
+
+    assertThat(store.size()).isEqualTo(1);
+    assertThat(store.consume("9876500005", "666666").isValid()).isTrue();
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now = Instant.parse("2025-01-01T00:00:00.250Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
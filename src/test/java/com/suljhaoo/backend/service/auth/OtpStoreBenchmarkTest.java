@@ -0,0 +1,100 @@
+package com.suljhaoo.backend.service.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.suljhaoo.backend.repository.auth.OtpRepository;
+import com.suljhaoo.backend.service.auth.impl.InMemoryOtpStore;
+import com.suljhaoo.backend.service.auth.impl.JpaOtpStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Send/verify throughput of the two OTP stores: THREADS workers each run OPERATIONS signup flows
+ * (put, check, consume) on their own phone numbers. The printout compares flows per second; on the
+ * test profile the JPA store runs against H2, so against Postgres (network, WAL) the gap is wider.
+ *
+ * <p>Not part of the normal build: mvn -B test -Dtest=OtpStoreBenchmarkTest -Dbenchmark=true
+ * [-Dbenchmark.threads=16 -Dbenchmark.operations=2000]
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OtpStoreBenchmarkTest {
+
+  private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+  private static final int OPERATIONS = Integer.getInteger("benchmark.operations", 1000);
+
+  @Autowired private OtpRepository otpRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Test
+  void inMemoryVersusJpa() throws Exception {
+    OtpStore memory =
+        new InMemoryOtpStore(
+            16, Duration.ofMinutes(1), Duration.ofSeconds(1), 5, Clock.systemUTC());
+    OtpStore jpa = new JpaOtpStore(otpRepository, transactionManager, Duration.ofMinutes(1));
+
+    // Warm-up so JIT and the connection pool are not billed to the first store
+    run(memory, "7");
+    run(jpa, "7");
+
+    long memoryNanos = run(memory, "8");
+    long jpaNanos = run(jpa, "9");
+
+    int flows = THREADS * OPERATIONS;
+    System.out.printf(
+        "threads=%d flows/thread=%d (put + check + consume)%n"
+            + "memory: %6d ms  %10.0f flows/s%n"
+            + "jpa   : %6d ms  %10.0f flows/s%n",
+        THREADS,
+        OPERATIONS,
+        memoryNanos / 1_000_000,
+        flows / (memoryNanos / 1e9),
+        jpaNanos / 1_000_000,
+        flows / (jpaNanos / 1e9));
+  }
+
+  private long run(OtpStore store, String prefix) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    AtomicLong verified = new AtomicLong();
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      long start = System.nanoTime();
+      for (int thread = 0; thread < THREADS; thread++) {
+        int worker = thread;
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int i = 0; i < OPERATIONS; i++) {
+                    String phone = String.format("%s%03d%06d", prefix, worker, i);
+                    String otp = String.format("%06d", i);
+                    store.put(phone, otp, "Benchmark");
+                    if (store.check(phone, otp).isValid() && store.consume(phone, otp).isValid()) {
+                      verified.incrementAndGet();
+                    }
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      long elapsed = System.nanoTime() - start;
+      assertThat(verified.get()).isEqualTo((long) THREADS * OPERATIONS);
+      return elapsed;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
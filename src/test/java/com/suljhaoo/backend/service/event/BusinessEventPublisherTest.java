@@ -0,0 +1,104 @@
+package com.suljhaoo.backend.service.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.suljhaoo.backend.config.TraceIdFilter;
+import com.suljhaoo.backend.model.event.BusinessEvent;
+import com.suljhaoo.backend.model.event.BusinessEventType;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Business events inside a transaction are written only once it commits, carry the request's trace
+ * id, and are dropped when it rolls back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BusinessEventPublisherTest {
+
+  @Autowired private BusinessEventPublisher businessEventPublisher;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private final List<String> written = new CopyOnWriteArrayList<>();
+  private Logger eventsLogger;
+  private AbstractAppender capture;
+
+  @BeforeEach
+  void captureEvents() {
+    eventsLogger = (Logger) LogManager.getLogger("business-events");
+    capture =
+        new AbstractAppender("capture", null, null, true, Property.EMPTY_ARRAY) {
+          @Override
+          public void append(LogEvent event) {
+            written.add(event.getMessage().getFormattedMessage());
+          }
+        };
+    capture.start();
+    eventsLogger.addAppender(capture);
+  }
+
+  @AfterEach
+  void stopCapture() {
+    eventsLogger.removeAppender(capture);
+    capture.stop();
+    MDC.remove(TraceIdFilter.MDC_TRACE_ID);
+  }
+
+  @Test
+  void writtenAfterCommitOnly() {
+    MDC.put(TraceIdFilter.MDC_TRACE_ID, "trace-commit");
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              businessEventPublisher.publish(event("sale-committed"));
+              assertThat(written).isEmpty();
+            });
+
+    assertThat(written)
+        .singleElement()
+        .asString()
+        .contains("\"entity.id\":\"sale-committed\"", "\"trace.id\":\"trace-commit\"");
+  }
+
+  @Test
+  void droppedOnRollback() {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    transaction.executeWithoutResult(
+        status -> {
+          businessEventPublisher.publish(event("sale-marked-rollback"));
+          status.setRollbackOnly();
+        });
+    assertThatThrownBy(
+            () ->
+                transaction.executeWithoutResult(
+                    status -> {
+                      businessEventPublisher.publish(event("sale-failed"));
+                      throw new IllegalStateException("write failed");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(written).isEmpty();
+  }
+
+  private static BusinessEvent event(String entityId) {
+    return BusinessEvent.builder()
+        .action(BusinessEventType.SALE_CREATED)
+        .entityId(entityId)
+        .build();
+  }
+}
@@ -0,0 +1,89 @@
+package com.suljhaoo.backend.service.order;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.enity.stock.Supplier;
+import com.suljhaoo.backend.model.request.order.CreateOrderRequest;
+import com.suljhaoo.backend.model.request.order.OrderItemRequest;
+import com.suljhaoo.backend.model.response.order.OrderResponse;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.repository.stock.SupplierRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/** Verifies that creating an order writes its items as JDBC batches, not one INSERT per item. */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderBatchInsertTest {
+
+  private static final int ITEM_COUNT = 100;
+
+  @Autowired private OrderService orderService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+  @Autowired private SupplierRepository supplierRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void createOrderWithHundredItemsUsesBatchedInserts() {
+    User user =
+        userRepository.save(
+            User.builder()
+                .name("Batch Test")
+                .phoneNumber("9000000100")
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store store = storeRepository.save(Store.builder().user(user).storeName("Batch Store").build());
+    Supplier supplier =
+        supplierRepository.save(
+            Supplier.builder()
+                .store(store)
+                .name("Batch Supplier")
+                .nickName("batch")
+                .phone("9000000101")
+                .build());
+
+    List<OrderItemRequest> items = new ArrayList<>();
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      items.add(
+          OrderItemRequest.builder()
+              .itemId("item-" + i)
+              .itemName("Item " + i)
+              .quantity(BigDecimal.ONE)
+              .unit("pcs")
+              .build());
+    }
+    CreateOrderRequest request =
+        CreateOrderRequest.builder()
+            .supplierId(supplier.getId().toString())
+            .supplierName("Batch Supplier")
+            .supplierPhone("9000000101")
+            .items(items)
+            .totalItems(ITEM_COUNT)
+            .build();
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    OrderResponse response = orderService.createOrder(user.getId(), request);
+
+    assertThat(response.getItems()).hasSize(ITEM_COUNT);
+    assertThat(statistics.getEntityInsertCount()).isEqualTo(ITEM_COUNT + 1);
+    // 1 order + 100 items at batch_size 50 are a handful of batched statements, plus the
+    // user/store/supplier lookups and the item read-back in mapToResponse. Unbatched this is
+    // 105+.
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+  }
+}
@@ -0,0 +1,95 @@
+package com.suljhaoo.backend.service.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.enity.stock.Stock;
+import com.suljhaoo.backend.model.response.stock.BulkUploadResult;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.repository.stock.StockRepository;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Bulk upload writes the sheet in one batched flush; a row the database rejects must still be
+ * reported on its own while the other rows are saved.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StockBulkUploadTest {
+
+  @Autowired private StockService stockService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+  @Autowired private StockRepository stockRepository;
+
+  @Test
+  void rejectedRowIsReportedAndOtherRowsAreSaved() throws Exception {
+    User owner =
+        userRepository.save(
+            User.builder()
+                .name("Bulk Upload Test")
+                .phoneNumber("9000001001")
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store store =
+        storeRepository.save(Store.builder().user(owner).storeName("Bulk Upload Store").build());
+    stockRepository.saveAndFlush(
+        Stock.builder()
+            .store(store)
+            .name("Rice")
+            .quantity(BigDecimal.ONE)
+            .minLevel(BigDecimal.ONE)
+            .build());
+
+    BulkUploadResult result =
+        stockService.bulkUploadStocks(
+            owner.getId(),
+            store.getId(),
+            sheet(
+                new String[] {"Rice", "20", "5", "kg"},
+                // unit is VARCHAR(50): passes row validation, rejected by the database
+                new String[] {"Sugar", "10", "2", "x".repeat(60)},
+                new String[] {"Salt", "8", "1", "kg"}));
+
+    assertThat(result.getCreated()).isEqualTo(1);
+    assertThat(result.getUpdated()).isEqualTo(1);
+    assertThat(result.getErrors()).hasSize(1);
+    assertThat(result.getErrors().get(0)).startsWith("Row 3:");
+    assertThat(stockRepository.findByStore_IdAndName(store.getId(), "Rice"))
+        .get()
+        .extracting(Stock::getQuantity)
+        .satisfies(quantity -> assertThat(quantity).isEqualByComparingTo("20"));
+    assertThat(stockRepository.findByStore_IdAndName(store.getId(), "Salt")).isPresent();
+    assertThat(stockRepository.findByStore_IdAndName(store.getId(), "Sugar")).isEmpty();
+  }
+
+  private static MockMultipartFile sheet(String[]... rows) throws Exception {
+    try (HSSFWorkbook workbook = new HSSFWorkbook();
+        ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+      Sheet sheet = workbook.createSheet("Stocks");
+      String[] header = {"Item Name", "Current Stock", "Minimum Level", "Unit"};
+      for (int r = 0; r <= rows.length; r++) {
+        Row row = sheet.createRow(r);
+        String[] values = r == 0 ? header : rows[r - 1];
+        for (int c = 0; c < values.length; c++) {
+          row.createCell(c).setCellValue(values[c]);
+        }
+      }
+      workbook.write(out);
+      return new MockMultipartFile("file", "stocks.xls", null, out.toByteArray());
+    }
+  }
+}
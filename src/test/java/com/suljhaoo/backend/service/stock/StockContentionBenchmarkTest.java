@@ -0,0 +1,176 @@
+package com.suljhaoo.backend.service.stock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.enity.stock.Stock;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.repository.stock.StockRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Contention benchmark: THREADS writers increment the quantity of one stock row, either with
+ * optimistic locking and retry (@Version) or with SELECT ... FOR UPDATE. Both must lose no update;
+ * the printout compares wall time and, for optimistic, the number of retries.
+ *
+ * <p>Not part of the normal build: mvn -B test -Dtest=StockContentionBenchmarkTest -Dbenchmark=true
+ * [-Dbenchmark.threads=16 -Dbenchmark.increments=200]
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StockContentionBenchmarkTest {
+
+  private static final int THREADS = Integer.getInteger("benchmark.threads", 8);
+  private static final int INCREMENTS = Integer.getInteger("benchmark.increments", 100);
+
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+  @Autowired private StockRepository stockRepository;
+  @Autowired private EntityManager entityManager;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Test
+  void optimisticRetryVersusPessimisticLock() throws Exception {
+    User owner =
+        userRepository.save(
+            User.builder()
+                .name("Contention Benchmark")
+                .phoneNumber("9000000700")
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store store =
+        storeRepository.save(Store.builder().user(owner).storeName("Benchmark Store").build());
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+    // Warm-up on a separate row so connection pool and JIT are not billed to the first mode
+    UUID warmUp = newStock(store, "Warm-up");
+    run(() -> optimisticIncrement(tx, warmUp), new AtomicLong());
+
+    UUID optimisticId = newStock(store, "Optimistic");
+    AtomicLong retries = new AtomicLong();
+    long optimisticNanos = run(() -> optimisticIncrement(tx, optimisticId), retries);
+
+    UUID pessimisticId = newStock(store, "Pessimistic");
+    long pessimisticNanos = run(() -> pessimisticIncrement(tx, pessimisticId), new AtomicLong());
+
+    int expected = THREADS * INCREMENTS;
+    assertThat(quantity(optimisticId)).isEqualByComparingTo(BigDecimal.valueOf(expected));
+    assertThat(quantity(pessimisticId)).isEqualByComparingTo(BigDecimal.valueOf(expected));
+
+    System.out.printf(
+        "threads=%d increments/thread=%d%n"
+            + "optimistic : %6d ms  %8.0f updates/s  retries=%d (%.2f per update)%n"
+            + "pessimistic: %6d ms  %8.0f updates/s%n",
+        THREADS,
+        INCREMENTS,
+        optimisticNanos / 1_000_000,
+        expected / (optimisticNanos / 1e9),
+        retries.get(),
+        (double) retries.get() / expected,
+        pessimisticNanos / 1_000_000,
+        expected / (pessimisticNanos / 1e9));
+  }
+
+  /** Read, modify, write; on a version clash back off briefly and redo the whole transaction. */
+  private long optimisticIncrement(TransactionTemplate tx, UUID id) {
+    long attempts = 0;
+    while (true) {
+      try {
+        tx.executeWithoutResult(
+            status -> {
+              Stock stock = stockRepository.findById(id).orElseThrow();
+              stock.setQuantity(stock.getQuantity().add(BigDecimal.ONE));
+              stockRepository.saveAndFlush(stock);
+            });
+        return attempts;
+      } catch (ObjectOptimisticLockingFailureException e) {
+        attempts++;
+        backOff(attempts);
+      }
+    }
+  }
+
+  private long pessimisticIncrement(TransactionTemplate tx, UUID id) {
+    tx.executeWithoutResult(
+        status -> {
+          Stock stock = entityManager.find(Stock.class, id, LockModeType.PESSIMISTIC_WRITE);
+          stock.setQuantity(stock.getQuantity().add(BigDecimal.ONE));
+        });
+    return 0;
+  }
+
+  private long run(IncrementTask task, AtomicLong retries) throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    try {
+      long start = System.nanoTime();
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        futures.add(
+            pool.submit(
+                () -> {
+                  for (int i = 0; i < INCREMENTS; i++) {
+                    retries.addAndGet(task.increment());
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      return System.nanoTime() - start;
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private UUID newStock(Store store, String name) {
+    return stockRepository
+        .save(
+            Stock.builder()
+                .store(store)
+                .name(name)
+                .quantity(BigDecimal.ZERO)
+                .minLevel(BigDecimal.ZERO)
+                .build())
+        .getId();
+  }
+
+  private BigDecimal quantity(UUID id) {
+    return stockRepository.findById(id).orElseThrow().getQuantity();
+  }
+
+  private static void backOff(long attempt) {
+    try {
+      Thread.sleep(ThreadLocalRandom.current().nextLong(0, Math.min(attempt, 5) + 1));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @FunctionalInterface
+  private interface IncrementTask {
+    long increment();
+  }
+}
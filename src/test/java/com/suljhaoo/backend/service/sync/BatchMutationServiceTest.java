@@ -0,0 +1,237 @@
+package com.suljhaoo.backend.service.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.model.request.sales.CreateSaleRequest;
+import com.suljhaoo.backend.model.request.sync.BatchMutationRequest;
+import com.suljhaoo.backend.model.request.sync.BatchMutationRequest.BatchOperation;
+import com.suljhaoo.backend.model.response.sales.SaleResponse;
+import com.suljhaoo.backend.model.response.sync.BatchMutationResult;
+import com.suljhaoo.backend.model.response.sync.BatchOperationResult;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.repository.expense.ExpenseRepository;
+import com.suljhaoo.backend.repository.stock.StockRepository;
+import com.suljhaoo.backend.service.sales.SaleService;
+import com.suljhaoo.backend.service.stock.StockService;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+
+/** Batch replay: per-operation results, version conflicts, and all-or-nothing atomic batches. */
+@SpringBootTest
+@ActiveProfiles("test")
+class BatchMutationServiceTest {
+
+  private static final AtomicInteger PHONE_SEQUENCE = new AtomicInteger(500);
+
+  @Autowired private BatchMutationService batchMutationService;
+  @Autowired private SaleService saleService;
+  @Autowired private StockService stockService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+  @Autowired private StockRepository stockRepository;
+  @Autowired private ExpenseRepository expenseRepository;
+  @Autowired private ObjectMapper objectMapper;
+
+  private String userId;
+  private String storeId;
+
+  @BeforeEach
+  void setUp() {
+    User owner =
+        userRepository.save(
+            User.builder()
+                .name("Batch Test")
+                .phoneNumber("9000000" + PHONE_SEQUENCE.incrementAndGet())
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store store =
+        storeRepository.save(Store.builder().user(owner).storeName("Batch Store").build());
+    userId = owner.getId();
+    storeId = store.getId();
+  }
+
+  @Test
+  void independentOperationsReportTheirOwnOutcome() {
+    SaleResponse sale =
+        saleService.createSale(
+            userId,
+            storeId,
+            CreateSaleRequest.builder()
+                .amount(new BigDecimal("100.00"))
+                .paymentMethod("cash")
+                .build());
+
+    BatchMutationResult result =
+        batchMutationService.applyBatch(
+            userId,
+            storeId,
+            BatchMutationRequest.builder()
+                .operations(
+                    List.of(
+                        op(
+                            "a",
+                            "expense",
+                            "create",
+                            null,
+                            null,
+                            Map.of("category", "Rent", "amount", 500)),
+                        op("b", "sale", "update", sale.getId(), 1, Map.of("note", "first")),
+                        op("c", "sale", "update", sale.getId(), 1, Map.of("note", "stale")),
+                        op("d", "stock", "create", null, null, Map.of("name", "No quantity"))))
+                .build());
+
+    assertThat(result.getResults())
+        .extracting(BatchOperationResult::getOpId, BatchOperationResult::getStatus)
+        .containsExactly(
+            tuple("a", "ok"), tuple("b", "ok"), tuple("c", "conflict"), tuple("d", "error"));
+    assertThat(result.getSucceeded()).isEqualTo(2);
+    assertThat(result.getFailed()).isEqualTo(2);
+
+    BatchOperationResult conflict = result.getResults().get(2);
+    assertThat(conflict.getCurrentVersion()).isEqualTo(2);
+    assertThat(((SaleResponse) conflict.getData()).getNote()).isEqualTo("first");
+    assertThat(expenseRepository.findStampByStoreId(storeId).getCount()).isEqualTo(1);
+    assertThat(saleService.getSaleById(sale.getId(), userId, storeId).getNote()).isEqualTo("first");
+  }
+
+  @Test
+  void failedFlushFallsBackToOneTransactionPerOperation() {
+    BatchMutationResult result =
+        batchMutationService.applyBatch(
+            userId,
+            storeId,
+            BatchMutationRequest.builder()
+                .operations(
+                    List.of(
+                        op(
+                            "a",
+                            "stock",
+                            "create",
+                            null,
+                            null,
+                            Map.of("name", "Rice", "quantity", 10, "minLevel", 1)),
+                        op(
+                            "b",
+                            "stock",
+                            "create",
+                            null,
+                            null,
+                            Map.of(
+                                "name",
+                                "Oil",
+                                "quantity",
+                                2,
+                                "minLevel",
+                                1,
+                                "unit",
+                                "l".repeat(60))),
+                        op(
+                            "c",
+                            "expense",
+                            "create",
+                            null,
+                            null,
+                            Map.of("category", "Rent", "amount", 500)),
+                        op(
+                            "d",
+                            "stock",
+                            "create",
+                            null,
+                            null,
+                            Map.of(
+                                "name",
+                                "Salt",
+                                "quantity",
+                                1,
+                                "minLevel",
+                                1,
+                                "unit",
+                                "k".repeat(60)))))
+                .build());
+
+    assertThat(result.getResults())
+        .extracting(BatchOperationResult::getOpId, BatchOperationResult::getStatus)
+        .containsExactly(
+            tuple("a", "ok"), tuple("b", "error"), tuple("c", "ok"), tuple("d", "error"));
+    assertThat(stockRepository.findByStore_IdOrderByNameAsc(storeId))
+        .extracting("name")
+        .containsExactly("Rice");
+    assertThat(expenseRepository.findStampByStoreId(storeId).getCount()).isEqualTo(1);
+  }
+
+  @Test
+  void atomicBatchRollsBackOnFirstFailure() {
+    BatchMutationResult result =
+        batchMutationService.applyBatch(
+            userId,
+            storeId,
+            BatchMutationRequest.builder()
+                .atomic(true)
+                .operations(
+                    List.of(
+                        op(
+                            "a",
+                            "stock",
+                            "create",
+                            null,
+                            null,
+                            Map.of("name", "Rice", "quantity", 10, "minLevel", 1)),
+                        op("b", "sale", "delete", UUID.randomUUID().toString(), null, null),
+                        op(
+                            "c",
+                            "stock",
+                            "create",
+                            null,
+                            null,
+                            Map.of("name", "Dal", "quantity", 5, "minLevel", 1))))
+                .build());
+
+    assertThat(result.getResults())
+        .extracting(BatchOperationResult::getOpId, BatchOperationResult::getStatus)
+        .containsExactly(tuple("a", "rolled_back"), tuple("b", "error"), tuple("c", "skipped"));
+    assertThat(result.getResults().get(1).getMessage()).isEqualTo("Sale not found");
+    assertThat(stockRepository.findByStore_IdOrderByNameAsc(storeId)).isEmpty();
+  }
+
+  @Test
+  void storeVariantsRequireTheCallersTransaction() {
+    Store store = storeRepository.findById(storeId).orElseThrow();
+
+    assertThatThrownBy(() -> stockService.deleteStock(store, UUID.randomUUID().toString(), null))
+        .isInstanceOf(IllegalTransactionStateException.class);
+  }
+
+  private BatchOperation op(
+      String opId,
+      String entity,
+      String action,
+      String id,
+      Integer expectedVersion,
+      Map<String, Object> payload) {
+    return BatchOperation.builder()
+        .opId(opId)
+        .entity(entity)
+        .action(action)
+        .id(id)
+        .expectedVersion(expectedVersion)
+        .payload(payload == null ? null : objectMapper.valueToTree(payload))
+        .build();
+  }
+}
@@ -0,0 +1,69 @@
+package com.suljhaoo.backend.service.sync;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.service.sales.SaleService;
+import com.suljhaoo.backend.service.supplier.SupplierItemService;
+import com.suljhaoo.backend.service.supplier.SupplierService;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/** A malformed id in a conditional GET fails like an unknown id on the unconditional path. */
+@SpringBootTest
+@ActiveProfiles("test")
+class CollectionVersionServiceTest {
+
+  private static final String MALFORMED_ID = "not-a-uuid";
+
+  @Autowired private CollectionVersionService collectionVersionService;
+  @Autowired private SaleService saleService;
+  @Autowired private SupplierService supplierService;
+  @Autowired private SupplierItemService supplierItemService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+
+  @Test
+  void malformedIdGetsTheSameNotFoundErrorAsAnUnknownId() {
+    User owner =
+        userRepository.save(
+            User.builder()
+                .name("Etag Id Test")
+                .phoneNumber("9000001101")
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store store =
+        storeRepository.save(Store.builder().user(owner).storeName("Etag Id Store").build());
+    String userId = owner.getId();
+    String storeId = store.getId();
+    String unknownId = UUID.randomUUID().toString();
+
+    assertThatThrownBy(() -> saleService.getSaleById(unknownId, userId, storeId))
+        .hasMessage("Sale not found");
+    assertThatThrownBy(() -> collectionVersionService.saleEtag(userId, storeId, MALFORMED_ID))
+        .isExactlyInstanceOf(RuntimeException.class)
+        .hasMessage("Sale not found");
+
+    assertThatThrownBy(() -> supplierService.getSupplierById(unknownId, userId, storeId))
+        .hasMessage("Supplier not found");
+    assertThatThrownBy(() -> collectionVersionService.supplierEtag(userId, storeId, MALFORMED_ID))
+        .isExactlyInstanceOf(RuntimeException.class)
+        .hasMessage("Supplier not found");
+
+    assertThatThrownBy(
+            () -> supplierItemService.getAllSupplierItems(userId, storeId, unknownId, null, null))
+        .hasMessage("Supplier not found");
+    assertThatThrownBy(
+            () -> collectionVersionService.supplierItemsEtag(userId, storeId, MALFORMED_ID))
+        .isExactlyInstanceOf(RuntimeException.class)
+        .hasMessage("Supplier not found");
+  }
+}
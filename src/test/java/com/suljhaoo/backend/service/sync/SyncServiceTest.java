@@ -0,0 +1,254 @@
+package com.suljhaoo.backend.service.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.suljhaoo.backend.enity.auth.Store;
+import com.suljhaoo.backend.enity.auth.User;
+import com.suljhaoo.backend.enity.auth.UserRole;
+import com.suljhaoo.backend.enity.stock.Stock;
+import com.suljhaoo.backend.enity.stock.Supplier;
+import com.suljhaoo.backend.enity.stock.SupplierItem;
+import com.suljhaoo.backend.model.response.stock.StockResponse;
+import com.suljhaoo.backend.model.response.supplier.SupplierItemResponse;
+import com.suljhaoo.backend.model.response.sync.SyncChangesResult;
+import com.suljhaoo.backend.model.response.sync.SyncTombstoneResponse;
+import com.suljhaoo.backend.repository.auth.StoreRepository;
+import com.suljhaoo.backend.repository.auth.UserRepository;
+import com.suljhaoo.backend.repository.stock.StockRepository;
+import com.suljhaoo.backend.repository.stock.SupplierItemRepository;
+import com.suljhaoo.backend.repository.stock.SupplierRepository;
+import com.suljhaoo.backend.service.stock.StockService;
+import com.suljhaoo.backend.service.supplier.SupplierService;
+import com.suljhaoo.backend.service.sync.impl.SyncServiceImpl;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Delta sync: keyset pages cover every row once, updates reappear, deletes leave tombstones, the
+ * cursor of an idle store keeps moving, and it never passes the oldest open write.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SyncServiceTest {
+
+  @Autowired private SyncService syncService;
+  @Autowired private StockService stockService;
+  @Autowired private SupplierService supplierService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private StoreRepository storeRepository;
+  @Autowired private StockRepository stockRepository;
+  @Autowired private SupplierRepository supplierRepository;
+  @Autowired private SupplierItemRepository supplierItemRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void changesArePagedAndIncludeUpdatesAndDeletes() {
+    User owner =
+        userRepository.save(
+            User.builder()
+                .name("Sync Test")
+                .phoneNumber("9000000400")
+                .password("x")
+                .role(UserRole.shopowner)
+                .build());
+    Store store = storeRepository.save(Store.builder().user(owner).storeName("Sync Store").build());
+    String userId = owner.getId();
+    String storeId = store.getId();
+    List<Stock> stocks = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      stocks.add(
+          stockRepository.save(
+              Stock.builder()
+                  .store(store)
+                  .name("Item " + i)
+                  .quantity(BigDecimal.TEN)
+                  .minLevel(BigDecimal.ONE)
+                  .build()));
+    }
+    Supplier supplier =
+        supplierRepository.save(
+            Supplier.builder()
+                .store(store)
+                .name("Sync Supplier")
+                .nickName("sync")
+                .phone("9000000401")
+                .build());
+
+    // Initial sync in pages of 2: 6 rows, each exactly once
+    List<UUID> seen = new ArrayList<>();
+    String cursor = null;
+    SyncChangesResult page;
+    int pages = 0;
+    do {
+      page = syncService.getChanges(userId, storeId, cursor, 2);
+      page.getStocks().forEach(stock -> seen.add(stock.getId()));
+      page.getSuppliers().forEach(s -> seen.add(s.getId()));
+      cursor = page.getNextCursor();
+      pages++;
+    } while (page.getHasMore());
+    assertThat(pages).isEqualTo(3);
+    assertThat(seen).hasSize(6).doesNotHaveDuplicates();
+
+    // Nothing new: the cursor still moves up to the settle bound
+    SyncChangesResult idle = syncService.getChanges(userId, storeId, cursor, 100);
+    assertThat(idle.getStocks()).isEmpty();
+    assertThat(idle.getNextCursor()).isNotNull();
+    cursor = idle.getNextCursor();
+
+    // An update is delivered again; deletes arrive as tombstones
+    Stock updated = stocks.get(2);
+    updated.setQuantity(BigDecimal.ONE);
+    stockRepository.save(updated);
+    stockService.deleteStock(stocks.get(4).getId().toString(), userId, storeId, null);
+    supplierService.deleteSupplier(supplier.getId().toString(), userId, storeId);
+
+    SyncChangesResult delta = syncService.getChanges(userId, storeId, cursor, 100);
+    assertThat(delta.getStocks()).extracting(StockResponse::getId).containsExactly(updated.getId());
+    assertThat(delta.getDeleted())
+        .extracting(SyncTombstoneResponse::getEntityType, SyncTombstoneResponse::getId)
+        .containsExactlyInAnyOrder(
+            tuple("stock", stocks.get(4).getId().toString()),
+            tuple("supplier", supplier.getId().toString()));
+    assertThat(delta.getHasMore()).isFalse();
+  }
+
+  @Test
+  void idleStoreCursorDoesNotAgePastTombstoneRetention() {
+    User owner = owner("9000000410");
+    Store store = storeRepository.save(Store.builder().user(owner).storeName("Idle Store").build());
+    Stock stock = stockRepository.save(stock(store, "Old Item").build());
+    // The newest row of the store is older than the tombstone retention (P90D)
+    jdbcTemplate.update(
+        "UPDATE stocks SET updated_at = ? WHERE id = ?",
+        LocalDateTime.now().minusDays(120),
+        stock.getId());
+
+    SyncChangesResult initial = syncService.getChanges(owner.getId(), store.getId(), null, 100);
+    assertThat(initial.getStocks()).extracting(StockResponse::getId).containsExactly(stock.getId());
+
+    // Polls of an idle store keep working instead of asking for a full resync every time
+    String cursor = initial.getNextCursor();
+    for (int i = 0; i < 2; i++) {
+      SyncChangesResult idle = syncService.getChanges(owner.getId(), store.getId(), cursor, 100);
+      assertThat(idle.getFullResyncRequired()).isFalse();
+      assertThat(idle.getStocks()).isEmpty();
+      cursor = idle.getNextCursor();
+    }
+  }
+
+  @Test
+  void rowsWrittenAfterTheOldestOpenWriteAreHeldBack() {
+    User owner = owner("9000000412");
+    Store store = storeRepository.save(Store.builder().user(owner).storeName("Bulk Store").build());
+    Stock stock = stockRepository.save(stock(store, "Fresh Item").build());
+    SyncServiceImpl target = AopTestUtils.getTargetObject(syncService);
+    String noOpenWrite = (String) ReflectionTestUtils.getField(target, "oldestWriteQuery");
+
+    // A write transaction that began a minute ago has not committed yet
+    ReflectionTestUtils.setField(
+        target, "oldestWriteQuery", "SELECT DATEADD('SECOND', -60, LOCALTIMESTAMP)");
+    String cursor;
+    try {
+      SyncChangesResult held = syncService.getChanges(owner.getId(), store.getId(), null, 100);
+      assertThat(held.getStocks()).isEmpty();
+      cursor = held.getNextCursor();
+    } finally {
+      ReflectionTestUtils.setField(target, "oldestWriteQuery", noOpenWrite);
+    }
+
+    SyncChangesResult released = syncService.getChanges(owner.getId(), store.getId(), cursor, 100);
+    assertThat(released.getStocks())
+        .extracting(StockResponse::getId)
+        .containsExactly(stock.getId());
+  }
+
+  @Test
+  void referencesClearedByDeletesAreInTheFeed() {
+    User owner = owner("9000000420");
+    Store store =
+        storeRepository.save(Store.builder().user(owner).storeName("Reference Store").build());
+    String userId = owner.getId();
+    String storeId = store.getId();
+    Supplier deletedSupplier =
+        supplierRepository.save(
+            Supplier.builder()
+                .store(store)
+                .name("Deleted Supplier")
+                .nickName("deleted")
+                .phone("9000000421")
+                .build());
+    Supplier keptSupplier =
+        supplierRepository.save(
+            Supplier.builder()
+                .store(store)
+                .name("Kept Supplier")
+                .nickName("kept")
+                .phone("9000000422")
+                .build());
+    Stock suppliedStock =
+        stockRepository.save(stock(store, "Supplied").supplier(deletedSupplier).build());
+    Stock deletedStock = stockRepository.save(stock(store, "Deleted").build());
+    SupplierItem linkedItem =
+        supplierItemRepository.save(
+            SupplierItem.builder()
+                .supplier(keptSupplier)
+                .store(store)
+                .stock(deletedStock)
+                .name("Linked")
+                .unit("kg")
+                .build());
+
+    String cursor = null;
+    SyncChangesResult page;
+    do {
+      page = syncService.getChanges(userId, storeId, cursor, 100);
+      cursor = page.getNextCursor();
+    } while (page.getHasMore());
+
+    // ON DELETE SET NULL in Postgres would clear these references without touching updated_at
+    supplierService.deleteSupplier(deletedSupplier.getId().toString(), userId, storeId);
+    stockService.deleteStock(deletedStock.getId().toString(), userId, storeId, null);
+
+    SyncChangesResult delta = syncService.getChanges(userId, storeId, cursor, 100);
+    assertThat(delta.getStocks())
+        .extracting(StockResponse::getId, StockResponse::getSupplierId)
+        .containsExactly(tuple(suppliedStock.getId(), null));
+    assertThat(delta.getSupplierItems())
+        .extracting(SupplierItemResponse::getId, SupplierItemResponse::getStockItemId)
+        .containsExactly(tuple(linkedItem.getId(), null));
+    assertThat(delta.getDeleted())
+        .extracting(SyncTombstoneResponse::getEntityType, SyncTombstoneResponse::getId)
+        .containsExactlyInAnyOrder(
+            tuple("supplier", deletedSupplier.getId().toString()),
+            tuple("stock", deletedStock.getId().toString()));
+  }
+
+  private User owner(String phoneNumber) {
+    return userRepository.save(
+        User.builder()
+            .name("Sync Test")
+            .phoneNumber(phoneNumber)
+            .password("x")
+            .role(UserRole.shopowner)
+            .build());
+  }
+
+  private static Stock.StockBuilder stock(Store store, String name) {
+    return Stock.builder()
+        .store(store)
+        .name(name)
+        .quantity(BigDecimal.TEN)
+        .minLevel(BigDecimal.ONE);
+  }
+}